@@ -0,0 +1,149 @@
+package controlador;
+
+import java.sql.*;
+import java.util.concurrent.CompletableFuture;
+import modelo.Articulo;
+import modelo.ConexionDB;
+import modelo.EstrategiaInversion;
+import modelo.Metricas;
+import modelo.ResumenAnalitico;
+
+// Esta clase calcula el resumen del tablero de analítica: artículos por año, por búsqueda y por
+// fuente, estrategias por nivel de riesgo y retorno esperado por tipo de estrategia.
+// Todo sale de UNA consulta (varios GROUP BY unidos con UNION ALL): la base de datos hace las
+// cuentas y solo viajan los grupos, así que el tablero cuesta una ida y vuelta sin importar
+// cuántos artículos haya.
+// El resumen se guarda en memoria y se descarta cuando llega por el bus un cambio de artículos
+// o de estrategias (o cuando pasa VIGENCIA_MS, por los cambios hechos fuera de la aplicación).
+public class AnaliticaControlador {
+
+    private static final long VIGENCIA_MS = 300_000;  // 5 minutos
+    private static final int LIMITE_FUENTES = 20;     // Solo las fuentes con más artículos
+
+    // Códigos de la columna "dimension" de la consulta
+    private static final int POR_ANIO = 1;
+    private static final int POR_BUSQUEDA = 2;
+    private static final int POR_FUENTE = 3;
+    private static final int POR_RIESGO = 4;
+    private static final int POR_TIPO = 5;
+
+    // Cada parte agrupa por un criterio y devuelve las mismas columnas:
+    // dimension, clave, etiqueta, cantidad, documentos, promedio, maximo y orden (para ordenar dentro del criterio)
+    private static final String SQL_RESUMEN =
+        "(SELECT " + POR_ANIO + " AS dimension, CONCAT('', anio_publicacion) AS clave, NULL AS etiqueta,"
+            + " COUNT(*) AS cantidad, 0 AS documentos, NULL AS promedio, NULL AS maximo, -anio_publicacion AS orden"
+            + " FROM articulos GROUP BY anio_publicacion)"
+        // LEFT JOIN: las búsquedas sin artículos cargados también aparecen (con 0)
+        + " UNION ALL (SELECT " + POR_BUSQUEDA + ", CONCAT('', b.id), b.nombre_estudiante,"
+            + " COUNT(a.id), b.cantidad_documentos, NULL, NULL, b.id"
+            + " FROM busquedas b LEFT JOIN articulos a ON a.busqueda_id = b.id"
+            + " GROUP BY b.id, b.nombre_estudiante, b.cantidad_documentos)"
+        + " UNION ALL (SELECT " + POR_FUENTE + ", fuente, NULL, COUNT(*), 0, NULL, NULL, -COUNT(*)"
+            + " FROM articulos GROUP BY fuente ORDER BY COUNT(*) DESC LIMIT " + LIMITE_FUENTES + ")"
+        // nivel_riesgo es ENUM: se pasa a texto para que la columna "clave" sea texto en todas las partes
+        + " UNION ALL (SELECT " + POR_RIESGO + ", CONCAT('', nivel_riesgo), NULL, COUNT(*), 0, NULL, NULL,"
+            + " CASE nivel_riesgo WHEN 'Bajo' THEN 1 WHEN 'Medio' THEN 2 ELSE 3 END"
+            + " FROM estrategias_inversion GROUP BY nivel_riesgo)"
+        + " UNION ALL (SELECT " + POR_TIPO + ", tipo_estrategia, NULL, COUNT(*), 0,"
+            + " AVG(retorno_esperado), MAX(retorno_esperado), -COUNT(*)"
+            + " FROM estrategias_inversion GROUP BY tipo_estrategia)"
+        + " ORDER BY dimension, orden, clave";
+
+    // Último resumen calculado (null = hay que consultar) y contador de invalidaciones: un cálculo
+    // que empezó antes de un cambio no se guarda
+    private static volatile ResumenAnalitico resumen = null;
+    private static long generacion = 0;
+
+    static {
+        // Cualquier cambio de artículos o estrategias deja viejo el resumen (se descarta en el hilo del bus)
+        BusEventos.suscribir(Articulo.class, Runnable::run, eventos -> invalidar());
+        BusEventos.suscribir(EstrategiaInversion.class, Runnable::run, eventos -> invalidar());
+    }
+
+    // Método para obtener el resumen del tablero; si hay uno reciente guardado, no consulta
+    public ResumenAnalitico obtenerResumen() {
+        ResumenAnalitico actual = resumen;
+        if (actual != null && System.currentTimeMillis() - actual.getCalculadoEn() < VIGENCIA_MS) {
+            return actual;
+        }
+        return ConsultasCompartidas.compartir(AnaliticaControlador::calcularYGuardar, "AnaliticaControlador.obtenerResumen");
+    }
+
+    // Olvida el resumen guardado; el próximo pedido lo vuelve a calcular
+    public static void invalidar() {
+        synchronized (AnaliticaControlador.class) {
+            generacion++;
+            resumen = null;
+        }
+        ConsultasCompartidas.descartar("AnaliticaControlador.");
+    }
+
+    private static ResumenAnalitico calcularYGuardar() {
+        long generacionInicial;
+        synchronized (AnaliticaControlador.class) {
+            generacionInicial = generacion;
+        }
+        ResumenAnalitico calculado = consultarResumen();
+        if (calculado == null) {
+            return new ResumenAnalitico();  // Error (ya informado): resumen vacío, sin guardar
+        }
+        synchronized (AnaliticaControlador.class) {
+            if (generacion == generacionInicial) {
+                resumen = calculado;
+            }
+        }
+        return calculado;
+    }
+
+    // Ejecuta la consulta del resumen y reparte cada fila en su criterio; null si hubo un error
+    private static ResumenAnalitico consultarResumen() {
+        Metricas.Medicion medicion = Metricas.iniciar("AnaliticaControlador.obtenerResumen");
+        ResumenAnalitico calculado = new ResumenAnalitico();
+        int filas = 0;
+
+        try (Connection conn = ConexionDB.getConexion();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(SQL_RESUMEN)) {
+
+            while (rs.next()) {
+                ResumenAnalitico.Grupo grupo = new ResumenAnalitico.Grupo(
+                    rs.getString("clave"),
+                    rs.getString("etiqueta"),
+                    rs.getLong("cantidad"),
+                    rs.getLong("documentos"),
+                    leerDecimal(rs, "promedio"),
+                    leerDecimal(rs, "maximo"));
+                switch (rs.getInt("dimension")) {
+                    case POR_ANIO: calculado.agregarArticulosPorAnio(grupo); break;
+                    case POR_BUSQUEDA: calculado.agregarArticulosPorBusqueda(grupo); break;
+                    case POR_FUENTE: calculado.agregarArticulosPorFuente(grupo); break;
+                    case POR_RIESGO: calculado.agregarEstrategiasPorRiesgo(grupo); break;
+                    default: calculado.agregarRetornoPorTipo(grupo);
+                }
+                filas++;
+            }
+
+        } catch (SQLException e) {
+            medicion.error();
+            System.err.println("Error al calcular el resumen de analítica: " + e.getMessage());
+            medicion.terminar(0);
+            return null;
+        }
+
+        medicion.terminar(filas);
+        return calculado;
+    }
+
+    // Lee una columna decimal que puede venir en NULL (getDouble devolvería 0)
+    private static Double leerDecimal(ResultSet rs, String columna) throws SQLException {
+        double valor = rs.getDouble(columna);
+        return rs.wasNull() ? null : valor;
+    }
+
+    // VARIANTE ASÍNCRONA
+    // Ejecuta la misma consulta en segundo plano (EjecutorConsultas) para no bloquear la interfaz
+
+    public CompletableFuture<ResumenAnalitico> obtenerResumenAsync() {
+        return EjecutorConsultas.enSegundoPlano(this::obtenerResumen);
+    }
+}
@@ -1,19 +1,108 @@
 package controlador;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
 import modelo.Articulo;
 import modelo.ConexionDB;
+import modelo.EventoCambio;
+import modelo.Metricas;
+import modelo.ResultadoBusqueda;
 
 // Esta clase controla todas las operaciones con artículos en la base de datos
 // Maneja búsquedas, obtención de datos y conteo de artículos
 public class ArticuloControlador {
 
+    // Caché compartida por todos los controladores de artículos (los paneles crean instancias propias)
+    // Acotada por peso: aproximadamente 8 millones de caracteres de texto; cada entrada vive 10 minutos
+    private static final CacheEntidades<Articulo> CACHE_ARTICULOS =
+        new CacheEntidades<>("articulos", 8_000_000, 600_000, ArticuloControlador::pesoArticulo);
+
+    // Índice invertido compartido para las búsquedas por palabra clave (se construye en segundo plano
+    // a partir de la primera búsqueda; mientras tanto se busca con LIKE)
+    private static volatile IndiceArticulos indice = null;
+    private static volatile long ultimaSincronizacionIndice = 0;
+    private static final long INTERVALO_SINCRONIZACION_INDICE_MS = 30_000;  // Cada cuánto se traen artículos nuevos o modificados
+    private static final long INTERVALO_REVISION_ELIMINADOS_MS = 600_000;   // Cada cuánto se buscan artículos borrados (10 minutos)
+    private static final long MARGEN_MARCA_INDICE_MS = 10_000;  // Como en las estrategias: relojes y transacciones largas
+    // Construcción o sincronización del índice en curso (nunca hay dos a la vez) y generación del
+    // índice: descartarIndice la cambia para que una construcción ya empezada no se instale
+    private static CompletableFuture<Void> tareaIndice = null;
+    private static int generacionIndice = 0;
+    // Solo los usa la tarea del índice: desde cuándo traer cambios y cuándo se revisaron los borrados
+    private static Timestamp marcaIndice = null;
+    private static long ultimaRevisionEliminados = 0;
+    private static final int TAMANO_LOTE_IDS = 500;  // Ids por consulta "WHERE id IN (...)"
+    private static final int LIMITE_RESULTADOS_BUSQUEDA = 1000;  // Solo se devuelven los artículos más relevantes
+    private static final int TAMANO_BLOQUE_RESULTADOS = 100;  // Artículos por entrega en la búsqueda por bloques
+    
+    // Columnas que traen las listas (lo que muestran las tablas). Los campos largos (fuente, DOI,
+    // resumen, palabras clave y cita APA) se cargan después, solo si se piden, de a un lote por consulta
+    private static final String COLUMNAS_LISTA = "id, busqueda_id, titulo, autores, anio_publicacion";
+    private static final int TAMANO_LOTE_DETALLES = 100;  // Artículos que completa cada consulta diferida
+    
+    // Inserciones masivas: artículos por transacción (cada lote se envía como un INSERT de varias filas)
+    static final int TAMANO_LOTE_INSERCION = 1000;
+    private static final String COLUMNAS_INSERCION =
+        "busqueda_id, titulo, autores, anio_publicacion, fuente, doi, resumen, palabras_clave, cita_apa";
+    // Errores de MySQL cuando LOAD DATA LOCAL INFILE está deshabilitado en el servidor
+    private static final int ERROR_LOCAL_INFILE_DESHABILITADO = 3948;
+    private static final int ERROR_LOCAL_INFILE_NO_PERMITIDO = 1148;
+    private static final int ERROR_CLAVE_DUPLICADA = 1062;  // Otro artículo con el mismo DOI en la búsqueda
+    private static final int INTENTOS_LOTE = 2;
+    
+    // Resultado de una inserción masiva: artículos insertados y artículos saltados porque su DOI
+    // ya estaba en la búsqueda
+    public static final class ResultadoInsercion {
+        private final int insertados;
+        private final int duplicados;
+
+        ResultadoInsercion(int insertados, int duplicados) {
+            this.insertados = insertados;
+            this.duplicados = duplicados;
+        }
+
+        public int getInsertados() { return insertados; }
+        public int getDuplicados() { return duplicados; }
+
+        @Override
+        public String toString() {
+            return insertados + " insertados, " + duplicados + " duplicados";
+        }
+    }
+    
+    static {
+        // El índice de búsqueda se mantiene al día con los eventos de artículos (se aplica en el hilo del bus)
+        BusEventos.suscribir(Articulo.class, Runnable::run, ArticuloControlador::aplicarEnIndice);
+    }
+
     // Método para obtener todos los artículos ordenados por año de publicación (más recientes primero)
     public List<Articulo> obtenerTodosLosArticulos() {
+        return ConsultasCompartidas.compartir(this::consultarTodosLosArticulos, "ArticuloControlador.obtenerTodosLosArticulos");
+    }
+    
+    // Lee el listado completo de la base de datos
+    private List<Articulo> consultarTodosLosArticulos() {
+        Metricas.Medicion medicion = Metricas.iniciar("ArticuloControlador.obtenerTodosLosArticulos");
         List<Articulo> articulos = new ArrayList<>();
-        String sql = "SELECT * FROM articulos ORDER BY anio_publicacion DESC, id";
+        // Las dos columnas en el mismo sentido: el índice (anio_publicacion, id) se recorre al revés
+        // y no hace falta ordenar (con "id" ascendente MySQL ordenaría todo en memoria)
+        String sql = "SELECT " + COLUMNAS_LISTA + " FROM articulos ORDER BY anio_publicacion DESC, id DESC";
         
         try (Connection conn = ConexionDB.getConexion();
              Statement stmt = conn.createStatement();
@@ -21,20 +110,148 @@ public class ArticuloControlador {
             
             // Recorremos cada fila de resultados y la convertimos en un objeto Articulo
             while (rs.next()) {
-                articulos.add(mapearArticulo(rs));
+                articulos.add(mapearResumenArticulo(rs));
             }
+            diferirDetalles(articulos);
             
         } catch (SQLException e) {
+            medicion.error();
             System.err.println("Error al obtener artículos: " + e.getMessage());
             e.printStackTrace();
         }
         
+        medicion.terminar(articulos.size());
         return articulos;
     }
     
 
+    // Método para obtener los títulos de los `limite` artículos más recientes (id -> título, de mayor a menor id)
+    // Es lo que necesita una lista desplegable: solo dos columnas y recorriendo la clave primaria
+    // Retorna null si hubo un error (un mapa vacío es que no hay artículos)
+    public Map<Integer, String> obtenerTitulosArticulos(int limite) {
+        Metricas.Medicion medicion = Metricas.iniciar("ArticuloControlador.obtenerTitulosArticulos");
+        Map<Integer, String> titulos = new LinkedHashMap<>();
+        String sql = "SELECT id, titulo FROM articulos ORDER BY id DESC LIMIT ?";
+        
+        try (Connection conn = ConexionDB.getConexion();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setInt(1, limite);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    titulos.put(rs.getInt("id"), rs.getString("titulo"));
+                }
+            }
+            
+        } catch (SQLException e) {
+            medicion.error();
+            medicion.terminar(0);
+            System.err.println("Error al obtener títulos de artículos: " + e.getMessage());
+            return null;
+        }
+        
+        medicion.terminar(titulos.size());
+        return titulos;
+    }
+    
+    // Método para obtener una página de artículos ordenados por año (más recientes primero) e id
+    // Paginación por clave (keyset): en lugar de OFFSET se pasa la clave (año, id) del último
+    // artículo de la página anterior, así cada página cuesta lo mismo sin importar su posición.
+    // Para la primera página `anioDespues` e `idDespues` deben ser null.
+    // Retorna null si hubo un error (una lista vacía es que no hay más artículos)
+    public List<Articulo> obtenerPaginaArticulos(Integer anioDespues, Integer idDespues, int limite) {
+        return ConsultasCompartidas.compartir(() -> consultarPaginaArticulos(anioDespues, idDespues, limite), "ArticuloControlador.obtenerPaginaArticulos", anioDespues, idDespues, limite);
+    }
+    
+    // Lee la página de la base de datos
+    private List<Articulo> consultarPaginaArticulos(Integer anioDespues, Integer idDespues, int limite) {
+        Metricas.Medicion medicion = Metricas.iniciar("ArticuloControlador.obtenerPaginaArticulos");
+        List<Articulo> articulos = new ArrayList<>();
+        boolean primera = anioDespues == null || idDespues == null;
+        String sql = "SELECT " + COLUMNAS_LISTA + " FROM articulos " +
+                    (primera ? "" : "WHERE (anio_publicacion, id) < (?, ?) ") +
+                    "ORDER BY anio_publicacion DESC, id DESC LIMIT ?";
+        
+        try (Connection conn = ConexionDB.getConexion();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            int parametro = 1;
+            if (!primera) {
+                pstmt.setInt(parametro++, anioDespues);
+                pstmt.setInt(parametro++, idDespues);
+            }
+            pstmt.setInt(parametro, limite);
+            ResultSet rs = pstmt.executeQuery();
+            
+            while (rs.next()) {
+                articulos.add(mapearResumenArticulo(rs));
+            }
+            diferirDetalles(articulos);
+            
+        } catch (SQLException e) {
+            medicion.error();
+            System.err.println("Error al obtener página de artículos: " + e.getMessage());
+            medicion.terminar(0);
+            return null;
+        }
+        
+        medicion.terminar(articulos.size());
+        return articulos;
+    }
+    
+    // Método para obtener la clave (año, id) del artículo que está `saltar` posiciones después de la clave dada
+    // Sirve para llegar a una página lejana sin traer las intermedias: solo recorre el índice (año, id)
+    // Retorna {anio, id}, un arreglo vacío si no hay tantos artículos, o null si hubo un error
+    public int[] obtenerClaveArticuloTras(Integer anioDespues, Integer idDespues, int saltar) {
+        Metricas.Medicion medicion = Metricas.iniciar("ArticuloControlador.obtenerClaveArticuloTras");
+        boolean desdeInicio = anioDespues == null || idDespues == null;
+        String sql = "SELECT anio_publicacion, id FROM articulos " +
+                    (desdeInicio ? "" : "WHERE (anio_publicacion, id) < (?, ?) ") +
+                    "ORDER BY anio_publicacion DESC, id DESC LIMIT 1 OFFSET ?";
+        int[] clave = new int[0];
+        
+        try (Connection conn = ConexionDB.getConexion();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            int parametro = 1;
+            if (!desdeInicio) {
+                pstmt.setInt(parametro++, anioDespues);
+                pstmt.setInt(parametro++, idDespues);
+            }
+            pstmt.setInt(parametro, saltar);
+            ResultSet rs = pstmt.executeQuery();
+            
+            if (rs.next()) {
+                clave = new int[]{rs.getInt("anio_publicacion"), rs.getInt("id")};
+            }
+            
+        } catch (SQLException e) {
+            medicion.error();
+            System.err.println("Error al obtener clave de página: " + e.getMessage());
+            medicion.terminar(0);
+            return null;
+        }
+        
+        medicion.terminar(clave.length == 0 ? 0 : 1);
+        return clave;
+    }
+    
     // Método para buscar un artículo específico por su identificador (ID)
+    // Se consulta primero la caché; solo si no está se va a la base de datos
     public Articulo obtenerArticuloPorId(int id) {
+        Metricas.Medicion medicion = Metricas.iniciar("ArticuloControlador.obtenerArticuloPorId");
+        Articulo articulo = CACHE_ARTICULOS.obtener(id, clave ->
+            // Si varios piden a la vez un id que no está en caché, una sola consulta lo trae para todos
+            ConsultasCompartidas.compartir(() -> consultarArticuloPorId(clave),
+                "ArticuloControlador.consultarArticuloPorId", clave));
+        medicion.terminar(articulo == null ? 0 : 1);
+        return articulo;
+    }
+    
+    // Consulta el artículo directamente en la base de datos (sin caché)
+    // Se mide aparte de obtenerArticuloPorId: la diferencia entre ambas es lo que ahorra la caché
+    private Articulo consultarArticuloPorId(int id) {
+        Metricas.Medicion medicion = Metricas.iniciar("ArticuloControlador.consultarArticuloPorId");
         String sql = "SELECT * FROM articulos WHERE id = ?";
         Articulo articulo = null;
         
@@ -51,16 +268,19 @@ public class ArticuloControlador {
             }
             
         } catch (SQLException e) {
+            medicion.error();
             System.err.println("Error al obtener artículo: " + e.getMessage());
         }
         
+        medicion.terminar(articulo == null ? 0 : 1);
         return articulo;
     }
     
     // Método para obtener todos los artículos que pertenecen a una búsqueda específica
     public List<Articulo> obtenerArticulosPorBusqueda(int busquedaId) {
+        Metricas.Medicion medicion = Metricas.iniciar("ArticuloControlador.obtenerArticulosPorBusqueda");
         List<Articulo> articulos = new ArrayList<>();
-        String sql = "SELECT * FROM articulos WHERE busqueda_id = ? ORDER BY id";
+        String sql = "SELECT " + COLUMNAS_LISTA + " FROM articulos WHERE busqueda_id = ? ORDER BY id";
         
         try (Connection conn = ConexionDB.getConexion();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -69,22 +289,51 @@ public class ArticuloControlador {
             ResultSet rs = pstmt.executeQuery();
             
             while (rs.next()) {
-                articulos.add(mapearArticulo(rs));
+                articulos.add(mapearResumenArticulo(rs));
             }
+            diferirDetalles(articulos);
             
         } catch (SQLException e) {
+            medicion.error();
             System.err.println("Error al obtener artículos por búsqueda: " + e.getMessage());
         }
         
+        medicion.terminar(articulos.size());
         return articulos;
     }
     
 
     // Método para buscar artículos por palabra clave
-    // Busca en el título, autores y palabras clave de los artículos
+    // Usa el índice invertido en memoria (título, autores, palabras clave y resumen) y devuelve
+    // los artículos ordenados por relevancia (como máximo LIMITE_RESULTADOS_BUSQUEDA). Si el índice no está disponible o la consulta
+    // no tiene palabras indexables, busca con LIKE en la base de datos.
     public List<Articulo> buscarArticulos(String palabraClave) {
+        return ConsultasCompartidas.compartir(() -> consultarBusquedaArticulos(palabraClave), "ArticuloControlador.buscarArticulos", palabraClave);
+    }
+    
+    // Busca en el índice (o con LIKE) sin compartir la ejecución
+    private List<Articulo> consultarBusquedaArticulos(String palabraClave) {
+        Metricas.Medicion medicion = Metricas.iniciar("ArticuloControlador.buscarArticulos");
+        List<Articulo> articulos = null;
+        IndiceArticulos actual = obtenerIndice();
+        if (actual != null) {
+            int[] ids = actual.buscar(palabraClave, LIMITE_RESULTADOS_BUSQUEDA);
+            if (ids != null) {
+                articulos = obtenerArticulosPorIds(ids);
+            }
+        }
+        if (articulos == null) {
+            articulos = buscarArticulosLike(palabraClave);
+        }
+        medicion.terminar(articulos.size());
+        return articulos;
+    }
+    
+    // Búsqueda por palabra clave con LIKE en el título, autores y palabras clave de los artículos
+    private List<Articulo> buscarArticulosLike(String palabraClave) {
+        Metricas.Medicion medicion = Metricas.iniciar("ArticuloControlador.buscarArticulosLike");
         List<Articulo> articulos = new ArrayList<>();
-        String sql = "SELECT * FROM articulos WHERE " +
+        String sql = "SELECT " + COLUMNAS_LISTA + " FROM articulos WHERE " +
                     "titulo LIKE ? OR autores LIKE ? OR palabras_clave LIKE ? " +
                     "ORDER BY anio_publicacion DESC";
         
@@ -100,18 +349,450 @@ public class ArticuloControlador {
             ResultSet rs = pstmt.executeQuery();
             
             while (rs.next()) {
-                articulos.add(mapearArticulo(rs));
+                articulos.add(mapearResumenArticulo(rs));
             }
+            diferirDetalles(articulos);
             
         } catch (SQLException e) {
+            medicion.error();
             System.err.println("Error al buscar artículos: " + e.getMessage());
         }
         
+        medicion.terminar(articulos.size());
         return articulos;
     }
+
+    // Búsqueda por palabra clave que entrega los resultados por bloques, a medida que llegan
+    // (pensada para buscar mientras el usuario escribe). Hace lo mismo que buscarArticulos, pero
+    // cada TAMANO_BLOQUE_RESULTADOS artículos llama a `alRecibir` (en el hilo de la consulta)
+    // y se detiene si `control` se canceló; devuelve cuántos artículos entregó.
+    private int buscarArticulosPorBloques(String palabraClave, Consumer<List<Articulo>> alRecibir,
+                                          CompletableFuture<?> control) {
+        Metricas.Medicion medicion = Metricas.iniciar("ArticuloControlador.buscarArticulosPorBloques");
+        int entregados = -1;
+        IndiceArticulos actual = obtenerIndice();
+        if (actual != null) {
+            int[] ids = actual.buscar(palabraClave, LIMITE_RESULTADOS_BUSQUEDA);
+            if (ids != null) {
+                entregados = 0;
+                for (int inicio = 0; inicio < ids.length && !control.isDone(); inicio += TAMANO_BLOQUE_RESULTADOS) {
+                    List<Articulo> bloque = obtenerArticulosPorIds(
+                        Arrays.copyOfRange(ids, inicio, Math.min(ids.length, inicio + TAMANO_BLOQUE_RESULTADOS)));
+                    alRecibir.accept(bloque);
+                    entregados += bloque.size();
+                }
+            }
+        }
+        if (entregados < 0) {
+            entregados = buscarArticulosLikePorBloques(palabraClave, alRecibir, control, medicion);
+        }
+        medicion.terminar(entregados);
+        return entregados;
+    }
+
+    // LIKE leyendo en streaming: los primeros artículos se entregan sin esperar al resto.
+    // Si la búsqueda se cancela, se cancela también la consulta en el servidor (Statement.cancel),
+    // así un recorrido de la tabla que ya nadie espera no sigue ocupando la base de datos.
+    private int buscarArticulosLikePorBloques(String palabraClave, Consumer<List<Articulo>> alRecibir,
+                                              CompletableFuture<?> control, Metricas.Medicion medicion) {
+        String sql = "SELECT " + COLUMNAS_LISTA + " FROM articulos WHERE " +
+                    "titulo LIKE ? OR autores LIKE ? OR palabras_clave LIKE ? " +
+                    "ORDER BY anio_publicacion DESC LIMIT ?";
+        int entregados = 0;
+
+        try (Connection conn = ConexionDB.getConexion();
+             PreparedStatement pstmt = conn.prepareStatement(sql,
+                 ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            ConexionDB.leerEnStreaming(pstmt);  // Modo streaming del driver de MySQL
+            String patron = "%" + palabraClave + "%";
+            pstmt.setString(1, patron);
+            pstmt.setString(2, patron);
+            pstmt.setString(3, patron);
+            pstmt.setInt(4, LIMITE_RESULTADOS_BUSQUEDA);
+            // Se cancela en un hilo de consultas: quien cancela suele ser el EDT (cancel(true)) y
+            // Statement.cancel abre otra conexión con el servidor
+            control.whenCompleteAsync((r, e) -> {
+                if (control.isCancelled()) {
+                    cancelarSentencia(pstmt);
+                }
+            }, EjecutorConsultas.getEjecutor());
+
+            List<Articulo> bloque = new ArrayList<>(TAMANO_BLOQUE_RESULTADOS);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (!control.isDone() && rs.next()) {
+                    bloque.add(mapearResumenArticulo(rs));
+                    if (bloque.size() == TAMANO_BLOQUE_RESULTADOS) {
+                        alRecibir.accept(bloque);
+                        entregados += bloque.size();
+                        bloque = new ArrayList<>(TAMANO_BLOQUE_RESULTADOS);
+                    }
+                }
+            }
+            if (!bloque.isEmpty() && !control.isDone()) {
+                alRecibir.accept(bloque);
+                entregados += bloque.size();
+            }
+
+        } catch (SQLException e) {
+            if (!control.isCancelled()) {
+                medicion.error();
+                System.err.println("Error al buscar artículos: " + e.getMessage());
+            }
+        }
+        return entregados;
+    }
+
+    // Cancela en el servidor la consulta en curso (si ya terminó, no hace nada)
+    private static void cancelarSentencia(Statement stmt) {
+        try {
+            stmt.cancel();
+        } catch (SQLException e) {
+            // La sentencia ya estaba cerrada: no hay nada que cancelar
+        }
+    }
+
+    // Método para buscar artículos con el índice FULLTEXT de MySQL (MATCH ... AGAINST)
+    // Busca en título, autores, palabras clave y resumen, y devuelve cada artículo con su relevancia
+    // (mayor primero). Con `modoBooleano` se usa IN BOOLEAN MODE (todas las palabras obligatorias,
+    // admite +, -, "frase" y prefijo*); si no, IN NATURAL LANGUAGE MODE.
+    // Si el término es demasiado corto para el índice, o la tabla no tiene el índice FULLTEXT,
+    // se busca con LIKE (relevancia 0).
+    public List<ResultadoBusqueda<Articulo>> buscarArticulosTextoCompleto(String termino, boolean modoBooleano) {
+        Metricas.Medicion medicion = Metricas.iniciar("ArticuloControlador.buscarArticulosTextoCompleto");
+        List<ResultadoBusqueda<Articulo>> resultados = new ArrayList<>();
+        String expresion = modoBooleano ? TextoCompleto.expresionBooleana(termino) : termino.trim();
+        
+        if (TextoCompleto.esTerminoCorto(termino) || expresion.isEmpty()) {
+            resultados = comoResultados(buscarArticulosLike(termino));
+            medicion.terminar(resultados.size());
+            return resultados;
+        }
+        
+        String modo = modoBooleano ? "IN BOOLEAN MODE" : "IN NATURAL LANGUAGE MODE";
+        String match = "MATCH(titulo, autores, palabras_clave, resumen) AGAINST (? " + modo + ")";
+        String sql = "SELECT " + COLUMNAS_LISTA + ", " + match + " AS relevancia FROM articulos " +
+                    "WHERE " + match + " ORDER BY relevancia DESC LIMIT ?";
+        
+        try (Connection conn = ConexionDB.getConexion();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setString(1, expresion);
+            pstmt.setString(2, expresion);
+            pstmt.setInt(3, TextoCompleto.LIMITE_RESULTADOS);
+            ResultSet rs = pstmt.executeQuery();
+            
+            while (rs.next()) {
+                resultados.add(new ResultadoBusqueda<>(mapearResumenArticulo(rs), rs.getDouble("relevancia")));
+            }
+            
+            List<Articulo> articulos = new ArrayList<>(resultados.size());
+            for (ResultadoBusqueda<Articulo> resultado : resultados) {
+                articulos.add(resultado.getEntidad());
+            }
+            diferirDetalles(articulos);
+            
+        } catch (SQLException e) {
+            if (e.getErrorCode() == TextoCompleto.ERROR_SIN_INDICE_FULLTEXT) {
+                System.err.println("La tabla articulos no tiene índice FULLTEXT; se busca con LIKE");
+                resultados = comoResultados(buscarArticulosLike(termino));
+            } else {
+                medicion.error();
+                System.err.println("Error en búsqueda de texto completo de artículos: " + e.getMessage());
+            }
+        }
+        
+        medicion.terminar(resultados.size());
+        return resultados;
+    }
+    
+    // Envuelve artículos encontrados con LIKE como resultados sin relevancia
+    private static List<ResultadoBusqueda<Articulo>> comoResultados(List<Articulo> articulos) {
+        List<ResultadoBusqueda<Articulo>> resultados = new ArrayList<>(articulos.size());
+        for (Articulo articulo : articulos) {
+            resultados.add(new ResultadoBusqueda<>(articulo, 0));
+        }
+        return resultados;
+    }
+    
+    // Método para obtener varios artículos por sus ids, en el mismo orden en que se piden
+    // Los que ya están en caché no se consultan; el resto se trae en lotes con "WHERE id IN (...)"
+    public List<Articulo> obtenerArticulosPorIds(int[] ids) {
+        Metricas.Medicion medicion = Metricas.iniciar("ArticuloControlador.obtenerArticulosPorIds");
+        Map<Integer, Articulo> encontrados = new HashMap<>();
+        List<Integer> faltantes = new ArrayList<>();
+        for (int id : ids) {
+            Articulo articulo = CACHE_ARTICULOS.obtenerSiPresente(id);
+            if (articulo != null) {
+                encontrados.put(id, articulo);
+            } else {
+                faltantes.add(id);
+            }
+        }
+        
+        for (int inicio = 0; inicio < faltantes.size(); inicio += TAMANO_LOTE_IDS) {
+            List<Integer> lote = faltantes.subList(inicio, Math.min(faltantes.size(), inicio + TAMANO_LOTE_IDS));
+            String sql = "SELECT * FROM articulos WHERE id IN (" + marcadores(lote.size()) + ")";
+            
+            try (Connection conn = ConexionDB.getConexion();
+                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                
+                for (int i = 0; i < lote.size(); i++) {
+                    pstmt.setInt(i + 1, lote.get(i));
+                }
+                ResultSet rs = pstmt.executeQuery();
+                
+                while (rs.next()) {
+                    Articulo articulo = mapearArticulo(rs);
+                    encontrados.put(articulo.getId(), articulo);
+                    CACHE_ARTICULOS.poner(articulo.getId(), articulo);
+                }
+                
+            } catch (SQLException e) {
+                medicion.error();
+                System.err.println("Error al obtener artículos por id: " + e.getMessage());
+            }
+        }
+        
+        List<Articulo> articulos = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            Articulo articulo = encontrados.get(id);
+            if (articulo != null) {
+                articulos.add(articulo);
+            }
+        }
+        medicion.terminar(articulos.size());
+        return articulos;
+    }
+    
+    // Agrega (o actualiza) un artículo en el índice de búsqueda, si ya fue construido
+    // Las inserciones de este controlador llegan al índice por BusEventos; este método es para
+    // artículos que se insertan por otros medios y se quieren encontrar al instante
+    public static void indexarArticulo(Articulo articulo) {
+        IndiceArticulos actual = indice;
+        if (actual != null) {
+            actual.agregar(articulo);
+        }
+    }
+    
+    // Aplica al índice de búsqueda (si ya fue construido) los cambios publicados en el bus
+    // Si todavía no existe no hace falta: al construirlo se leen todos los artículos
+    private static void aplicarEnIndice(List<EventoCambio<Articulo>> eventos) {
+        IndiceArticulos actual = indice;
+        if (actual == null) {
+            return;
+        }
+        for (EventoCambio<Articulo> evento : eventos) {
+            switch (evento.getTipo()) {
+                case CREADO:
+                case ACTUALIZADO:
+                    if (evento.getEntidad() != null) {
+                        actual.agregar(evento.getEntidad());
+                    }
+                    break;
+                case ELIMINADO:
+                    actual.eliminar(evento.getId());
+                    break;
+                default:
+                    // RECARGA: quien la publica ya adelantó la próxima sincronización del índice
+                    break;
+            }
+        }
+    }
+    
+    // Devuelve el índice de búsqueda, o null si todavía no está listo (quien busca usa LIKE).
+    // La búsqueda nunca espera al índice: la primera vez se lanza su construcción en segundo plano, y
+    // luego, cada INTERVALO_SINCRONIZACION_INDICE_MS, una sincronización (también en segundo plano)
+    private static IndiceArticulos obtenerIndice() {
+        IndiceArticulos actual = indice;
+        if (actual == null || System.currentTimeMillis() - ultimaSincronizacionIndice > INTERVALO_SINCRONIZACION_INDICE_MS) {
+            actualizarIndiceEnSegundoPlano();
+        }
+        return actual;
+    }
+    
+    // Construye el índice si todavía no existe y espera a que esté listo (por ejemplo, antes de medir
+    // las búsquedas en los benchmarks). Retorna false si no se pudo construir.
+    public static boolean construirIndice() {
+        // Dos vueltas: la tarea en curso puede ser la sincronización de un índice que se acaba de descartar
+        for (int vuelta = 0; vuelta < 2 && indice == null; vuelta++) {
+            CompletableFuture<Void> tarea = actualizarIndiceEnSegundoPlano();
+            if (tarea == null) {
+                return false;
+            }
+            tarea.join();
+        }
+        return indice != null;
+    }
+    
+    // Lanza la construcción o sincronización del índice, salvo que ya haya una en curso
+    // Retorna la tarea, o null si el ejecutor de consultas no la aceptó (se intenta en la próxima búsqueda)
+    private static synchronized CompletableFuture<Void> actualizarIndiceEnSegundoPlano() {
+        if (tareaIndice == null || tareaIndice.isDone()) {
+            int generacion = generacionIndice;
+            try {
+                tareaIndice = CompletableFuture.runAsync(() -> actualizarIndice(generacion), EjecutorConsultas.getEjecutor());
+            } catch (RejectedExecutionException e) {
+                return null;
+            }
+        }
+        return tareaIndice;
+    }
+    
+    // Trabajo de la tarea del índice: construirlo o traerle los cambios
+    private static void actualizarIndice(int generacion) {
+        IndiceArticulos actual = indice;
+        if (actual == null) {
+            IndiceArticulos nuevo = new IndiceArticulos();
+            Timestamp marca = cargarEnIndice(nuevo, null);
+            if (marca == null) {
+                return;
+            }
+            synchronized (ArticuloControlador.class) {
+                if (generacion != generacionIndice) {
+                    return;  // Se descartó el índice mientras se construía
+                }
+                marcaIndice = marca;
+                ultimaRevisionEliminados = 0;
+                indice = nuevo;
+            }
+            System.out.println("✓ Índice de búsqueda construido (" + nuevo.getCantidadArticulos() + " artículos)");
+            return;
+        }
+        
+        // Los eventos del bus ya mantienen el índice al día con los cambios de esta aplicación; aquí se
+        // traen los hechos por otros medios. Primero los borrados (solo cada tanto: se leen todos los ids)
+        // y después lo modificado desde la marca, que vuelve a traer lo que se insertó mientras tanto
+        long ahora = System.currentTimeMillis();
+        if (ahora - ultimaRevisionEliminados > INTERVALO_REVISION_ELIMINADOS_MS && quitarBorradosDelIndice(actual)) {
+            ultimaRevisionEliminados = ahora;
+        }
+        Timestamp marca = cargarEnIndice(actual, marcaIndice);
+        if (marca != null) {
+            marcaIndice = marca;
+        } else {
+            ultimaSincronizacionIndice = ahora;  // Falló: se reintenta en el próximo intervalo, no en cada búsqueda
+        }
+        actual.compactarSiHaceFalta();
+    }
+    
+    // Lee de la base de datos los artículos modificados desde `desde` (todos si es null) y los agrega
+    // al índice (agregar reemplaza la versión anterior, o no hace nada si los textos no cambiaron:
+    // cada sincronización vuelve a leer las filas del margen, y la migración V6 marca todas las filas
+    // con la hora en que se aplicó). Las filas nuevas también cuentan como modificadas:
+    // fecha_actualizacion toma la hora de la inserción.
+    // Solo se traen las columnas que se indexan, fila por fila (sin cargar toda la tabla en memoria)
+    // Retorna la marca para la próxima sincronización, o null si hubo un error
+    private static Timestamp cargarEnIndice(IndiceArticulos destino, Timestamp desde) {
+        Metricas.Medicion medicion = Metricas.iniciar("ArticuloControlador.cargarEnIndice");
+        String sql = "SELECT id, titulo, autores, palabras_clave, resumen FROM articulos " +
+                    (desde == null ? "ORDER BY id" : "WHERE fecha_actualizacion >= ?");
+        int leidos = 0;
+        
+        try (Connection conn = ConexionDB.getConexion()) {
+            // La hora se lee ANTES de consultar: lo que cambie durante la consulta entra en la próxima
+            Timestamp ahora;
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT CURRENT_TIMESTAMP")) {
+                rs.next();
+                ahora = rs.getTimestamp(1);
+            }
+            
+            try (PreparedStatement pstmt = conn.prepareStatement(sql,
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                ConexionDB.leerEnStreaming(pstmt);  // Modo streaming del driver de MySQL
+                if (desde != null) {
+                    pstmt.setTimestamp(1, desde);
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        destino.agregar(rs.getInt("id"), rs.getString("titulo"), rs.getString("autores"),
+                                        rs.getString("palabras_clave"), rs.getString("resumen"));
+                        leidos++;
+                    }
+                }
+            }
+            ultimaSincronizacionIndice = System.currentTimeMillis();
+            medicion.terminar(leidos);
+            return new Timestamp(ahora.getTime() - MARGEN_MARCA_INDICE_MS);
+            
+        } catch (SQLException e) {
+            medicion.error();
+            medicion.terminar(leidos);
+            System.err.println("Error al " + (desde == null ? "construir" : "sincronizar")
+                + " el índice de búsqueda: " + e.getMessage());
+            return null;
+        }
+    }
+    
+    // Quita del índice los artículos que ya no están en la base de datos: los borrados desde otro
+    // cliente o en cascada al eliminar su búsqueda, que no pasan por el bus. Solo se leen los ids.
+    // Retorna false si hubo un error
+    private static boolean quitarBorradosDelIndice(IndiceArticulos destino) {
+        Metricas.Medicion medicion = Metricas.iniciar("ArticuloControlador.quitarBorradosDelIndice");
+        int[] existentes = new int[1024];
+        int cantidad = 0;
+        int marca = destino.getMarcaDocumentos();
+        
+        try (Connection conn = ConexionDB.getConexion();
+             PreparedStatement pstmt = conn.prepareStatement("SELECT id FROM articulos ORDER BY id",
+                 ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            ConexionDB.leerEnStreaming(pstmt);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    if (cantidad == existentes.length) {
+                        existentes = Arrays.copyOf(existentes, cantidad * 2);
+                    }
+                    existentes[cantidad++] = rs.getInt(1);
+                }
+            }
+        } catch (SQLException e) {
+            medicion.error();
+            medicion.terminar(0);
+            System.err.println("Error al revisar los artículos borrados del índice: " + e.getMessage());
+            return false;
+        }
+        
+        int quitados = destino.retenerSolo(Arrays.copyOf(existentes, cantidad), marca);
+        medicion.terminar(quitados);
+        return true;
+    }
+    
+    // Genera "?, ?, ?" con la cantidad de marcadores indicada
+    private static String marcadores(int cantidad) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < cantidad; i++) {
+            sb.append(i == 0 ? "?" : ", ?");
+        }
+        return sb.toString();
+    }
+    
+    // Método para recorrer todos los artículos (ordenados por id) sin cargarlos todos en memoria
+    // Las filas se leen de la base de datos a medida que el suscriptor las pide (contrapresión);
+    // pensado para exportaciones, reindexado o análisis sobre tablas muy grandes
+    public Flow.Publisher<Articulo> publicarArticulos() {
+        return new PublicadorConsulta<>("SELECT * FROM articulos ORDER BY id", null, this::mapearArticulo);
+    }
+    
+    // Igual que publicarArticulos, pero solo los artículos de una búsqueda
+    public Flow.Publisher<Articulo> publicarArticulosPorBusqueda(int busquedaId) {
+        return new PublicadorConsulta<>("SELECT * FROM articulos WHERE busqueda_id = ? ORDER BY id",
+            pstmt -> pstmt.setInt(1, busquedaId), this::mapearArticulo);
+    }
     
     // Método para contar el total de artículos almacenados en la base de datos
     public int contarArticulos() {
+        return ConsultasCompartidas.compartir(this::consultarCantidadArticulos, "ArticuloControlador.contarArticulos");
+    }
+    
+    // Cuenta los artículos: suma los contadores de resumen de cada búsqueda y, si no están disponibles, recorre la tabla
+    private int consultarCantidadArticulos() {
+        Metricas.Medicion medicion = Metricas.iniciar("ArticuloControlador.contarArticulos");
+        long contador = ContadoresResumen.sumar(ContadoresResumen.ARTICULOS_POR_BUSQUEDA);
+        if (contador != ContadoresResumen.NO_DISPONIBLE) {
+            medicion.terminar(1);
+            return (int) contador;
+        }
         String sql = "SELECT COUNT(*) as total FROM articulos";
         int total = 0;
         
@@ -124,15 +805,330 @@ public class ArticuloControlador {
             }
             
         } catch (SQLException e) {
+            medicion.error();
             System.err.println("Error al contar artículos: " + e.getMessage());
         }
         
+        medicion.terminar(1);
+        return total;
+    }
+    
+    // Método para contar los artículos cargados de una búsqueda
+    public int contarArticulosPorBusqueda(int busquedaId) {
+        Metricas.Medicion medicion = Metricas.iniciar("ArticuloControlador.contarArticulosPorBusqueda");
+        long contador = ContadoresResumen.leer(ContadoresResumen.ARTICULOS_POR_BUSQUEDA, String.valueOf(busquedaId));
+        if (contador != ContadoresResumen.NO_DISPONIBLE) {
+            medicion.terminar(1);
+            return (int) contador;
+        }
+        String sql = "SELECT COUNT(*) as total FROM articulos WHERE busqueda_id = ?";
+        int total = 0;
+        
+        try (Connection conn = ConexionDB.getConexion();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setInt(1, busquedaId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    total = rs.getInt("total");
+                }
+            }
+            
+        } catch (SQLException e) {
+            medicion.error();
+            System.err.println("Error al contar artículos de la búsqueda: " + e.getMessage());
+        }
+        
+        medicion.terminar(1);
         return total;
     }
     
-    // Método privado auxiliar que convierte una fila de la base de datos en un objeto Articulo
+    // Método para insertar muchos artículos de una vez (por ejemplo, una importación de Scopus)
+    // Usa lotes JDBC: con rewriteBatchedStatements el driver los envía como INSERT de varias filas.
+    // Cada TAMANO_LOTE_INSERCION artículos se confirma una transacción, y a cada artículo insertado
+    // se le asigna el id generado. Si un lote falla se deshace solo ese lote y se detiene la carga.
+    // Un artículo cuyo DOI ya está en su búsqueda (índice único de la migración V3) no se inserta:
+    // se cuenta como duplicado y la carga sigue, igual que con cargarArticulosMasivamente.
+    // Retorna cuántos artículos se insertaron y cuántos se saltaron por duplicados.
+    public ResultadoInsercion insertarArticulos(Iterable<Articulo> articulos) {
+        return insertarArticulos(articulos, TAMANO_LOTE_INSERCION);
+    }
+    
+    // Igual que insertarArticulos(articulos), con la cantidad de artículos por transacción indicada
+    public ResultadoInsercion insertarArticulos(Iterable<Articulo> articulos, int tamanoLote) {
+        if (tamanoLote <= 0) {
+            throw new IllegalArgumentException("El tamaño de lote debe ser mayor que cero: " + tamanoLote);
+        }
+        Metricas.Medicion medicion = Metricas.iniciar("ArticuloControlador.insertarArticulos");
+        String sql = "INSERT INTO articulos (" + COLUMNAS_INSERCION + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        int insertados = 0;
+        int duplicados = 0;
+        
+        try (Connection conn = ConexionDB.getConexion();
+             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            
+            // Sin autocommit: cada lote es una transacción (el pool restablece el autocommit al devolverla)
+            conn.setAutoCommit(false);
+            List<Articulo> lote = new ArrayList<>(tamanoLote);
+            
+            for (Articulo articulo : articulos) {
+                lote.add(articulo);
+                if (lote.size() == tamanoLote) {
+                    int confirmados = confirmarLote(conn, pstmt, lote);
+                    insertados += confirmados;
+                    duplicados += lote.size() - confirmados;
+                    lote.clear();
+                }
+            }
+            if (!lote.isEmpty()) {
+                int confirmados = confirmarLote(conn, pstmt, lote);
+                insertados += confirmados;
+                duplicados += lote.size() - confirmados;
+            }
+            
+        } catch (SQLException e) {
+            medicion.error();
+            System.err.println("Error al insertar artículos (se insertaron " + insertados + "): " + e.getMessage());
+        }
+        
+        medicion.terminar(insertados);
+        return new ResultadoInsercion(insertados, duplicados);
+    }
+    
+    // Inserta los artículos del lote que no son duplicados, confirma la transacción y asigna los ids
+    // generados (en el mismo orden de inserción). Retorna cuántos se insertaron.
+    // Los duplicados se descartan ANTES del INSERT (y no con INSERT IGNORE) para que los ids generados
+    // sigan correspondiendo uno a uno con los artículos del lote. Si otro hilo inserta el mismo DOI
+    // entre la consulta y el INSERT, el lote se deshace y se vuelve a intentar.
+    private int confirmarLote(Connection conn, PreparedStatement pstmt, List<Articulo> lote) throws SQLException {
+        for (int intento = 1; ; intento++) {
+            List<Articulo> nuevos = quitarDuplicados(conn, lote);
+            if (nuevos.isEmpty()) {
+                conn.commit();  // Cierra la transacción de la consulta de duplicados
+                return 0;
+            }
+            
+            int[] ids = new int[nuevos.size()];
+            try {
+                for (Articulo articulo : nuevos) {
+                    pstmt.setInt(1, articulo.getBusquedaId());
+                    pstmt.setString(2, articulo.getTitulo());
+                    pstmt.setString(3, articulo.getAutores());
+                    pstmt.setInt(4, articulo.getAnioPublicacion());
+                    pstmt.setString(5, articulo.getFuente());
+                    pstmt.setString(6, articulo.getDoi());
+                    pstmt.setString(7, articulo.getResumen());
+                    pstmt.setString(8, articulo.getPalabrasClave());
+                    pstmt.setString(9, articulo.getCitaAPA());
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+                try (ResultSet claves = pstmt.getGeneratedKeys()) {
+                    int i = 0;
+                    while (i < ids.length && claves.next()) {
+                        ids[i++] = claves.getInt(1);
+                    }
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                pstmt.clearBatch();
+                conn.rollback();
+                if (e.getErrorCode() == ERROR_CLAVE_DUPLICADA && intento < INTENTOS_LOTE) {
+                    continue;
+                }
+                throw e;
+            }
+            
+            List<EventoCambio<Articulo>> eventos = new ArrayList<>(ids.length);
+            for (int i = 0; i < ids.length; i++) {
+                Articulo articulo = nuevos.get(i);
+                articulo.setId(ids[i]);
+                eventos.add(EventoCambio.creado(ids[i], articulo));
+            }
+            // Un solo aviso por lote: el índice y las vistas lo reciben junto
+            ConsultasCompartidas.descartar("ArticuloControlador.");
+            BusEventos.publicar(Articulo.class, eventos);
+            return nuevos.size();
+        }
+    }
+    
+    // Artículos del lote cuyo (búsqueda, DOI) no está en la tabla ni aparece antes en el mismo lote
+    // Los artículos sin DOI nunca son duplicados
+    private List<Articulo> quitarDuplicados(Connection conn, List<Articulo> lote) throws SQLException {
+        List<Articulo> conDoi = new ArrayList<>();
+        for (Articulo articulo : lote) {
+            if (articulo.getDoi() != null) {
+                conDoi.add(articulo);
+            }
+        }
+        
+        Set<String> vistos = new HashSet<>();
+        if (!conDoi.isEmpty()) {
+            StringBuilder sql = new StringBuilder("SELECT busqueda_id, doi FROM articulos WHERE (busqueda_id, doi) IN (");
+            for (int i = 0; i < conDoi.size(); i++) {
+                sql.append(i == 0 ? "(?, ?)" : ", (?, ?)");
+            }
+            sql.append(")");
+            try (PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+                int parametro = 1;
+                for (Articulo articulo : conDoi) {
+                    pstmt.setInt(parametro++, articulo.getBusquedaId());
+                    pstmt.setString(parametro++, articulo.getDoi());
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        vistos.add(rs.getInt("busqueda_id") + "\t" + rs.getString("doi"));
+                    }
+                }
+            }
+        }
+        
+        List<Articulo> nuevos = new ArrayList<>(lote.size());
+        for (Articulo articulo : lote) {
+            // add devuelve false si la clave ya estaba: en la tabla o en un artículo anterior del lote
+            if (articulo.getDoi() == null || vistos.add(articulo.getBusquedaId() + "\t" + articulo.getDoi())) {
+                nuevos.add(articulo);
+            }
+        }
+        return nuevos;
+    }
+    
+    // Carga masiva rápida con LOAD DATA LOCAL INFILE, para cargas muy grandes (cientos de miles de artículos)
+    // Escribe los artículos en un archivo temporal (separado por tabuladores) dentro de
+    // ConexionDB.DIRECTORIO_CARGA_MASIVA y el servidor lo lee de una vez. Los ids generados no se
+    // conocen: el índice de búsqueda los incorpora en su próxima sincronización.
+    // Con LOCAL el servidor salta las filas que repiten una clave única (como IGNORE): son los
+    // duplicados, las filas escritas que no se cargaron.
+    // Si el servidor tiene deshabilitado local_infile, se usa insertarArticulos (por eso `articulos`
+    // debe poder recorrerse más de una vez, por ejemplo una lista).
+    // Retorna cuántos artículos se cargaron y cuántos se saltaron por duplicados.
+    public ResultadoInsercion cargarArticulosMasivamente(Iterable<Articulo> articulos) {
+        Metricas.Medicion medicion = Metricas.iniciar("ArticuloControlador.cargarArticulosMasivamente");
+        int cargados = 0;
+        int escritos = 0;
+        Path archivo = null;
+        try {
+            Files.createDirectories(ConexionDB.DIRECTORIO_CARGA_MASIVA);
+            archivo = Files.createTempFile(ConexionDB.DIRECTORIO_CARGA_MASIVA, "articulos-", ".tsv");
+            
+            try (BufferedWriter escritor = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8)) {
+                for (Articulo articulo : articulos) {
+                    escritor.write(Integer.toString(articulo.getBusquedaId()));
+                    escribirCampo(escritor, articulo.getTitulo());
+                    escribirCampo(escritor, articulo.getAutores());
+                    escritor.write('\t');
+                    escritor.write(Integer.toString(articulo.getAnioPublicacion()));
+                    escribirCampo(escritor, articulo.getFuente());
+                    escribirCampo(escritor, articulo.getDoi());
+                    escribirCampo(escritor, articulo.getResumen());
+                    escribirCampo(escritor, articulo.getPalabrasClave());
+                    escribirCampo(escritor, articulo.getCitaAPA());
+                    escritor.write('\n');
+                    escritos++;
+                }
+            }
+            
+            // El nombre del archivo no admite parámetros (?): se escapa como literal de texto
+            String ruta = archivo.toString().replace("\\", "\\\\").replace("'", "\\'");
+            String sql = "LOAD DATA LOCAL INFILE '" + ruta + "' INTO TABLE articulos " +
+                        "CHARACTER SET utf8mb4 FIELDS TERMINATED BY '\\t' ESCAPED BY '\\\\' " +
+                        "LINES TERMINATED BY '\\n' (" + COLUMNAS_INSERCION + ")";
+            
+            try (Connection conn = ConexionDB.getConexion();
+                 Statement stmt = conn.createStatement()) {
+                cargados = stmt.executeUpdate(sql);
+                ultimaSincronizacionIndice = 0;  // La próxima búsqueda trae los artículos nuevos al índice
+                ConsultasCompartidas.descartar("ArticuloControlador.");
+                BusEventos.publicar(Articulo.class, EventoCambio.recarga());  // No se conocen los ids
+                System.out.println("✓ " + cargados + " artículos cargados con LOAD DATA ("
+                    + (escritos - cargados) + " duplicados)");
+            }
+            
+        } catch (IOException e) {
+            medicion.error();
+            System.err.println("Error al preparar el archivo de carga masiva: " + e.getMessage());
+        } catch (SQLException e) {
+            if (e.getErrorCode() == ERROR_LOCAL_INFILE_DESHABILITADO
+                    || e.getErrorCode() == ERROR_LOCAL_INFILE_NO_PERMITIDO) {
+                System.err.println("LOAD DATA LOCAL INFILE está deshabilitado en el servidor; se inserta por lotes");
+                ResultadoInsercion resultado = insertarArticulos(articulos);
+                medicion.terminar(resultado.getInsertados());
+                return resultado;
+            } else {
+                medicion.error();
+                System.err.println("Error en la carga masiva de artículos: " + e.getMessage());
+            }
+        } finally {
+            if (archivo != null) {
+                try {
+                    Files.deleteIfExists(archivo);
+                } catch (IOException e) {
+                    System.err.println("No se pudo borrar el archivo de carga " + archivo + ": " + e.getMessage());
+                }
+            }
+        }
+        medicion.terminar(cargados);
+        return new ResultadoInsercion(cargados, Math.max(0, escritos - cargados));
+    }
+    
+    // Escribe un campo precedido de tabulador, con el escape que espera LOAD DATA (\N = NULL)
+    private static void escribirCampo(BufferedWriter escritor, String valor) throws IOException {
+        escritor.write('\t');
+        if (valor == null) {
+            escritor.write("\\N");
+            return;
+        }
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            switch (c) {
+                case '\\': escritor.write("\\\\"); break;
+                case '\t': escritor.write("\\t"); break;
+                case '\n': escritor.write("\\n"); break;
+                case '\r': escritor.write("\\r"); break;
+                case '\0': escritor.write("\\0"); break;
+                default: escritor.write(c);
+            }
+        }
+    }
+    
+    // Olvida el artículo guardado en caché (se debe llamar si el artículo cambia en la base de datos)
+    public static void invalidarCacheArticulo(int id) {
+        CACHE_ARTICULOS.invalidar(id);
+    }
+    
+    // Olvida todos los artículos guardados en caché
+    public static void invalidarCacheArticulos() {
+        CACHE_ARTICULOS.invalidarTodo();
+    }
+    
+    // Descarta el índice de búsqueda; se reconstruye completo en la próxima búsqueda
+    // (por ejemplo, después de cambiar de base de datos o de borrar artículos)
+    public static synchronized void descartarIndice() {
+        generacionIndice++;
+        indice = null;
+        ultimaSincronizacionIndice = 0;
+    }
+    
+    // Aciertos, fallos y tamaño de la caché de artículos
+    public static String getEstadisticasCache() {
+        return CACHE_ARTICULOS.getEstadisticas();
+    }
+    
+    // Peso aproximado de un artículo en la caché: la cantidad de caracteres de sus textos
+    private static int pesoArticulo(Articulo a) {
+        return 16 + largo(a.getTitulo()) + largo(a.getAutores()) + largo(a.getFuente())
+            + largo(a.getDoi()) + largo(a.getResumen()) + largo(a.getPalabrasClave())
+            + largo(a.getCitaAPA());
+    }
+    
+    private static int largo(String texto) {
+        return texto == null ? 0 : texto.length();
+    }
+    
+    // Método auxiliar que convierte una fila de la base de datos en un objeto Articulo
     // Este método rellena todos los atributos del artículo con los datos de la base de datos
-    private Articulo mapearArticulo(ResultSet rs) throws SQLException {
+    // (visible en el paquete para medir su costo en los benchmarks)
+    Articulo mapearArticulo(ResultSet rs) throws SQLException {
         Articulo articulo = new Articulo();
         articulo.setId(rs.getInt("id"));
         articulo.setBusquedaId(rs.getInt("busqueda_id"));
@@ -146,4 +1142,138 @@ public class ArticuloControlador {
         articulo.setCitaAPA(rs.getString("cita_apa"));
         return articulo;
     }
-}
\ No newline at end of file
+
+    // Convierte una fila con solo las columnas de COLUMNAS_LISTA en un Articulo
+    // Los campos largos quedan pendientes hasta que se llame a diferirDetalles
+    private Articulo mapearResumenArticulo(ResultSet rs) throws SQLException {
+        Articulo articulo = new Articulo();
+        articulo.setId(rs.getInt("id"));
+        articulo.setBusquedaId(rs.getInt("busqueda_id"));
+        articulo.setTitulo(rs.getString("titulo"));
+        articulo.setAutores(rs.getString("autores"));
+        articulo.setAnioPublicacion(rs.getInt("anio_publicacion"));
+        return articulo;
+    }
+    
+    // Asigna a los artículos de una lista su cargador de campos largos, en lotes consecutivos de
+    // TAMANO_LOTE_DETALLES: al pedir el resumen (u otro campo largo) de uno, se completa todo su lote
+    private void diferirDetalles(List<Articulo> articulos) {
+        for (int inicio = 0; inicio < articulos.size(); inicio += TAMANO_LOTE_DETALLES) {
+            List<Articulo> lote = new ArrayList<>(
+                articulos.subList(inicio, Math.min(articulos.size(), inicio + TAMANO_LOTE_DETALLES)));
+            LoteDiferido<Articulo> cargador = new LoteDiferido<>(lote, this::cargarDetalles);
+            for (Articulo articulo : lote) {
+                articulo.setCargadorDetalles(cargador);
+            }
+        }
+    }
+    
+    // Completa los campos largos de un lote de artículos con una sola consulta "WHERE id IN (...)"
+    private void cargarDetalles(List<Articulo> lote) {
+        Metricas.Medicion medicion = Metricas.iniciar("ArticuloControlador.cargarDetalles");
+        Map<Integer, Articulo> porId = new HashMap<>();
+        for (Articulo articulo : lote) {
+            porId.put(articulo.getId(), articulo);
+        }
+        String sql = "SELECT id, fuente, doi, resumen, palabras_clave, cita_apa FROM articulos " +
+                    "WHERE id IN (" + marcadores(porId.size()) + ")";
+        
+        try (Connection conn = ConexionDB.getConexion();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            int parametro = 1;
+            for (Integer id : porId.keySet()) {
+                pstmt.setInt(parametro++, id);
+            }
+            ResultSet rs = pstmt.executeQuery();
+            
+            while (rs.next()) {
+                // completarDetalles no pisa lo que se haya asignado con los setters mientras tanto
+                porId.get(rs.getInt("id")).completarDetalles(rs.getString("fuente"), rs.getString("doi"),
+                    rs.getString("resumen"), rs.getString("palabras_clave"), rs.getString("cita_apa"));
+            }
+            
+        } catch (SQLException e) {
+            medicion.error();
+            System.err.println("Error al cargar detalles de artículos: " + e.getMessage());
+        }
+        medicion.terminar(lote.size());
+        
+        // Aunque alguno ya no exista (o la consulta falle), el lote queda completo: no se vuelve a consultar
+        for (Articulo articulo : lote) {
+            articulo.setCargadorDetalles(null);
+        }
+    }
+
+    // VARIANTES ASÍNCRONAS
+    // Ejecutan la misma consulta en segundo plano (EjecutorConsultas) para no bloquear la interfaz
+
+    public CompletableFuture<List<Articulo>> obtenerTodosLosArticulosAsync() {
+        return EjecutorConsultas.enSegundoPlano(this::obtenerTodosLosArticulos);
+    }
+
+    public CompletableFuture<Map<Integer, String>> obtenerTitulosArticulosAsync(int limite) {
+        return EjecutorConsultas.enSegundoPlano(() -> obtenerTitulosArticulos(limite));
+    }
+
+    public CompletableFuture<List<Articulo>> obtenerPaginaArticulosAsync(Integer anioDespues, Integer idDespues, int limite) {
+        return EjecutorConsultas.enSegundoPlano(() -> obtenerPaginaArticulos(anioDespues, idDespues, limite));
+    }
+
+    public CompletableFuture<int[]> obtenerClaveArticuloTrasAsync(Integer anioDespues, Integer idDespues, int saltar) {
+        return EjecutorConsultas.enSegundoPlano(() -> obtenerClaveArticuloTras(anioDespues, idDespues, saltar));
+    }
+
+    public CompletableFuture<Articulo> obtenerArticuloPorIdAsync(int id) {
+        return EjecutorConsultas.enSegundoPlano(() -> obtenerArticuloPorId(id));
+    }
+
+    public CompletableFuture<List<Articulo>> obtenerArticulosPorIdsAsync(int[] ids) {
+        return EjecutorConsultas.enSegundoPlano(() -> obtenerArticulosPorIds(ids));
+    }
+
+    public CompletableFuture<List<Articulo>> obtenerArticulosPorBusquedaAsync(int busquedaId) {
+        return EjecutorConsultas.enSegundoPlano(() -> obtenerArticulosPorBusqueda(busquedaId));
+    }
+
+    public CompletableFuture<List<Articulo>> buscarArticulosAsync(String palabraClave) {
+        return EjecutorConsultas.enSegundoPlano(() -> buscarArticulos(palabraClave));
+    }
+
+    // Búsqueda por bloques: `alRecibir` se llama en segundo plano con cada bloque de resultados.
+    // Al cancelar el CompletableFuture (cancel) se deja de entregar y se cancela la consulta en la base de datos.
+    public CompletableFuture<Integer> buscarArticulosPorBloquesAsync(String palabraClave, Consumer<List<Articulo>> alRecibir) {
+        CompletableFuture<Integer> control = new CompletableFuture<>();
+        EjecutorConsultas.getEjecutor().execute(() -> {
+            if (control.isDone()) {
+                return;  // Se canceló mientras esperaba turno: ni siquiera se consulta
+            }
+            try {
+                control.complete(buscarArticulosPorBloques(palabraClave, alRecibir, control));
+            } catch (RuntimeException e) {
+                control.completeExceptionally(e);
+            }
+        });
+        return control;
+    }
+
+    public CompletableFuture<List<ResultadoBusqueda<Articulo>>> buscarArticulosTextoCompletoAsync(String termino, boolean modoBooleano) {
+        return EjecutorConsultas.enSegundoPlano(() -> buscarArticulosTextoCompleto(termino, modoBooleano));
+    }
+
+    public CompletableFuture<ResultadoInsercion> insertarArticulosAsync(Iterable<Articulo> articulos) {
+        return EjecutorConsultas.enSegundoPlano(() -> insertarArticulos(articulos));
+    }
+
+    public CompletableFuture<ResultadoInsercion> cargarArticulosMasivamenteAsync(Iterable<Articulo> articulos) {
+        return EjecutorConsultas.enSegundoPlano(() -> cargarArticulosMasivamente(articulos));
+    }
+
+    public CompletableFuture<Integer> contarArticulosAsync() {
+        return EjecutorConsultas.enSegundoPlano(this::contarArticulos);
+    }
+
+    public CompletableFuture<Integer> contarArticulosPorBusquedaAsync(int busquedaId) {
+        return EjecutorConsultas.enSegundoPlano(() -> contarArticulosPorBusqueda(busquedaId));
+    }
+}
@@ -0,0 +1,143 @@
+package controlador;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import modelo.EventoCambio;
+
+// Bus de eventos dentro de la aplicación: los controladores publican lo que cambiaron (creado,
+// actualizado, eliminado, con la entidad) y los interesados (paneles, índice de búsqueda...) se
+// suscriben por tipo de entidad para actualizar solo lo que cambió, sin recargar todo.
+// - La entrega es asíncrona: publicar nunca espera a los suscriptores.
+// - Los eventos se agrupan: el primero programa la entrega para VENTANA_MS después y todo lo que
+//   llegue mientras tanto se entrega junto, en una sola llamada al suscriptor. Así un lote de
+//   1.000 filas es UNA actualización de la interfaz y no mil.
+// - Dentro de un grupo se combinan los eventos del mismo id (queda el último estado; creado y
+//   luego eliminado se anulan).
+// Uso típico en un panel:
+//   BusEventos.suscribir(EstrategiaInversion.class, tarea -> CargaAsincrona.enEDT("...", tarea),
+//       eventos -> modeloTabla.aplicar(eventos));
+public final class BusEventos {
+
+    private static final long VENTANA_MS = 50;     // Tiempo que se esperan más eventos antes de entregar
+    private static final int ID_RECARGA = Integer.MIN_VALUE;  // Clave de los eventos RECARGA al combinar
+
+    private static final Map<Class<?>, List<Suscripcion<?>>> SUSCRIPCIONES = new ConcurrentHashMap<>();
+    private static final ScheduledExecutorService TEMPORIZADOR = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread hilo = new Thread(r, "bus-eventos");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+
+    // Constructor privado - solo tiene métodos estáticos
+    private BusEventos() {}
+
+    // Suscribe `oyente` a los cambios de entidades de tipo `tipo`
+    // Los grupos de eventos se le entregan a través de `entrega` (por ejemplo, el hilo de Swing);
+    // con entrega = Runnable::run se ejecuta en el hilo del bus, que debe quedar libre rápido
+    public static <T> Suscripcion<T> suscribir(Class<T> tipo, Executor entrega, Consumer<List<EventoCambio<T>>> oyente) {
+        Suscripcion<T> suscripcion = new Suscripcion<>(tipo, entrega, oyente);
+        SUSCRIPCIONES.computeIfAbsent(tipo, t -> new CopyOnWriteArrayList<>()).add(suscripcion);
+        return suscripcion;
+    }
+
+    // Publica un evento de cambio para las entidades de tipo `tipo`
+    public static <T> void publicar(Class<T> tipo, EventoCambio<T> evento) {
+        publicar(tipo, Collections.singletonList(evento));
+    }
+
+    // Publica varios eventos a la vez (por ejemplo, todas las filas de una operación por lotes)
+    @SuppressWarnings("unchecked")
+    public static <T> void publicar(Class<T> tipo, List<EventoCambio<T>> eventos) {
+        List<Suscripcion<?>> suscripciones = SUSCRIPCIONES.get(tipo);
+        if (suscripciones == null || eventos.isEmpty()) {
+            return;
+        }
+        for (Suscripcion<?> suscripcion : suscripciones) {
+            ((Suscripcion<T>) suscripcion).recibir(eventos);
+        }
+    }
+
+    // Un suscriptor con sus eventos pendientes de entregar
+    public static final class Suscripcion<T> {
+        private final Class<T> tipo;
+        private final Executor entrega;
+        private final Consumer<List<EventoCambio<T>>> oyente;
+        private Map<Integer, EventoCambio<T>> pendientes = new LinkedHashMap<>();  // En orden de llegada
+        private boolean programada = false;
+        private volatile boolean cancelada = false;
+
+        private Suscripcion(Class<T> tipo, Executor entrega, Consumer<List<EventoCambio<T>>> oyente) {
+            this.tipo = tipo;
+            this.entrega = entrega;
+            this.oyente = oyente;
+        }
+
+        // Deja de recibir eventos (los pendientes se descartan)
+        public void cancelar() {
+            cancelada = true;
+            List<Suscripcion<?>> suscripciones = SUSCRIPCIONES.get(tipo);
+            if (suscripciones != null) {
+                suscripciones.remove(this);
+            }
+        }
+
+        private synchronized void recibir(List<EventoCambio<T>> eventos) {
+            for (EventoCambio<T> evento : eventos) {
+                combinar(evento);
+            }
+            if (!programada) {
+                programada = true;
+                TEMPORIZADOR.schedule(() -> entrega.execute(this::entregar), VENTANA_MS, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        // Junta el evento con el pendiente del mismo id, si lo hay
+        private void combinar(EventoCambio<T> evento) {
+            if (evento.getTipo() == EventoCambio.Tipo.RECARGA) {
+                // Se va a recargar todo: los cambios anteriores ya no hacen falta
+                pendientes.clear();
+                pendientes.put(ID_RECARGA, evento);
+                return;
+            }
+            EventoCambio<T> anterior = pendientes.get(evento.getId());
+            if (anterior != null && anterior.getTipo() == EventoCambio.Tipo.CREADO) {
+                if (evento.getTipo() == EventoCambio.Tipo.ELIMINADO) {
+                    pendientes.remove(evento.getId());  // Nadie llegó a verlo: no hay nada que avisar
+                    return;
+                }
+                // Sigue siendo nuevo para el suscriptor, pero con su último estado
+                evento = EventoCambio.creado(evento.getId(), evento.getEntidad());
+            }
+            pendientes.put(evento.getId(), evento);
+        }
+
+        private void entregar() {
+            List<EventoCambio<T>> grupo;
+            synchronized (this) {
+                grupo = new ArrayList<>(pendientes.values());
+                pendientes = new LinkedHashMap<>();
+                programada = false;
+            }
+            if (cancelada || grupo.isEmpty()) {
+                return;
+            }
+            try {
+                oyente.accept(grupo);
+            } catch (RuntimeException e) {
+                // Un suscriptor con errores no debe impedir las entregas siguientes
+                System.err.println("Error en un suscriptor de eventos de " + tipo.getSimpleName() + ": " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+    }
+}
@@ -3,8 +3,11 @@ package controlador;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
 import modelo.Busqueda;
 import modelo.ConexionDB;
+import modelo.Metricas;
 
 // Esta clase controla todas las operaciones con búsquedas en la base de datos
 // Permite obtener búsquedas y calcular estadísticas de ellas
@@ -13,6 +16,12 @@ public class BusquedaControlador {
 
     // Método para obtener todas las búsquedas almacenadas en la base de datos
     public List<Busqueda> obtenerTodasLasBusquedas() {
+        return ConsultasCompartidas.compartir(this::consultarTodasLasBusquedas, "BusquedaControlador.obtenerTodasLasBusquedas");
+    }
+    
+    // Lee todas las búsquedas de la base de datos
+    private List<Busqueda> consultarTodasLasBusquedas() {
+        Metricas.Medicion medicion = Metricas.iniciar("BusquedaControlador.obtenerTodasLasBusquedas");
         List<Busqueda> busquedas = new ArrayList<>();
         String sql = "SELECT * FROM busquedas ORDER BY id";
         
@@ -22,27 +31,27 @@ public class BusquedaControlador {
             
             // Recorremos los resultados y creamos objetos Busqueda con los datos obtenidos
             while (rs.next()) {
-                Busqueda busqueda = new Busqueda();
-                busqueda.setId(rs.getInt("id"));
-                busqueda.setNombreEstudiante(rs.getString("nombre_estudiante"));
-                busqueda.setBaseDatos(rs.getString("base_datos"));
-                busqueda.setCadenaBusqueda(rs.getString("cadena_busqueda"));
-                busqueda.setCantidadDocumentos(rs.getInt("cantidad_documentos"));
-                busqueda.setFechaBusqueda(rs.getTimestamp("fecha_busqueda"));
-                
-                busquedas.add(busqueda);
+                busquedas.add(mapearBusqueda(rs));
             }
             
         } catch (SQLException e) {
+            medicion.error();
             System.err.println("Error al obtener búsquedas: " + e.getMessage());
             e.printStackTrace();
         }
         
+        medicion.terminar(busquedas.size());
         return busquedas;
     }
     
     // Método para obtener una búsqueda específica por su identificador (ID)
     public Busqueda obtenerBusquedaPorId(int id) {
+        return ConsultasCompartidas.compartir(() -> consultarBusquedaPorId(id), "BusquedaControlador.obtenerBusquedaPorId", id);
+    }
+    
+    // Lee la búsqueda de la base de datos
+    private Busqueda consultarBusquedaPorId(int id) {
+        Metricas.Medicion medicion = Metricas.iniciar("BusquedaControlador.obtenerBusquedaPorId");
         String sql = "SELECT * FROM busquedas WHERE id = ?";
         Busqueda busqueda = null;
         
@@ -55,19 +64,15 @@ public class BusquedaControlador {
             
             // Si la búsqueda existe, creamos un objeto con sus datos
             if (rs.next()) {
-                busqueda = new Busqueda();
-                busqueda.setId(rs.getInt("id"));
-                busqueda.setNombreEstudiante(rs.getString("nombre_estudiante"));
-                busqueda.setBaseDatos(rs.getString("base_datos"));
-                busqueda.setCadenaBusqueda(rs.getString("cadena_busqueda"));
-                busqueda.setCantidadDocumentos(rs.getInt("cantidad_documentos"));
-                busqueda.setFechaBusqueda(rs.getTimestamp("fecha_busqueda"));
+                busqueda = mapearBusqueda(rs);
             }
             
         } catch (SQLException e) {
+            medicion.error();
             System.err.println("Error al obtener búsqueda: " + e.getMessage());
         }
         
+        medicion.terminar(busqueda == null ? 0 : 1);
         return busqueda;
     }
     
@@ -75,8 +80,23 @@ public class BusquedaControlador {
     // Método para obtener estadísticas de las búsquedas
     // Retorna un array con: [0] = total de búsquedas, [1] = suma total de documentos encontrados
     public int[] obtenerEstadisticas() {
-        String sql = "SELECT COUNT(*) as total, SUM(cantidad_documentos) as suma FROM busquedas";
+        return ConsultasCompartidas.compartir(this::consultarEstadisticas, "BusquedaControlador.obtenerEstadisticas");
+    }
+    
+    // Lee las estadísticas de los contadores de resumen; si no están disponibles, las calcula
+    // recorriendo la tabla de búsquedas
+    private int[] consultarEstadisticas() {
+        Metricas.Medicion medicion = Metricas.iniciar("BusquedaControlador.obtenerEstadisticas");
         int[] stats = new int[2];
+        long busquedas = ContadoresResumen.leer(ContadoresResumen.BUSQUEDAS, ContadoresResumen.TOTAL);
+        long documentos = ContadoresResumen.leer(ContadoresResumen.DOCUMENTOS, ContadoresResumen.TOTAL);
+        if (busquedas != ContadoresResumen.NO_DISPONIBLE && documentos != ContadoresResumen.NO_DISPONIBLE) {
+            stats[0] = (int) busquedas;
+            stats[1] = (int) documentos;
+            medicion.terminar(1);
+            return stats;
+        }
+        String sql = "SELECT COUNT(*) as total, SUM(cantidad_documentos) as suma FROM busquedas";
         
         try (Connection conn = ConexionDB.getConexion();
              Statement stmt = conn.createStatement();
@@ -89,9 +109,44 @@ public class BusquedaControlador {
             }
             
         } catch (SQLException e) {
+            medicion.error();
             System.err.println("Error al obtener estadísticas: " + e.getMessage());
         }
         
+        medicion.terminar(1);
         return stats;
     }
-}
\ No newline at end of file
+
+    // Método para recorrer todas las búsquedas sin cargarlas todas en memoria
+    // Las filas se leen a medida que el suscriptor las pide (contrapresión) y se puede cancelar a mitad
+    public Flow.Publisher<Busqueda> publicarBusquedas() {
+        return new PublicadorConsulta<>("SELECT * FROM busquedas ORDER BY id", null, this::mapearBusqueda);
+    }
+    
+    // Método privado auxiliar que convierte una fila de la base de datos en un objeto Busqueda
+    private Busqueda mapearBusqueda(ResultSet rs) throws SQLException {
+        Busqueda busqueda = new Busqueda();
+        busqueda.setId(rs.getInt("id"));
+        busqueda.setNombreEstudiante(rs.getString("nombre_estudiante"));
+        busqueda.setBaseDatos(rs.getString("base_datos"));
+        busqueda.setCadenaBusqueda(rs.getString("cadena_busqueda"));
+        busqueda.setCantidadDocumentos(rs.getInt("cantidad_documentos"));
+        busqueda.setFechaBusqueda(rs.getTimestamp("fecha_busqueda"));
+        return busqueda;
+    }
+
+    // VARIANTES ASÍNCRONAS
+    // Ejecutan la misma consulta en segundo plano (EjecutorConsultas) para no bloquear la interfaz
+
+    public CompletableFuture<List<Busqueda>> obtenerTodasLasBusquedasAsync() {
+        return EjecutorConsultas.enSegundoPlano(this::obtenerTodasLasBusquedas);
+    }
+
+    public CompletableFuture<Busqueda> obtenerBusquedaPorIdAsync(int id) {
+        return EjecutorConsultas.enSegundoPlano(() -> obtenerBusquedaPorId(id));
+    }
+
+    public CompletableFuture<int[]> obtenerEstadisticasAsync() {
+        return EjecutorConsultas.enSegundoPlano(this::obtenerEstadisticas);
+    }
+}
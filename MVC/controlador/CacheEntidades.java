@@ -0,0 +1,152 @@
+package controlador;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+// Caché de entidades indexada por id, con lectura a través (read-through).
+// - Expulsión LRU acotada por peso (por ejemplo, caracteres de texto aproximados de cada entidad)
+// - Tiempo de vida (TTL) por entrada
+// - Contadores de aciertos, fallos y expulsiones
+// - Invalidación explícita por id o completa (la usan las operaciones de escritura)
+// Las entidades devueltas se comparten entre quienes las piden: no deben modificarse.
+public class CacheEntidades<V> {
+
+    private final String nombre;
+    private final long pesoMaximo;
+    private final long ttlMs;
+    private final ToIntFunction<V> pesador;
+
+    // accessOrder = true: el primer elemento es siempre el usado hace más tiempo (LRU)
+    private final LinkedHashMap<Integer, Entrada<V>> entradas = new LinkedHashMap<>(64, 0.75f, true);
+    private long pesoActual = 0;
+    private long generacion = 0;  // Cambia con cada invalidación; evita guardar lecturas ya obsoletas
+
+    private long aciertos = 0;
+    private long fallos = 0;
+    private long expulsiones = 0;
+
+    public CacheEntidades(String nombre, long pesoMaximo, long ttlMs, ToIntFunction<V> pesador) {
+        this.nombre = nombre;
+        this.pesoMaximo = pesoMaximo;
+        this.ttlMs = ttlMs;
+        this.pesador = pesador;
+    }
+
+    // Devuelve la entidad con ese id desde la caché o, si no está (o venció), la carga con `cargador`
+    // Los resultados null (id inexistente o error) no se guardan
+    public V obtener(int id, IntFunction<V> cargador) {
+        long generacionInicial;
+        synchronized (this) {
+            Entrada<V> entrada = entradas.get(id);
+            if (entrada != null) {
+                if (System.currentTimeMillis() < entrada.venceEn) {
+                    aciertos++;
+                    return entrada.valor;
+                }
+                quitar(id);
+            }
+            fallos++;
+            generacionInicial = generacion;
+        }
+
+        // La consulta a la base de datos se hace fuera del bloqueo
+        V valor = cargador.apply(id);
+
+        if (valor != null) {
+            synchronized (this) {
+                if (generacion == generacionInicial) {
+                    guardar(id, valor);
+                }
+            }
+        }
+        return valor;
+    }
+
+    // Devuelve la entidad si está en la caché y no venció; si no, null (no consulta la base de datos)
+    public synchronized V obtenerSiPresente(int id) {
+        Entrada<V> entrada = entradas.get(id);
+        if (entrada != null && System.currentTimeMillis() < entrada.venceEn) {
+            aciertos++;
+            return entrada.valor;
+        }
+        fallos++;
+        return null;
+    }
+
+    // Guarda (o reemplaza) una entidad ya cargada por otro camino
+    public synchronized void poner(int id, V valor) {
+        if (valor != null) {
+            guardar(id, valor);
+        }
+    }
+
+    // Olvida la entidad con ese id (por ejemplo, después de actualizarla o eliminarla)
+    public synchronized void invalidar(int id) {
+        generacion++;
+        quitar(id);
+    }
+
+    // Olvida todas las entidades
+    public synchronized void invalidarTodo() {
+        generacion++;
+        entradas.clear();
+        pesoActual = 0;
+    }
+
+    public synchronized long getAciertos() {
+        return aciertos;
+    }
+
+    public synchronized long getFallos() {
+        return fallos;
+    }
+
+    // Resumen del uso de la caché (útil para diagnóstico)
+    public synchronized String getEstadisticas() {
+        long total = aciertos + fallos;
+        double tasa = total == 0 ? 0 : 100.0 * aciertos / total;
+        return String.format("Caché %s: %d entradas, peso %d/%d, aciertos %d, fallos %d (%.1f%% aciertos), expulsiones %d",
+            nombre, entradas.size(), pesoActual, pesoMaximo, aciertos, fallos, tasa, expulsiones);
+    }
+
+    private void guardar(int id, V valor) {
+        quitar(id);
+        int peso = Math.max(1, pesador.applyAsInt(valor));
+        entradas.put(id, new Entrada<>(valor, peso, System.currentTimeMillis() + ttlMs));
+        pesoActual += peso;
+
+        // Expulsamos las menos usadas recientemente hasta volver a estar bajo el peso máximo
+        Iterator<Map.Entry<Integer, Entrada<V>>> it = entradas.entrySet().iterator();
+        while (pesoActual > pesoMaximo && it.hasNext()) {
+            Map.Entry<Integer, Entrada<V>> masAntigua = it.next();
+            if (masAntigua.getKey() == id) {
+                continue;  // Nunca se expulsa la entrada que se acaba de guardar
+            }
+            pesoActual -= masAntigua.getValue().peso;
+            it.remove();
+            expulsiones++;
+        }
+    }
+
+    private void quitar(int id) {
+        Entrada<V> anterior = entradas.remove(id);
+        if (anterior != null) {
+            pesoActual -= anterior.peso;
+        }
+    }
+
+    private static final class Entrada<V> {
+        final V valor;
+        final int peso;
+        final long venceEn;
+
+        Entrada(V valor, int peso, long venceEn) {
+            this.valor = valor;
+            this.peso = peso;
+            this.venceEn = venceEn;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package controlador;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import modelo.Metricas;
+
+// Agrupa las consultas idénticas que se piden al mismo tiempo ("single flight").
+// Si un hilo ya está ejecutando, por ejemplo, obtenerBusquedaPorId(3) y otro pide lo mismo, el
+// segundo no lanza otra consulta: espera la que está en curso y recibe el mismo resultado.
+// Así, con varios paneles, diálogos y refrescos pidiendo lo mismo a la vez, la base de datos
+// recibe una consulta por pedido distinto y no una por cada quien llama.
+// No es una caché: apenas termina la consulta se olvida y la próxima llamada vuelve a consultar.
+// - El resultado es el mismo objeto para todos: no debe modificarse.
+// - Las escrituras llaman a descartar(...): quien pida después de una escritura no se suma a una
+//   lectura que empezó antes de ella.
+// - Lo que esperan los que se suman se mide en "<operación>.compartida".
+final class ConsultasCompartidas {
+
+    private static final ConcurrentHashMap<Clave, CompletableFuture<Object>> EN_CURSO = new ConcurrentHashMap<>();
+
+    // Constructor privado - solo tiene métodos estáticos
+    private ConsultasCompartidas() {}
+
+    // Ejecuta `consulta`, o espera el resultado de la misma operación con los mismos parámetros si
+    // otro hilo ya la está ejecutando. Los parámetros pueden ser null o arreglos (se comparan por contenido).
+    @SuppressWarnings("unchecked")
+    static <T> T compartir(Supplier<T> consulta, String operacion, Object... parametros) {
+        Clave clave = new Clave(operacion, parametros);
+        CompletableFuture<Object> propia = new CompletableFuture<>();
+        CompletableFuture<Object> enCurso = EN_CURSO.putIfAbsent(clave, propia);
+        if (enCurso != null) {
+            long inicio = System.nanoTime();
+            try {
+                return (T) enCurso.join();
+            } catch (CompletionException e) {
+                // Se lanza el mismo error que recibió quien ejecutó la consulta
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw e;
+            } finally {
+                Metricas.operacion(operacion + ".compartida").registrar(inicio, 0, false);
+            }
+        }
+
+        try {
+            T resultado = consulta.get();
+            EN_CURSO.remove(clave, propia);
+            propia.complete(resultado);
+            return resultado;
+        } catch (RuntimeException | Error e) {
+            EN_CURSO.remove(clave, propia);
+            propia.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    // Olvida las consultas en curso de las operaciones que empiezan con `prefijo` (por ejemplo
+    // "EstrategiaControlador."): las llamadas siguientes consultan de nuevo. Quienes ya esperaban
+    // una de ellas reciben igualmente su resultado.
+    static void descartar(String prefijo) {
+        for (Map.Entry<Clave, CompletableFuture<Object>> entrada : EN_CURSO.entrySet()) {
+            if (entrada.getKey().operacion.startsWith(prefijo)) {
+                EN_CURSO.remove(entrada.getKey(), entrada.getValue());
+            }
+        }
+    }
+
+    // Operación + parámetros; dos claves son iguales si piden exactamente lo mismo
+    private static final class Clave {
+        final String operacion;
+        final Object[] parametros;
+        final int hash;
+
+        Clave(String operacion, Object[] parametros) {
+            this.operacion = operacion;
+            this.parametros = parametros;
+            this.hash = 31 * operacion.hashCode() + Arrays.deepHashCode(parametros);
+        }
+
+        @Override
+        public boolean equals(Object otro) {
+            if (!(otro instanceof Clave)) {
+                return false;
+            }
+            Clave clave = (Clave) otro;
+            return hash == clave.hash && operacion.equals(clave.operacion)
+                && Arrays.deepEquals(parametros, clave.parametros);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
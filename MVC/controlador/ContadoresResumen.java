@@ -0,0 +1,195 @@
+package controlador;
+
+import java.sql.*;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import modelo.ConexionDB;
+import modelo.Metricas;
+
+// Lectura y reconciliación de los contadores de la tabla resumen_contadores (migración V5):
+// cuántos artículos, búsquedas, documentos y estrategias hay, sin recorrer las tablas.
+// Los contadores los mantienen los disparadores de la base de datos en la misma transacción que
+// cada INSERT/DELETE/UPDATE; aquí solo se leen (una fila por clave primaria, o la suma de las
+// pocas filas de un contador: el total de artículos es la suma de los de cada búsqueda).
+// - Si la tabla no existe (migración sin aplicar, H2 en los benchmarks...) las lecturas devuelven
+//   NO_DISPONIBLE y los controladores cuentan como antes, con COUNT(*)/SUM.
+// - Lo que los disparadores no ven (TRUNCATE, cambios hechos con los disparadores desactivados...)
+//   desajusta los contadores: reconciliar() los compara con los conteos reales y corrige los que
+//   no coinciden. Se ejecuta al terminar las migraciones y luego cada PERIODO_RECONCILIACION_MS.
+public final class ContadoresResumen {
+
+    // Nombres de los contadores (columna "contador"); los totales usan clave = ""
+    static final String ARTICULOS_POR_BUSQUEDA = "articulos_por_busqueda";
+    static final String BUSQUEDAS = "busquedas";
+    static final String DOCUMENTOS = "documentos";
+    static final String ESTRATEGIAS_POR_RIESGO = "estrategias_por_riesgo";
+    static final String TOTAL = "";
+
+    static final long NO_DISPONIBLE = -1;
+    private static final long PERIODO_RECONCILIACION_MS = 3_600_000;  // 1 hora
+    private static final String ESTADO_TABLA_INEXISTENTE = "42S02";  // MySQL 1146, H2 42102
+
+    private static final String SQL_LEER =
+        "SELECT valor FROM resumen_contadores WHERE contador = ? AND clave = ?";
+    private static final String SQL_SUMAR =
+        "SELECT COALESCE(SUM(valor), 0) AS valor FROM resumen_contadores WHERE contador = ?";
+    // Los mismos contadores, contados de verdad (recorre las tablas: solo para reconciliar)
+    private static final String SQL_CONTEOS_REALES =
+        "SELECT '" + ARTICULOS_POR_BUSQUEDA + "' AS contador, CONCAT('', busqueda_id) AS clave, COUNT(*) AS valor"
+            + " FROM articulos GROUP BY busqueda_id"
+        + " UNION ALL SELECT '" + BUSQUEDAS + "', '', COUNT(*) FROM busquedas"
+        + " UNION ALL SELECT '" + DOCUMENTOS + "', '', COALESCE(SUM(cantidad_documentos), 0) FROM busquedas"
+        + " UNION ALL SELECT '" + ESTRATEGIAS_POR_RIESGO + "', CONCAT('', nivel_riesgo), COUNT(*) FROM estrategias_inversion GROUP BY nivel_riesgo";
+    private static final String SQL_CORREGIR =
+        "INSERT INTO resumen_contadores (contador, clave, valor) VALUES (?, ?, ?)"
+        + " ON DUPLICATE KEY UPDATE valor = VALUES(valor)";
+
+    // false si al leer la tabla no existía (migración sin aplicar, H2...): no se vuelve a intentar
+    // hasta que una reconciliación termine bien. Otros errores (conexión caída, tiempo de espera...)
+    // solo afectan a esa lectura
+    private static volatile boolean disponible = true;
+    private static ScheduledExecutorService reconciliacion = null;
+
+    // Constructor privado - solo tiene métodos estáticos
+    private ContadoresResumen() {}
+
+    // Valor del contador, o NO_DISPONIBLE si no se puede leer (el llamador cuenta por su cuenta)
+    static long leer(String contador, String clave) {
+        if (!disponible) {
+            return NO_DISPONIBLE;
+        }
+        try (Connection conn = ConexionDB.getConexion();
+             PreparedStatement pstmt = conn.prepareStatement(SQL_LEER)) {
+            pstmt.setString(1, contador);
+            pstmt.setString(2, clave);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                // Sin fila: en los contadores por clave significa 0 (nunca hubo filas con esa clave);
+                // un total que falta es que la tabla todavía no se llenó
+                if (rs.next()) {
+                    return rs.getLong("valor");
+                }
+                return TOTAL.equals(clave) ? NO_DISPONIBLE : 0;
+            }
+        } catch (SQLException e) {
+            return noDisponible(e);
+        }
+    }
+
+    // Suma de todas las filas del contador (por ejemplo, el total de artículos sumando los de cada
+    // búsqueda), o NO_DISPONIBLE si no se puede leer
+    static long sumar(String contador) {
+        if (!disponible) {
+            return NO_DISPONIBLE;
+        }
+        try (Connection conn = ConexionDB.getConexion();
+             PreparedStatement pstmt = conn.prepareStatement(SQL_SUMAR)) {
+            pstmt.setString(1, contador);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getLong("valor") : 0;
+            }
+        } catch (SQLException e) {
+            return noDisponible(e);
+        }
+    }
+
+    private static long noDisponible(SQLException e) {
+        if (ESTADO_TABLA_INEXISTENTE.equals(e.getSQLState())) {
+            disponible = false;
+            System.err.println("Contadores de resumen no disponibles, se cuenta con COUNT(*): " + e.getMessage());
+        } else {
+            System.err.println("Error al leer los contadores de resumen, se cuenta con COUNT(*): " + e.getMessage());
+        }
+        return NO_DISPONIBLE;
+    }
+
+    // Reconcilia ahora y luego cada PERIODO_RECONCILIACION_MS (en un hilo aparte); de paso purga
+    // las lápidas viejas de estrategias eliminadas (EstrategiaControlador.purgarEliminadas)
+    // Solo se activa una vez; las llamadas siguientes no hacen nada
+    public static synchronized void iniciarReconciliacion() {
+        if (reconciliacion != null) {
+            return;
+        }
+        reconciliacion = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "contadores-reconciliacion");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        reconciliacion.scheduleWithFixedDelay(() -> {
+            reconciliar();
+            EstrategiaControlador.purgarEliminadas();
+        }, 0, PERIODO_RECONCILIACION_MS, TimeUnit.MILLISECONDS);
+    }
+
+    // Compara cada contador con el conteo real y corrige los que no coinciden
+    // Retorna cuántos se corrigieron, o -1 si hubo un error
+    public static int reconciliar() {
+        Metricas.Medicion medicion = Metricas.iniciar("ContadoresResumen.reconciliar");
+        int corregidos = 0;
+
+        try (Connection conn = ConexionDB.getConexion()) {
+            // Una transacción: se bloquean primero las filas de los contadores (FOR UPDATE) y recién
+            // después se cuenta. Una escritura que llegue mientras tanto espera en su disparador y
+            // suma sobre el valor corregido; una que ya terminó está incluida en el conteo
+            // (el pool restablece el autocommit al devolver la conexión)
+            conn.setAutoCommit(false);
+            try {
+                Map<String, Long> guardados = leerContadores(conn,
+                    "SELECT contador, clave, valor FROM resumen_contadores FOR UPDATE");
+                Map<String, Long> reales = leerContadores(conn, SQL_CONTEOS_REALES);
+
+                // Un contador guardado que ya no tiene filas reales (búsqueda sin artículos...) vale 0
+                Set<String> claves = new HashSet<>(guardados.keySet());
+                claves.addAll(reales.keySet());
+                try (PreparedStatement pstmt = conn.prepareStatement(SQL_CORREGIR)) {
+                    for (String clave : claves) {
+                        long real = reales.getOrDefault(clave, 0L);
+                        if (!Long.valueOf(real).equals(guardados.get(clave))) {
+                            int separador = clave.indexOf('\t');
+                            pstmt.setString(1, clave.substring(0, separador));
+                            pstmt.setString(2, clave.substring(separador + 1));
+                            pstmt.setLong(3, real);
+                            pstmt.addBatch();
+                            corregidos++;
+                        }
+                    }
+                    if (corregidos > 0) {
+                        pstmt.executeBatch();
+                    }
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            medicion.error();
+            medicion.terminar(0);
+            System.err.println("Error al reconciliar los contadores de resumen: " + e.getMessage());
+            return -1;
+        }
+
+        disponible = true;
+        if (corregidos > 0) {
+            System.out.println("✓ Contadores de resumen: " + corregidos + " corregidos");
+        }
+        medicion.terminar(corregidos);
+        return corregidos;
+    }
+
+    // Lee filas (contador, clave, valor) en un mapa con clave "contador<TAB>clave"
+    private static Map<String, Long> leerContadores(Connection conn, String sql) throws SQLException {
+        Map<String, Long> contadores = new HashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                contadores.put(rs.getString("contador") + '\t' + rs.getString("clave"), rs.getLong("valor"));
+            }
+        }
+        return contadores;
+    }
+}
@@ -0,0 +1,78 @@
+package controlador;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Ejecutor compartido para las variantes asíncronas (…Async) de los controladores.
+// Las consultas corren fuera del hilo de la interfaz y devuelven un CompletableFuture.
+// Si el JDK tiene hilos virtuales (Java 21+) se usa un hilo virtual por tarea; si no,
+// un grupo fijo de hilos. En ambos casos la concurrencia queda acotada a HILOS_MAXIMOS,
+// el mismo tamaño que el pool de conexiones.
+public final class EjecutorConsultas {
+
+    private static final int HILOS_MAXIMOS = 10;    // Consultas ejecutándose a la vez
+    private static final int COLA_MAXIMA = 1000;    // Consultas esperando turno (hilos de plataforma)
+
+    private static final Executor EJECUTOR = crearEjecutor();
+
+    // Constructor privado - solo tiene métodos estáticos
+    private EjecutorConsultas() {}
+
+    // Ejecuta la tarea en segundo plano y devuelve su resultado como CompletableFuture
+    public static <T> CompletableFuture<T> enSegundoPlano(Supplier<T> tarea) {
+        return CompletableFuture.supplyAsync(tarea, EJECUTOR);
+    }
+
+    // Ejecutor subyacente, para quien necesite encadenar sus propias tareas
+    public static Executor getEjecutor() {
+        return EJECUTOR;
+    }
+
+    private static Executor crearEjecutor() {
+        ExecutorService virtual = crearEjecutorVirtual();
+        if (virtual != null) {
+            // Los hilos virtuales son baratos: se limita cuántos ejecutan a la vez con un semáforo
+            Semaphore permisos = new Semaphore(HILOS_MAXIMOS);
+            return tarea -> virtual.execute(() -> {
+                permisos.acquireUninterruptibly();
+                try {
+                    tarea.run();
+                } finally {
+                    permisos.release();
+                }
+            });
+        }
+
+        AtomicInteger contador = new AtomicInteger();
+        ThreadPoolExecutor grupo = new ThreadPoolExecutor(HILOS_MAXIMOS, HILOS_MAXIMOS,
+            60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(COLA_MAXIMA), r -> {
+                Thread hilo = new Thread(r, "consultas-" + contador.incrementAndGet());
+                hilo.setDaemon(true);
+                return hilo;
+            }, (tarea, ejecutor) -> {
+                throw new RejectedExecutionException("Demasiadas consultas pendientes (" + COLA_MAXIMA + ")");
+            });
+        grupo.allowCoreThreadTimeOut(true);
+        return grupo;
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor() solo existe desde Java 21;
+    // se busca por reflexión para que el proyecto siga compilando con Java 11
+    private static ExecutorService crearEjecutorVirtual() {
+        try {
+            Method metodo = java.util.concurrent.Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) metodo.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -2,39 +2,63 @@ package controlador;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import modelo.CambiosEstrategias;
 import modelo.ConexionDB;
 import modelo.EstrategiaInversion;
+import modelo.EventoCambio;
+import modelo.Metricas;
+import modelo.ResultadoBusqueda;
 
 // Esta clase controla todas las operaciones con estrategias de inversión en la base de datos
 // Permite crear, actualizar, eliminar y buscar estrategias de inversión
 public class EstrategiaControlador {
+
+    // Caché compartida de estrategias por id: hasta 5.000 estrategias durante 1 minuto como máximo
+    // Las operaciones de escritura de este controlador la invalidan
+    private static final CacheEntidades<EstrategiaInversion> CACHE_ESTRATEGIAS =
+        new CacheEntidades<>("estrategias", 5_000, 60_000, e -> 1);
     
-    // Método para crear una nueva estrategia de inversión en la base de datos
-    // Retorna true si se creó exitosamente, false si hubo error
-    public boolean crearEstrategia(EstrategiaInversion estrategia) {
-        String sql = "INSERT INTO estrategias_inversion " +
+    // Columnas que traen las listas (lo que muestra la tabla). La descripción y las tecnologías
+    // se cargan después, solo si se piden, de a un lote por consulta
+    private static final String COLUMNAS_LISTA = "id, nombre, tipo_estrategia, nivel_riesgo, retorno_esperado, " +
+                                                 "articulo_relacionado_id, fecha_creacion, fecha_actualizacion";
+    private static final int TAMANO_LOTE_DETALLES = 100;  // Estrategias que completa cada consulta diferida
+    
+    private static final String SQL_INSERTAR = "INSERT INTO estrategias_inversion " +
                     "(nombre, descripcion, tipo_estrategia, nivel_riesgo, " +
                     "tecnologias_utilizadas, retorno_esperado, articulo_relacionado_id) " +
                     "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String SQL_ACTUALIZAR = "UPDATE estrategias_inversion SET " +
+                    "nombre = ?, descripcion = ?, tipo_estrategia = ?, " +
+                    "nivel_riesgo = ?, tecnologias_utilizadas = ?, " +
+                    "retorno_esperado = ?, articulo_relacionado_id = ? " +
+                    "WHERE id = ?";
+    private static final int TAMANO_LOTE_IDS = 10_000;  // Ids por sentencia "WHERE id IN (...)" en cambios masivos
+    // La marca de un refresco incremental queda este tiempo antes de la hora del servidor: así también se
+    // ven los cambios de transacciones que empezaron antes pero se confirmaron después de consultar
+    // (fecha_actualizacion tiene precisión de segundos). Esas filas pueden llegar dos veces; aplicarlas
+    // de nuevo no cambia nada
+    private static final long MARGEN_MARCA_MS = 10_000;
+    // Las lápidas de estrategias_eliminadas se guardan este tiempo y luego se purgan (purgarEliminadas);
+    // una marca más vieja ya no vería todas las eliminaciones, así que ese refresco es una carga completa
+    private static final long RETENCION_ELIMINADAS_MS = 86_400_000;  // 1 día
+    
+    // Método para crear una nueva estrategia de inversión en la base de datos
+    // Retorna true si se creó exitosamente, false si hubo error
+    public boolean crearEstrategia(EstrategiaInversion estrategia) {
+        Metricas.Medicion medicion = Metricas.iniciar("EstrategiaControlador.crearEstrategia");
+        String sql = SQL_INSERTAR;
         
         try (Connection conn = ConexionDB.getConexion();
              PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             
             // Establecemos los valores de la estrategia en la consulta SQL
-            pstmt.setString(1, estrategia.getNombre());
-            pstmt.setString(2, estrategia.getDescripcion());
-            pstmt.setString(3, estrategia.getTipoEstrategia());
-            pstmt.setString(4, estrategia.getNivelRiesgo());
-            pstmt.setString(5, estrategia.getTecnologiasUtilizadas());
-            pstmt.setDouble(6, estrategia.getRetornoEsperado());
-            
-            // Si hay un artículo relacionado, lo asignamos; si no, dejamos el campo vacío
-            if (estrategia.getArticuloRelacionadoId() != null) {
-                pstmt.setInt(7, estrategia.getArticuloRelacionadoId());
-            } else {
-                pstmt.setNull(7, Types.INTEGER);
-            }
+            asignarDatos(pstmt, estrategia);
             
             // Ejecutamos la inserción
             int filasAfectadas = pstmt.executeUpdate();
@@ -44,23 +68,34 @@ public class EstrategiaControlador {
                 ResultSet rs = pstmt.getGeneratedKeys();
                 if (rs.next()) {
                     estrategia.setId(rs.getInt(1));
+                    CACHE_ESTRATEGIAS.invalidar(estrategia.getId());
+                    publicar(EventoCambio.creado(estrategia.getId(), estrategia));
                 }
                 System.out.println("✓ Estrategia creada exitosamente");
+                medicion.terminar(1);
                 return true;
             }
             
         } catch (SQLException e) {
+            medicion.error();
             System.err.println("Error al crear estrategia: " + e.getMessage());
             e.printStackTrace();
         }
         
+        medicion.terminar();
         return false;
     }
     
     // Método para obtener todas las estrategias de inversión ordenadas por fecha de creación (más recientes primero)
     public List<EstrategiaInversion> obtenerTodasLasEstrategias() {
+        return ConsultasCompartidas.compartir(this::consultarTodasLasEstrategias, "EstrategiaControlador.obtenerTodasLasEstrategias");
+    }
+    
+    // Lee todas las estrategias de la base de datos
+    private List<EstrategiaInversion> consultarTodasLasEstrategias() {
+        Metricas.Medicion medicion = Metricas.iniciar("EstrategiaControlador.obtenerTodasLasEstrategias");
         List<EstrategiaInversion> estrategias = new ArrayList<>();
-        String sql = "SELECT * FROM estrategias_inversion ORDER BY fecha_creacion DESC";
+        String sql = "SELECT " + COLUMNAS_LISTA + " FROM estrategias_inversion ORDER BY fecha_creacion DESC";
         
         try (Connection conn = ConexionDB.getConexion();
              Statement stmt = conn.createStatement();
@@ -68,19 +103,35 @@ public class EstrategiaControlador {
             
             // Recorremos cada resultado y lo convertimos en un objeto EstrategiaInversion
             while (rs.next()) {
-                estrategias.add(mapearEstrategia(rs));
+                estrategias.add(mapearResumenEstrategia(rs));
             }
+            diferirDetalles(estrategias);
             
         } catch (SQLException e) {
+            medicion.error();
             System.err.println("Error al obtener estrategias: " + e.getMessage());
             e.printStackTrace();
         }
         
+        medicion.terminar(estrategias.size());
         return estrategias;
     }
     
     // Método para obtener una estrategia específica por su identificador (ID)
+    // Se consulta primero la caché; solo si no está se va a la base de datos
     public EstrategiaInversion obtenerEstrategiaPorId(int id) {
+        Metricas.Medicion medicion = Metricas.iniciar("EstrategiaControlador.obtenerEstrategiaPorId");
+        EstrategiaInversion estrategia = CACHE_ESTRATEGIAS.obtener(id, clave ->
+            // Si varios piden a la vez un id que no está en caché, una sola consulta lo trae para todos
+            ConsultasCompartidas.compartir(() -> consultarEstrategiaPorId(clave),
+                "EstrategiaControlador.consultarEstrategiaPorId", clave));
+        medicion.terminar(estrategia == null ? 0 : 1);
+        return estrategia;
+    }
+    
+    // Consulta la estrategia directamente en la base de datos (sin caché)
+    private EstrategiaInversion consultarEstrategiaPorId(int id) {
+        Metricas.Medicion medicion = Metricas.iniciar("EstrategiaControlador.consultarEstrategiaPorId");
         String sql = "SELECT * FROM estrategias_inversion WHERE id = ?";
         EstrategiaInversion estrategia = null;
         
@@ -97,62 +148,55 @@ public class EstrategiaControlador {
             }
             
         } catch (SQLException e) {
+            medicion.error();
             System.err.println("Error al obtener estrategia: " + e.getMessage());
         }
         
+        medicion.terminar(estrategia == null ? 0 : 1);
         return estrategia;
     }
     
     // Método para actualizar una estrategia existente en la base de datos
     // Retorna true si se actualizó exitosamente, false si hubo error
     public boolean actualizarEstrategia(EstrategiaInversion estrategia) {
-        String sql = "UPDATE estrategias_inversion SET " +
-                    "nombre = ?, descripcion = ?, tipo_estrategia = ?, " +
-                    "nivel_riesgo = ?, tecnologias_utilizadas = ?, " +
-                    "retorno_esperado = ?, articulo_relacionado_id = ? " +
-                    "WHERE id = ?";
+        Metricas.Medicion medicion = Metricas.iniciar("EstrategiaControlador.actualizarEstrategia");
+        String sql = SQL_ACTUALIZAR;
         
         try (Connection conn = ConexionDB.getConexion();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             // Establecemos los nuevos valores de la estrategia
-            pstmt.setString(1, estrategia.getNombre());
-            pstmt.setString(2, estrategia.getDescripcion());
-            pstmt.setString(3, estrategia.getTipoEstrategia());
-            pstmt.setString(4, estrategia.getNivelRiesgo());
-            pstmt.setString(5, estrategia.getTecnologiasUtilizadas());
-            pstmt.setDouble(6, estrategia.getRetornoEsperado());
-            
-            // Asignamos el artículo relacionado o dejamos el campo vacío
-            if (estrategia.getArticuloRelacionadoId() != null) {
-                pstmt.setInt(7, estrategia.getArticuloRelacionadoId());
-            } else {
-                pstmt.setNull(7, Types.INTEGER);
-            }
+            asignarDatos(pstmt, estrategia);
             
             // Especificamos qué estrategia queremos actualizar
             pstmt.setInt(8, estrategia.getId());
             
             // Ejecutamos la actualización
             int filasAfectadas = pstmt.executeUpdate();
+            CACHE_ESTRATEGIAS.invalidar(estrategia.getId());
             
             // Verificamos que se haya actualizado algo
             if (filasAfectadas > 0) {
+                publicar(EventoCambio.actualizado(estrategia.getId(), estrategia));
                 System.out.println("✓ Estrategia actualizada exitosamente");
+                medicion.terminar(filasAfectadas);
                 return true;
             }
             
         } catch (SQLException e) {
+            medicion.error();
             System.err.println("Error al actualizar estrategia: " + e.getMessage());
             e.printStackTrace();
         }
         
+        medicion.terminar();
         return false;
     }
     
     // Método para eliminar una estrategia de la base de datos por su ID
     // Retorna true si se eliminó exitosamente, false si hubo error
     public boolean eliminarEstrategia(int id) {
+        Metricas.Medicion medicion = Metricas.iniciar("EstrategiaControlador.eliminarEstrategia");
         String sql = "DELETE FROM estrategias_inversion WHERE id = ?";
         
         try (Connection conn = ConexionDB.getConexion();
@@ -163,26 +207,286 @@ public class EstrategiaControlador {
             
             // Ejecutamos la eliminación
             int filasAfectadas = pstmt.executeUpdate();
+            CACHE_ESTRATEGIAS.invalidar(id);
             
             // Verificamos que se haya eliminado algo
             if (filasAfectadas > 0) {
+                publicar(EventoCambio.eliminado(id));
                 System.out.println("✓ Estrategia eliminada exitosamente");
+                medicion.terminar(filasAfectadas);
                 return true;
             }
             
         } catch (SQLException e) {
+            medicion.error();
             System.err.println("Error al eliminar estrategia: " + e.getMessage());
             e.printStackTrace();
         }
         
+        medicion.terminar();
         return false;
     }
     
+    // OPERACIONES POR LOTES
+    // Cada método envía todas las filas como un lote JDBC (con rewriteBatchedStatements el driver
+    // las manda en un solo viaje) dentro de UNA transacción: si algo falla no se aplica ninguna.
+    // Devuelven un resultado por fila, en el mismo orden que se recibieron.
+    
+    // Método para crear varias estrategias de una vez; a cada una se le asigna su id generado
+    // Retorna, por cada estrategia, true si se creó
+    public boolean[] crearEstrategias(List<EstrategiaInversion> estrategias) {
+        boolean[] creadas = new boolean[estrategias.size()];
+        if (estrategias.isEmpty()) {
+            return creadas;
+        }
+        Metricas.Medicion medicion = Metricas.iniciar("EstrategiaControlador.crearEstrategias");
+        
+        try (Connection conn = ConexionDB.getConexion();
+             PreparedStatement pstmt = conn.prepareStatement(SQL_INSERTAR, Statement.RETURN_GENERATED_KEYS)) {
+            
+            conn.setAutoCommit(false);
+            int[] ids = new int[estrategias.size()];
+            try {
+                for (EstrategiaInversion estrategia : estrategias) {
+                    asignarDatos(pstmt, estrategia);
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+                
+                // Los ids generados llegan en el mismo orden en que se agregaron las filas
+                try (ResultSet rs = pstmt.getGeneratedKeys()) {
+                    int i = 0;
+                    while (i < ids.length && rs.next()) {
+                        ids[i++] = rs.getInt(1);
+                    }
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+            
+            List<EventoCambio<EstrategiaInversion>> eventos = new ArrayList<>(ids.length);
+            for (int i = 0; i < ids.length; i++) {
+                estrategias.get(i).setId(ids[i]);
+                creadas[i] = true;
+                CACHE_ESTRATEGIAS.invalidar(ids[i]);
+                eventos.add(EventoCambio.creado(ids[i], estrategias.get(i)));
+            }
+            publicar(eventos);
+            System.out.println("✓ " + ids.length + " estrategias creadas");
+            
+        } catch (SQLException e) {
+            medicion.error();
+            System.err.println("Error al crear estrategias (no se creó ninguna): " + e.getMessage());
+        }
+        
+        medicion.terminar(contarExitos(creadas));
+        return creadas;
+    }
+    
+    // Método para actualizar varias estrategias de una vez
+    // Retorna, por cada estrategia, true si existía y se actualizó
+    public boolean[] actualizarEstrategias(List<EstrategiaInversion> estrategias) {
+        boolean[] actualizadas = new boolean[estrategias.size()];
+        if (estrategias.isEmpty()) {
+            return actualizadas;
+        }
+        Metricas.Medicion medicion = Metricas.iniciar("EstrategiaControlador.actualizarEstrategias");
+        
+        try (Connection conn = ConexionDB.getConexion();
+             PreparedStatement pstmt = conn.prepareStatement(SQL_ACTUALIZAR)) {
+            
+            conn.setAutoCommit(false);
+            int[] filas;
+            try {
+                for (EstrategiaInversion estrategia : estrategias) {
+                    asignarDatos(pstmt, estrategia);
+                    pstmt.setInt(8, estrategia.getId());
+                    pstmt.addBatch();
+                }
+                filas = pstmt.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+            
+            List<EventoCambio<EstrategiaInversion>> eventos = new ArrayList<>(estrategias.size());
+            for (int i = 0; i < estrategias.size(); i++) {
+                actualizadas[i] = filaAfectada(filas, i);
+                CACHE_ESTRATEGIAS.invalidar(estrategias.get(i).getId());
+                if (actualizadas[i]) {
+                    eventos.add(EventoCambio.actualizado(estrategias.get(i).getId(), estrategias.get(i)));
+                }
+            }
+            publicar(eventos);
+            
+        } catch (SQLException e) {
+            medicion.error();
+            System.err.println("Error al actualizar estrategias (no se actualizó ninguna): " + e.getMessage());
+        }
+        
+        medicion.terminar(contarExitos(actualizadas));
+        return actualizadas;
+    }
+    
+    // Método para eliminar varias estrategias por su ID
+    // Retorna, por cada id, true si la estrategia existía y se eliminó
+    public boolean[] eliminarEstrategias(int... ids) {
+        boolean[] eliminadas = new boolean[ids.length];
+        if (ids.length == 0) {
+            return eliminadas;
+        }
+        Metricas.Medicion medicion = Metricas.iniciar("EstrategiaControlador.eliminarEstrategias");
+        
+        try (Connection conn = ConexionDB.getConexion();
+             PreparedStatement pstmt = conn.prepareStatement("DELETE FROM estrategias_inversion WHERE id = ?")) {
+            
+            conn.setAutoCommit(false);
+            int[] filas;
+            try {
+                for (int id : ids) {
+                    pstmt.setInt(1, id);
+                    pstmt.addBatch();
+                }
+                filas = pstmt.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+            
+            List<EventoCambio<EstrategiaInversion>> eventos = new ArrayList<>(ids.length);
+            for (int i = 0; i < ids.length; i++) {
+                eliminadas[i] = filaAfectada(filas, i);
+                CACHE_ESTRATEGIAS.invalidar(ids[i]);
+                if (eliminadas[i]) {
+                    eventos.add(EventoCambio.eliminado(ids[i]));
+                }
+            }
+            publicar(eventos);
+            
+        } catch (SQLException e) {
+            medicion.error();
+            System.err.println("Error al eliminar estrategias (no se eliminó ninguna): " + e.getMessage());
+        }
+        
+        medicion.terminar(contarExitos(eliminadas));
+        return eliminadas;
+    }
+    
+    // Método para cambiar el nivel de riesgo de muchas estrategias con "WHERE id IN (...)"
+    // (miles de filas en una sola sentencia, no una por estrategia). Todo en una transacción.
+    // Retorna la cantidad de estrategias actualizadas, o -1 si hubo error (no se cambió ninguna)
+    public int actualizarNivelRiesgo(String nivelRiesgo, int... ids) {
+        int actualizadas = 0;
+        if (ids.length == 0) {
+            return actualizadas;
+        }
+        Metricas.Medicion medicion = Metricas.iniciar("EstrategiaControlador.actualizarNivelRiesgo");
+        
+        try (Connection conn = ConexionDB.getConexion()) {
+            conn.setAutoCommit(false);
+            try {
+                for (int inicio = 0; inicio < ids.length; inicio += TAMANO_LOTE_IDS) {
+                    int fin = Math.min(ids.length, inicio + TAMANO_LOTE_IDS);
+                    StringBuilder marcadores = new StringBuilder();
+                    for (int i = inicio; i < fin; i++) {
+                        marcadores.append(i == inicio ? "?" : ", ?");
+                    }
+                    String sql = "UPDATE estrategias_inversion SET nivel_riesgo = ? WHERE id IN (" + marcadores + ")";
+                    
+                    try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                        pstmt.setString(1, nivelRiesgo);
+                        for (int i = inicio; i < fin; i++) {
+                            pstmt.setInt(i - inicio + 2, ids[i]);
+                        }
+                        actualizadas += pstmt.executeUpdate();
+                    }
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+            
+        } catch (SQLException e) {
+            medicion.error();
+            System.err.println("Error al cambiar el nivel de riesgo: " + e.getMessage());
+            actualizadas = -1;
+        }
+        
+        // El evento no lleva la estrategia (solo cambió el riesgo): quien la muestre la vuelve a leer
+        List<EventoCambio<EstrategiaInversion>> eventos = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            CACHE_ESTRATEGIAS.invalidar(id);
+            if (actualizadas > 0) {
+                eventos.add(EventoCambio.actualizado(id, null));
+            }
+        }
+        publicar(eventos);
+        medicion.terminar(Math.max(0, actualizadas));
+        return actualizadas;
+    }
+    
+    // Avisa a los suscriptores del bus (paneles, etc.) que cambió una estrategia
+    // Las lecturas que siguen en curso ya no se comparten: las llamadas nuevas ven el cambio
+    private static void publicar(EventoCambio<EstrategiaInversion> evento) {
+        ConsultasCompartidas.descartar("EstrategiaControlador.");
+        BusEventos.publicar(EstrategiaInversion.class, evento);
+    }
+    
+    private static void publicar(List<EventoCambio<EstrategiaInversion>> eventos) {
+        ConsultasCompartidas.descartar("EstrategiaControlador.");
+        BusEventos.publicar(EstrategiaInversion.class, eventos);
+    }
+    
+    // Indica si la fila `i` de un lote afectó a alguna fila de la tabla
+    // (SUCCESS_NO_INFO: el driver no informa la cantidad, pero la sentencia se ejecutó)
+    private static boolean filaAfectada(int[] filas, int i) {
+        return i < filas.length && (filas[i] > 0 || filas[i] == Statement.SUCCESS_NO_INFO);
+    }
+    
+    // Cantidad de filas con resultado true (para las métricas de las operaciones por lotes)
+    private static int contarExitos(boolean[] resultados) {
+        int exitos = 0;
+        for (boolean exito : resultados) {
+            if (exito) {
+                exitos++;
+            }
+        }
+        return exitos;
+    }
+    
+    // Asigna los parámetros 1 a 7 (datos de la estrategia) de un INSERT o UPDATE
+    private static void asignarDatos(PreparedStatement pstmt, EstrategiaInversion estrategia) throws SQLException {
+        pstmt.setString(1, estrategia.getNombre());
+        pstmt.setString(2, estrategia.getDescripcion());
+        pstmt.setString(3, estrategia.getTipoEstrategia());
+        pstmt.setString(4, estrategia.getNivelRiesgo());
+        pstmt.setString(5, estrategia.getTecnologiasUtilizadas());
+        pstmt.setDouble(6, estrategia.getRetornoEsperado());
+        
+        // Si hay un artículo relacionado, lo asignamos; si no, dejamos el campo vacío
+        if (estrategia.getArticuloRelacionadoId() != null) {
+            pstmt.setInt(7, estrategia.getArticuloRelacionadoId());
+        } else {
+            pstmt.setNull(7, Types.INTEGER);
+        }
+    }
+    
     // Método para buscar estrategias por término de búsqueda
     // Busca en nombre, tipo y descripción de las estrategias
     public List<EstrategiaInversion> buscarEstrategias(String termino) {
+        return ConsultasCompartidas.compartir(() -> consultarBusquedaEstrategias(termino), "EstrategiaControlador.buscarEstrategias", termino);
+    }
+    
+    // Busca en la base de datos sin compartir la ejecución
+    private List<EstrategiaInversion> consultarBusquedaEstrategias(String termino) {
+        Metricas.Medicion medicion = Metricas.iniciar("EstrategiaControlador.buscarEstrategias");
         List<EstrategiaInversion> estrategias = new ArrayList<>();
-        String sql = "SELECT * FROM estrategias_inversion WHERE " +
+        String sql = "SELECT " + COLUMNAS_LISTA + " FROM estrategias_inversion WHERE " +
                     "nombre LIKE ? OR tipo_estrategia LIKE ? OR descripcion LIKE ? " +
                     "ORDER BY fecha_creacion DESC";
         
@@ -198,21 +502,92 @@ public class EstrategiaControlador {
             ResultSet rs = pstmt.executeQuery();
             
             while (rs.next()) {
-                estrategias.add(mapearEstrategia(rs));
+                estrategias.add(mapearResumenEstrategia(rs));
             }
+            diferirDetalles(estrategias);
             
         } catch (SQLException e) {
+            medicion.error();
             System.err.println("Error al buscar estrategias: " + e.getMessage());
         }
         
+        medicion.terminar(estrategias.size());
         return estrategias;
     }
 
+    // Método para buscar estrategias con el índice FULLTEXT de MySQL (MATCH ... AGAINST)
+    // Busca en nombre, tipo y descripción, y devuelve cada estrategia con su relevancia (mayor primero).
+    // Con `modoBooleano` se usa IN BOOLEAN MODE; si no, IN NATURAL LANGUAGE MODE.
+    // Si el término es demasiado corto para el índice, o la tabla no tiene el índice FULLTEXT,
+    // se usa la búsqueda con LIKE (relevancia 0).
+    public List<ResultadoBusqueda<EstrategiaInversion>> buscarEstrategiasTextoCompleto(String termino, boolean modoBooleano) {
+        Metricas.Medicion medicion = Metricas.iniciar("EstrategiaControlador.buscarEstrategiasTextoCompleto");
+        List<ResultadoBusqueda<EstrategiaInversion>> resultados = new ArrayList<>();
+        String expresion = modoBooleano ? TextoCompleto.expresionBooleana(termino) : termino.trim();
+        
+        if (TextoCompleto.esTerminoCorto(termino) || expresion.isEmpty()) {
+            resultados = comoResultados(buscarEstrategias(termino));
+            medicion.terminar(resultados.size());
+            return resultados;
+        }
+        
+        String modo = modoBooleano ? "IN BOOLEAN MODE" : "IN NATURAL LANGUAGE MODE";
+        String match = "MATCH(nombre, tipo_estrategia, descripcion) AGAINST (? " + modo + ")";
+        String sql = "SELECT " + COLUMNAS_LISTA + ", " + match + " AS relevancia FROM estrategias_inversion " +
+                    "WHERE " + match + " ORDER BY relevancia DESC LIMIT ?";
+        
+        try (Connection conn = ConexionDB.getConexion();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setString(1, expresion);
+            pstmt.setString(2, expresion);
+            pstmt.setInt(3, TextoCompleto.LIMITE_RESULTADOS);
+            ResultSet rs = pstmt.executeQuery();
+            
+            while (rs.next()) {
+                resultados.add(new ResultadoBusqueda<>(mapearResumenEstrategia(rs), rs.getDouble("relevancia")));
+            }
+            
+            List<EstrategiaInversion> estrategias = new ArrayList<>(resultados.size());
+            for (ResultadoBusqueda<EstrategiaInversion> resultado : resultados) {
+                estrategias.add(resultado.getEntidad());
+            }
+            diferirDetalles(estrategias);
+            
+        } catch (SQLException e) {
+            if (e.getErrorCode() == TextoCompleto.ERROR_SIN_INDICE_FULLTEXT) {
+                System.err.println("La tabla estrategias_inversion no tiene índice FULLTEXT; se busca con LIKE");
+                resultados = comoResultados(buscarEstrategias(termino));
+            } else {
+                medicion.error();
+                System.err.println("Error en búsqueda de texto completo de estrategias: " + e.getMessage());
+            }
+        }
+        
+        medicion.terminar(resultados.size());
+        return resultados;
+    }
+    
+    // Envuelve estrategias encontradas con LIKE como resultados sin relevancia
+    private static List<ResultadoBusqueda<EstrategiaInversion>> comoResultados(List<EstrategiaInversion> estrategias) {
+        List<ResultadoBusqueda<EstrategiaInversion>> resultados = new ArrayList<>(estrategias.size());
+        for (EstrategiaInversion estrategia : estrategias) {
+            resultados.add(new ResultadoBusqueda<>(estrategia, 0));
+        }
+        return resultados;
+    }
+
     // Método para obtener estrategias filtradas por nivel de riesgo
     // Retorna las estrategias ordenadas por retorno esperado (mayor primero)
     public List<EstrategiaInversion> obtenerEstrategiasPorRiesgo(String nivelRiesgo) {
+        return ConsultasCompartidas.compartir(() -> consultarEstrategiasPorRiesgo(nivelRiesgo), "EstrategiaControlador.obtenerEstrategiasPorRiesgo", nivelRiesgo);
+    }
+    
+    // Lee de la base de datos las estrategias de ese nivel de riesgo
+    private List<EstrategiaInversion> consultarEstrategiasPorRiesgo(String nivelRiesgo) {
+        Metricas.Medicion medicion = Metricas.iniciar("EstrategiaControlador.obtenerEstrategiasPorRiesgo");
         List<EstrategiaInversion> estrategias = new ArrayList<>();
-        String sql = "SELECT * FROM estrategias_inversion WHERE nivel_riesgo = ? " +
+        String sql = "SELECT " + COLUMNAS_LISTA + " FROM estrategias_inversion WHERE nivel_riesgo = ? " +
                     "ORDER BY retorno_esperado DESC";
         
         try (Connection conn = ConexionDB.getConexion();
@@ -224,19 +599,182 @@ public class EstrategiaControlador {
             
             // Convertimos cada resultado en un objeto EstrategiaInversion
             while (rs.next()) {
-                estrategias.add(mapearEstrategia(rs));
+                estrategias.add(mapearResumenEstrategia(rs));
             }
+            diferirDetalles(estrategias);
             
         } catch (SQLException e) {
+            medicion.error();
             System.err.println("Error al obtener estrategias por riesgo: " + e.getMessage());
         }
         
+        medicion.terminar(estrategias.size());
         return estrategias;
     }
     
-    // Método privado auxiliar que convierte una fila de la base de datos en un objeto EstrategiaInversion
+    // Método para contar las estrategias de un nivel de riesgo (del contador de resumen si está
+    // disponible; si no, con COUNT(*) sobre el índice por nivel de riesgo)
+    public int contarEstrategiasPorRiesgo(String nivelRiesgo) {
+        Metricas.Medicion medicion = Metricas.iniciar("EstrategiaControlador.contarEstrategiasPorRiesgo");
+        long contador = ContadoresResumen.leer(ContadoresResumen.ESTRATEGIAS_POR_RIESGO, nivelRiesgo);
+        if (contador != ContadoresResumen.NO_DISPONIBLE) {
+            medicion.terminar(1);
+            return (int) contador;
+        }
+        String sql = "SELECT COUNT(*) as total FROM estrategias_inversion WHERE nivel_riesgo = ?";
+        int total = 0;
+        
+        try (Connection conn = ConexionDB.getConexion();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            pstmt.setString(1, nivelRiesgo);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    total = rs.getInt("total");
+                }
+            }
+            
+        } catch (SQLException e) {
+            medicion.error();
+            System.err.println("Error al contar estrategias por riesgo: " + e.getMessage());
+        }
+        
+        medicion.terminar(1);
+        return total;
+    }
+    
+    // REFRESCO INCREMENTAL
+    // En lugar de volver a leer toda la tabla, se piden solo las estrategias cuya fecha_actualizacion
+    // (que MySQL cambia sola en cada UPDATE) es posterior a la marca del refresco anterior, más los ids
+    // eliminados desde entonces (tabla estrategias_eliminadas, que llena un disparador; ver la
+    // migración V4). Así el costo depende de cuántas filas cambiaron y no del tamaño de la tabla.
+    
+    // Método para obtener los cambios en las estrategias desde la marca `desde`
+    // Con `desde` = null devuelve todas las estrategias (carga completa) y la primera marca.
+    // Retorna null si hubo error (por ejemplo, si la migración V4 aún no se aplicó): quien
+    // refresca debe volver a hacer una carga completa
+    public CambiosEstrategias obtenerCambiosEstrategias(Timestamp desde) {
+        return ConsultasCompartidas.compartir(() -> consultarCambiosEstrategias(desde), "EstrategiaControlador.obtenerCambiosEstrategias", desde);
+    }
+    
+    // Lee los cambios de la base de datos
+    private CambiosEstrategias consultarCambiosEstrategias(Timestamp desde) {
+        Metricas.Medicion medicion = Metricas.iniciar("EstrategiaControlador.obtenerCambiosEstrategias");
+        CambiosEstrategias cambios = null;
+        
+        try (Connection conn = ConexionDB.getConexion()) {
+            // La hora se lee ANTES de consultar: lo que cambie durante la consulta entra en el próximo refresco
+            Timestamp ahora;
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT CURRENT_TIMESTAMP")) {
+                rs.next();
+                ahora = rs.getTimestamp(1);
+            }
+            
+            List<EstrategiaInversion> modificadas = new ArrayList<>();
+            List<Integer> eliminadas = new ArrayList<>();
+            // Con una marca anterior a la retención pueden faltar lápidas ya purgadas: se carga todo
+            boolean completo = desde == null || desde.getTime() < ahora.getTime() - RETENCION_ELIMINADAS_MS;
+            if (completo) {
+                try (Statement stmt = conn.createStatement();
+                     ResultSet rs = stmt.executeQuery("SELECT " + COLUMNAS_LISTA +
+                         " FROM estrategias_inversion ORDER BY fecha_creacion DESC")) {
+                    while (rs.next()) {
+                        modificadas.add(mapearResumenEstrategia(rs));
+                    }
+                }
+            } else {
+                try (PreparedStatement pstmt = conn.prepareStatement("SELECT " + COLUMNAS_LISTA +
+                         " FROM estrategias_inversion WHERE fecha_actualizacion >= ? ORDER BY fecha_creacion DESC")) {
+                    pstmt.setTimestamp(1, desde);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            modificadas.add(mapearResumenEstrategia(rs));
+                        }
+                    }
+                }
+                try (PreparedStatement pstmt = conn.prepareStatement(
+                         "SELECT id FROM estrategias_eliminadas WHERE eliminada_en >= ?")) {
+                    pstmt.setTimestamp(1, desde);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            eliminadas.add(rs.getInt("id"));
+                        }
+                    }
+                }
+                // Pudieron cambiar fuera de la aplicación: lo que haya en caché ya no sirve
+                for (EstrategiaInversion estrategia : modificadas) {
+                    CACHE_ESTRATEGIAS.invalidar(estrategia.getId());
+                }
+                for (int id : eliminadas) {
+                    CACHE_ESTRATEGIAS.invalidar(id);
+                }
+            }
+            diferirDetalles(modificadas);
+            cambios = new CambiosEstrategias(modificadas, eliminadas,
+                new Timestamp(ahora.getTime() - MARGEN_MARCA_MS), completo);
+            
+        } catch (SQLException e) {
+            medicion.error();
+            System.err.println("Error al obtener los cambios de estrategias: " + e.getMessage());
+        }
+        
+        medicion.terminar(cambios == null ? 0 : cambios.getModificadas().size() + cambios.getEliminadas().size());
+        return cambios;
+    }
+    
+    // Borra las lápidas de estrategias_eliminadas más viejas que RETENCION_ELIMINADAS_MS (si no, la
+    // tabla crece con cada eliminación para siempre). Se ejecuta con la reconciliación de los
+    // contadores (ContadoresResumen), cada hora
+    // Retorna cuántas se borraron, o -1 si hubo un error
+    public static int purgarEliminadas() {
+        Metricas.Medicion medicion = Metricas.iniciar("EstrategiaControlador.purgarEliminadas");
+        int borradas;
+        
+        try (Connection conn = ConexionDB.getConexion();
+             PreparedStatement pstmt = conn.prepareStatement(
+                 "DELETE FROM estrategias_eliminadas WHERE eliminada_en < ?")) {
+            // La hora límite se calcula con el reloj del servidor, el mismo que llena eliminada_en
+            Timestamp ahora;
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT CURRENT_TIMESTAMP")) {
+                rs.next();
+                ahora = rs.getTimestamp(1);
+            }
+            pstmt.setTimestamp(1, new Timestamp(ahora.getTime() - RETENCION_ELIMINADAS_MS));
+            borradas = pstmt.executeUpdate();
+            
+        } catch (SQLException e) {
+            medicion.error();
+            medicion.terminar(0);
+            System.err.println("Error al purgar las estrategias eliminadas: " + e.getMessage());
+            return -1;
+        }
+        
+        medicion.terminar(borradas);
+        return borradas;
+    }
+    
+    // Método para recorrer todas las estrategias (ordenadas por id) sin cargarlas todas en memoria
+    // Las filas se leen a medida que el suscriptor las pide (contrapresión) y se puede cancelar a mitad
+    public Flow.Publisher<EstrategiaInversion> publicarEstrategias() {
+        return new PublicadorConsulta<>("SELECT * FROM estrategias_inversion ORDER BY id", null, this::mapearEstrategia);
+    }
+    
+    // Olvida todas las estrategias guardadas en caché (por ejemplo, si se modificaron fuera de la aplicación)
+    public static void invalidarCacheEstrategias() {
+        CACHE_ESTRATEGIAS.invalidarTodo();
+    }
+    
+    // Aciertos, fallos y tamaño de la caché de estrategias
+    public static String getEstadisticasCache() {
+        return CACHE_ESTRATEGIAS.getEstadisticas();
+    }
+    
+    // Método auxiliar que convierte una fila de la base de datos en un objeto EstrategiaInversion
     // Este método extrae todos los datos y los asigna a los atributos del objeto
-    private EstrategiaInversion mapearEstrategia(ResultSet rs) throws SQLException {
+    // (visible en el paquete para medir su costo en los benchmarks)
+    EstrategiaInversion mapearEstrategia(ResultSet rs) throws SQLException {
         EstrategiaInversion estrategia = new EstrategiaInversion();
         // Extraemos los datos de cada columna y los asignamos al objeto
         estrategia.setId(rs.getInt("id"));
@@ -258,4 +796,137 @@ public class EstrategiaControlador {
         
         return estrategia;
     }
-}
\ No newline at end of file
+    
+    // Convierte una fila con solo las columnas de COLUMNAS_LISTA en una EstrategiaInversion
+    // La descripción y las tecnologías quedan pendientes hasta que se llame a diferirDetalles
+    private EstrategiaInversion mapearResumenEstrategia(ResultSet rs) throws SQLException {
+        EstrategiaInversion estrategia = new EstrategiaInversion();
+        estrategia.setId(rs.getInt("id"));
+        estrategia.setNombre(rs.getString("nombre"));
+        estrategia.setTipoEstrategia(rs.getString("tipo_estrategia"));
+        estrategia.setNivelRiesgo(rs.getString("nivel_riesgo"));
+        estrategia.setRetornoEsperado(rs.getDouble("retorno_esperado"));
+        
+        int articuloId = rs.getInt("articulo_relacionado_id");
+        if (!rs.wasNull()) {
+            estrategia.setArticuloRelacionadoId(articuloId);
+        }
+        
+        estrategia.setFechaCreacion(rs.getTimestamp("fecha_creacion"));
+        estrategia.setFechaActualizacion(rs.getTimestamp("fecha_actualizacion"));
+        return estrategia;
+    }
+    
+    // Asigna a las estrategias de una lista su cargador de campos largos, en lotes consecutivos de
+    // TAMANO_LOTE_DETALLES: al pedir la descripción de una, se completa todo su lote
+    private void diferirDetalles(List<EstrategiaInversion> estrategias) {
+        for (int inicio = 0; inicio < estrategias.size(); inicio += TAMANO_LOTE_DETALLES) {
+            List<EstrategiaInversion> lote = new ArrayList<>(
+                estrategias.subList(inicio, Math.min(estrategias.size(), inicio + TAMANO_LOTE_DETALLES)));
+            LoteDiferido<EstrategiaInversion> cargador = new LoteDiferido<>(lote, this::cargarDetalles);
+            for (EstrategiaInversion estrategia : lote) {
+                estrategia.setCargadorDetalles(cargador);
+            }
+        }
+    }
+    
+    // Completa la descripción y las tecnologías de un lote de estrategias con una sola consulta
+    private void cargarDetalles(List<EstrategiaInversion> lote) {
+        Metricas.Medicion medicion = Metricas.iniciar("EstrategiaControlador.cargarDetalles");
+        Map<Integer, EstrategiaInversion> porId = new HashMap<>();
+        for (EstrategiaInversion estrategia : lote) {
+            porId.put(estrategia.getId(), estrategia);
+        }
+        StringBuilder marcadores = new StringBuilder();
+        for (int i = 0; i < porId.size(); i++) {
+            marcadores.append(i == 0 ? "?" : ", ?");
+        }
+        String sql = "SELECT id, descripcion, tecnologias_utilizadas FROM estrategias_inversion " +
+                    "WHERE id IN (" + marcadores + ")";
+        
+        try (Connection conn = ConexionDB.getConexion();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            
+            int parametro = 1;
+            for (Integer id : porId.keySet()) {
+                pstmt.setInt(parametro++, id);
+            }
+            ResultSet rs = pstmt.executeQuery();
+            
+            while (rs.next()) {
+                // completarDetalles no pisa lo que se haya asignado con los setters mientras tanto
+                porId.get(rs.getInt("id")).completarDetalles(rs.getString("descripcion"),
+                    rs.getString("tecnologias_utilizadas"));
+            }
+            
+        } catch (SQLException e) {
+            medicion.error();
+            System.err.println("Error al cargar detalles de estrategias: " + e.getMessage());
+        }
+        medicion.terminar(lote.size());
+        
+        // Aunque alguna ya no exista (o la consulta falle), el lote queda completo: no se vuelve a consultar
+        for (EstrategiaInversion estrategia : lote) {
+            estrategia.setCargadorDetalles(null);
+        }
+    }
+
+    // VARIANTES ASÍNCRONAS
+    // Ejecutan la misma operación en segundo plano (EjecutorConsultas) para no bloquear la interfaz
+
+    public CompletableFuture<Boolean> crearEstrategiaAsync(EstrategiaInversion estrategia) {
+        return EjecutorConsultas.enSegundoPlano(() -> crearEstrategia(estrategia));
+    }
+
+    public CompletableFuture<List<EstrategiaInversion>> obtenerTodasLasEstrategiasAsync() {
+        return EjecutorConsultas.enSegundoPlano(this::obtenerTodasLasEstrategias);
+    }
+
+    public CompletableFuture<CambiosEstrategias> obtenerCambiosEstrategiasAsync(Timestamp desde) {
+        return EjecutorConsultas.enSegundoPlano(() -> obtenerCambiosEstrategias(desde));
+    }
+
+    public CompletableFuture<EstrategiaInversion> obtenerEstrategiaPorIdAsync(int id) {
+        return EjecutorConsultas.enSegundoPlano(() -> obtenerEstrategiaPorId(id));
+    }
+
+    public CompletableFuture<Boolean> actualizarEstrategiaAsync(EstrategiaInversion estrategia) {
+        return EjecutorConsultas.enSegundoPlano(() -> actualizarEstrategia(estrategia));
+    }
+
+    public CompletableFuture<Boolean> eliminarEstrategiaAsync(int id) {
+        return EjecutorConsultas.enSegundoPlano(() -> eliminarEstrategia(id));
+    }
+
+    public CompletableFuture<boolean[]> crearEstrategiasAsync(List<EstrategiaInversion> estrategias) {
+        return EjecutorConsultas.enSegundoPlano(() -> crearEstrategias(estrategias));
+    }
+
+    public CompletableFuture<boolean[]> actualizarEstrategiasAsync(List<EstrategiaInversion> estrategias) {
+        return EjecutorConsultas.enSegundoPlano(() -> actualizarEstrategias(estrategias));
+    }
+
+    public CompletableFuture<boolean[]> eliminarEstrategiasAsync(int... ids) {
+        return EjecutorConsultas.enSegundoPlano(() -> eliminarEstrategias(ids));
+    }
+
+    public CompletableFuture<Integer> actualizarNivelRiesgoAsync(String nivelRiesgo, int... ids) {
+        return EjecutorConsultas.enSegundoPlano(() -> actualizarNivelRiesgo(nivelRiesgo, ids));
+    }
+
+    public CompletableFuture<List<EstrategiaInversion>> buscarEstrategiasAsync(String termino) {
+        return EjecutorConsultas.enSegundoPlano(() -> buscarEstrategias(termino));
+    }
+
+    public CompletableFuture<List<ResultadoBusqueda<EstrategiaInversion>>> buscarEstrategiasTextoCompletoAsync(String termino, boolean modoBooleano) {
+        return EjecutorConsultas.enSegundoPlano(() -> buscarEstrategiasTextoCompleto(termino, modoBooleano));
+    }
+
+    public CompletableFuture<List<EstrategiaInversion>> obtenerEstrategiasPorRiesgoAsync(String nivelRiesgo) {
+        return EjecutorConsultas.enSegundoPlano(() -> obtenerEstrategiasPorRiesgo(nivelRiesgo));
+    }
+
+    public CompletableFuture<Integer> contarEstrategiasPorRiesgoAsync(String nivelRiesgo) {
+        return EjecutorConsultas.enSegundoPlano(() -> contarEstrategiasPorRiesgo(nivelRiesgo));
+    }
+}
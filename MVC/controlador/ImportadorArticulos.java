@@ -0,0 +1,371 @@
+package controlador;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import modelo.Articulo;
+
+// Importa artículos desde exportaciones de Scopus (CSV), RIS o BibTeX y los asocia a una búsqueda
+// El archivo se procesa en tubería, sin cargarlo nunca completo en memoria:
+//   1. Un hilo lector recorre el archivo (FileChannel con búfer) y separa los registros en trozos
+//   2. Varios hilos (uno por núcleo) convierten los registros de cada trozo en objetos Articulo
+//   3. El hilo que llamó a importar() inserta los artículos por lotes (ArticuloControlador.insertarArticulos)
+// Las colas entre etapas son acotadas: si la base de datos va más lenta que la lectura, el lector espera.
+public class ImportadorArticulos {
+
+    // Formatos de exportación admitidos
+    public enum Formato {
+        SCOPUS_CSV, RIS, BIBTEX;
+
+        // Deduce el formato por la extensión del archivo (.csv, .ris, .bib)
+        public static Formato detectar(Path archivo) {
+            String nombre = archivo.getFileName().toString().toLowerCase(Locale.ROOT);
+            if (nombre.endsWith(".csv")) {
+                return SCOPUS_CSV;
+            }
+            if (nombre.endsWith(".ris")) {
+                return RIS;
+            }
+            if (nombre.endsWith(".bib") || nombre.endsWith(".bibtex")) {
+                return BIBTEX;
+            }
+            throw new IllegalArgumentException("Formato de archivo no reconocido: " + nombre);
+        }
+    }
+
+    // Recibe el avance de la importación (se llama desde el hilo que importa, después de cada lote)
+    public interface Progreso {
+        void actualizar(Resultado parcial);
+    }
+
+    // Contadores de una importación (parcial o final)
+    public static final class Resultado {
+        private final long registrosLeidos;
+        private final long importados;
+        private final long duplicados;
+        private final long errores;
+        private final long bytesLeidos;
+        private final long milisegundos;
+
+        Resultado(long registrosLeidos, long importados, long duplicados, long errores, long bytesLeidos, long milisegundos) {
+            this.registrosLeidos = registrosLeidos;
+            this.importados = importados;
+            this.duplicados = duplicados;
+            this.errores = errores;
+            this.bytesLeidos = bytesLeidos;
+            this.milisegundos = milisegundos;
+        }
+
+        public long getRegistrosLeidos() { return registrosLeidos; }
+        public long getImportados() { return importados; }
+        public long getDuplicados() { return duplicados; }  // Ya estaban en la búsqueda (mismo DOI)
+        public long getErrores() { return errores; }
+        public long getBytesLeidos() { return bytesLeidos; }
+        public long getMilisegundos() { return milisegundos; }
+
+        // Artículos importados por segundo
+        public double getRegistrosPorSegundo() {
+            return milisegundos == 0 ? importados : importados * 1000.0 / milisegundos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d registros leídos, %d importados, %d duplicados, %d con errores, %.1f MB en %d ms (%.0f registros/s)",
+                registrosLeidos, importados, duplicados, errores, bytesLeidos / 1048576.0, milisegundos, getRegistrosPorSegundo());
+        }
+    }
+
+    private static final int REGISTROS_POR_TROZO = 256;      // Registros que recibe cada hilo de conversión por vez
+    private static final int TAMANO_BUFER = 1 << 16;          // 64 KB de lectura por vez
+    private static final int MAXIMO_ERRORES_MOSTRADOS = 20;   // Para no llenar la consola con un archivo muy dañado
+    private static final int MAXIMO_CARACTERES_REGISTRO = 1 << 20;  // 1 M caracteres; un registro real ocupa pocos KB
+    private static final List<String> FIN = Collections.emptyList();  // Marca de fin en las colas
+
+    private final ArticuloControlador controlador;
+    private final int hilos;
+
+    public ImportadorArticulos() {
+        this(new ArticuloControlador(), Runtime.getRuntime().availableProcessors());
+    }
+
+    public ImportadorArticulos(ArticuloControlador controlador, int hilos) {
+        this.controlador = controlador;
+        this.hilos = Math.max(1, hilos);
+    }
+
+    // Importa el archivo deduciendo el formato por su extensión
+    public Resultado importar(Path archivo, int busquedaId, Progreso progreso) {
+        return importar(archivo, Formato.detectar(archivo), busquedaId, progreso);
+    }
+
+    // Importa todos los registros del archivo como artículos de la búsqueda `busquedaId`
+    // `progreso` puede ser null. Los registros inválidos se cuentan como errores y se saltan.
+    public Resultado importar(Path archivo, Formato formato, int busquedaId, Progreso progreso) {
+        long inicio = System.currentTimeMillis();
+        AtomicLong leidos = new AtomicLong();
+        AtomicLong errores = new AtomicLong();
+        AtomicReference<IOException> errorLectura = new AtomicReference<>();
+        long importados = 0;
+        long duplicados = 0;
+
+        // Colas acotadas entre etapas: como máximo unos pocos trozos por hilo en memoria
+        BlockingQueue<List<String>> registros = new ArrayBlockingQueue<>(hilos * 2);
+        BlockingQueue<List<Articulo>> articulos = new ArrayBlockingQueue<>(hilos * 2);
+        AtomicInteger numeroHilo = new AtomicInteger();
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos + 1, tarea -> {
+            Thread hilo = new Thread(tarea, "importador-" + numeroHilo.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ);
+             BufferedReader lector = new BufferedReader(Channels.newReader(canal,
+                 StandardCharsets.UTF_8.newDecoder()
+                     .onMalformedInput(CodingErrorAction.REPLACE)
+                     .onUnmappableCharacter(CodingErrorAction.REPLACE), TAMANO_BUFER), TAMANO_BUFER)) {
+
+            // El encabezado del CSV se lee antes de empezar: indica en qué columna está cada dato
+            ParserRegistros.ColumnasCsv columnas = null;
+            if (formato == Formato.SCOPUS_CSV) {
+                String encabezado = lector.readLine();
+                if (encabezado == null) {
+                    return new Resultado(0, 0, 0, 0, 0, System.currentTimeMillis() - inicio);
+                }
+                columnas = ParserRegistros.ColumnasCsv.desdeEncabezado(encabezado);
+            }
+            ParserRegistros.ColumnasCsv columnasCsv = columnas;
+
+            // Etapa 1: lectura y separación de registros
+            ejecutor.execute(() -> {
+                try {
+                    separarRegistros(lector, formato, registros, leidos, errores);
+                } catch (IOException e) {
+                    errorLectura.set(e);  // Se importa lo leído hasta el error
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();  // Importación cancelada
+                    return;
+                } finally {
+                    // Una marca de fin por hilo de conversión, termine como termine la lectura
+                    // (también con un Error): si faltara, la importación quedaría esperando para siempre
+                    enviarFin(registros, FIN, hilos);
+                }
+            });
+
+            // Etapa 2: conversión en paralelo
+            for (int i = 0; i < hilos; i++) {
+                ejecutor.execute(() -> convertirRegistros(formato, columnasCsv, busquedaId, registros, articulos, errores));
+            }
+
+            // Etapa 3: inserción por lotes en este hilo
+            List<Articulo> lote = new ArrayList<>();
+            int terminados = 0;
+            while (terminados < hilos) {
+                List<Articulo> convertidos = articulos.take();
+                if (convertidos.isEmpty()) {
+                    terminados++;
+                } else {
+                    lote.addAll(convertidos);
+                }
+                if (lote.size() >= ArticuloControlador.TAMANO_LOTE_INSERCION || (terminados == hilos && !lote.isEmpty())) {
+                    ArticuloControlador.ResultadoInsercion insercion = controlador.insertarArticulos(lote);
+                    importados += insercion.getInsertados();
+                    duplicados += insercion.getDuplicados();
+                    errores.addAndGet(lote.size() - insercion.getInsertados() - insercion.getDuplicados());
+                    lote = new ArrayList<>();
+                    if (progreso != null) {
+                        progreso.actualizar(new Resultado(leidos.get(), importados, duplicados, errores.get(),
+                            canal.position(), System.currentTimeMillis() - inicio));
+                    }
+                }
+            }
+
+            if (errorLectura.get() != null) {
+                System.err.println("Error al leer " + archivo + ": " + errorLectura.get().getMessage());
+            }
+            Resultado resultado = new Resultado(leidos.get(), importados, duplicados, errores.get(),
+                canal.size(), System.currentTimeMillis() - inicio);
+            System.out.println("✓ Importación de " + archivo.getFileName() + ": " + resultado);
+            return resultado;
+
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error al importar " + archivo + ": " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Importación de " + archivo + " interrumpida");
+        } finally {
+            ejecutor.shutdownNow();
+        }
+        return new Resultado(leidos.get(), importados, duplicados, errores.get(), 0, System.currentTimeMillis() - inicio);
+    }
+
+    // Igual que importar(...) pero en segundo plano
+    public CompletableFuture<Resultado> importarAsync(Path archivo, int busquedaId, Progreso progreso) {
+        return EjecutorConsultas.enSegundoPlano(() -> importar(archivo, busquedaId, progreso));
+    }
+
+    // Pone `cantidad` marcas de fin en la cola. Si el hilo fue interrumpido (importación cancelada)
+    // no espera lugar: los hilos que las esperaban ya se están cancelando
+    private static <T> void enviarFin(BlockingQueue<T> cola, T fin, int cantidad) {
+        try {
+            for (int i = 0; i < cantidad; i++) {
+                cola.put(fin);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Recorre el archivo y arma trozos de REGISTROS_POR_TROZO registros (cada registro es su texto completo)
+    // Un registro de más de MAXIMO_CARACTERES_REGISTRO (una comilla o llave sin cerrar que se traga el
+    // resto del archivo...) se descarta y se cuenta como error: se sigue leyendo hasta donde termina,
+    // pero sin guardar su texto
+    private static void separarRegistros(BufferedReader lector, Formato formato,
+                                         BlockingQueue<List<String>> destino, AtomicLong leidos, AtomicLong errores)
+            throws IOException, InterruptedException {
+        List<String> trozo = new ArrayList<>(REGISTROS_POR_TROZO);
+        StringBuilder registro = new StringBuilder();
+        boolean comillasAbiertas = false;  // CSV: un campo entre comillas puede contener saltos de línea
+        int profundidad = 0;               // BibTeX: llaves abiertas de la entrada actual
+        boolean descartando = false;       // El registro actual superó el máximo
+        String linea;
+
+        while ((linea = lector.readLine()) != null) {
+            boolean completo = false;
+            if (!descartando && registro.length() + linea.length() > MAXIMO_CARACTERES_REGISTRO) {
+                descartando = true;
+                registro.setLength(0);
+                registro.trimToSize();
+                if (errores.incrementAndGet() <= MAXIMO_ERRORES_MOSTRADOS) {
+                    System.err.println("Registro inválido: más de " + MAXIMO_CARACTERES_REGISTRO + " caracteres");
+                }
+            }
+            switch (formato) {
+                case SCOPUS_CSV:
+                    if (descartando) {
+                        // No se guarda el texto
+                    } else if (registro.length() > 0) {
+                        registro.append('\n').append(linea);
+                    } else {
+                        registro.append(linea);
+                    }
+                    for (int i = 0; i < linea.length(); i++) {
+                        if (linea.charAt(i) == '"') {
+                            comillasAbiertas = !comillasAbiertas;
+                        }
+                    }
+                    completo = !comillasAbiertas;
+                    break;
+                case RIS:
+                    if (!descartando && registro.length() == 0 && !linea.startsWith("TY  -")) {
+                        continue;  // Líneas en blanco o basura entre registros
+                    }
+                    if (!descartando) {
+                        registro.append(linea).append('\n');
+                    }
+                    completo = linea.startsWith("ER  -");
+                    break;
+                default:  // BIBTEX
+                    if (!descartando && registro.length() == 0 && linea.indexOf('@') < 0) {
+                        continue;
+                    }
+                    if (!descartando) {
+                        registro.append(linea).append('\n');
+                    }
+                    for (int i = 0; i < linea.length(); i++) {
+                        char c = linea.charAt(i);
+                        if (c == '\\') {
+                            i++;
+                        } else if (c == '{') {
+                            profundidad++;
+                        } else if (c == '}') {
+                            profundidad--;
+                        }
+                    }
+                    completo = profundidad <= 0 && linea.indexOf('}') >= 0;
+                    if (completo) {
+                        profundidad = 0;
+                    }
+                    break;
+            }
+
+            if (completo) {
+                descartando = false;
+                if (registro.toString().trim().length() > 0) {
+                    trozo.add(registro.toString());
+                    leidos.incrementAndGet();
+                }
+                registro.setLength(0);
+                if (trozo.size() == REGISTROS_POR_TROZO) {
+                    destino.put(trozo);
+                    trozo = new ArrayList<>(REGISTROS_POR_TROZO);
+                }
+            }
+        }
+
+        // Un último registro sin cierre (por ejemplo, RIS sin "ER  -") también se intenta convertir
+        if (registro.toString().trim().length() > 0) {
+            trozo.add(registro.toString());
+            leidos.incrementAndGet();
+        }
+        if (!trozo.isEmpty()) {
+            destino.put(trozo);
+        }
+    }
+
+    // Toma trozos de registros, los convierte en artículos y los pasa a la etapa de inserción
+    private static void convertirRegistros(Formato formato, ParserRegistros.ColumnasCsv columnas, int busquedaId,
+                                           BlockingQueue<List<String>> origen,
+                                           BlockingQueue<List<Articulo>> destino, AtomicLong errores) {
+        try {
+            while (true) {
+                List<String> trozo = origen.take();
+                if (trozo.isEmpty()) {
+                    break;
+                }
+                List<Articulo> convertidos = new ArrayList<>(trozo.size());
+                for (String registro : trozo) {
+                    try {
+                        Articulo articulo;
+                        switch (formato) {
+                            case SCOPUS_CSV: articulo = ParserRegistros.desdeCsv(registro, columnas, busquedaId); break;
+                            case RIS: articulo = ParserRegistros.desdeRis(registro, busquedaId); break;
+                            default: articulo = ParserRegistros.desdeBibtex(registro, busquedaId); break;
+                        }
+                        if (articulo != null) {
+                            convertidos.add(articulo);
+                        }
+                    } catch (RuntimeException e) {
+                        if (errores.incrementAndGet() <= MAXIMO_ERRORES_MOSTRADOS) {
+                            System.err.println("Registro inválido: " + e.getMessage());
+                        }
+                    }
+                }
+                if (!convertidos.isEmpty()) {
+                    destino.put(convertidos);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();  // Importación cancelada
+        } finally {
+            // Avisa a la etapa de inserción que este hilo terminó (también si falló)
+            enviarFin(destino, Collections.emptyList(), 1);
+        }
+    }
+}
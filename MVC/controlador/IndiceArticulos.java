@@ -0,0 +1,602 @@
+package controlador;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import modelo.Articulo;
+
+// Índice invertido en memoria para buscar artículos por palabras, ordenados por relevancia (BM25).
+// Indexa título, autores, palabras clave y resumen. Cada campo tiene su propio peso
+// (un término en el título vale más que en el resumen).
+// Los textos se normalizan: minúsculas y sin tildes, así "simulación" encuentra "simulacion".
+// Se puede ir actualizando de a un artículo (agregar / eliminar) sin reconstruirlo. Un artículo
+// eliminado (o reemplazado por su versión nueva) solo se marca; cuando los marcados son muchos,
+// compactarSiHaceFalta() reescribe las listas sin ellos. Volver a agregar un artículo con los mismos
+// textos no hace nada (se compara una huella de los textos).
+public class IndiceArticulos {
+
+    // Campos indexados y su peso en la puntuación
+    private static final int TITULO = 0;
+    private static final int AUTORES = 1;
+    private static final int PALABRAS_CLAVE = 2;
+    private static final int RESUMEN = 3;
+    private static final int CAMPOS = 4;
+    private static final float[] PESOS = {3.0f, 2.0f, 2.5f, 1.0f};
+
+    // Parámetros habituales de BM25
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    // Largo mínimo del último término para buscarlo también como prefijo ("portf" -> "portfolio")
+    private static final int LARGO_MINIMO_PREFIJO = 3;
+    private static final int MAXIMO_TERMINOS_PREFIJO = 64;
+
+    // Fracción de documentos internos eliminados a partir de la cual se compacta
+    private static final float MAXIMO_ELIMINADOS = 0.2f;
+
+    // Palabras muy frecuentes en español e inglés que no aportan a la búsqueda
+    private static final Set<String> PALABRAS_VACIAS = new HashSet<>(Arrays.asList(
+        "de", "la", "el", "en", "y", "los", "las", "del", "un", "una", "por", "con", "para", "que", "se", "al", "lo",
+        "the", "of", "and", "in", "to", "for", "on", "with", "an", "by", "is", "are", "as", "at", "from", "or"));
+
+    private final ReentrantReadWriteLock bloqueo = new ReentrantReadWriteLock();
+
+    // Diccionario ordenado (permite buscar por prefijo) de término -> lista de apariciones
+    private final TreeMap<String, Apariciones> terminos = new TreeMap<>();
+
+    // Datos por documento interno (posición en el índice)
+    private int[] ids = new int[1024];                // id del artículo
+    private int[] largos = new int[1024 * CAMPOS];    // cantidad de términos de cada campo
+    private long[] huellas = new long[1024];          // huella de los textos indexados
+    private Apariciones[][] listasPorDocumento = new Apariciones[1024][];  // términos del documento
+    private final BitSet eliminados = new BitSet();
+    private final Map<Integer, Integer> documentoPorId = new HashMap<>();
+    private int documentos = 0;                       // documentos internos (incluye eliminados)
+    private int activos = 0;                          // documentos no eliminados
+    private final long[] largoTotal = new long[CAMPOS];
+
+    // Agrega un artículo al índice (si ya estaba, reemplaza la versión anterior)
+    public void agregar(Articulo articulo) {
+        agregar(articulo.getId(), articulo.getTitulo(), articulo.getAutores(),
+                articulo.getPalabrasClave(), articulo.getResumen());
+    }
+
+    // Agrega un artículo a partir de sus textos
+    public void agregar(int id, String titulo, String autores, String palabrasClave, String resumen) {
+        // Si ya está indexado con los mismos textos no se toca (una sincronización vuelve a traer
+        // filas que no cambiaron)
+        long huella = huella(titulo, autores, palabrasClave, resumen);
+        if (estaIndexado(id, huella)) {
+            return;
+        }
+
+        // La tokenización se hace antes de tomar el bloqueo
+        Map<String, int[]> frecuencias = new HashMap<>();
+        int[] largosDoc = new int[CAMPOS];
+        largosDoc[TITULO] = contar(titulo, TITULO, frecuencias);
+        largosDoc[AUTORES] = contar(autores, AUTORES, frecuencias);
+        largosDoc[PALABRAS_CLAVE] = contar(palabrasClave, PALABRAS_CLAVE, frecuencias);
+        largosDoc[RESUMEN] = contar(resumen, RESUMEN, frecuencias);
+
+        bloqueo.writeLock().lock();
+        try {
+            eliminarSinBloqueo(id);
+
+            int doc = documentos++;
+            if (doc == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+                largos = Arrays.copyOf(largos, largos.length * 2);
+                huellas = Arrays.copyOf(huellas, huellas.length * 2);
+                listasPorDocumento = Arrays.copyOf(listasPorDocumento, listasPorDocumento.length * 2);
+            }
+            ids[doc] = id;
+            huellas[doc] = huella;
+            for (int campo = 0; campo < CAMPOS; campo++) {
+                largos[doc * CAMPOS + campo] = largosDoc[campo];
+                largoTotal[campo] += largosDoc[campo];
+            }
+            documentoPorId.put(id, doc);
+            activos++;
+
+            // Los documentos nuevos siempre tienen el número más alto: las listas quedan ordenadas
+            Apariciones[] listas = new Apariciones[frecuencias.size()];
+            int i = 0;
+            for (Map.Entry<String, int[]> entrada : frecuencias.entrySet()) {
+                Apariciones ap = terminos.computeIfAbsent(entrada.getKey(), t -> new Apariciones());
+                ap.agregar(doc, empaquetar(entrada.getValue()));
+                listas[i++] = ap;
+            }
+            listasPorDocumento[doc] = listas;
+        } finally {
+            bloqueo.writeLock().unlock();
+        }
+    }
+
+    // Quita un artículo del índice (se marca como eliminado y deja de aparecer en resultados)
+    public void eliminar(int id) {
+        bloqueo.writeLock().lock();
+        try {
+            eliminarSinBloqueo(id);
+        } finally {
+            bloqueo.writeLock().unlock();
+        }
+    }
+
+    // Busca artículos que contengan todos los términos de la consulta, ordenados por relevancia.
+    // El último término también se busca como prefijo. Devuelve como máximo `limite` ids de artículos
+    // (los más relevantes), o null si la consulta no tiene términos indexables (por ejemplo, solo palabras vacías).
+    public int[] buscar(String consulta, int limite) {
+        List<String> terminosConsulta = new ArrayList<>(new LinkedHashSet<>(tokenizar(consulta)));
+        if (terminosConsulta.isEmpty()) {
+            return null;
+        }
+
+        bloqueo.readLock().lock();
+        try {
+            if (activos == 0) {
+                return new int[0];
+            }
+
+            // Cada término de la consulta puede corresponder a varios términos del índice (prefijo)
+            List<List<Apariciones>> grupos = new ArrayList<>();
+            for (int i = 0; i < terminosConsulta.size(); i++) {
+                boolean esUltimo = i == terminosConsulta.size() - 1;
+                List<Apariciones> grupo = buscarTermino(terminosConsulta.get(i), esUltimo);
+                if (grupo.isEmpty()) {
+                    return new int[0];  // Un término sin apariciones: ningún artículo los tiene todos
+                }
+                grupos.add(grupo);
+            }
+
+            // Empezamos por el grupo con menos apariciones: así hay menos candidatos que revisar
+            grupos.sort((a, b) -> Long.compare(totalApariciones(a), totalApariciones(b)));
+
+            float[] promedios = new float[CAMPOS];
+            for (int campo = 0; campo < CAMPOS; campo++) {
+                promedios[campo] = Math.max(1f, (float) largoTotal[campo] / activos);
+            }
+
+            // Candidatos iniciales (ordenados por documento) con su puntuación
+            Candidatos candidatos = candidatosIniciales(grupos.get(0), promedios);
+
+            // Cada grupo restante filtra los candidatos (Y lógico) y suma su puntuación.
+            // Como candidatos y apariciones están ordenados, cada búsqueda binaria arranca
+            // donde terminó la anterior.
+            for (int g = 1; g < grupos.size() && candidatos.cantidad > 0; g++) {
+                List<Apariciones> grupo = grupos.get(g);
+                int[] desde = new int[grupo.size()];
+                float[] idfs = new float[grupo.size()];
+                for (int k = 0; k < grupo.size(); k++) {
+                    idfs[k] = idf(grupo.get(k).vigentes);
+                }
+                int quedan = 0;
+                for (int c = 0; c < candidatos.cantidad; c++) {
+                    int doc = candidatos.documentos[c];
+                    float suma = 0;
+                    boolean aparece = false;
+                    for (int k = 0; k < grupo.size(); k++) {
+                        Apariciones ap = grupo.get(k);
+                        int pos = Arrays.binarySearch(ap.documentos, desde[k], ap.cantidad, doc);
+                        if (pos >= 0) {
+                            aparece = true;
+                            suma += puntuar(doc, ap.frecuencias[pos], idfs[k], promedios);
+                            desde[k] = pos + 1;
+                        } else {
+                            desde[k] = -pos - 1;
+                        }
+                    }
+                    if (aparece) {
+                        candidatos.documentos[quedan] = doc;
+                        candidatos.puntajes[quedan] = candidatos.puntajes[c] + suma;
+                        quedan++;
+                    }
+                }
+                candidatos.cantidad = quedan;
+            }
+
+            // Ordenamos por puntuación (mayor primero); a igual puntuación, el artículo más nuevo.
+            // Solo se conservan los `limite` mejores (montículo), sin ordenar todos los candidatos.
+            long[] mejores = new long[Math.min(limite, candidatos.cantidad)];
+            int enMonticulo = 0;
+            for (int c = 0; c < candidatos.cantidad; c++) {
+                long clave = ((long) ordenable(candidatos.puntajes[c]) << 32)
+                    | (ids[candidatos.documentos[c]] & 0xFFFFFFFFL);
+                if (enMonticulo < mejores.length) {
+                    mejores[enMonticulo++] = clave;
+                    if (enMonticulo == mejores.length) {
+                        for (int i = enMonticulo / 2 - 1; i >= 0; i--) {
+                            hundir(mejores, i, enMonticulo);
+                        }
+                    }
+                } else if (clave > mejores[0]) {
+                    mejores[0] = clave;
+                    hundir(mejores, 0, enMonticulo);
+                }
+            }
+            Arrays.sort(mejores, 0, enMonticulo);
+            int[] resultado = new int[enMonticulo];
+            for (int i = 0; i < enMonticulo; i++) {
+                resultado[i] = (int) mejores[enMonticulo - 1 - i];
+            }
+            return resultado;
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    // Marca para retenerSolo: los documentos internos se numeran en orden de llegada, así que todo lo
+    // agregado después de leer la marca tiene un número mayor o igual
+    public int getMarcaDocumentos() {
+        bloqueo.readLock().lock();
+        try {
+            return documentos;
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    // Quita los artículos indexados que no están en `idsExistentes` (ordenados de menor a mayor):
+    // los que se borraron sin que el índice se enterara. Solo se revisan los documentos agregados
+    // antes de `marca` (getMarcaDocumentos, leída antes de consultar los ids): uno agregado después
+    // puede no estar en la lista por ser más nuevo que la consulta. Retorna cuántos se quitaron.
+    // No debe haber una compactación entre la marca y esta llamada (renumera los documentos).
+    public int retenerSolo(int[] idsExistentes, int marca) {
+        bloqueo.writeLock().lock();
+        try {
+            int quitados = 0;
+            for (int doc = 0; doc < Math.min(marca, documentos); doc++) {
+                if (!eliminados.get(doc) && Arrays.binarySearch(idsExistentes, ids[doc]) < 0) {
+                    eliminarSinBloqueo(ids[doc]);
+                    quitados++;
+                }
+            }
+            return quitados;
+        } finally {
+            bloqueo.writeLock().unlock();
+        }
+    }
+
+    // Si más de MAXIMO_ELIMINADOS de los documentos internos están marcados como eliminados, los
+    // quita de verdad: renumera los documentos vigentes y reescribe cada lista de apariciones.
+    // Así se libera la memoria y las búsquedas dejan de recorrer apariciones de artículos
+    // eliminados. Mientras compacta las búsquedas esperan: conviene llamarlo en segundo plano.
+    // Retorna true si compactó.
+    public boolean compactarSiHaceFalta() {
+        bloqueo.writeLock().lock();
+        try {
+            int marcados = documentos - activos;
+            if (marcados == 0 || marcados < documentos * MAXIMO_ELIMINADOS) {
+                return false;
+            }
+
+            // Número nuevo de cada documento (-1 si se descarta); el orden se conserva, así que
+            // las listas siguen ordenadas
+            int[] nuevoNumero = new int[documentos];
+            int vigentes = 0;
+            for (int doc = 0; doc < documentos; doc++) {
+                if (eliminados.get(doc)) {
+                    nuevoNumero[doc] = -1;
+                } else {
+                    nuevoNumero[doc] = vigentes;
+                    ids[vigentes] = ids[doc];
+                    huellas[vigentes] = huellas[doc];
+                    listasPorDocumento[vigentes] = listasPorDocumento[doc];
+                    System.arraycopy(largos, doc * CAMPOS, largos, vigentes * CAMPOS, CAMPOS);
+                    documentoPorId.put(ids[vigentes], vigentes);
+                    vigentes++;
+                }
+            }
+            Iterator<Apariciones> listas = terminos.values().iterator();
+            while (listas.hasNext()) {
+                Apariciones ap = listas.next();
+                ap.renumerar(nuevoNumero);
+                if (ap.cantidad == 0) {
+                    listas.remove();  // Término que solo estaba en artículos eliminados
+                }
+            }
+            Arrays.fill(listasPorDocumento, vigentes, documentos, null);
+            documentos = vigentes;
+            eliminados.clear();
+            return true;
+        } finally {
+            bloqueo.writeLock().unlock();
+        }
+    }
+
+    // Cantidad de artículos indexados
+    public int getCantidadArticulos() {
+        bloqueo.readLock().lock();
+        try {
+            return activos;
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    // Divide un texto en términos normalizados: minúsculas, sin tildes ni signos, sin palabras vacías
+    static List<String> tokenizar(String texto) {
+        List<String> tokens = new ArrayList<>();
+        if (texto == null || texto.isEmpty()) {
+            return tokens;
+        }
+
+        // NFD separa cada letra de su tilde ("ó" -> "o" + "´"); las tildes se descartan
+        String descompuesto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        StringBuilder actual = new StringBuilder();
+        for (int i = 0; i < descompuesto.length(); i++) {
+            char c = descompuesto.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                actual.append(Character.toLowerCase(c));
+            } else if (actual.length() > 0) {
+                agregarToken(actual.toString(), tokens);
+                actual.setLength(0);
+            }
+        }
+        if (actual.length() > 0) {
+            agregarToken(actual.toString(), tokens);
+        }
+        return tokens;
+    }
+
+    private static void agregarToken(String token, List<String> tokens) {
+        if ((token.length() >= 2 || Character.isDigit(token.charAt(0))) && !PALABRAS_VACIAS.contains(token)) {
+            tokens.add(token);
+        }
+    }
+
+    // true si el artículo ya está indexado (sin eliminar) con esa huella
+    private boolean estaIndexado(int id, long huella) {
+        bloqueo.readLock().lock();
+        try {
+            Integer doc = documentoPorId.get(id);
+            return doc != null && huellas[doc] == huella;
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    // Huella de 64 bits (FNV-1a) de los textos que se indexan; un null no es lo mismo que ""
+    private static long huella(String... textos) {
+        long valor = 0xcbf29ce484222325L;
+        for (String texto : textos) {
+            if (texto == null) {
+                valor = (valor ^ 0xFFFF) * 0x100000001b3L;
+                continue;
+            }
+            for (int i = 0; i < texto.length(); i++) {
+                valor = (valor ^ texto.charAt(i)) * 0x100000001b3L;
+            }
+            valor = (valor ^ 0xFFFE) * 0x100000001b3L;  // Separador: "ab"+"c" no es lo mismo que "a"+"bc"
+        }
+        return valor;
+    }
+
+    // Convierte una puntuación en un int que se ordena igual que el float, también si es negativa
+    // (los bits de un float negativo, leídos como int, quedan en orden inverso)
+    private static int ordenable(float puntaje) {
+        int bits = Float.floatToIntBits(puntaje);
+        return bits ^ ((bits >> 31) & 0x7FFFFFFF);
+    }
+
+    // Cuenta cuántas veces aparece cada término en el campo; devuelve el largo del campo
+    private static int contar(String texto, int campo, Map<String, int[]> frecuencias) {
+        List<String> tokens = tokenizar(texto);
+        for (String token : tokens) {
+            frecuencias.computeIfAbsent(token, t -> new int[CAMPOS])[campo]++;
+        }
+        return tokens.size();
+    }
+
+    // Guarda las 4 frecuencias (una por campo, hasta 255) en un solo int
+    private static int empaquetar(int[] frecuencias) {
+        int valor = 0;
+        for (int campo = 0; campo < CAMPOS; campo++) {
+            valor |= Math.min(255, frecuencias[campo]) << (8 * campo);
+        }
+        return valor;
+    }
+
+    private void eliminarSinBloqueo(int id) {
+        Integer doc = documentoPorId.remove(id);
+        if (doc != null && !eliminados.get(doc)) {
+            eliminados.set(doc);
+            activos--;
+            for (int campo = 0; campo < CAMPOS; campo++) {
+                largoTotal[campo] -= largos[doc * CAMPOS + campo];
+            }
+            // Sus términos dejan de contarlo para la rareza (idf), aunque la aparición siga en la
+            // lista hasta la próxima compactación
+            for (Apariciones ap : listasPorDocumento[doc]) {
+                ap.vigentes--;
+            }
+            listasPorDocumento[doc] = null;
+        }
+    }
+
+    // Listas de apariciones de un término de la consulta (exacto y, si es el último, por prefijo)
+    private List<Apariciones> buscarTermino(String termino, boolean comoPrefijo) {
+        List<Apariciones> grupo = new ArrayList<>();
+        if (comoPrefijo && termino.length() >= LARGO_MINIMO_PREFIJO) {
+            Collection<Apariciones> conPrefijo =
+                terminos.subMap(termino, true, termino + Character.MAX_VALUE, false).values();
+            for (Apariciones ap : conPrefijo) {
+                grupo.add(ap);
+                if (grupo.size() == MAXIMO_TERMINOS_PREFIJO) {
+                    break;
+                }
+            }
+        } else {
+            Apariciones ap = terminos.get(termino);
+            if (ap != null) {
+                grupo.add(ap);
+            }
+        }
+        return grupo;
+    }
+
+    // Une las apariciones del primer grupo en una lista ordenada por documento, sumando
+    // la puntuación de los términos que coinciden en el mismo documento
+    private Candidatos candidatosIniciales(List<Apariciones> grupo, float[] promedios) {
+        int total = (int) totalApariciones(grupo);
+        Candidatos candidatos = new Candidatos(total);
+
+        if (grupo.size() == 1) {
+            Apariciones ap = grupo.get(0);
+            float idf = idf(ap.vigentes);
+            for (int i = 0; i < ap.cantidad; i++) {
+                int doc = ap.documentos[i];
+                if (!eliminados.get(doc)) {
+                    candidatos.agregar(doc, puntuar(doc, ap.frecuencias[i], idf, promedios));
+                }
+            }
+            return candidatos;
+        }
+
+        // Varias listas (búsqueda por prefijo): se ordenan juntas por documento y se suman los repetidos
+        long[] pares = new long[total];
+        float[] puntajes = new float[total];
+        int n = 0;
+        for (Apariciones ap : grupo) {
+            float idf = idf(ap.vigentes);
+            for (int i = 0; i < ap.cantidad; i++) {
+                int doc = ap.documentos[i];
+                if (!eliminados.get(doc)) {
+                    puntajes[n] = puntuar(doc, ap.frecuencias[i], idf, promedios);
+                    pares[n] = ((long) doc << 32) | n;
+                    n++;
+                }
+            }
+        }
+        Arrays.sort(pares, 0, n);
+        for (int i = 0; i < n; i++) {
+            int doc = (int) (pares[i] >>> 32);
+            float puntaje = puntajes[(int) pares[i]];
+            if (candidatos.cantidad > 0 && candidatos.documentos[candidatos.cantidad - 1] == doc) {
+                candidatos.puntajes[candidatos.cantidad - 1] += puntaje;
+            } else {
+                candidatos.agregar(doc, puntaje);
+            }
+        }
+        return candidatos;
+    }
+
+    // Reacomoda un montículo de mínimos a partir de la posición i
+    private static void hundir(long[] monticulo, int i, int tamano) {
+        while (true) {
+            int menor = i;
+            int izquierda = 2 * i + 1;
+            int derecha = izquierda + 1;
+            if (izquierda < tamano && monticulo[izquierda] < monticulo[menor]) {
+                menor = izquierda;
+            }
+            if (derecha < tamano && monticulo[derecha] < monticulo[menor]) {
+                menor = derecha;
+            }
+            if (menor == i) {
+                return;
+            }
+            long temporal = monticulo[i];
+            monticulo[i] = monticulo[menor];
+            monticulo[menor] = temporal;
+            i = menor;
+        }
+    }
+
+    private static long totalApariciones(List<Apariciones> grupo) {
+        long total = 0;
+        for (Apariciones ap : grupo) {
+            total += ap.cantidad;
+        }
+        return total;
+    }
+
+    // Rareza del término: cuanto menos artículos lo contienen, más vale
+    // (documentosConTermino son los vigentes, así que nunca supera `activos` y el idf es positivo)
+    private float idf(int documentosConTermino) {
+        return (float) Math.log(1 + (activos - documentosConTermino + 0.5) / (documentosConTermino + 0.5));
+    }
+
+    // Puntuación BM25 con pesos por campo (BM25F simplificado)
+    private float puntuar(int doc, int frecuenciasEmpaquetadas, float idf, float[] promedios) {
+        float tf = 0;
+        for (int campo = 0; campo < CAMPOS; campo++) {
+            int frecuencia = (frecuenciasEmpaquetadas >>> (8 * campo)) & 0xFF;
+            if (frecuencia > 0) {
+                float normalizacion = 1 - B + B * largos[doc * CAMPOS + campo] / promedios[campo];
+                tf += PESOS[campo] * frecuencia / normalizacion;
+            }
+        }
+        return idf * tf * (K1 + 1) / (K1 + tf);
+    }
+
+    // Documentos candidatos de una búsqueda y su puntuación acumulada
+    private static final class Candidatos {
+        final int[] documentos;
+        final float[] puntajes;
+        int cantidad = 0;
+
+        Candidatos(int capacidad) {
+            documentos = new int[capacidad];
+            puntajes = new float[capacidad];
+        }
+
+        void agregar(int doc, float puntaje) {
+            documentos[cantidad] = doc;
+            puntajes[cantidad] = puntaje;
+            cantidad++;
+        }
+    }
+
+    // Lista compacta de apariciones de un término: documentos (ordenados) y frecuencias por campo
+    // `cantidad` incluye los documentos marcados como eliminados; `vigentes`, no
+    private static final class Apariciones {
+        int[] documentos = new int[2];
+        int[] frecuencias = new int[2];
+        int cantidad = 0;
+        int vigentes = 0;
+
+        void agregar(int doc, int frecuenciasEmpaquetadas) {
+            if (cantidad == documentos.length) {
+                int nuevo = cantidad + (cantidad >> 1) + 1;
+                documentos = Arrays.copyOf(documentos, nuevo);
+                frecuencias = Arrays.copyOf(frecuencias, nuevo);
+            }
+            documentos[cantidad] = doc;
+            frecuencias[cantidad] = frecuenciasEmpaquetadas;
+            cantidad++;
+            vigentes++;
+        }
+
+        // Cambia cada documento por su número nuevo y quita los descartados (-1)
+        void renumerar(int[] nuevoNumero) {
+            int quedan = 0;
+            for (int i = 0; i < cantidad; i++) {
+                int nuevo = nuevoNumero[documentos[i]];
+                if (nuevo >= 0) {
+                    documentos[quedan] = nuevo;
+                    frecuencias[quedan] = frecuencias[i];
+                    quedan++;
+                }
+            }
+            cantidad = quedan;
+            if (documentos.length > 2 * cantidad + 2) {
+                documentos = Arrays.copyOf(documentos, cantidad);
+                frecuencias = Arrays.copyOf(frecuencias, cantidad);
+            }
+        }
+    }
+}
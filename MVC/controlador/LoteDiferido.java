@@ -0,0 +1,28 @@
+package controlador;
+
+import java.util.List;
+import java.util.function.Consumer;
+import modelo.CargadorDiferido;
+
+// Cargador diferido compartido por un lote de entidades (por ejemplo, una página de una lista).
+// La primera vez que se pide un campo largo de cualquiera de ellas, se completan todas las
+// del lote con una sola consulta; después ya no se vuelve a consultar.
+final class LoteDiferido<T> implements CargadorDiferido<T> {
+
+    private final List<T> lote;
+    private final Consumer<List<T>> cargarLote;  // Completa las entidades del lote (una consulta)
+    private boolean cargado = false;
+
+    LoteDiferido(List<T> lote, Consumer<List<T>> cargarLote) {
+        this.lote = lote;
+        this.cargarLote = cargarLote;
+    }
+
+    @Override
+    public synchronized void cargar(T entidad) {
+        if (!cargado) {
+            cargado = true;  // Aunque falle, no se reintenta en cada getter
+            cargarLote.accept(lote);
+        }
+    }
+}
@@ -0,0 +1,356 @@
+package controlador;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import modelo.Articulo;
+
+// Convierte registros de exportaciones bibliográficas (Scopus CSV, RIS y BibTeX) en objetos Articulo
+// Cada método recibe el texto completo de UN registro (ya separado por ImportadorArticulos).
+// Si al registro le faltan datos obligatorios (título, autores o año) se lanza IllegalArgumentException.
+final class ParserRegistros {
+
+    private static final String PREFIJO_DOI = "https://doi.org/";
+    private static final String SIN_RESUMEN = "[No abstract available]";  // Texto que pone Scopus sin resumen
+
+    // Constructor privado - solo tiene métodos estáticos
+    private ParserRegistros() {}
+
+    // ===================== SCOPUS CSV =====================
+
+    // Posición de cada columna de interés en el CSV de Scopus (-1 = no está)
+    static final class ColumnasCsv {
+        final int autores, titulo, anio, fuente, volumen, numero, paginaInicio, paginaFin, doi,
+                  resumen, palabrasAutor, palabrasIndice;
+
+        private ColumnasCsv(Map<String, Integer> posiciones) {
+            this.autores = posicion(posiciones, "authors");
+            this.titulo = posicion(posiciones, "title");
+            this.anio = posicion(posiciones, "year");
+            this.fuente = posicion(posiciones, "source title");
+            this.volumen = posicion(posiciones, "volume");
+            this.numero = posicion(posiciones, "issue");
+            this.paginaInicio = posicion(posiciones, "page start");
+            this.paginaFin = posicion(posiciones, "page end");
+            this.doi = posicion(posiciones, "doi");
+            this.resumen = posicion(posiciones, "abstract");
+            this.palabrasAutor = posicion(posiciones, "author keywords");
+            this.palabrasIndice = posicion(posiciones, "index keywords");
+        }
+
+        // Lee la línea de encabezado del CSV
+        static ColumnasCsv desdeEncabezado(String encabezado) {
+            List<String> nombres = separarCsv(encabezado.replace("\uFEFF", ""));  // Scopus agrega BOM
+            Map<String, Integer> posiciones = new HashMap<>();
+            for (int i = 0; i < nombres.size(); i++) {
+                posiciones.putIfAbsent(nombres.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            ColumnasCsv columnas = new ColumnasCsv(posiciones);
+            if (columnas.titulo < 0 || columnas.autores < 0 || columnas.anio < 0) {
+                throw new IllegalArgumentException("El CSV no tiene las columnas Authors, Title y Year de Scopus");
+            }
+            return columnas;
+        }
+
+        private static int posicion(Map<String, Integer> posiciones, String nombre) {
+            Integer posicion = posiciones.get(nombre);
+            return posicion == null ? -1 : posicion;
+        }
+    }
+
+    // Convierte un registro (una fila lógica, puede ocupar varias líneas) del CSV de Scopus
+    static Articulo desdeCsv(String registro, ColumnasCsv columnas, int busquedaId) {
+        List<String> campos = separarCsv(registro);
+        String autores = campo(campos, columnas.autores);
+        if (autores != null) {
+            autores = autores.replace(";", ",");  // Scopus separa autores con ";"
+        }
+        String palabras = campo(campos, columnas.palabrasAutor);
+        if (palabras == null) {
+            palabras = campo(campos, columnas.palabrasIndice);
+        }
+        String resumen = campo(campos, columnas.resumen);
+        if (SIN_RESUMEN.equals(resumen)) {
+            resumen = null;
+        }
+        return crear(busquedaId, campo(campos, columnas.titulo), autores, campo(campos, columnas.anio),
+            fuente(campo(campos, columnas.fuente), campo(campos, columnas.volumen), campo(campos, columnas.numero),
+                   campo(campos, columnas.paginaInicio), campo(campos, columnas.paginaFin)),
+            campo(campos, columnas.doi), resumen, palabras);
+    }
+
+    // Separa una fila CSV en campos (comillas dobles; "" dentro de comillas es una comilla)
+    static List<String> separarCsv(String fila) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder actual = new StringBuilder();
+        boolean entreComillas = false;
+        for (int i = 0; i < fila.length(); i++) {
+            char c = fila.charAt(i);
+            if (entreComillas) {
+                if (c == '"') {
+                    if (i + 1 < fila.length() && fila.charAt(i + 1) == '"') {
+                        actual.append('"');
+                        i++;
+                    } else {
+                        entreComillas = false;
+                    }
+                } else {
+                    actual.append(c);
+                }
+            } else if (c == '"') {
+                entreComillas = true;
+            } else if (c == ',') {
+                campos.add(actual.toString());
+                actual.setLength(0);
+            } else if (c != '\r' && c != '\n') {
+                actual.append(c);
+            }
+        }
+        campos.add(actual.toString());
+        return campos;
+    }
+
+    private static String campo(List<String> campos, int posicion) {
+        return posicion >= 0 && posicion < campos.size() ? vacioANull(campos.get(posicion)) : null;
+    }
+
+    // ===================== RIS =====================
+
+    // Convierte un registro RIS (desde "TY  -" hasta "ER  -")
+    static Articulo desdeRis(String registro, int busquedaId) {
+        List<String> autores = new ArrayList<>();
+        List<String> palabras = new ArrayList<>();
+        String titulo = null, anio = null, fuente = null, volumen = null, numero = null;
+        String paginaInicio = null, paginaFin = null, doi = null;
+        StringBuilder resumen = null;
+        String etiquetaAnterior = null;
+
+        for (String linea : registro.split("\r?\n")) {
+            // Formato de cada línea: "XX  - valor" (dos letras o letra+número, dos espacios, guion)
+            if (linea.length() >= 5 && linea.charAt(2) == ' ' && linea.charAt(3) == ' ' && linea.charAt(4) == '-') {
+                String etiqueta = linea.substring(0, 2);
+                String valor = linea.length() > 6 ? linea.substring(6).trim() : "";
+                etiquetaAnterior = etiqueta;
+                switch (etiqueta) {
+                    case "AU": case "A1": agregarSiHay(autores, valor); break;
+                    case "TI": case "T1": if (titulo == null) titulo = vacioANull(valor); break;
+                    case "PY": case "Y1": case "DA": if (anio == null) anio = vacioANull(valor); break;
+                    case "T2": case "JO": case "JF": case "JA": if (fuente == null) fuente = vacioANull(valor); break;
+                    case "VL": volumen = vacioANull(valor); break;
+                    case "IS": numero = vacioANull(valor); break;
+                    case "SP": paginaInicio = vacioANull(valor); break;
+                    case "EP": paginaFin = vacioANull(valor); break;
+                    case "DO": doi = vacioANull(valor); break;
+                    case "AB": case "N2": if (resumen == null) resumen = new StringBuilder(valor); break;
+                    case "KW": agregarSiHay(palabras, valor); break;
+                    default: break;
+                }
+            } else if ("AB".equals(etiquetaAnterior) || "N2".equals(etiquetaAnterior)) {
+                // Algunos exportadores parten el resumen en varias líneas sin etiqueta
+                if (resumen != null && !linea.trim().isEmpty()) {
+                    resumen.append(' ').append(linea.trim());
+                }
+            }
+        }
+
+        return crear(busquedaId, titulo, unir(autores, ", "), anio,
+            fuente(fuente, volumen, numero, paginaInicio, paginaFin), doi,
+            resumen == null ? null : vacioANull(resumen.toString()), unir(palabras, "; "));
+    }
+
+    // ===================== BIBTEX =====================
+
+    // Convierte una entrada BibTeX (@article{clave, campo = {valor}, ...})
+    // Devuelve null para entradas que no son publicaciones (@comment, @string, @preamble)
+    static Articulo desdeBibtex(String registro, int busquedaId) {
+        int arroba = registro.indexOf('@');
+        int apertura = registro.indexOf('{', arroba);
+        if (arroba < 0 || apertura < 0) {
+            throw new IllegalArgumentException("Entrada BibTeX sin '@tipo{'");
+        }
+        String tipo = registro.substring(arroba + 1, apertura).trim().toLowerCase(Locale.ROOT);
+        if (tipo.equals("comment") || tipo.equals("string") || tipo.equals("preamble")) {
+            return null;
+        }
+
+        Map<String, String> campos = camposBibtex(registro, apertura + 1);
+        String autores = campos.get("author");
+        if (autores != null) {
+            autores = autores.replaceAll("\\s+and\\s+", ", ");
+        }
+        String palabras = campos.get("author_keywords");
+        if (palabras == null) {
+            palabras = campos.get("keywords");
+        }
+        String fuente = campos.get("journal");
+        if (fuente == null) {
+            fuente = campos.get("booktitle");
+        }
+        String paginas = campos.get("pages");
+        String paginaInicio = null, paginaFin = null;
+        if (paginas != null) {
+            String[] partes = paginas.split("-+|–", 2);
+            paginaInicio = vacioANull(partes[0]);
+            paginaFin = partes.length > 1 ? vacioANull(partes[1]) : null;
+        }
+        return crear(busquedaId, campos.get("title"), autores, campos.get("year"),
+            fuente(fuente, campos.get("volume"), campos.get("number"), paginaInicio, paginaFin),
+            campos.get("doi"), campos.get("abstract"), palabras);
+    }
+
+    // Lee los campos "nombre = valor" de una entrada BibTeX a partir de `inicio` (después de la llave)
+    private static Map<String, String> camposBibtex(String registro, int inicio) {
+        Map<String, String> campos = new HashMap<>();
+        int i = registro.indexOf(',', inicio);  // Saltamos la clave de cita
+        if (i < 0) {
+            return campos;
+        }
+        i++;
+        int largo = registro.length();
+        while (i < largo) {
+            int igual = registro.indexOf('=', i);
+            if (igual < 0) {
+                break;
+            }
+            String nombre = registro.substring(i, igual).trim().toLowerCase(Locale.ROOT);
+            i = igual + 1;
+
+            // El valor puede ser {con llaves}, "entre comillas" o una palabra suelta (por ejemplo, un año)
+            StringBuilder valor = new StringBuilder();
+            while (i < largo && Character.isWhitespace(registro.charAt(i))) {
+                i++;
+            }
+            if (i < largo && (registro.charAt(i) == '{' || registro.charAt(i) == '"')) {
+                char cierre = registro.charAt(i) == '{' ? '}' : '"';
+                int profundidad = 0;
+                i++;
+                while (i < largo) {
+                    char c = registro.charAt(i);
+                    if (c == '\\' && i + 1 < largo) {
+                        valor.append(registro.charAt(i + 1));
+                        i += 2;
+                        continue;
+                    }
+                    if (c == '{') {
+                        profundidad++;
+                    } else if (c == '}' && profundidad > 0) {
+                        profundidad--;
+                    } else if (c == cierre && profundidad == 0) {
+                        break;
+                    } else {
+                        valor.append(c);
+                    }
+                    i++;
+                }
+                i++;  // Saltamos el cierre
+            } else {
+                while (i < largo && registro.charAt(i) != ',' && registro.charAt(i) != '}') {
+                    valor.append(registro.charAt(i));
+                    i++;
+                }
+            }
+
+            String texto = vacioANull(valor.toString().replaceAll("\\s+", " "));
+            if (!nombre.isEmpty() && texto != null) {
+                campos.put(nombre, texto);
+            }
+            int coma = registro.indexOf(',', i);
+            if (coma < 0) {
+                break;
+            }
+            i = coma + 1;
+        }
+        return campos;
+    }
+
+    // ===================== COMÚN =====================
+
+    // Arma el artículo validando los campos obligatorios y genera la cita APA
+    private static Articulo crear(int busquedaId, String titulo, String autores, String anioTexto,
+                                  String fuente, String doi, String resumen, String palabrasClave) {
+        if (titulo == null) {
+            throw new IllegalArgumentException("Registro sin título");
+        }
+        if (autores == null) {
+            throw new IllegalArgumentException("Registro sin autores: " + titulo);
+        }
+        int anio = anio(anioTexto);
+        if (anio <= 0) {
+            throw new IllegalArgumentException("Registro sin año válido: " + titulo);
+        }
+        if (fuente == null) {
+            fuente = "";  // La columna fuente no admite NULL
+        }
+        if (doi != null && !doi.startsWith("http")) {
+            doi = PREFIJO_DOI + doi;
+        }
+
+        StringBuilder cita = new StringBuilder();
+        cita.append(autores).append(" (").append(anio).append("). ").append(titulo);
+        if (!titulo.endsWith(".") && !titulo.endsWith("?")) {
+            cita.append('.');
+        }
+        if (!fuente.isEmpty()) {
+            cita.append(' ').append(fuente).append('.');
+        }
+        if (doi != null) {
+            cita.append(' ').append(doi);
+        }
+
+        return new Articulo(0, busquedaId, titulo, autores, anio, fuente, doi, resumen, palabrasClave, cita.toString());
+    }
+
+    // "Revista (Vol. 12(3), pp. 45–67)" con los datos disponibles
+    private static String fuente(String titulo, String volumen, String numero, String paginaInicio, String paginaFin) {
+        if (titulo == null) {
+            return null;
+        }
+        List<String> detalles = new ArrayList<>();
+        if (volumen != null) {
+            detalles.add("Vol. " + volumen + (numero != null ? "(" + numero + ")" : ""));
+        }
+        if (paginaInicio != null) {
+            detalles.add(paginaFin != null ? "pp. " + paginaInicio + "–" + paginaFin : "p. " + paginaInicio);
+        }
+        return detalles.isEmpty() ? titulo : titulo + " (" + String.join(", ", detalles) + ")";
+    }
+
+    // Primer número de 4 cifras del texto (admite "2024", "2024/05/01", "2024///")
+    private static int anio(String texto) {
+        if (texto == null) {
+            return 0;
+        }
+        int digitos = 0;
+        for (int i = 0; i < texto.length(); i++) {
+            if (Character.isDigit(texto.charAt(i))) {
+                digitos++;
+                if (digitos == 4 && (i + 1 == texto.length() || !Character.isDigit(texto.charAt(i + 1)))) {
+                    return Integer.parseInt(texto.substring(i - 3, i + 1));
+                }
+            } else {
+                digitos = 0;
+            }
+        }
+        return 0;
+    }
+
+    private static void agregarSiHay(List<String> lista, String valor) {
+        if (!valor.isEmpty()) {
+            lista.add(valor);
+        }
+    }
+
+    private static String unir(List<String> valores, String separador) {
+        return valores.isEmpty() ? null : String.join(separador, valores);
+    }
+
+    private static String vacioANull(String texto) {
+        if (texto == null) {
+            return null;
+        }
+        String limpio = texto.trim();
+        return limpio.isEmpty() ? null : limpio;
+    }
+}
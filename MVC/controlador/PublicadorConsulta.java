@@ -0,0 +1,235 @@
+package controlador;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import modelo.ConexionDB;
+
+// Publica las filas de una consulta una por una mediante java.util.concurrent.Flow,
+// respetando la demanda del suscriptor (contrapresión): solo se lee la siguiente fila
+// cuando el suscriptor pidió más con request(n).
+// La consulta usa el modo streaming del driver de MySQL (solo avance y fetchSize = Integer.MIN_VALUE),
+// así el driver no guarda el resultado completo en memoria: se puede recorrer una tabla
+// de millones de filas con memoria constante. El suscriptor puede cancelar a mitad de camino.
+// Cada suscripción ejecuta su propia consulta (con su propia conexión del pool) en un hilo de
+// PRODUCTORES, no en EjecutorConsultas: un suscriptor lento no ocupa los hilos de las consultas
+// …Async de la interfaz. Si el suscriptor pasa ESPERA_DEMANDA_MS sin pedir filas, la
+// suscripción se cancela con onError (así no retiene la conexión para siempre).
+public class PublicadorConsulta<T> implements Flow.Publisher<T> {
+
+    private static final int PRODUCTORES_MAXIMOS = 4;      // Consultas publicadas a la vez (cada una usa una conexión)
+    private static final int COLA_MAXIMA = 100;            // Suscripciones esperando turno
+    private static final long ESPERA_DEMANDA_MS = 60_000;  // Tiempo máximo sin que el suscriptor pida filas
+
+    private static final ThreadPoolExecutor PRODUCTORES = crearProductores();
+
+    // Convierte la fila actual del ResultSet en un objeto
+    public interface MapeadorFila<T> {
+        T mapear(ResultSet rs) throws SQLException;
+    }
+
+    // Asigna los parámetros (?) de la consulta
+    public interface AsignadorParametros {
+        void asignar(PreparedStatement pstmt) throws SQLException;
+    }
+
+    private final String sql;
+    private final AsignadorParametros parametros;
+    private final MapeadorFila<T> mapeador;
+
+    public PublicadorConsulta(String sql, AsignadorParametros parametros, MapeadorFila<T> mapeador) {
+        this.sql = sql;
+        this.parametros = parametros;
+        this.mapeador = mapeador;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> suscriptor) {
+        Objects.requireNonNull(suscriptor, "suscriptor");
+        Suscripcion suscripcion = new Suscripcion(suscriptor);
+        suscriptor.onSubscribe(suscripcion);
+        try {
+            PRODUCTORES.execute(suscripcion::producir);
+        } catch (RejectedExecutionException e) {
+            // Demasiadas consultas publicadas: el suscriptor se entera por onError
+            suscripcion.terminar(e);
+        }
+    }
+
+    private static ThreadPoolExecutor crearProductores() {
+        AtomicInteger contador = new AtomicInteger();
+        ThreadPoolExecutor grupo = new ThreadPoolExecutor(PRODUCTORES_MAXIMOS, PRODUCTORES_MAXIMOS,
+            60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(COLA_MAXIMA), r -> {
+                Thread hilo = new Thread(r, "publicador-" + contador.incrementAndGet());
+                hilo.setDaemon(true);
+                return hilo;
+            }, (tarea, ejecutor) -> {
+                throw new RejectedExecutionException("Demasiadas consultas publicadas pendientes (" + COLA_MAXIMA + ")");
+            });
+        grupo.allowCoreThreadTimeOut(true);
+        return grupo;
+    }
+
+    private final class Suscripcion implements Flow.Subscription {
+        private final Flow.Subscriber<? super T> suscriptor;
+        private final ReentrantLock bloqueo = new ReentrantLock();
+        private final Condition cambio = bloqueo.newCondition();
+        private long demanda = 0;
+        private boolean cancelada = false;
+        private Throwable errorPeticion = null;
+        // true cuando ya se envió onComplete u onError, o el suscriptor canceló: no se envía nada más
+        private boolean terminada = false;
+
+        Suscripcion(Flow.Subscriber<? super T> suscriptor) {
+            this.suscriptor = suscriptor;
+        }
+
+        @Override
+        public void request(long n) {
+            bloqueo.lock();
+            try {
+                if (n <= 0) {
+                    // Regla 3.9 de Reactive Streams: pedir 0 o menos es un error
+                    errorPeticion = new IllegalArgumentException("request(n) requiere n > 0, se recibió " + n);
+                } else {
+                    demanda = demanda + n < 0 ? Long.MAX_VALUE : demanda + n;  // Sin desbordar
+                }
+                cambio.signalAll();
+            } finally {
+                bloqueo.unlock();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            bloqueo.lock();
+            try {
+                cancelada = true;
+                terminada = true;
+                cambio.signalAll();
+            } finally {
+                bloqueo.unlock();
+            }
+        }
+
+        // Espera a que haya demanda. Devuelve false si se canceló, hubo un error en request() o se
+        // agotó ESPERA_DEMANDA_MS (en esos dos casos queda errorPeticion con el motivo)
+        private boolean esperarDemanda() throws InterruptedException {
+            bloqueo.lock();
+            try {
+                long restante = TimeUnit.MILLISECONDS.toNanos(ESPERA_DEMANDA_MS);
+                while (demanda == 0 && !cancelada && errorPeticion == null) {
+                    if (restante <= 0) {
+                        errorPeticion = new TimeoutException("El suscriptor no pidió filas en "
+                            + ESPERA_DEMANDA_MS + " ms: se cancela la consulta");
+                        break;
+                    }
+                    restante = cambio.awaitNanos(restante);
+                }
+                if (cancelada || errorPeticion != null) {
+                    return false;
+                }
+                demanda--;
+                return true;
+            } finally {
+                bloqueo.unlock();
+            }
+        }
+
+        private Throwable getErrorPeticion() {
+            bloqueo.lock();
+            try {
+                return errorPeticion;
+            } finally {
+                bloqueo.unlock();
+            }
+        }
+
+        private boolean estaTerminada() {
+            bloqueo.lock();
+            try {
+                return terminada;
+            } finally {
+                bloqueo.unlock();
+            }
+        }
+
+        // Envía la señal final (onError si hay error, si no onComplete) solo la primera vez
+        void terminar(Throwable error) {
+            bloqueo.lock();
+            try {
+                if (terminada) {
+                    return;
+                }
+                terminada = true;
+            } finally {
+                bloqueo.unlock();
+            }
+            if (error != null) {
+                suscriptor.onError(error);
+            } else {
+                suscriptor.onComplete();
+            }
+        }
+
+        // Ejecuta la consulta y entrega las filas según la demanda (corre en segundo plano)
+        void producir() {
+            try (Connection conn = ConexionDB.getConexion();
+                 PreparedStatement pstmt = conn.prepareStatement(sql,
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+                ConexionDB.leerEnStreaming(pstmt);  // Modo streaming del driver de MySQL
+                if (parametros != null) {
+                    parametros.asignar(pstmt);
+                }
+
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (true) {
+                        if (!esperarDemanda()) {
+                            // Se avisa antes de cerrar: al cerrar el resultado cancelado el driver
+                            // puede lanzar "Query execution was interrupted", que ya no se informa
+                            terminar(getErrorPeticion());
+                            // Al cerrar un resultado en streaming el driver lee las filas restantes;
+                            // cancelando la consulta en el servidor eso termina de inmediato
+                            pstmt.cancel();
+                            return;
+                        }
+                        if (!rs.next()) {
+                            terminar(null);
+                            return;
+                        }
+                        T fila = mapeador.mapear(rs);
+                        try {
+                            suscriptor.onNext(fila);
+                        } catch (RuntimeException e) {
+                            // Regla 2.13: si el suscriptor falla, se considera cancelada la suscripción
+                            System.err.println("El suscriptor falló procesando una fila: " + e.getMessage());
+                            cancel();
+                        }
+                    }
+                }
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                terminar(e);
+            } catch (SQLException | RuntimeException e) {
+                // Si ya terminó (cancelada, o el error de cerrar una consulta cancelada) no se informa
+                if (!estaTerminada()) {
+                    System.err.println("Error en consulta publicada: " + e.getMessage());
+                }
+                terminar(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package controlador;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Utilidades compartidas por las búsquedas de texto completo (MATCH ... AGAINST) de los controladores
+final class TextoCompleto {
+
+    // Largo mínimo de palabra que indexa InnoDB (innodb_ft_min_token_size = 3 por defecto)
+    // Las palabras más cortas no están en el índice FULLTEXT: para ellas se usa LIKE
+    static final int LARGO_MINIMO_PALABRA = 3;
+
+    // Máximo de resultados que devuelve una búsqueda de texto completo
+    static final int LIMITE_RESULTADOS = 1000;
+
+    // Error de MySQL cuando la tabla no tiene el índice FULLTEXT (base de datos creada antes de agregarlo)
+    static final int ERROR_SIN_INDICE_FULLTEXT = 1191;
+
+    // Operadores del modo booleano de MySQL
+    private static final String OPERADORES_BOOLEANOS = "+-<>()~*\"@";
+    // Operadores que pueden ir delante de una palabra, frase o grupo
+    private static final String OPERADORES_PREFIJO = "+-~<>";
+
+    // Constructor privado - solo tiene métodos estáticos
+    private TextoCompleto() {}
+
+    // Indica si ninguna palabra del término alcanza el largo mínimo del índice FULLTEXT
+    static boolean esTerminoCorto(String termino) {
+        for (String palabra : termino.trim().split("\\s+")) {
+            if (palabra.length() >= LARGO_MINIMO_PALABRA) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Prepara la expresión para el modo booleano.
+    // Si el usuario ya escribió operadores (+palabra, -palabra, "frase", (grupo), palabra*) se respetan,
+    // pero corrigiendo lo que MySQL rechazaría o entendería mal (ver normalizarOperadores);
+    // si no, se exige cada palabra y se permite que sea prefijo: "deep learn" -> "+deep* +learn*"
+    // Una palabra con un operador en el medio ("covid-19") va entre comillas: sin ellas MySQL la
+    // leería como "covid" sin "19"
+    static String expresionBooleana(String termino) {
+        String limpio = termino.trim();
+        return usaOperadores(limpio) ? normalizarOperadores(limpio) : exigirPalabras(limpio);
+    }
+
+    // Hay operadores si hay comillas o paréntesis, o alguna palabra empieza con +, -, ~, <, > o
+    // termina en *. Un guion dentro de una palabra no cuenta
+    private static boolean usaOperadores(String termino) {
+        if (termino.indexOf('"') >= 0 || termino.indexOf('(') >= 0 || termino.indexOf(')') >= 0) {
+            return true;
+        }
+        for (String palabra : termino.split("\\s+")) {
+            if (!palabra.isEmpty() && (OPERADORES_PREFIJO.indexOf(palabra.charAt(0)) >= 0
+                    || palabra.charAt(palabra.length() - 1) == '*')) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String exigirPalabras(String termino) {
+        StringBuilder expresion = new StringBuilder();
+        for (String palabra : termino.split("\\s+")) {
+            if (palabra.length() >= LARGO_MINIMO_PALABRA) {
+                if (expresion.length() > 0) {
+                    expresion.append(' ');
+                }
+                expresion.append('+').append(tieneOperador(palabra) ? '"' + palabra + '"' : palabra + '*');
+            }
+        }
+        return expresion.toString();
+    }
+
+    // Rearma la expresión escrita por el usuario para que siempre sea válida:
+    // - una comilla sin cerrar se cierra al final; una frase vacía se quita
+    // - un paréntesis que cierra sin haber abierto se quita; los que quedan abiertos se cierran al final
+    //   y un grupo vacío "()" se quita
+    // - de varios operadores seguidos delante de algo ("+-palabra") queda el primero; uno suelto se quita
+    // - un * solo vale al final de una palabra; un @ solo dentro de una frase o como "frase" @distancia
+    // - una palabra con un operador en el medio ("covid-19") va entre comillas
+    private static String normalizarOperadores(String termino) {
+        StringBuilder expresion = new StringBuilder();
+        List<Integer> grupos = new ArrayList<>();  // Dónde empieza cada paréntesis abierto (con su operador)
+        int i = 0;
+        int largo = termino.length();
+
+        while (i < largo) {
+            char c = termino.charAt(i);
+            if (c == '@' && expresion.length() > 0 && expresion.charAt(expresion.length() - 1) == '"') {
+                // Proximidad: "frase" @8 (palabras de la frase a no más de 8 de distancia)
+                int fin = i + 1;
+                while (fin < largo && Character.isDigit(termino.charAt(fin))) {
+                    fin++;
+                }
+                if (fin > i + 1) {
+                    expresion.append(" @").append(termino, i + 1, fin);
+                }
+                i = fin;
+                continue;
+            }
+            if (Character.isWhitespace(c) || c == '*' || c == '@') {
+                i++;
+                continue;
+            }
+
+            char operador = 0;
+            while (i < largo && OPERADORES_PREFIJO.indexOf(termino.charAt(i)) >= 0) {
+                if (operador == 0) {
+                    operador = termino.charAt(i);
+                }
+                i++;
+            }
+            if (i == largo || Character.isWhitespace(termino.charAt(i))) {
+                continue;  // Operador suelto
+            }
+            c = termino.charAt(i);
+
+            if (c == ')') {
+                i++;
+                if (!grupos.isEmpty()) {
+                    int inicio = grupos.remove(grupos.size() - 1);
+                    cerrarGrupo(expresion, inicio);
+                }
+            } else if (c == '(') {
+                i++;
+                grupos.add(separar(expresion));
+                if (operador != 0) {
+                    expresion.append(operador);
+                }
+                expresion.append('(');
+            } else if (c == '"') {
+                int fin = termino.indexOf('"', i + 1);
+                String frase = (fin < 0 ? termino.substring(i + 1) : termino.substring(i + 1, fin)).trim();
+                i = fin < 0 ? largo : fin + 1;
+                if (!frase.isEmpty()) {
+                    agregar(expresion, operador, '"' + frase + '"');
+                }
+            } else {
+                int fin = i;
+                while (fin < largo && !Character.isWhitespace(termino.charAt(fin))
+                        && "\"()".indexOf(termino.charAt(fin)) < 0) {
+                    fin++;
+                }
+                String palabra = termino.substring(i, fin);
+                i = fin;
+                boolean prefijo = palabra.endsWith("*");
+                while (palabra.endsWith("*")) {
+                    palabra = palabra.substring(0, palabra.length() - 1);
+                }
+                if (palabra.isEmpty()) {
+                    continue;
+                }
+                if (tieneOperador(palabra)) {
+                    agregar(expresion, operador, '"' + palabra + '"');
+                } else {
+                    agregar(expresion, operador, prefijo ? palabra + '*' : palabra);
+                }
+            }
+        }
+
+        for (int g = grupos.size() - 1; g >= 0; g--) {
+            cerrarGrupo(expresion, grupos.get(g));
+        }
+        return expresion.toString();
+    }
+
+    private static boolean tieneOperador(String palabra) {
+        for (int i = 0; i < palabra.length(); i++) {
+            if (OPERADORES_BOOLEANOS.indexOf(palabra.charAt(i)) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Agrega un espacio si hace falta (no después de un paréntesis que abre) y devuelve dónde sigue
+    private static int separar(StringBuilder expresion) {
+        int ultimo = expresion.length() - 1;
+        if (ultimo >= 0 && expresion.charAt(ultimo) != '(') {
+            expresion.append(' ');
+        }
+        return expresion.length();
+    }
+
+    private static void agregar(StringBuilder expresion, char operador, String texto) {
+        separar(expresion);
+        if (operador != 0) {
+            expresion.append(operador);
+        }
+        expresion.append(texto);
+    }
+
+    // Cierra el grupo que empieza en `inicio`; si quedó vacío, lo quita (con el espacio de antes)
+    private static void cerrarGrupo(StringBuilder expresion, int inicio) {
+        if (expresion.charAt(expresion.length() - 1) == '(') {
+            expresion.setLength(inicio > 0 && expresion.charAt(inicio - 1) == ' ' ? inicio - 1 : inicio);
+        } else {
+            expresion.append(')');
+        }
+    }
+}
@@ -15,6 +15,19 @@ public class Articulo {
     private String resumen;              // Resumen del contenido
     private String palabrasClave;        // Palabras clave del artículo
     private String citaAPA;              // Cita en formato APA
+    
+    // Si el artículo vino de una lista, los campos largos (fuente, DOI, resumen, palabras clave
+    // y cita APA) todavía no están cargados: este cargador los trae la primera vez que se piden
+    private transient volatile CargadorDiferido<Articulo> cargadorDetalles;
+    // Campos largos asignados con su setter mientras estaban pendientes: al completarse el lote no se
+    // pisan con el valor de la base de datos (un bit por campo)
+    private transient int detallesAsignados = 0;
+    private static final int FUENTE = 1;
+    private static final int DOI = 2;
+    private static final int RESUMEN = 4;
+    private static final int PALABRAS_CLAVE = 8;
+    private static final int CITA_APA = 16;
+    private static final int TODOS_LOS_DETALLES = 31;
 
     // Constructor vacío - para un artículo sin datos iniciales
     public Articulo() {
@@ -79,43 +92,101 @@ public class Articulo {
     }
     
     public String getFuente() {
+        cargarDetalles();
         return fuente;
     }
     
-    public void setFuente(String fuente) {
+    public synchronized void setFuente(String fuente) {
         this.fuente = fuente;
+        asignarDetalle(FUENTE);
     }
     
     public String getDoi() {
+        cargarDetalles();
         return doi;
     }
     
-    public void setDoi(String doi) {
+    public synchronized void setDoi(String doi) {
         this.doi = doi;
+        asignarDetalle(DOI);
     }
     
     public String getResumen() {
+        cargarDetalles();
         return resumen;
     }
     
-    public void setResumen(String resumen) {
+    public synchronized void setResumen(String resumen) {
         this.resumen = resumen;
+        asignarDetalle(RESUMEN);
     }
     
     public String getPalabrasClave() {
+        cargarDetalles();
         return palabrasClave;
     }
     
-    public void setPalabrasClave(String palabrasClave) {
+    public synchronized void setPalabrasClave(String palabrasClave) {
         this.palabrasClave = palabrasClave;
+        asignarDetalle(PALABRAS_CLAVE);
     }
     
     public String getCitaAPA() {
+        cargarDetalles();
         return citaAPA;
     }
     
-    public void setCitaAPA(String citaAPA) {
+    public synchronized void setCitaAPA(String citaAPA) {
         this.citaAPA = citaAPA;
+        asignarDetalle(CITA_APA);
+    }
+    
+    // Indica si los campos largos ya están disponibles (sin provocar su carga)
+    public boolean isDetallesCargados() {
+        return cargadorDetalles == null;
+    }
+    
+    // Asigna el cargador de los campos largos (null = el artículo ya está completo)
+    public void setCargadorDetalles(CargadorDiferido<Articulo> cargadorDetalles) {
+        this.cargadorDetalles = cargadorDetalles;
+    }
+    
+    // Completa los campos largos con los valores leídos por el cargador (los que no se asignaron
+    // con su setter) y quita el cargador. Lo usa el cargador en lugar de los setters
+    public synchronized void completarDetalles(String fuente, String doi, String resumen,
+                                               String palabrasClave, String citaAPA) {
+        if ((detallesAsignados & FUENTE) == 0) {
+            this.fuente = fuente;
+        }
+        if ((detallesAsignados & DOI) == 0) {
+            this.doi = doi;
+        }
+        if ((detallesAsignados & RESUMEN) == 0) {
+            this.resumen = resumen;
+        }
+        if ((detallesAsignados & PALABRAS_CLAVE) == 0) {
+            this.palabrasClave = palabrasClave;
+        }
+        if ((detallesAsignados & CITA_APA) == 0) {
+            this.citaAPA = citaAPA;
+        }
+        cargadorDetalles = null;
+    }
+    
+    // Anota un campo largo asignado; si ya se asignaron todos, el cargador no tiene nada que traer
+    private void asignarDetalle(int campo) {
+        detallesAsignados |= campo;
+        if (detallesAsignados == TODOS_LOS_DETALLES) {
+            cargadorDetalles = null;
+        }
+    }
+    
+    // Trae los campos largos si todavía no se cargaron
+    private void cargarDetalles() {
+        CargadorDiferido<Articulo> cargador = cargadorDetalles;
+        if (cargador != null) {
+            cargador.cargar(this);
+        }
     }
     
     // Método toString - convierte el artículo a texto para mostrarlo en la interfaz
@@ -0,0 +1,47 @@
+package modelo;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+// Esta clase representa el resultado de un refresco incremental de estrategias
+// (EstrategiaControlador.obtenerCambiosEstrategias): las estrategias creadas o modificadas
+// desde la marca anterior, los ids de las eliminadas y la nueva marca para el próximo refresco.
+public class CambiosEstrategias {
+
+    private final List<EstrategiaInversion> modificadas;  // Creadas o actualizadas
+    private final List<Integer> eliminadas;               // Ids de las estrategias eliminadas
+    private final Timestamp marca;                        // Se pasa en el próximo refresco
+    private final boolean completo;                       // true si `modificadas` son todas las estrategias
+
+    // Constructor con todos los datos del refresco
+    public CambiosEstrategias(List<EstrategiaInversion> modificadas, List<Integer> eliminadas,
+                              Timestamp marca, boolean completo) {
+        this.modificadas = modificadas;
+        this.eliminadas = eliminadas;
+        this.marca = marca;
+        this.completo = completo;
+    }
+
+    public List<EstrategiaInversion> getModificadas() {
+        return modificadas;
+    }
+
+    public List<Integer> getEliminadas() {
+        return eliminadas;
+    }
+
+    public Timestamp getMarca() {
+        return marca;
+    }
+
+    public boolean isCompleto() {
+        return completo;
+    }
+
+    // Método toString - muestra cuántos cambios hubo
+    @Override
+    public String toString() {
+        return (completo ? "Completo: " : "Cambios: ") + modificadas.size() + " modificadas, "
+            + eliminadas.size() + " eliminadas (marca " + marca + ")";
+    }
+}
@@ -0,0 +1,10 @@
+package modelo;
+
+// Interfaz para completar una entidad que se cargó solo con sus datos principales.
+// Las listas traen únicamente las columnas que se muestran en tablas (id, título, etc.);
+// los campos de texto largos se completan con este cargador la primera vez que se piden.
+public interface CargadorDiferido<T> {
+
+    // Completa los campos pendientes de la entidad (y, si el cargador lo permite, los de su lote)
+    void cargar(T entidad);
+}
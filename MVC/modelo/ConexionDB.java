@@ -1,45 +1,137 @@
 package modelo;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.sql.Statement;
 
 // Esta clase se encarga de conectar la aplicación con la base de datos MySQL
-// Usa el patrón Singleton para asegurar que solo existe una conexión activa
+// Mantiene un único pool de conexiones (PoolConexiones) compartido por toda la aplicación:
+// cada llamada a getConexion() presta una conexión propia y al cerrarla vuelve al pool
 public class ConexionDB {
     // Constantes de configuración para conectarse a la base de datos
+    // Se pueden reemplazar con propiedades del sistema (-Ddb.url=..., -Ddb.usuario=..., -Ddb.password=...,
+    // -Ddb.driver=...), por ejemplo para usar otra base de datos en los benchmarks
     private static final String JDBC_DRIVER = "com.mysql.cj.jdbc.Driver";  // Driver de MySQL
-    private static final String URL = "jdbc:mysql://localhost:3306/articulos_fintech?useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=UTC";  // Dirección y nombre de la BD
+    // Carpeta de la que se permite leer archivos con LOAD DATA LOCAL INFILE (cargas masivas de artículos)
+    // El driver rechaza cualquier archivo fuera de ella, así el servidor no puede pedir otros archivos del equipo
+    public static final Path DIRECTORIO_CARGA_MASIVA =
+        Paths.get(System.getProperty("java.io.tmpdir"), "articulos_fintech_carga").toAbsolutePath();
+    private static final String URL = "jdbc:mysql://localhost:3306/articulos_fintech?useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=UTC"
+        + "&useLocalSessionState=true"   // Dirección y nombre de la BD (el estado de sesión se lleva en local y evita consultas extra)
+        + "&rewriteBatchedStatements=true"  // Los lotes de INSERT se envían como un solo INSERT de varias filas
+        + "&useServerPrepStmts=true"   // Sentencias preparadas en el servidor (se reutilizan con la caché del pool)
+        + "&allowLoadLocalInfileInPath=" + URLEncoder.encode(DIRECTORIO_CARGA_MASIVA.toString(), StandardCharsets.UTF_8);
     private static final String USUARIO = "root";  // Usuario de MySQL
     private static final String PASSWORD = "";  // Contraseña de MySQL
 
-    private static Connection conexion = null;  // Variable para guardar la conexión activa
+    // Configuración del pool de conexiones
+    private static final int POOL_TAMANO_MAXIMO = 10;              // Conexiones simultáneas como máximo
+    private static final int POOL_MINIMO_INACTIVAS = 2;            // Conexiones libres que se mantienen abiertas
+    private static final long POOL_ESPERA_MAXIMA_MS = 10_000;      // Espera máxima por una conexión libre
+    private static final long POOL_INACTIVIDAD_MAXIMA_MS = 300_000; // 5 minutos sin uso y se cierra
+    private static final long POOL_VIDA_MAXIMA_MS = 1_800_000;     // 30 minutos de vida por conexión física
+    private static final long POOL_VALIDAR_TRAS_MS = 500;          // Ping solo si estuvo libre más de medio segundo
+    private static final long POOL_UMBRAL_FUGA_MS = 60_000;        // Conexión prestada más de 1 minuto = posible fuga
+    private static final int POOL_SENTENCIAS_EN_CACHE = 100;       // PreparedStatement reutilizables por conexión
+
+    // Registro de consultas lentas: las sentencias que tarden más que el umbral se anotan (con su
+    // EXPLAIN) en este archivo. El umbral se puede cambiar con -Ddb.consultasLentas.umbralMs=...
+    private static final long UMBRAL_CONSULTA_LENTA_MS = 100;
+    public static final Path ARCHIVO_CONSULTAS_LENTAS =
+        Paths.get(System.getProperty("java.io.tmpdir"), "articulos_fintech_consultas_lentas.log").toAbsolutePath();
+
+    // Carpeta con las migraciones del esquema (V1__...sql, V2__...sql), ver MigradorEsquema
+    // Se puede cambiar con -Ddb.migraciones=...
+    public static final Path CARPETA_MIGRACIONES = Paths.get(System.getProperty("db.migraciones", "SQL/migraciones"));
+
+    private static final int FILAS_POR_BLOQUE = 1000;  // Filas por lectura cuando el driver no es MySQL
+
+    private static volatile PoolConexiones pool = null;  // Pool compartido (se crea la primera vez que se usa)
 
     // Constructor privado - evita que se creen instancias de esta clase
     private ConexionDB() {}
 
-    // Método estático para obtener la conexión a la base de datos
-    // Si la conexión está cerrada o no existe, la abre
+    // Método estático para obtener una conexión a la base de datos
+    // La conexión se toma del pool; cerrarla (por ejemplo con try-with-resources) la devuelve al pool
     public static Connection getConexion() throws SQLException {
-        if (conexion == null || conexion.isClosed()) {
-            try {
-                // Cargamos el driver de MySQL
-                Class.forName("com.mysql.cj.jdbc.Driver");
-                // Establecemos la conexión con la base de datos
-                conexion = DriverManager.getConnection(URL, USUARIO, PASSWORD);
-                System.out.println("✓ Conexión exitosa a la base de datos (XAMPP)");
-            } catch (ClassNotFoundException e) {
-                // Error si el driver de MySQL no está disponible
-                System.err.println("Error: Driver de MySQL no encontrado");
-                e.printStackTrace();
-                throw new SQLException("Driver no encontrado", e);
+        return getPool().obtener();
+    }
+
+    // Devuelve el pool, creándolo (y cargando el driver) solo la primera vez
+    public static PoolConexiones getPool() throws SQLException {
+        PoolConexiones actual = pool;
+        if (actual == null) {
+            synchronized (ConexionDB.class) {
+                actual = pool;
+                if (actual == null) {
+                    try {
+                        // Cargamos el driver de MySQL una sola vez
+                        Class.forName(System.getProperty("db.driver", JDBC_DRIVER));
+                    } catch (ClassNotFoundException e) {
+                        // Error si el driver de MySQL no está disponible
+                        System.err.println("Error: Driver de MySQL no encontrado");
+                        e.printStackTrace();
+                        throw new SQLException("Driver no encontrado", e);
+                    }
+                    actual = new PoolConexiones(System.getProperty("db.url", URL),
+                        System.getProperty("db.usuario", USUARIO), System.getProperty("db.password", PASSWORD),
+                        POOL_TAMANO_MAXIMO, POOL_MINIMO_INACTIVAS, POOL_ESPERA_MAXIMA_MS,
+                        POOL_INACTIVIDAD_MAXIMA_MS, POOL_VIDA_MAXIMA_MS,
+                        POOL_VALIDAR_TRAS_MS, POOL_UMBRAL_FUGA_MS, POOL_SENTENCIAS_EN_CACHE);
+                    actual.activarRegistroConsultasLentas(ARCHIVO_CONSULTAS_LENTAS,
+                        Long.getLong("db.consultasLentas.umbralMs", UMBRAL_CONSULTA_LENTA_MS));
+                    pool = actual;
+                    System.out.println("✓ Pool de conexiones creado (XAMPP)");
+                }
             }
         }
-        return conexion;  // Retorna la conexión activa
+        return actual;
+    }
+
+    // Carga el driver, crea el pool y abre sus primeras conexiones (pensado para correr en segundo
+    // plano al iniciar la aplicación). Retorna false si no se pudo conectar.
+    public static boolean precalentar() {
+        Metricas.Medicion medicion = Metricas.iniciar("ConexionDB.precalentar");
+        try {
+            getPool().precalentar();
+            medicion.terminar();
+            return true;
+        } catch (SQLException e) {
+            medicion.error();
+            medicion.terminar();
+            System.err.println("Error al preparar las conexiones: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // Prepara una sentencia para leer el resultado fila por fila, sin cargarlo entero en memoria
+    // El driver de MySQL lo hace con fetchSize = Integer.MIN_VALUE (modo streaming); otros drivers
+    // (por ejemplo H2 en los benchmarks) rechazan ese valor y leen en bloques de FILAS_POR_BLOQUE
+    public static void leerEnStreaming(Statement stmt) throws SQLException {
+        String driver = stmt.getConnection().getMetaData().getDriverName();
+        stmt.setFetchSize(driver.startsWith("MySQL") ? Integer.MIN_VALUE : FILAS_POR_BLOQUE);
+    }
+
+    // Cierra el pool y todas sus conexiones libres (por ejemplo, al salir de la aplicación)
+    public static synchronized void cerrar() {
+        if (pool != null) {
+            pool.cerrar();
+            pool = null;
+        }
     }
 
     // Método main - se ejecuta para probar que la conexión a la BD funciona correctamente
     public static void main(String[] args) throws Exception {
-        getConexion();  // Intenta conectarse a la base de datos
+        try (Connection conn = getConexion()) {  // Intenta conectarse a la base de datos
+            if (conn.isValid(2)) {
+                System.out.println("✓ Conexión exitosa a la base de datos (XAMPP)");
+            }
+            System.out.println(getPool().getEstadisticas());
+        }
+        cerrar();
     }
 }
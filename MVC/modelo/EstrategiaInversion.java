@@ -17,6 +17,16 @@ public class EstrategiaInversion {
     private Integer articuloRelacionadoId; // ID del artículo asociado a la estrategia
     private Timestamp fechaCreacion;       // Fecha y hora en que se creó
     private Timestamp fechaActualizacion;  // Fecha y hora de la última actualización
+    
+    // Si la estrategia vino de una lista, la descripción y las tecnologías todavía no están
+    // cargadas: este cargador las trae la primera vez que se piden
+    private transient volatile CargadorDiferido<EstrategiaInversion> cargadorDetalles;
+    // Campos largos asignados con su setter mientras estaban pendientes: al completarse el lote no se
+    // pisan con el valor de la base de datos (un bit por campo)
+    private transient int detallesAsignados = 0;
+    private static final int DESCRIPCION = 1;
+    private static final int TECNOLOGIAS = 2;
+    private static final int TODOS_LOS_DETALLES = 3;
    
     // Constructor vacío - para una estrategia sin datos iniciales
     public EstrategiaInversion() {
@@ -54,11 +64,13 @@ public class EstrategiaInversion {
     }
     
     public String getDescripcion() {
+        cargarDetalles();
         return descripcion;
     }
     
-    public void setDescripcion(String descripcion) {
+    public synchronized void setDescripcion(String descripcion) {
         this.descripcion = descripcion;
+        asignarDetalle(DESCRIPCION);
     }
     
     public String getTipoEstrategia() {
@@ -78,11 +90,13 @@ public class EstrategiaInversion {
     }
     
     public String getTecnologiasUtilizadas() {
+        cargarDetalles();
         return tecnologiasUtilizadas;
     }
     
-    public void setTecnologiasUtilizadas(String tecnologiasUtilizadas) {
+    public synchronized void setTecnologiasUtilizadas(String tecnologiasUtilizadas) {
         this.tecnologiasUtilizadas = tecnologiasUtilizadas;
+        asignarDetalle(TECNOLOGIAS);
     }
     
     public double getRetornoEsperado() {
@@ -117,6 +131,44 @@ public class EstrategiaInversion {
         this.fechaActualizacion = fechaActualizacion;
     }
     
+    // Indica si la descripción y las tecnologías ya están disponibles (sin provocar su carga)
+    public boolean isDetallesCargados() {
+        return cargadorDetalles == null;
+    }
+    
+    // Asigna el cargador de los campos largos (null = la estrategia ya está completa)
+    public void setCargadorDetalles(CargadorDiferido<EstrategiaInversion> cargadorDetalles) {
+        this.cargadorDetalles = cargadorDetalles;
+    }
+    
+    // Completa la descripción y las tecnologías con los valores leídos por el cargador (las que no
+    // se asignaron con su setter) y quita el cargador. Lo usa el cargador en lugar de los setters
+    public synchronized void completarDetalles(String descripcion, String tecnologiasUtilizadas) {
+        if ((detallesAsignados & DESCRIPCION) == 0) {
+            this.descripcion = descripcion;
+        }
+        if ((detallesAsignados & TECNOLOGIAS) == 0) {
+            this.tecnologiasUtilizadas = tecnologiasUtilizadas;
+        }
+        cargadorDetalles = null;
+    }
+    
+    // Anota un campo largo asignado; si ya se asignaron todos, el cargador no tiene nada que traer
+    private void asignarDetalle(int campo) {
+        detallesAsignados |= campo;
+        if (detallesAsignados == TODOS_LOS_DETALLES) {
+            cargadorDetalles = null;
+        }
+    }
+    
+    // Trae los campos largos si todavía no se cargaron
+    private void cargarDetalles() {
+        CargadorDiferido<EstrategiaInversion> cargador = cargadorDetalles;
+        if (cargador != null) {
+            cargador.cargar(this);
+        }
+    }
+    
     // Método toString - convierte la estrategia a texto para mostrarla en la interfaz
     @Override
     public String toString() {
@@ -0,0 +1,60 @@
+package modelo;
+
+// Esta clase representa un cambio en los datos que publica un controlador (ver controlador.BusEventos):
+// qué pasó (creado, actualizado, eliminado), a qué id y, si se conoce, la entidad tal como quedó.
+// Las vistas, índices y demás interesados lo usan para actualizar solo esa fila.
+public class EventoCambio<T> {
+
+    // Tipos de cambio
+    public enum Tipo {
+        CREADO,
+        ACTUALIZADO,
+        ELIMINADO,
+        RECARGA  // Cambiaron muchas filas y no se sabe cuáles (por ejemplo, LOAD DATA): hay que recargar
+    }
+
+    private final Tipo tipo;
+    private final int id;       // 0 en RECARGA
+    private final T entidad;    // null en ELIMINADO y RECARGA, o si no se conoce su estado completo
+
+    // Constructor con todos los datos del evento
+    public EventoCambio(Tipo tipo, int id, T entidad) {
+        this.tipo = tipo;
+        this.id = id;
+        this.entidad = entidad;
+    }
+
+    public static <T> EventoCambio<T> creado(int id, T entidad) {
+        return new EventoCambio<>(Tipo.CREADO, id, entidad);
+    }
+
+    public static <T> EventoCambio<T> actualizado(int id, T entidad) {
+        return new EventoCambio<>(Tipo.ACTUALIZADO, id, entidad);
+    }
+
+    public static <T> EventoCambio<T> eliminado(int id) {
+        return new EventoCambio<>(Tipo.ELIMINADO, id, null);
+    }
+
+    public static <T> EventoCambio<T> recarga() {
+        return new EventoCambio<>(Tipo.RECARGA, 0, null);
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public T getEntidad() {
+        return entidad;
+    }
+
+    // Método toString - muestra el tipo y el id del cambio
+    @Override
+    public String toString() {
+        return tipo + (tipo == Tipo.RECARGA ? "" : " #" + id);
+    }
+}
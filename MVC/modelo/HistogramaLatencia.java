@@ -0,0 +1,90 @@
+package modelo;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Histograma de latencias sin bloqueos (al estilo HdrHistogram).
+// Cada potencia de dos se divide en SUBCUBETAS partes iguales, así el error de cualquier
+// percentil es como máximo 1/SUBCUBETAS (~6 %) tanto para 50 microsegundos como para 5 segundos.
+// Registrar un valor es un incremento atómico en un arreglo: se puede llamar desde muchos hilos
+// a la vez sin sincronizar. Los valores se guardan en nanosegundos.
+public final class HistogramaLatencia {
+
+    private static final int BITS_SUBCUBETA = 4;
+    private static final int SUBCUBETAS = 1 << BITS_SUBCUBETA;  // 16 cubetas por potencia de dos
+    private static final int CUBETAS = (64 - BITS_SUBCUBETA + 1) * SUBCUBETAS;
+
+    private final AtomicLongArray cubetas = new AtomicLongArray(CUBETAS);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder suma = new LongAdder();
+    private final LongAccumulator maximo = new LongAccumulator(Math::max, 0);
+
+    // Registra una duración en nanosegundos (los valores negativos cuentan como 0)
+    public void registrar(long nanos) {
+        long valor = Math.max(0, nanos);
+        cubetas.incrementAndGet(indice(valor));
+        total.increment();
+        suma.add(valor);
+        maximo.accumulate(valor);
+    }
+
+    public long getCantidad() {
+        return total.sum();
+    }
+
+    public long getMaximo() {
+        return maximo.get();
+    }
+
+    public double getPromedio() {
+        long cantidad = total.sum();
+        return cantidad == 0 ? 0 : (double) suma.sum() / cantidad;
+    }
+
+    // Valor (en nanosegundos) por debajo del cual queda la fracción `p` de los registros (p entre 0 y 1)
+    // Se devuelve el límite superior de la cubeta, nunca más que el máximo registrado
+    public long percentil(double p) {
+        long[] copia = new long[CUBETAS];
+        long cantidad = 0;
+        for (int i = 0; i < CUBETAS; i++) {
+            copia[i] = cubetas.get(i);
+            cantidad += copia[i];
+        }
+        if (cantidad == 0) {
+            return 0;
+        }
+
+        long objetivo = Math.max(1, (long) Math.ceil(p * cantidad));
+        long acumulado = 0;
+        for (int i = 0; i < CUBETAS; i++) {
+            acumulado += copia[i];
+            if (acumulado >= objetivo) {
+                return Math.min(limiteSuperior(i), maximo.get());
+            }
+        }
+        return maximo.get();
+    }
+
+    // Cubeta de un valor: los menores que SUBCUBETAS tienen una cubeta propia; el resto se
+    // ubica por su potencia de dos (bit más alto) y los BITS_SUBCUBETA bits siguientes
+    private static int indice(long valor) {
+        if (valor < SUBCUBETAS) {
+            return (int) valor;
+        }
+        int exponente = 63 - Long.numberOfLeadingZeros(valor);
+        int desplazamiento = exponente - BITS_SUBCUBETA;
+        int sub = (int) (valor >>> desplazamiento) & (SUBCUBETAS - 1);
+        return ((desplazamiento + 1) << BITS_SUBCUBETA) | sub;
+    }
+
+    // Mayor valor que cae en la cubeta `indice` (la inversa de indice())
+    private static long limiteSuperior(int indice) {
+        if (indice < SUBCUBETAS) {
+            return indice;
+        }
+        int desplazamiento = (indice >>> BITS_SUBCUBETA) - 1;
+        long inferior = (long) (SUBCUBETAS + (indice & (SUBCUBETAS - 1))) << desplazamiento;
+        return inferior + (1L << desplazamiento) - 1;
+    }
+}
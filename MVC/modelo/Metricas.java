@@ -0,0 +1,228 @@
+package modelo;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+// Métricas de la aplicación: por cada operación (método de un controlador, préstamo de conexión,
+// entrega en el hilo de Swing...) se cuentan llamadas, errores y filas devueltas, y se guarda la
+// latencia en un HistogramaLatencia (p50, p95, p99 y máximo).
+// Todo es sin bloqueos (LongAdder y contadores atómicos), así medir no agrega contención.
+// Cada operación se publica como MXBean (jconsole / VisualVM) y, si se activa con
+// iniciarVolcado(), se escribe un resumen periódico en un archivo de texto.
+//
+// Uso típico en un controlador:
+//   Metricas.Medicion medicion = Metricas.iniciar("ArticuloControlador.obtenerTodosLosArticulos");
+//   try (...) { ... } catch (SQLException e) { medicion.error(); ... }
+//   medicion.terminar(articulos.size());
+public final class Metricas {
+
+    private static final String DOMINIO_JMX = "articulos_fintech";
+    private static final double NANOS_POR_MS = 1_000_000.0;
+    // Archivo y frecuencia del volcado periódico (el archivo se puede cambiar con -Dmetricas.archivo=...)
+    private static final Path ARCHIVO_VOLCADO = Paths.get(System.getProperty("metricas.archivo",
+        Paths.get(System.getProperty("java.io.tmpdir"), "articulos_fintech_metricas.txt").toString()));
+    private static final long PERIODO_VOLCADO_MS = 60_000;
+
+    private static final ConcurrentHashMap<String, Operacion> OPERACIONES = new ConcurrentHashMap<>();
+    private static ScheduledExecutorService volcado = null;
+
+    // Constructor privado - solo tiene métodos estáticos
+    private Metricas() {}
+
+    // Devuelve la operación con ese nombre, creándola (y publicándola por JMX) la primera vez
+    public static Operacion operacion(String nombre) {
+        Operacion existente = OPERACIONES.get(nombre);
+        if (existente != null) {
+            return existente;
+        }
+        Operacion nueva = new Operacion(nombre);
+        existente = OPERACIONES.putIfAbsent(nombre, nueva);
+        if (existente != null) {
+            return existente;
+        }
+        registrarEnJmx(nueva);
+        return nueva;
+    }
+
+    // Empieza a medir una llamada de la operación `nombre`
+    public static Medicion iniciar(String nombre) {
+        return new Medicion(operacion(nombre));
+    }
+
+    // Todas las operaciones medidas hasta ahora, ordenadas por nombre
+    public static List<Operacion> getOperaciones() {
+        List<Operacion> lista = new ArrayList<>(OPERACIONES.values());
+        lista.sort((a, b) -> a.nombre.compareTo(b.nombre));
+        return lista;
+    }
+
+    // Resumen de todas las operaciones en forma de tabla de texto
+    public static String getResumen() {
+        StringBuilder texto = new StringBuilder();
+        texto.append(String.format("%-55s %9s %7s %10s %9s %9s %9s %9s %9s%n", "Operación",
+            "Llamadas", "Errores", "Filas", "Prom(ms)", "p50(ms)", "p95(ms)", "p99(ms)", "Máx(ms)"));
+        for (Operacion op : getOperaciones()) {
+            texto.append(String.format("%-55s %9d %7d %10d %9.2f %9.2f %9.2f %9.2f %9.2f%n", op.nombre,
+                op.getLlamadas(), op.getErrores(), op.getFilas(), op.getPromedioMs(),
+                op.getP50Ms(), op.getP95Ms(), op.getP99Ms(), op.getMaximoMs()));
+        }
+        return texto.toString();
+    }
+
+    // Activa el volcado periódico con el archivo y la frecuencia por defecto
+    public static void iniciarVolcado() {
+        iniciarVolcado(ARCHIVO_VOLCADO, PERIODO_VOLCADO_MS);
+    }
+
+    // Escribe el resumen en `archivo` cada `periodoMs` milisegundos (y una última vez al salir)
+    // Solo se activa una vez; las llamadas siguientes no hacen nada
+    public static synchronized void iniciarVolcado(Path archivo, long periodoMs) {
+        if (volcado != null) {
+            return;
+        }
+        volcado = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "metricas-volcado");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        volcado.scheduleWithFixedDelay(() -> volcar(archivo), periodoMs, periodoMs, TimeUnit.MILLISECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> volcar(archivo), "metricas-volcado-final"));
+    }
+
+    // Escribe el resumen actual en el archivo (primero en uno temporal, así nunca queda a medias)
+    public static void volcar(Path archivo) {
+        try {
+            Path carpeta = archivo.toAbsolutePath().getParent();
+            Files.createDirectories(carpeta);
+            Path temporal = Files.createTempFile(carpeta, "metricas", ".tmp");
+            try (BufferedWriter escritor = Files.newBufferedWriter(temporal, StandardCharsets.UTF_8)) {
+                escritor.write("Métricas al " + LocalDateTime.now() + System.lineSeparator());
+                escritor.write(getResumen());
+            }
+            Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error al escribir las métricas: " + e.getMessage());
+        }
+    }
+
+    private static void registrarEnJmx(Operacion operacion) {
+        try {
+            MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+            servidor.registerMBean(operacion, new ObjectName(DOMINIO_JMX
+                + ":type=Operacion,name=" + ObjectName.quote(operacion.nombre)));
+        } catch (JMException | RuntimeException e) {
+            // Sin JMX las métricas siguen disponibles con getResumen() y el volcado a archivo
+            System.err.println("No se pudo publicar la métrica " + operacion.nombre + " por JMX: " + e.getMessage());
+        }
+    }
+
+    // Contadores e histograma de una operación
+    public static final class Operacion implements OperacionMXBean {
+        private final String nombre;
+        private final LongAdder errores = new LongAdder();
+        private final LongAdder filas = new LongAdder();
+        private final HistogramaLatencia latencia = new HistogramaLatencia();
+
+        private Operacion(String nombre) {
+            this.nombre = nombre;
+        }
+
+        // Registra una llamada que empezó en `inicioNanos` (System.nanoTime) y terminó ahora
+        public void registrar(long inicioNanos, long filasDevueltas, boolean fallo) {
+            latencia.registrar(System.nanoTime() - inicioNanos);
+            if (filasDevueltas > 0) {
+                filas.add(filasDevueltas);
+            }
+            if (fallo) {
+                errores.increment();
+            }
+        }
+
+        @Override
+        public String getNombre() {
+            return nombre;
+        }
+
+        @Override
+        public long getLlamadas() {
+            return latencia.getCantidad();
+        }
+
+        @Override
+        public long getErrores() {
+            return errores.sum();
+        }
+
+        @Override
+        public long getFilas() {
+            return filas.sum();
+        }
+
+        @Override
+        public double getPromedioMs() {
+            return latencia.getPromedio() / NANOS_POR_MS;
+        }
+
+        @Override
+        public double getP50Ms() {
+            return latencia.percentil(0.50) / NANOS_POR_MS;
+        }
+
+        @Override
+        public double getP95Ms() {
+            return latencia.percentil(0.95) / NANOS_POR_MS;
+        }
+
+        @Override
+        public double getP99Ms() {
+            return latencia.percentil(0.99) / NANOS_POR_MS;
+        }
+
+        @Override
+        public double getMaximoMs() {
+            return latencia.getMaximo() / NANOS_POR_MS;
+        }
+    }
+
+    // Una llamada en curso: se crea con Metricas.iniciar() y se cierra con terminar()
+    public static final class Medicion {
+        private final Operacion operacion;
+        private final long inicio = System.nanoTime();
+        private boolean fallo = false;
+
+        private Medicion(Operacion operacion) {
+            this.operacion = operacion;
+        }
+
+        // Marca la llamada como fallida (se sigue midiendo su duración)
+        public void error() {
+            fallo = true;
+        }
+
+        // Termina la medición sin filas (por ejemplo, una actualización)
+        public void terminar() {
+            terminar(0);
+        }
+
+        public void terminar(long filasDevueltas) {
+            operacion.registrar(inicio, filasDevueltas, fallo);
+        }
+    }
+}
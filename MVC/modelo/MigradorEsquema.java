@@ -0,0 +1,265 @@
+package modelo;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Aplica al iniciar la aplicación las migraciones del esquema que falten (índices, columnas...)
+// Cada migración es un archivo "V<número>__<descripción>.sql" en la carpeta de migraciones
+// (por ejemplo V1__indice_articulos_anio_id.sql) y se aplica una sola vez, en orden de número.
+// - Lo aplicado queda en la tabla historial_migraciones, con un checksum (SHA-256) del archivo:
+//   si un archivo ya aplicado cambia, no se sigue migrando (hay que crear una migración nueva).
+// - Dos instancias de la aplicación no migran a la vez: se toma un candado con GET_LOCK.
+// - En MySQL el DDL no se puede deshacer con ROLLBACK, así que las migraciones deben poder
+//   repetirse: si un índice ya existe (error 1061) se sigue adelante.
+// - Los ALTER TABLE usan "ALGORITHM=INPLACE, LOCK=NONE" (DDL en línea: la tabla se sigue
+//   leyendo y escribiendo mientras se crea el índice); si el servidor no lo permite para esa
+//   operación (errores 1845/1846) se repite la sentencia sin esas opciones.
+public final class MigradorEsquema {
+
+    private static final Pattern NOMBRE_MIGRACION = Pattern.compile("V(\\d+)__(.+)\\.sql");
+    private static final Pattern OPCIONES_EN_LINEA = Pattern.compile("(?i),\\s*(ALGORITHM|LOCK)\\s*=\\s*\\w+");
+    private static final String CANDADO = "articulos_fintech_migraciones";
+    private static final int ESPERA_CANDADO_SEGUNDOS = 30;
+    // Códigos de error de MySQL
+    private static final int ERROR_INDICE_DUPLICADO = 1061;             // ER_DUP_KEYNAME
+    private static final int ERROR_DDL_EN_LINEA_NO_SOPORTADO = 1845;    // ER_ALTER_OPERATION_NOT_SUPPORTED
+    private static final int ERROR_DDL_EN_LINEA_NO_SOPORTADO_2 = 1846;  // ER_ALTER_OPERATION_NOT_SUPPORTED_REASON
+
+    private static final String CREAR_HISTORIAL =
+        "CREATE TABLE IF NOT EXISTS historial_migraciones (" +
+        "version INT PRIMARY KEY, " +
+        "descripcion VARCHAR(200) NOT NULL, " +
+        "checksum CHAR(64) NOT NULL, " +
+        "aplicada_en TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+        "duracion_ms BIGINT NOT NULL)";
+
+    private final Path carpeta;
+
+    public MigradorEsquema(Path carpeta) {
+        this.carpeta = carpeta;
+    }
+
+    // Aplica las migraciones pendientes; devuelve cuántas se aplicaron o -1 si hubo un error
+    public int migrar() {
+        Metricas.Medicion medicion = Metricas.iniciar("MigradorEsquema.migrar");
+        if (!Files.isDirectory(carpeta)) {
+            System.out.println("No hay carpeta de migraciones (" + carpeta.toAbsolutePath() + "); no se migra");
+            medicion.terminar();
+            return 0;
+        }
+        int aplicadas;
+        try {
+            aplicadas = aplicarPendientes(leerMigraciones());
+        } catch (IOException | SQLException | IllegalStateException e) {
+            System.err.println("Error al migrar el esquema: " + e.getMessage());
+            medicion.error();
+            aplicadas = -1;
+        }
+        medicion.terminar(Math.max(0, aplicadas));
+        return aplicadas;
+    }
+
+    // Archivos de la carpeta ordenados por versión (los que no siguen el formato se ignoran)
+    private List<Migracion> leerMigraciones() throws IOException {
+        TreeMap<Integer, Migracion> porVersion = new TreeMap<>();
+        try (DirectoryStream<Path> archivos = Files.newDirectoryStream(carpeta, "V*__*.sql")) {
+            for (Path archivo : archivos) {
+                Matcher m = NOMBRE_MIGRACION.matcher(archivo.getFileName().toString());
+                if (!m.matches()) {
+                    continue;
+                }
+                int version = Integer.parseInt(m.group(1));
+                // Los saltos de línea se normalizan: el mismo archivo en Windows y Linux tiene el mismo checksum
+                String contenido = new String(Files.readAllBytes(archivo), StandardCharsets.UTF_8)
+                    .replace("\r\n", "\n");
+                Migracion migracion = new Migracion(version, m.group(2).replace('_', ' '), contenido);
+                Migracion repetida = porVersion.put(version, migracion);
+                if (repetida != null) {
+                    throw new IllegalStateException("hay dos migraciones con la versión " + version);
+                }
+            }
+        }
+        return new ArrayList<>(porVersion.values());
+    }
+
+    private int aplicarPendientes(List<Migracion> migraciones) throws SQLException {
+        try (Connection conn = ConexionDB.getConexion()) {
+            boolean conCandado = tomarCandado(conn);
+            try {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute(CREAR_HISTORIAL);
+                }
+                Map<Integer, String> aplicadas = leerHistorial(conn);
+                int cantidad = 0;
+                for (Migracion migracion : migraciones) {
+                    String checksum = aplicadas.get(migracion.version);
+                    if (checksum == null) {
+                        aplicar(conn, migracion);
+                        cantidad++;
+                    } else if (!checksum.equals(migracion.checksum)) {
+                        throw new IllegalStateException("la migración V" + migracion.version
+                            + " cambió después de aplicarse (checksum distinto); crea una migración nueva");
+                    }
+                }
+                if (cantidad > 0) {
+                    System.out.println("✓ " + cantidad + " migraciones del esquema aplicadas");
+                }
+                return cantidad;
+            } finally {
+                if (conCandado) {
+                    soltarCandado(conn);
+                }
+            }
+        }
+    }
+
+    private Map<Integer, String> leerHistorial(Connection conn) throws SQLException {
+        Map<Integer, String> aplicadas = new HashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version, checksum FROM historial_migraciones")) {
+            while (rs.next()) {
+                aplicadas.put(rs.getInt("version"), rs.getString("checksum"));
+            }
+        }
+        return aplicadas;
+    }
+
+    private void aplicar(Connection conn, Migracion migracion) throws SQLException {
+        long inicio = System.currentTimeMillis();
+        for (String sentencia : separarSentencias(migracion.contenido)) {
+            ejecutar(conn, sentencia);
+        }
+        long duracion = System.currentTimeMillis() - inicio;
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "INSERT INTO historial_migraciones (version, descripcion, checksum, duracion_ms) VALUES (?, ?, ?, ?)")) {
+            pstmt.setInt(1, migracion.version);
+            pstmt.setString(2, migracion.descripcion);
+            pstmt.setString(3, migracion.checksum);
+            pstmt.setLong(4, duracion);
+            pstmt.executeUpdate();
+        }
+        System.out.println("✓ Migración V" + migracion.version + " (" + migracion.descripcion + ") en " + duracion + " ms");
+    }
+
+    private void ejecutar(Connection conn, String sentencia) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(sentencia);
+        } catch (SQLException e) {
+            int codigo = e.getErrorCode();
+            if (codigo == ERROR_INDICE_DUPLICADO) {
+                // El índice ya existe (por ejemplo, lo creó un DBA a mano): la migración ya está hecha
+                System.out.println("  (índice ya existente, se omite: " + e.getMessage() + ")");
+            } else if (codigo == ERROR_DDL_EN_LINEA_NO_SOPORTADO || codigo == ERROR_DDL_EN_LINEA_NO_SOPORTADO_2) {
+                // El servidor no puede hacer esta operación en línea: se hace bloqueando la tabla
+                System.out.println("  (DDL en línea no soportado, se repite sin ALGORITHM/LOCK: " + e.getMessage() + ")");
+                ejecutar(conn, OPCIONES_EN_LINEA.matcher(sentencia).replaceAll(""));
+            } else {
+                throw e;
+            }
+        }
+    }
+
+    // Separa el archivo en sentencias: cada una termina con ';' al final de una línea
+    // Las líneas que empiezan con "--" son comentarios y se ignoran
+    // Como en el cliente mysql, "DELIMITER $$" cambia el terminador (para los disparadores con
+    // BEGIN ... END, que llevan ';' adentro) y "DELIMITER ;" vuelve al de siempre
+    private static List<String> separarSentencias(String contenido) {
+        List<String> sentencias = new ArrayList<>();
+        StringBuilder actual = new StringBuilder();
+        String terminador = ";";
+        for (String linea : contenido.split("\n")) {
+            String limpia = linea.trim();
+            if (limpia.isEmpty() || limpia.startsWith("--")) {
+                continue;
+            }
+            if (limpia.regionMatches(true, 0, "DELIMITER ", 0, 10)) {
+                terminador = limpia.substring(10).trim();
+                continue;
+            }
+            if (limpia.endsWith(terminador)) {
+                actual.append(limpia, 0, limpia.length() - terminador.length());
+                sentencias.add(actual.toString().trim());
+                actual.setLength(0);
+            } else {
+                actual.append(limpia).append('\n');
+            }
+        }
+        if (actual.toString().trim().length() > 0) {
+            sentencias.add(actual.toString().trim());
+        }
+        return sentencias;
+    }
+
+    // GET_LOCK es de MySQL; si el servidor no lo tiene (por ejemplo H2) se migra sin candado
+    private boolean tomarCandado(Connection conn) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            pstmt.setString(1, CANDADO);
+            pstmt.setInt(2, ESPERA_CANDADO_SEGUNDOS);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next() && rs.getInt(1) == 1) {
+                    return true;
+                }
+            }
+        } catch (SQLException e) {
+            System.out.println("El servidor no soporta GET_LOCK; se migra sin candado");
+            return false;
+        }
+        throw new IllegalStateException("otra instancia está migrando el esquema (se esperó "
+            + ESPERA_CANDADO_SEGUNDOS + " s)");
+    }
+
+    private void soltarCandado(Connection conn) {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            pstmt.setString(1, CANDADO);
+            pstmt.executeQuery().close();
+        } catch (SQLException e) {
+            System.err.println("Error al soltar el candado de migraciones: " + e.getMessage());
+        }
+    }
+
+    private static String sha256(String texto) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(texto.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // Toda JVM trae SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Un archivo de migración ya leído
+    private static final class Migracion {
+        final int version;
+        final String descripcion;
+        final String contenido;
+        final String checksum;
+
+        Migracion(int version, String descripcion, String contenido) {
+            this.version = version;
+            this.descripcion = descripcion;
+            this.contenido = contenido;
+            this.checksum = sha256(contenido);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package modelo;
+
+// Lo que se publica por JMX de cada operación medida (ver Metricas)
+// Se puede consultar con jconsole o VisualVM, en el dominio "articulos_fintech"
+// Los tiempos están en milisegundos
+public interface OperacionMXBean {
+
+    String getNombre();
+
+    long getLlamadas();
+
+    long getErrores();
+
+    long getFilas();
+
+    double getPromedioMs();
+
+    double getP50Ms();
+
+    double getP95Ms();
+
+    double getP99Ms();
+
+    double getMaximoMs();
+}
@@ -0,0 +1,559 @@
+package modelo;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Pool de conexiones JDBC acotado y seguro para varios hilos.
+// Cada llamada a obtener() presta una conexión física distinta; al cerrar la conexión
+// prestada (close) no se cierra el socket, sino que la conexión vuelve al pool.
+// Incluye: tamaño máximo, tiempo de espera al pedir conexión, expulsión de conexiones
+// inactivas, validación barata (ping) y detección de fugas (conexiones nunca devueltas).
+// Cada conexión física guarda además sus PreparedStatement (caché LRU por texto SQL): cerrar
+// la sentencia la deja lista para el próximo prepareStatement con el mismo SQL, así MySQL no
+// vuelve a analizarla (con useServerPrepStmts=true la sentencia preparada vive en el servidor).
+public class PoolConexiones {
+
+    private final String url;
+    private final String usuario;
+    private final String password;
+
+    private final int tamanoMaximo;             // Conexiones prestadas a la vez como máximo
+    private final int minimoInactivas;          // Conexiones libres que se conservan aunque no se usen
+    private final long esperaMaximaMs;          // Tiempo máximo esperando una conexión libre
+    private final long inactividadMaximaMs;     // Conexiones libres más antiguas que esto se cierran
+    private final long vidaMaximaMs;            // Edad máxima de una conexión física (evita wait_timeout del servidor)
+    private final long validarTrasMs;           // Solo se hace ping si la conexión estuvo libre más que esto
+    private final long umbralFugaMs;            // Conexión prestada más tiempo que esto se reporta como fuga (0 = desactivado)
+    private final int sentenciasEnCache;        // PreparedStatement guardados por conexión física (0 = sin caché)
+
+    private final Semaphore permisos;
+    private final ConcurrentLinkedDeque<ConexionFisica> libres = new ConcurrentLinkedDeque<>();
+    private final Set<ConexionPrestada> prestadas = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger totalFisicas = new AtomicInteger();
+    private final ScheduledExecutorService mantenimiento;
+    private volatile boolean cerrado = false;
+    private volatile RegistroConsultasLentas registroConsultasLentas = null;  // null = desactivado
+
+    // Uso de la caché de sentencias (todas las conexiones juntas)
+    private final LongAdder aciertosSentencias = new LongAdder();
+    private final LongAdder fallosSentencias = new LongAdder();
+    private final LongAdder expulsionesSentencias = new LongAdder();
+
+    public PoolConexiones(String url, String usuario, String password, int tamanoMaximo,
+                          int minimoInactivas, long esperaMaximaMs, long inactividadMaximaMs,
+                          long vidaMaximaMs, long validarTrasMs, long umbralFugaMs, int sentenciasEnCache) {
+        this.url = url;
+        this.usuario = usuario;
+        this.password = password;
+        this.tamanoMaximo = tamanoMaximo;
+        this.minimoInactivas = Math.min(minimoInactivas, tamanoMaximo);
+        this.esperaMaximaMs = esperaMaximaMs;
+        this.inactividadMaximaMs = inactividadMaximaMs;
+        this.vidaMaximaMs = vidaMaximaMs;
+        this.validarTrasMs = validarTrasMs;
+        this.umbralFugaMs = umbralFugaMs;
+        this.sentenciasEnCache = Math.max(0, sentenciasEnCache);
+        this.permisos = new Semaphore(tamanoMaximo, true);
+
+        // Un único hilo demonio revisa periódicamente las conexiones libres y prestadas
+        this.mantenimiento = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "pool-conexiones-mantenimiento");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        long periodo = Math.max(1000, Math.min(inactividadMaximaMs, 5000));
+        mantenimiento.scheduleWithFixedDelay(this::mantener, periodo, periodo, TimeUnit.MILLISECONDS);
+    }
+
+    // Presta una conexión del pool. Si todas están en uso espera como máximo `esperaMaximaMs`
+    // y después lanza SQLTransientConnectionException.
+    // El tiempo de cada préstamo (incluida la espera) se mide en la operación "PoolConexiones.obtener"
+    public Connection obtener() throws SQLException {
+        Metricas.Medicion medicion = Metricas.iniciar("PoolConexiones.obtener");
+        try {
+            Connection conexion = obtenerSinMedir();
+            medicion.terminar();
+            return conexion;
+        } catch (SQLException | RuntimeException e) {
+            medicion.error();
+            medicion.terminar();
+            throw e;
+        }
+    }
+
+    private Connection obtenerSinMedir() throws SQLException {
+        if (cerrado) {
+            throw new SQLException("El pool de conexiones está cerrado", "08003");
+        }
+
+        try {
+            if (!permisos.tryAcquire(esperaMaximaMs, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                    "Tiempo de espera agotado (" + esperaMaximaMs + " ms): las " + tamanoMaximo
+                    + " conexiones del pool están en uso", "08001");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrumpido esperando una conexión", "08001", e);
+        }
+
+        try {
+            // Primero reutilizamos la conexión libre más reciente (LIFO: suele estar "caliente")
+            ConexionFisica fisica;
+            while ((fisica = libres.pollFirst()) != null) {
+                if (esUtilizable(fisica)) {
+                    break;
+                }
+                cerrarFisica(fisica);
+            }
+            if (fisica == null) {
+                fisica = abrirFisica();
+            }
+            return prestar(fisica);
+        } catch (SQLException | RuntimeException e) {
+            permisos.release();
+            throw e;
+        }
+    }
+
+    // Abre de antemano las conexiones libres mínimas (minimoInactivas), así las primeras consultas
+    // de la aplicación no pagan el tiempo de conectarse a MySQL
+    public void precalentar() throws SQLException {
+        List<Connection> abiertas = new ArrayList<>();
+        try {
+            while (abiertas.size() < minimoInactivas && libres.size() + abiertas.size() < minimoInactivas) {
+                abiertas.add(obtener());
+            }
+        } finally {
+            for (Connection conexion : abiertas) {
+                conexion.close();  // Vuelve al pool como conexión libre
+            }
+        }
+    }
+
+    // Activa el registro de consultas lentas: desde ahora cada sentencia que preste el pool se mide
+    // y las que tarden más de `umbralMs` se anotan en `archivo` (ver RegistroConsultasLentas)
+    public synchronized void activarRegistroConsultasLentas(Path archivo, long umbralMs) {
+        if (registroConsultasLentas == null) {
+            registroConsultasLentas = new RegistroConsultasLentas(archivo, umbralMs, this);
+        }
+    }
+
+    // Cierra todas las conexiones libres y detiene el mantenimiento.
+    // Las conexiones prestadas se cierran físicamente cuando sus dueños las devuelven.
+    public void cerrar() {
+        cerrado = true;
+        mantenimiento.shutdownNow();
+        RegistroConsultasLentas registro = registroConsultasLentas;
+        if (registro != null) {
+            registro.cerrar();
+        }
+        ConexionFisica fisica;
+        while ((fisica = libres.pollFirst()) != null) {
+            cerrarFisica(fisica);
+        }
+    }
+
+    // Resumen del estado del pool (útil para diagnóstico)
+    public String getEstadisticas() {
+        long aciertos = aciertosSentencias.sum();
+        long total = aciertos + fallosSentencias.sum();
+        return String.format("Pool: %d prestadas, %d libres, %d físicas (máx. %d), %d esperando; "
+            + "sentencias: %d aciertos de %d (%.1f%%), %d expulsadas",
+            prestadas.size(), libres.size(), totalFisicas.get(), tamanoMaximo, permisos.getQueueLength(),
+            aciertos, total, total == 0 ? 0 : 100.0 * aciertos / total, expulsionesSentencias.sum());
+    }
+
+    // Veces que prepareStatement reutilizó una sentencia ya preparada
+    public long getAciertosSentencias() {
+        return aciertosSentencias.sum();
+    }
+
+    // Veces que prepareStatement tuvo que preparar una sentencia nueva
+    public long getFallosSentencias() {
+        return fallosSentencias.sum();
+    }
+
+    // Abre una nueva conexión física contra MySQL
+    private ConexionFisica abrirFisica() throws SQLException {
+        Connection conexion = DriverManager.getConnection(url, usuario, password);
+        totalFisicas.incrementAndGet();
+        return new ConexionFisica(conexion);
+    }
+
+    private void cerrarFisica(ConexionFisica fisica) {
+        totalFisicas.decrementAndGet();
+        try {
+            fisica.conexion.close();
+        } catch (SQLException e) {
+            // La conexión ya estaba rota; no hay nada más que hacer
+        }
+    }
+
+    // Comprueba que una conexión libre se pueda volver a prestar.
+    // El ping solo se hace si estuvo inactiva un rato, así el caso común no tiene costo de red.
+    private boolean esUtilizable(ConexionFisica fisica) {
+        long ahora = System.currentTimeMillis();
+        if (ahora - fisica.creadaEn > vidaMaximaMs) {
+            return false;
+        }
+        if (ahora - fisica.ultimoUso <= validarTrasMs) {
+            return true;
+        }
+        try {
+            return fisica.conexion.isValid(2);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private Connection prestar(ConexionFisica fisica) {
+        ConexionPrestada prestada = new ConexionPrestada(fisica,
+            umbralFugaMs > 0 ? new Throwable("Conexión obtenida aquí") : null);
+        prestadas.add(prestada);
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, prestada);
+    }
+
+    // Se llama al cerrar la conexión prestada: la deja limpia y la devuelve al pool
+    private void devolver(ConexionPrestada prestada) {
+        if (prestada.cerrada) {
+            return;  // close() repetido: no hace nada
+        }
+        prestada.cerrada = true;
+        prestadas.remove(prestada);
+
+        ConexionFisica fisica = prestada.fisica;
+        try {
+            // Cerramos sentencias que el usuario haya olvidado cerrar
+            for (Statement sentencia : prestada.sentencias) {
+                try {
+                    sentencia.close();
+                } catch (SQLException e) {
+                    fisica.rota = true;
+                }
+            }
+
+            // Si quedó una transacción abierta, se deshace y se restaura el autocommit
+            if (!fisica.rota && !fisica.conexion.getAutoCommit()) {
+                fisica.conexion.rollback();
+                fisica.conexion.setAutoCommit(true);
+            }
+            if (!fisica.rota) {
+                fisica.conexion.clearWarnings();
+            }
+        } catch (SQLException e) {
+            fisica.rota = true;
+        }
+
+        try {
+            if (cerrado || fisica.rota || libres.size() >= tamanoMaximo) {
+                cerrarFisica(fisica);
+            } else {
+                fisica.ultimoUso = System.currentTimeMillis();
+                libres.offerFirst(fisica);
+            }
+        } finally {
+            permisos.release();
+        }
+    }
+
+    // Tarea periódica: expulsa conexiones libres inactivas o viejas y reporta fugas
+    private void mantener() {
+        long ahora = System.currentTimeMillis();
+
+        // Recorremos desde el final (las menos usadas recientemente)
+        Iterator<ConexionFisica> it = libres.descendingIterator();
+        while (it.hasNext() && libres.size() > minimoInactivas) {
+            ConexionFisica fisica = it.next();
+            boolean inactiva = ahora - fisica.ultimoUso > inactividadMaximaMs;
+            boolean vieja = ahora - fisica.creadaEn > vidaMaximaMs;
+            if ((inactiva || vieja) && libres.removeFirstOccurrence(fisica)) {
+                cerrarFisica(fisica);
+            }
+        }
+
+        if (umbralFugaMs > 0) {
+            for (ConexionPrestada prestada : prestadas) {
+                if (!prestada.fugaReportada && ahora - prestada.prestadaEn > umbralFugaMs) {
+                    prestada.fugaReportada = true;
+                    System.err.println("Posible fuga de conexión: prestada hace "
+                        + (ahora - prestada.prestadaEn) + " ms y no devuelta");
+                    prestada.origen.printStackTrace();
+                }
+            }
+        }
+    }
+
+    private static boolean esErrorDeConexion(SQLException e) {
+        String estado = e.getSQLState();
+        return estado != null && estado.startsWith("08");
+    }
+
+    // Clave de la caché de sentencias: el SQL más los argumentos extra de prepareStatement
+    // (por ejemplo RETURN_GENERATED_KEYS o el tipo de ResultSet), que cambian la sentencia creada
+    private static String claveSentencia(Object[] args) {
+        if (args.length == 1) {
+            return (String) args[0];
+        }
+        StringBuilder clave = new StringBuilder((String) args[0]);
+        for (int i = 1; i < args.length; i++) {
+            clave.append('\u0000').append(Arrays.deepToString(new Object[]{args[i]}));  // También int[] y String[]
+        }
+        return clave.toString();
+    }
+
+    private static void cerrarSentencia(PreparedStatement sentencia) {
+        try {
+            sentencia.close();
+        } catch (SQLException e) {
+            // Se descarta igual
+        }
+    }
+
+    // Conexión real con MySQL y sus datos de uso
+    private final class ConexionFisica {
+        final Connection conexion;
+        final long creadaEn = System.currentTimeMillis();
+        volatile long ultimoUso = creadaEn;
+        volatile boolean rota = false;
+
+        // Sentencias preparadas libres, la usada hace más tiempo primero (LRU)
+        // Una sentencia en uso no está aquí: se saca al prestarla y vuelve al cerrarla
+        private final LinkedHashMap<String, PreparedStatement> sentenciasLibres =
+            new LinkedHashMap<>(32, 0.75f, true);
+
+        ConexionFisica(Connection conexion) {
+            this.conexion = conexion;
+        }
+
+        synchronized PreparedStatement tomarSentencia(String clave) {
+            return sentenciasLibres.remove(clave);
+        }
+
+        // Guarda la sentencia para reutilizarla; si ya hay una igual o la caché está llena, cierra la sobrante
+        synchronized void guardarSentencia(String clave, PreparedStatement sentencia) {
+            if (sentenciasLibres.containsKey(clave)) {
+                cerrarSentencia(sentencia);
+                return;
+            }
+            sentenciasLibres.put(clave, sentencia);
+            Iterator<Map.Entry<String, PreparedStatement>> it = sentenciasLibres.entrySet().iterator();
+            while (sentenciasLibres.size() > sentenciasEnCache && it.hasNext()) {
+                PreparedStatement masAntigua = it.next().getValue();
+                it.remove();
+                cerrarSentencia(masAntigua);  // Con sentencias del servidor, libera también la del servidor
+                expulsionesSentencias.increment();
+            }
+        }
+    }
+
+    // Envoltorio que recibe el usuario del pool. Redirige todo a la conexión física
+    // excepto close(), que devuelve la conexión al pool en lugar de cerrarla.
+    private final class ConexionPrestada implements InvocationHandler {
+        final ConexionFisica fisica;
+        final Throwable origen;
+        final long prestadaEn = System.currentTimeMillis();
+        final List<Statement> sentencias = new ArrayList<>();
+        volatile boolean cerrada = false;
+        volatile boolean fugaReportada = false;
+
+        ConexionPrestada(ConexionFisica fisica, Throwable origen) {
+            this.fisica = fisica;
+            this.origen = origen;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            switch (metodo.getName()) {
+                case "close":
+                    devolver(this);
+                    return null;
+                case "isClosed":
+                    if (cerrada) {
+                        return true;
+                    }
+                    break;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "ConexionPrestada[" + fisica.conexion + "]";
+                default:
+                    break;
+            }
+
+            if (cerrada) {
+                throw new SQLException("La conexión ya fue devuelta al pool", "08003");
+            }
+
+            try {
+                Object resultado;
+                if (sentenciasEnCache > 0 && metodo.getName().equals("prepareStatement")) {
+                    resultado = prepararConCache((Connection) proxy, metodo, args);
+                } else {
+                    resultado = metodo.invoke(fisica.conexion, args);
+                }
+                if (resultado instanceof Statement) {
+                    Statement sentencia = vigilar((Statement) resultado, args);
+                    sentencias.add(sentencia);
+                    return sentencia;
+                }
+                return resultado;
+            } catch (InvocationTargetException e) {
+                Throwable causa = e.getCause();
+                if (causa instanceof SQLException && esErrorDeConexion((SQLException) causa)) {
+                    fisica.rota = true;  // No se reutilizará al devolverla
+                }
+                throw causa;
+            }
+        }
+
+        // prepareStatement con caché: reutiliza la sentencia libre con el mismo SQL o prepara una nueva
+        // Devuelve un envoltorio cuyo close() la devuelve a la caché de la conexión física
+        private PreparedStatement prepararConCache(Connection conexionLogica, Method metodo, Object[] args)
+                throws InvocationTargetException, IllegalAccessException {
+            String clave = claveSentencia(args);
+            PreparedStatement real = fisica.tomarSentencia(clave);
+            if (real != null) {
+                aciertosSentencias.increment();
+            } else {
+                fallosSentencias.increment();
+                real = (PreparedStatement) metodo.invoke(fisica.conexion, args);
+            }
+            PreparedStatement logica = (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(), new Class<?>[]{PreparedStatement.class},
+                new SentenciaEnCache(fisica, clave, real, conexionLogica));
+            return logica;
+        }
+
+        // Envuelve la sentencia para medir sus ejecuciones si el registro de consultas lentas está activo
+        // (en prepareStatement y prepareCall el SQL es el primer argumento; en createStatement no hay)
+        private Statement vigilar(Statement sentencia, Object[] args) {
+            RegistroConsultasLentas registro = registroConsultasLentas;
+            if (registro == null) {
+                return sentencia;
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+            return SentenciaVigilada.envolver(sentencia, sql, registro);
+        }
+    }
+
+    // Envoltorio de una PreparedStatement de la caché. Redirige todo a la sentencia real
+    // excepto close(), que la limpia (parámetros, lote, resultados) y la devuelve a la caché.
+    private final class SentenciaEnCache implements InvocationHandler {
+        final ConexionFisica fisica;
+        final String clave;
+        final PreparedStatement real;
+        final Connection conexionLogica;
+        boolean cerrada = false;
+        boolean descartar = false;  // Falló alguna operación: no se reutiliza
+
+        SentenciaEnCache(ConexionFisica fisica, String clave, PreparedStatement real, Connection conexionLogica) {
+            this.fisica = fisica;
+            this.clave = clave;
+            this.real = real;
+            this.conexionLogica = conexionLogica;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            switch (metodo.getName()) {
+                case "close":
+                    if (!cerrada) {
+                        cerrada = true;
+                        devolverSentencia();
+                    }
+                    return null;
+                case "isClosed":
+                    if (cerrada) {
+                        return true;
+                    }
+                    break;
+                case "getConnection":
+                    return conexionLogica;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "SentenciaEnCache[" + real + "]";
+                default:
+                    break;
+            }
+
+            if (cerrada) {
+                throw new SQLException("La sentencia ya fue cerrada", "S1009");
+            }
+            try {
+                return metodo.invoke(real, args);
+            } catch (InvocationTargetException e) {
+                Throwable causa = e.getCause();
+                if (causa instanceof SQLException) {
+                    descartar = true;
+                    if (esErrorDeConexion((SQLException) causa)) {
+                        fisica.rota = true;
+                    }
+                }
+                throw causa;
+            }
+        }
+
+        // Deja la sentencia como recién preparada y la guarda en la caché de su conexión física
+        private void devolverSentencia() {
+            if (descartar || fisica.rota || cerrado) {
+                cerrarSentencia(real);
+                return;
+            }
+            try {
+                ResultSet abierto = real.getResultSet();
+                if (abierto != null) {
+                    abierto.close();
+                }
+                real.clearParameters();
+                real.clearBatch();
+                real.clearWarnings();
+                // Propiedades que algunas consultas cambian (por ejemplo, el modo streaming)
+                if (real.getFetchSize() != 0) {
+                    real.setFetchSize(0);
+                }
+                if (real.getMaxRows() != 0) {
+                    real.setMaxRows(0);
+                }
+                if (real.getQueryTimeout() != 0) {
+                    real.setQueryTimeout(0);
+                }
+            } catch (SQLException e) {
+                cerrarSentencia(real);
+                return;
+            }
+            fisica.guardarSentencia(clave, real);
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package modelo;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Registro de consultas lentas: toda sentencia que pasa por el pool de conexiones (ver
+// SentenciaVigilada) y tarda más que el umbral se anota en un archivo de texto.
+// - La primera vez que una sentencia es lenta se escribe completa: SQL, parámetros, tiempo,
+//   filas y su plan de ejecución (EXPLAIN FORMAT=JSON), con avisos si el plan ordena en archivo
+//   (filesort) o recorre la tabla entera.
+// - Las siguientes veces solo se acumulan: cada minuto se escribe una línea por sentencia con
+//   cuántas ejecuciones lentas hubo, el promedio, el máximo y los parámetros de la peor.
+// El EXPLAIN y la escritura corren en un hilo propio, así la consulta lenta no se demora más.
+// El archivo rota al llegar a TAMANO_MAXIMO_ARCHIVO (se guardan ARCHIVOS_ANTERIORES copias: .1, .2, .3).
+public final class RegistroConsultasLentas {
+
+    private static final long TAMANO_MAXIMO_ARCHIVO = 5L * 1024 * 1024;  // 5 MB por archivo
+    private static final int ARCHIVOS_ANTERIORES = 3;
+    private static final long INTERVALO_RESUMEN_MS = 60_000;
+    private static final int LARGO_MAXIMO_VALOR = 200;  // Caracteres de cada parámetro en el registro
+    private static final String SEPARADOR = "----------------------------------------------------------------";
+
+    private final Path archivo;
+    private final long umbralNanos;
+    private final PoolConexiones pool;  // De aquí sale la conexión para el EXPLAIN
+    private final ConcurrentHashMap<String, Agregado> porSentencia = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService escritor;
+
+    public RegistroConsultasLentas(Path archivo, long umbralMs, PoolConexiones pool) {
+        this.archivo = archivo;
+        this.umbralNanos = TimeUnit.MILLISECONDS.toNanos(umbralMs);
+        this.pool = pool;
+        this.escritor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread hilo = new Thread(r, "consultas-lentas");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        escritor.scheduleWithFixedDelay(this::escribirResumenes,
+            INTERVALO_RESUMEN_MS, INTERVALO_RESUMEN_MS, TimeUnit.MILLISECONDS);
+    }
+
+    // Anota una ejecución; si no superó el umbral no hace nada más que una comparación
+    // `filas` = -1 indica que la ejecución falló
+    void registrar(String sql, Object[] parametros, long nanos, long filas) {
+        if (nanos < umbralNanos || sql == null) {
+            return;
+        }
+        Agregado agregado = porSentencia.computeIfAbsent(sql, clave -> new Agregado());
+        boolean primera = agregado.detalleEscrito.compareAndSet(false, true);
+        agregado.sumar(nanos, parametros, !primera);  // La primera ya aparece completa: no va al resumen
+        if (primera) {
+            ejecutar(() -> escribirDetalle(sql, parametros, nanos, filas));
+        }
+    }
+
+    // Escribe los resúmenes pendientes y detiene el hilo del registro
+    public void cerrar() {
+        ejecutar(this::escribirResumenes);
+        escritor.shutdown();
+        try {
+            escritor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void ejecutar(Runnable tarea) {
+        try {
+            escritor.execute(tarea);
+        } catch (RejectedExecutionException e) {
+            // El registro ya se cerró
+        }
+    }
+
+    private void escribirDetalle(String sql, Object[] parametros, long nanos, long filas) {
+        String plan = explicar(sql, parametros);
+        StringBuilder texto = new StringBuilder();
+        texto.append(SEPARADOR).append(System.lineSeparator());
+        texto.append(LocalDateTime.now()).append("  CONSULTA LENTA: ").append(milisegundos(nanos)).append(" ms, ")
+             .append(filas < 0 ? "falló" : filas + " filas").append(System.lineSeparator());
+        texto.append("SQL: ").append(sql.trim()).append(System.lineSeparator());
+        texto.append("Parámetros: ").append(formatear(parametros)).append(System.lineSeparator());
+        List<String> avisos = avisosDelPlan(plan);
+        if (!avisos.isEmpty()) {
+            texto.append("Avisos: ").append(String.join(", ", avisos)).append(System.lineSeparator());
+        }
+        texto.append("Plan: ").append(plan).append(System.lineSeparator());
+        escribir(texto.toString());
+    }
+
+    // Una línea por sentencia que tuvo ejecuciones lentas desde el último resumen
+    private void escribirResumenes() {
+        StringBuilder texto = new StringBuilder();
+        porSentencia.forEach((sql, agregado) -> {
+            Agregado.Ventana ventana = agregado.tomarVentana();
+            if (ventana.veces == 0) {
+                return;
+            }
+            texto.append(LocalDateTime.now()).append("  RESUMEN: ").append(ventana.veces)
+                 .append(" ejecuciones lentas (").append(agregado.getTotal()).append(" en total), promedio ")
+                 .append(milisegundos(ventana.nanosTotales / ventana.veces)).append(" ms, máximo ")
+                 .append(milisegundos(ventana.nanosMaximo)).append(" ms con parámetros ")
+                 .append(formatear(ventana.parametrosDelPeor)).append(System.lineSeparator())
+                 .append("    SQL: ").append(sql.trim()).append(System.lineSeparator());
+        });
+        if (texto.length() > 0) {
+            escribir(texto.toString());
+        }
+    }
+
+    // Plan de ejecución de MySQL en JSON, con los mismos parámetros de la ejecución lenta
+    private String explicar(String sql, Object[] parametros) {
+        String inicio = sql.trim().toUpperCase(Locale.ROOT);
+        if (!(inicio.startsWith("SELECT") || inicio.startsWith("UPDATE") || inicio.startsWith("DELETE")
+                || inicio.startsWith("INSERT") || inicio.startsWith("REPLACE"))) {
+            return "(EXPLAIN no se aplica a esta sentencia)";
+        }
+        try (Connection conn = pool.obtener();
+             PreparedStatement pstmt = conn.prepareStatement("EXPLAIN FORMAT=JSON " + sql)) {
+            for (int i = 0; i < parametros.length; i++) {
+                pstmt.setObject(i + 1, parametros[i]);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getString(1) : "(sin plan)";
+            }
+        } catch (SQLException e) {
+            return "(no se pudo obtener el plan: " + e.getMessage() + ")";
+        }
+    }
+
+    // Problemas típicos que se ven en el plan JSON de MySQL
+    private static List<String> avisosDelPlan(String plan) {
+        List<String> avisos = new ArrayList<>();
+        if (plan.contains("\"using_filesort\": true")) {
+            avisos.add("ordena en archivo (filesort): falta un índice con el orden del ORDER BY");
+        }
+        if (plan.contains("\"using_temporary_table\": true")) {
+            avisos.add("usa tabla temporal");
+        }
+        if (plan.contains("\"access_type\": \"ALL\"")) {
+            avisos.add("recorre la tabla completa (sin índice)");
+        }
+        return avisos;
+    }
+
+    // Agrega texto al archivo, rotándolo si ya es muy grande (solo lo llama el hilo del registro)
+    private void escribir(String texto) {
+        try {
+            Path carpeta = archivo.toAbsolutePath().getParent();
+            Files.createDirectories(carpeta);
+            if (Files.exists(archivo) && Files.size(archivo) + texto.length() > TAMANO_MAXIMO_ARCHIVO) {
+                rotar();
+            }
+            Files.write(archivo, texto.getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.err.println("Error al escribir el registro de consultas lentas: " + e.getMessage());
+        }
+    }
+
+    // consultas.log -> consultas.log.1 -> consultas.log.2 -> ... (el más antiguo se pierde)
+    private void rotar() throws IOException {
+        for (int i = ARCHIVOS_ANTERIORES; i >= 1; i--) {
+            Path origen = i == 1 ? archivo : anterior(i - 1);
+            if (Files.exists(origen)) {
+                Files.move(origen, anterior(i), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+
+    private Path anterior(int numero) {
+        return archivo.resolveSibling(archivo.getFileName() + "." + numero);
+    }
+
+    private static String milisegundos(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+
+    private static String formatear(Object[] parametros) {
+        if (parametros == null || parametros.length == 0) {
+            return "(ninguno)";
+        }
+        StringBuilder texto = new StringBuilder("[");
+        for (int i = 0; i < parametros.length; i++) {
+            if (i > 0) {
+                texto.append(", ");
+            }
+            Object valor = parametros[i];
+            if (valor == null) {
+                texto.append("NULL");
+            } else if (valor instanceof String) {
+                String cadena = (String) valor;
+                if (cadena.length() > LARGO_MAXIMO_VALOR) {
+                    cadena = cadena.substring(0, LARGO_MAXIMO_VALOR) + "...";
+                }
+                texto.append('\'').append(cadena).append('\'');
+            } else {
+                texto.append(valor);
+            }
+        }
+        return texto.append(']').toString();
+    }
+
+    // Ejecuciones lentas de una misma sentencia
+    private static final class Agregado {
+        final AtomicBoolean detalleEscrito = new AtomicBoolean(false);
+        private long total = 0;
+        private Ventana ventana = new Ventana();
+
+        // Lo que se acumuló desde el último resumen
+        static final class Ventana {
+            long veces = 0;
+            long nanosTotales = 0;
+            long nanosMaximo = 0;
+            Object[] parametrosDelPeor = null;
+        }
+
+        synchronized void sumar(long nanos, Object[] parametros, boolean enVentana) {
+            total++;
+            if (!enVentana) {
+                return;
+            }
+            ventana.veces++;
+            ventana.nanosTotales += nanos;
+            if (nanos >= ventana.nanosMaximo) {
+                ventana.nanosMaximo = nanos;
+                ventana.parametrosDelPeor = parametros;
+            }
+        }
+
+        synchronized Ventana tomarVentana() {
+            Ventana anterior = ventana;
+            ventana = new Ventana();
+            return anterior;
+        }
+
+        synchronized long getTotal() {
+            return total;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package modelo;
+
+// Esta clase representa un resultado de una búsqueda de texto completo:
+// la entidad encontrada (artículo o estrategia) junto con su relevancia.
+// Cuanto mayor es la relevancia, mejor coincide con los términos buscados.
+public class ResultadoBusqueda<T> {
+
+    private final T entidad;          // Artículo o estrategia encontrada
+    private final double relevancia;  // Puntuación calculada por MySQL (0 si se buscó con LIKE)
+
+    // Constructor con la entidad y su relevancia
+    public ResultadoBusqueda(T entidad, double relevancia) {
+        this.entidad = entidad;
+        this.relevancia = relevancia;
+    }
+
+    public T getEntidad() {
+        return entidad;
+    }
+
+    public double getRelevancia() {
+        return relevancia;
+    }
+
+    // Método toString - muestra la entidad y su relevancia
+    @Override
+    public String toString() {
+        return entidad + " [relevancia: " + String.format("%.3f", relevancia) + "]";
+    }
+}
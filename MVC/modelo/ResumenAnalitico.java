@@ -0,0 +1,141 @@
+package modelo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Esta clase representa el resumen que muestra el tablero de analítica
+// (AnaliticaControlador.obtenerResumen): conteos y promedios agrupados por distintos criterios,
+// calculados por la base de datos en una sola consulta.
+// Cada criterio (año, búsqueda, fuente, riesgo, tipo de estrategia) es una lista de grupos.
+public class ResumenAnalitico {
+
+    private final List<Grupo> articulosPorAnio = new ArrayList<>();
+    private final List<Grupo> articulosPorBusqueda = new ArrayList<>();
+    private final List<Grupo> articulosPorFuente = new ArrayList<>();
+    private final List<Grupo> estrategiasPorRiesgo = new ArrayList<>();
+    private final List<Grupo> retornoPorTipo = new ArrayList<>();
+    private final long calculadoEn = System.currentTimeMillis();
+
+    // Un grupo del resumen: su clave (el año, el id de la búsqueda, la fuente...), un texto para
+    // mostrar, cuántas filas tiene y, según el criterio, los documentos que encontró la búsqueda,
+    // un promedio y un máximo (si no, 0 o null)
+    public static class Grupo {
+        private final String clave;
+        private final String etiqueta;
+        private final long cantidad;
+        private final long documentos;
+        private final Double promedio;
+        private final Double maximo;
+
+        public Grupo(String clave, String etiqueta, long cantidad, long documentos, Double promedio, Double maximo) {
+            this.clave = clave;
+            this.etiqueta = etiqueta;
+            this.cantidad = cantidad;
+            this.documentos = documentos;
+            this.promedio = promedio;
+            this.maximo = maximo;
+        }
+
+        public String getClave() {
+            return clave;
+        }
+
+        // Texto para mostrar; si no tiene uno propio, la clave
+        public String getEtiqueta() {
+            return etiqueta != null ? etiqueta : clave;
+        }
+
+        public long getCantidad() {
+            return cantidad;
+        }
+
+        // Solo en los grupos por búsqueda: documentos que encontró en la base de datos bibliográfica
+        public long getDocumentos() {
+            return documentos;
+        }
+
+        public Double getPromedio() {
+            return promedio;
+        }
+
+        public Double getMaximo() {
+            return maximo;
+        }
+    }
+
+    // Artículos por año de publicación (más recientes primero)
+    public List<Grupo> getArticulosPorAnio() {
+        return Collections.unmodifiableList(articulosPorAnio);
+    }
+
+    // Artículos cargados de cada búsqueda: etiqueta = estudiante, documentos = los que encontró
+    // la búsqueda en la base de datos bibliográfica
+    public List<Grupo> getArticulosPorBusqueda() {
+        return Collections.unmodifiableList(articulosPorBusqueda);
+    }
+
+    // Artículos por fuente (revista o conferencia), las de más artículos primero
+    public List<Grupo> getArticulosPorFuente() {
+        return Collections.unmodifiableList(articulosPorFuente);
+    }
+
+    // Estrategias por nivel de riesgo
+    public List<Grupo> getEstrategiasPorRiesgo() {
+        return Collections.unmodifiableList(estrategiasPorRiesgo);
+    }
+
+    // Estrategias por tipo, con el retorno esperado promedio y máximo de cada tipo
+    public List<Grupo> getRetornoPorTipo() {
+        return Collections.unmodifiableList(retornoPorTipo);
+    }
+
+    public long getTotalArticulos() {
+        return sumar(articulosPorBusqueda);
+    }
+
+    public long getTotalEstrategias() {
+        return sumar(estrategiasPorRiesgo);
+    }
+
+    // Momento (System.currentTimeMillis) en que se armó el resumen
+    public long getCalculadoEn() {
+        return calculadoEn;
+    }
+
+    // Métodos para armar el resumen mientras se leen las filas de la consulta
+    public void agregarArticulosPorAnio(Grupo grupo) {
+        articulosPorAnio.add(grupo);
+    }
+
+    public void agregarArticulosPorBusqueda(Grupo grupo) {
+        articulosPorBusqueda.add(grupo);
+    }
+
+    public void agregarArticulosPorFuente(Grupo grupo) {
+        articulosPorFuente.add(grupo);
+    }
+
+    public void agregarEstrategiasPorRiesgo(Grupo grupo) {
+        estrategiasPorRiesgo.add(grupo);
+    }
+
+    public void agregarRetornoPorTipo(Grupo grupo) {
+        retornoPorTipo.add(grupo);
+    }
+
+    private static long sumar(List<Grupo> grupos) {
+        long total = 0;
+        for (Grupo grupo : grupos) {
+            total += grupo.cantidad;
+        }
+        return total;
+    }
+
+    // Método toString - muestra los totales
+    @Override
+    public String toString() {
+        return "Resumen: " + getTotalArticulos() + " artículos en " + articulosPorBusqueda.size()
+            + " búsquedas, " + getTotalEstrategias() + " estrategias";
+    }
+}
@@ -0,0 +1,239 @@
+package modelo;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+
+// Envoltorio de una sentencia JDBC que mide cada ejecución para el RegistroConsultasLentas.
+// Guarda los parámetros asignados (setInt, setString...) y, por cada ejecución, el tiempo y las
+// filas. En las consultas se suma el tiempo de executeQuery y el de cada next() del ResultSet:
+// es lo que se espera a la base de datos (incluye traer las filas en las consultas en streaming),
+// sin lo que tarda quien la llama en procesar cada fila entre un next() y el siguiente.
+final class SentenciaVigilada implements InvocationHandler {
+
+    private static final Object[] SIN_PARAMETROS = new Object[0];
+
+    private final Statement real;
+    private final String sqlPreparado;  // null en un Statement común (el SQL llega en cada execute)
+    private final RegistroConsultasLentas registro;
+    private Statement proxy;
+    private Object[] parametros = SIN_PARAMETROS;
+    private int cantidadParametros = 0;  // Mayor índice asignado (el arreglo puede ser más largo)
+    private Ejecucion pendiente = null;  // Consulta cuyo ResultSet todavía se está leyendo
+
+    private SentenciaVigilada(Statement real, String sqlPreparado, RegistroConsultasLentas registro) {
+        this.real = real;
+        this.sqlPreparado = sqlPreparado;
+        this.registro = registro;
+    }
+
+    // Devuelve la sentencia envuelta, con la misma interfaz que la original
+    static Statement envolver(Statement real, String sqlPreparado, RegistroConsultasLentas registro) {
+        Class<?> tipo = real instanceof CallableStatement ? CallableStatement.class
+            : real instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+        SentenciaVigilada vigilada = new SentenciaVigilada(real, sqlPreparado, registro);
+        vigilada.proxy = (Statement) Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[]{tipo}, vigilada);
+        return vigilada.proxy;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+        String nombre = metodo.getName();
+        switch (nombre) {
+            case "executeQuery": {
+                terminarPendiente();
+                Ejecucion ejecucion = new Ejecucion(sqlDe(args));
+                ResultSet resultado;
+                long inicio = System.nanoTime();
+                try {
+                    resultado = (ResultSet) invocar(metodo, args);
+                } catch (Throwable e) {
+                    ejecucion.sumarDesde(inicio);
+                    ejecucion.terminar(-1);
+                    throw e;
+                }
+                ejecucion.sumarDesde(inicio);
+                pendiente = ejecucion;
+                return envolverResultado(resultado, ejecucion);
+            }
+            case "executeUpdate":
+            case "executeLargeUpdate":
+            case "execute": {
+                terminarPendiente();
+                Ejecucion ejecucion = new Ejecucion(sqlDe(args));
+                long inicio = System.nanoTime();
+                try {
+                    Object resultado = invocar(metodo, args);
+                    ejecucion.sumarDesde(inicio);
+                    ejecucion.terminar(resultado instanceof Number ? ((Number) resultado).longValue()
+                        : Math.max(0, real.getUpdateCount()));
+                    return resultado;
+                } catch (Throwable e) {
+                    ejecucion.sumarDesde(inicio);
+                    ejecucion.terminar(-1);
+                    throw e;
+                }
+            }
+            case "executeBatch":
+            case "executeLargeBatch": {
+                terminarPendiente();
+                Ejecucion ejecucion = new Ejecucion(sqlPreparado);
+                long inicio = System.nanoTime();
+                try {
+                    Object resultado = invocar(metodo, args);
+                    ejecucion.sumarDesde(inicio);
+                    ejecucion.terminar(sumarFilas(resultado));
+                    return resultado;
+                } catch (Throwable e) {
+                    ejecucion.sumarDesde(inicio);
+                    ejecucion.terminar(-1);
+                    throw e;
+                }
+            }
+            case "clearParameters":
+                parametros = SIN_PARAMETROS;
+                cantidadParametros = 0;
+                return invocar(metodo, args);
+            case "close":
+                terminarPendiente();
+                return invocar(metodo, args);
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            default:
+                // setInt(1, ...), setString(2, ...), setNull(3, ...): se guarda el valor de cada parámetro
+                if (sqlPreparado != null && nombre.startsWith("set") && args != null && args.length >= 2
+                        && args[0] instanceof Integer && metodo.getParameterTypes()[0] == int.class) {
+                    guardarParametro((Integer) args[0], nombre.equals("setNull") ? null : args[1]);
+                }
+                return invocar(metodo, args);
+        }
+    }
+
+    private Object invocar(Method metodo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(real, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    // En un Statement común el SQL es el primer argumento de execute...; en uno preparado, el de prepareStatement
+    private String sqlDe(Object[] args) {
+        return args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : sqlPreparado;
+    }
+
+    private void guardarParametro(int indice, Object valor) {
+        if (indice < 1) {
+            return;
+        }
+        if (indice > parametros.length) {
+            parametros = Arrays.copyOf(parametros, Math.max(indice, parametros.length * 2));
+        }
+        cantidadParametros = Math.max(cantidadParametros, indice);
+        // Los flujos no se pueden leer dos veces (ni mostrar): se guarda solo una marca
+        parametros[indice - 1] = valor instanceof InputStream || valor instanceof Reader ? "<flujo>" : valor;
+    }
+
+    private void terminarPendiente() {
+        if (pendiente != null) {
+            pendiente.terminar(pendiente.filas);
+            pendiente = null;
+        }
+    }
+
+    private static long sumarFilas(Object resultado) {
+        long filas = 0;
+        if (resultado instanceof int[]) {
+            for (int cantidad : (int[]) resultado) {
+                filas += Math.max(0, cantidad);
+            }
+        } else if (resultado instanceof long[]) {
+            for (long cantidad : (long[]) resultado) {
+                filas += Math.max(0, cantidad);
+            }
+        }
+        return filas;
+    }
+
+    // Envuelve el ResultSet para contar las filas leídas y saber cuándo termina la lectura
+    private ResultSet envolverResultado(ResultSet resultado, Ejecucion ejecucion) {
+        if (resultado == null) {
+            ejecucion.terminar(0);
+            return null;
+        }
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+            (rsProxy, metodo, args) -> {
+                switch (metodo.getName()) {
+                    case "next": {
+                        long inicio = System.nanoTime();
+                        boolean hay = (Boolean) invocarEn(resultado, metodo, args);
+                        ejecucion.sumarDesde(inicio);
+                        if (hay) {
+                            ejecucion.filas++;
+                        } else {
+                            ejecucion.terminar(ejecucion.filas);
+                        }
+                        return hay;
+                    }
+                    case "close":
+                        ejecucion.terminar(ejecucion.filas);
+                        return invocarEn(resultado, metodo, args);
+                    case "getStatement":
+                        return proxy;
+                    case "equals":
+                        return rsProxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(rsProxy);
+                    default:
+                        return invocarEn(resultado, metodo, args);
+                }
+            });
+    }
+
+    private static Object invocarEn(Object destino, Method metodo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(destino, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Una ejecución en curso: SQL, parámetros de ese momento, tiempo en el driver y filas leídas
+    private final class Ejecucion {
+        final String sql;
+        final Object[] parametrosUsados;
+        long nanos = 0;
+        long filas = 0;
+        boolean terminada = false;
+
+        Ejecucion(String sql) {
+            this.sql = sql;
+            this.parametrosUsados = cantidadParametros == 0 ? SIN_PARAMETROS
+                : Arrays.copyOf(parametros, cantidadParametros);
+        }
+
+        // Suma el tiempo de una llamada al driver que empezó en `inicio` (System.nanoTime)
+        void sumarDesde(long inicio) {
+            nanos += System.nanoTime() - inicio;
+        }
+
+        // filasFinales = -1 indica que la ejecución falló
+        void terminar(long filasFinales) {
+            if (terminada) {
+                return;
+            }
+            terminada = true;
+            registro.registrar(sql, parametrosUsados, nanos, filasFinales);
+        }
+    }
+}
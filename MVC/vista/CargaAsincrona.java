@@ -0,0 +1,89 @@
+package vista;
+
+import java.awt.Cursor;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import javax.swing.JComponent;
+import javax.swing.JOptionPane;
+import javax.swing.SwingUtilities;
+import modelo.Metricas;
+
+// Utilidad para consumir las variantes asíncronas de los controladores desde los paneles
+// Funciona como un SwingWorker: la consulta corre en segundo plano y el resultado se entrega
+// en el hilo de eventos de Swing (EDT). Mientras haya consultas pendientes, el componente
+// muestra el cursor de espera.
+final class CargaAsincrona {
+
+    private static final String PENDIENTES = "cargaAsincrona.pendientes";
+
+    // Constructor privado - solo tiene métodos estáticos
+    private CargaAsincrona() {}
+
+    // Debe llamarse desde el EDT. `alTerminar` también se ejecuta en el EDT.
+    static <T> void ejecutar(JComponent componente, CompletableFuture<T> tarea, Consumer<T> alTerminar) {
+        iniciarCarga(componente);
+        tarea.whenComplete((resultado, error) -> enEDT(componente.getClass().getSimpleName(), () -> {
+            terminarCarga(componente);
+            if (error == null) {
+                alTerminar.accept(resultado);
+            } else {
+                mostrarError(componente, error);
+            }
+        }));
+    }
+
+    // Igual que SwingUtilities.invokeLater, pero midiendo cuánto espera la tarea en la cola de
+    // eventos ("EDT.espera") y cuánto ocupa el EDT ("EDT." + nombre). Un valor alto en cualquiera
+    // de las dos es lo que el usuario percibe como una interfaz trabada.
+    static void enEDT(String nombre, Runnable tarea) {
+        long encolada = System.nanoTime();
+        SwingUtilities.invokeLater(() -> {
+            Metricas.operacion("EDT.espera").registrar(encolada, 0, false);
+            Metricas.Medicion medicion = Metricas.iniciar("EDT." + nombre);
+            try {
+                tarea.run();
+            } catch (RuntimeException e) {
+                medicion.error();
+                throw e;
+            } finally {
+                medicion.terminar();
+            }
+        });
+    }
+
+    // Marca el componente como "cargando" (cursor de espera)
+    private static void iniciarCarga(JComponent componente) {
+        int pendientes = contarPendientes(componente) + 1;
+        componente.putClientProperty(PENDIENTES, pendientes);
+        componente.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+    }
+
+    // Quita el estado "cargando" cuando ya no queda ninguna consulta pendiente
+    private static void terminarCarga(JComponent componente) {
+        int pendientes = Math.max(0, contarPendientes(componente) - 1);
+        componente.putClientProperty(PENDIENTES, pendientes);
+        if (pendientes == 0) {
+            componente.setCursor(Cursor.getDefaultCursor());
+        }
+    }
+
+    private static int contarPendientes(JComponent componente) {
+        Object valor = componente.getClientProperty(PENDIENTES);
+        return valor instanceof Integer ? (Integer) valor : 0;
+    }
+
+    private static void mostrarError(JComponent componente, Throwable error) {
+        Throwable causa = error instanceof CompletionException && error.getCause() != null
+            ? error.getCause() : error;
+        if (causa instanceof CancellationException) {
+            return;  // La consulta se canceló a propósito: no es un error
+        }
+        System.err.println("Error en consulta en segundo plano: " + causa.getMessage());
+        JOptionPane.showMessageDialog(componente,
+            "No se pudo completar la consulta: " + causa.getMessage(),
+            "Error",
+            JOptionPane.ERROR_MESSAGE);
+    }
+}
@@ -0,0 +1,135 @@
+package vista;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import javax.swing.JComponent;
+import javax.swing.Timer;
+
+// Carga el detalle de la fila seleccionada en una tabla sin consultar por cada fila que pasa.
+// Al mantener apretada una flecha la selección cambia decenas de veces por segundo; con este
+// cargador:
+// - Si el detalle ya está en memoria se muestra al instante, sin consulta.
+// - Si no, se espera a que la selección se quede quieta (ESPERA_MS) y recién ahí se consulta,
+//   en UNA sola consulta, la fila elegida junto con sus vecinas de arriba y de abajo: al seguir
+//   moviéndose, las siguientes filas ya están cargadas.
+// - Un id que ya se está consultando no se vuelve a pedir.
+// El texto del detalle se arma en segundo plano (no en el EDT); se guardan los últimos
+// TEXTOS_EN_MEMORIA textos.
+// Todos los métodos se llaman desde el EDT.
+final class CargadorDetalles<T> {
+
+    private static final int ESPERA_MS = 120;
+    private static final int TEXTOS_EN_MEMORIA = 500;
+
+    private final JComponent componente;
+    private final Function<int[], CompletableFuture<List<T>>> consultarLote;
+    private final ToIntFunction<T> id;
+    private final Function<T, String> formatear;
+    private final BiConsumer<Integer, String> mostrar;  // (id, texto); texto null si no se encontró
+
+    // Textos ya armados, el menos usado recientemente primero
+    private final Map<Integer, String> textos = new LinkedHashMap<Integer, String>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, String> eldest) {
+            return size() > TEXTOS_EN_MEMORIA;
+        }
+    };
+    private final Set<Integer> enConsulta = new HashSet<>();
+    private final Timer temporizador;
+    private int seleccionado = -1;
+    private int[] vecinos = new int[0];
+    private int generacion = 0;  // Cambia al limpiar; descarta respuestas de antes
+
+    // `consultarLote` trae varios elementos por sus ids en una consulta; `formatear` arma el texto
+    // del detalle (corre en segundo plano); `mostrar` lo muestra (en el EDT)
+    CargadorDetalles(JComponent componente, Function<int[], CompletableFuture<List<T>>> consultarLote,
+                     ToIntFunction<T> id, Function<T, String> formatear, BiConsumer<Integer, String> mostrar) {
+        this.componente = componente;
+        this.consultarLote = consultarLote;
+        this.id = id;
+        this.formatear = formatear;
+        this.mostrar = mostrar;
+        this.temporizador = new Timer(ESPERA_MS, e -> consultarFaltantes());
+        this.temporizador.setRepeats(false);
+    }
+
+    // La selección pasó a `idSeleccionado`; `idsVecinos` son los de las filas cercanas (para precargar)
+    // Retorna true si el detalle se mostró al instante (ya estaba en memoria)
+    boolean seleccionar(int idSeleccionado, int[] idsVecinos) {
+        seleccionado = idSeleccionado;
+        vecinos = idsVecinos;
+        temporizador.restart();  // Cuando el usuario se detenga se precargan las vecinas que falten
+        String texto = textos.get(idSeleccionado);
+        if (texto != null) {
+            mostrar.accept(idSeleccionado, texto);
+            return true;
+        }
+        return false;
+    }
+
+    // Olvida los textos guardados (por ejemplo, si los datos cambiaron)
+    void limpiar() {
+        generacion++;
+        textos.clear();
+        enConsulta.clear();
+    }
+
+    // Consulta en un solo lote la fila elegida y las vecinas que todavía no están en memoria
+    private void consultarFaltantes() {
+        List<Integer> faltantes = new ArrayList<>();
+        agregarSiFalta(faltantes, seleccionado);
+        for (int vecino : vecinos) {
+            agregarSiFalta(faltantes, vecino);
+        }
+        if (faltantes.isEmpty()) {
+            return;
+        }
+        int[] ids = new int[faltantes.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = faltantes.get(i);
+        }
+        enConsulta.addAll(faltantes);
+        int consulta = generacion;
+
+        // Los textos se arman en el mismo hilo de la consulta
+        CompletableFuture<Map<Integer, String>> armados = consultarLote.apply(ids).thenApply(elementos -> {
+            Map<Integer, String> porId = new HashMap<>();
+            for (T elemento : elementos) {
+                porId.put(id.applyAsInt(elemento), formatear.apply(elemento));
+            }
+            return porId;
+        }).exceptionally(error -> {
+            // Sin ventana de error: el usuario solo estaba recorriendo la tabla
+            System.err.println("Error al cargar detalles: " + error.getMessage());
+            return null;
+        });
+        CargaAsincrona.ejecutar(componente, armados, nuevos -> {
+            if (consulta != generacion) {
+                return;  // Se limpió mientras tanto: estos textos pueden estar viejos
+            }
+            enConsulta.removeAll(faltantes);  // Si falló, se vuelven a pedir en la próxima pausa
+            if (nuevos == null) {
+                return;
+            }
+            textos.putAll(nuevos);
+            if (faltantes.contains(seleccionado)) {
+                mostrar.accept(seleccionado, nuevos.get(seleccionado));
+            }
+        });
+    }
+
+    private void agregarSiFalta(List<Integer> faltantes, int idFila) {
+        if (idFila >= 0 && !textos.containsKey(idFila) && !enConsulta.contains(idFila) && !faltantes.contains(idFila)) {
+            faltantes.add(idFila);
+        }
+    }
+}
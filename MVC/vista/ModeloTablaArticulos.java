@@ -0,0 +1,228 @@
+package vista;
+
+import controlador.ArticuloControlador;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import javax.swing.table.AbstractTableModel;
+import modelo.Articulo;
+
+// Modelo de tabla para `PanelArticulos` que no carga todos los artículos de una vez.
+// En modo paginado solo conoce el total de filas y pide al controlador las páginas
+// a medida que la tabla las necesita (cuando el usuario se desplaza). Las páginas
+// se piden por clave (año, id) y se guardan en una caché acotada (LRU).
+// En modo lista muestra una lista ya cargada (por ejemplo, resultados de búsqueda).
+class ModeloTablaArticulos extends AbstractTableModel {
+
+    private static final String[] COLUMNAS = {"ID", "Título", "Autores", "Año"};
+    private static final int TAMANO_PAGINA = 100;       // Artículos por página
+    private static final int PAGINAS_EN_MEMORIA = 50;   // Páginas que se conservan (5.000 filas)
+
+    private final ArticuloControlador controlador;
+
+    private int filas = 0;
+    private List<Articulo> lista = null;  // Solo en modo lista
+
+    // Páginas cargadas, la menos usada recientemente primero
+    private final Map<Integer, List<Articulo>> paginas =
+        new LinkedHashMap<Integer, List<Articulo>>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<Articulo>> eldest) {
+                return size() > PAGINAS_EN_MEMORIA;
+            }
+        };
+
+    // Clave (año, id) del último artículo anterior a cada página: desde ahí empieza la página
+    private final Map<Integer, int[]> claves = new HashMap<>();
+    private final Set<Integer> pendientes = new HashSet<>();
+    private int generacion = 0;  // Cambia al recargar; descarta páginas pedidas antes
+
+    ModeloTablaArticulos(ArticuloControlador controlador) {
+        this.controlador = controlador;
+    }
+
+    // Modo paginado: la tabla tendrá `total` filas que se cargan a demanda
+    void mostrarPaginado(int total) {
+        reiniciar();
+        filas = total;
+        fireTableDataChanged();
+    }
+
+    // Modo lista: muestra los artículos recibidos (ya cargados en memoria)
+    void mostrarLista(List<Articulo> articulos) {
+        reiniciar();
+        lista = articulos;
+        filas = articulos.size();
+        fireTableDataChanged();
+    }
+
+    // Agrega artículos al final de la lista mostrada (resultados que llegan por bloques)
+    // Solo en modo lista, después de mostrarLista con una lista que se pueda modificar
+    void agregarALista(List<Articulo> articulos) {
+        if (lista == null || articulos.isEmpty()) {
+            return;
+        }
+        int primera = filas;
+        lista.addAll(articulos);
+        filas = lista.size();
+        fireTableRowsInserted(primera, filas - 1);
+    }
+
+    // Id del artículo de la fila, o null si esa página todavía no se cargó
+    Integer getIdEnFila(int fila) {
+        Articulo articulo = articuloEnFila(fila);
+        return articulo == null ? null : articulo.getId();
+    }
+
+    @Override
+    public int getRowCount() {
+        return filas;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNAS.length;
+    }
+
+    @Override
+    public String getColumnName(int columna) {
+        return COLUMNAS[columna];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int columna) {
+        return columna == 0 || columna == 3 ? Integer.class : String.class;
+    }
+
+    @Override
+    public boolean isCellEditable(int fila, int columna) {
+        return false;
+    }
+
+    @Override
+    public Object getValueAt(int fila, int columna) {
+        Articulo a = articuloEnFila(fila);
+        if (a == null) {
+            return columna == 1 ? "Cargando..." : null;
+        }
+        switch (columna) {
+            case 0: return a.getId();
+            case 1: return a.getTitulo();
+            case 2: return a.getAutores();
+            default: return a.getAnioPublicacion();
+        }
+    }
+
+    private void reiniciar() {
+        generacion++;
+        lista = null;
+        paginas.clear();
+        claves.clear();
+        pendientes.clear();
+    }
+
+    // Devuelve el artículo de la fila; si su página no está cargada la pide y devuelve null
+    private Articulo articuloEnFila(int fila) {
+        if (fila < 0 || fila >= filas) {
+            return null;
+        }
+        if (lista != null) {
+            return lista.get(fila);
+        }
+
+        int pagina = fila / TAMANO_PAGINA;
+        List<Articulo> articulos = paginas.get(pagina);
+        if (articulos == null) {
+            solicitarPagina(pagina);
+            return null;
+        }
+        int posicion = fila % TAMANO_PAGINA;
+        return posicion < articulos.size() ? articulos.get(posicion) : null;
+    }
+
+    // Pide una página en segundo plano. Si no se conoce su clave de inicio, primero se
+    // calcula desde la página conocida más cercana (recorriendo solo el índice, sin traer filas)
+    private void solicitarPagina(int pagina) {
+        if (!pendientes.add(pagina)) {
+            return;  // Ya se está cargando
+        }
+        int generacionPedida = generacion;
+
+        CompletableFuture<int[]> inicio;
+        if (pagina == 0) {
+            inicio = CompletableFuture.completedFuture(null);
+        } else if (claves.containsKey(pagina)) {
+            inicio = CompletableFuture.completedFuture(claves.get(pagina));
+        } else {
+            int conocida = pagina - 1;
+            while (conocida > 0 && !claves.containsKey(conocida)) {
+                conocida--;
+            }
+            int[] base = conocida == 0 ? null : claves.get(conocida);
+            inicio = controlador.obtenerClaveArticuloTrasAsync(
+                base == null ? null : base[0], base == null ? null : base[1],
+                (pagina - conocida) * TAMANO_PAGINA - 1);
+        }
+
+        // Un null del controlador es un error: la página no se guarda (ni vacía), así que el
+        // próximo getValueAt de esas filas la vuelve a pedir
+        inicio.thenCompose(clave -> {
+            if (pagina > 0 && clave == null) {
+                return CompletableFuture.completedFuture((PaginaCargada) null);
+            }
+            if (pagina > 0 && clave.length == 0) {
+                // La tabla se achicó: la página ya no existe
+                return CompletableFuture.completedFuture(new PaginaCargada(null, Collections.emptyList()));
+            }
+            return controlador.obtenerPaginaArticulosAsync(
+                    clave == null ? null : clave[0], clave == null ? null : clave[1], TAMANO_PAGINA)
+                .thenApply(articulos -> articulos == null ? null : new PaginaCargada(clave, articulos));
+        }).whenComplete((cargada, error) -> CargaAsincrona.enEDT("ModeloTablaArticulos", () -> {
+            if (generacionPedida != generacion) {
+                return;  // Se recargó la tabla mientras tanto
+            }
+            pendientes.remove(pagina);
+            if (error != null || cargada == null) {
+                System.err.println("Error al cargar página de artículos"
+                    + (error != null ? ": " + error.getMessage() : ""));
+                return;
+            }
+            guardarPagina(pagina, cargada);
+        }));
+    }
+
+    private void guardarPagina(int pagina, PaginaCargada cargada) {
+        if (cargada.clave != null) {
+            claves.put(pagina, cargada.clave);
+        }
+        paginas.put(pagina, cargada.articulos);
+
+        // La clave del último artículo es el inicio de la página siguiente
+        if (cargada.articulos.size() == TAMANO_PAGINA && !claves.containsKey(pagina + 1)) {
+            Articulo ultimo = cargada.articulos.get(cargada.articulos.size() - 1);
+            claves.put(pagina + 1, new int[]{ultimo.getAnioPublicacion(), ultimo.getId()});
+        }
+
+        int primera = pagina * TAMANO_PAGINA;
+        int ultima = Math.min(filas, primera + TAMANO_PAGINA) - 1;
+        if (primera <= ultima) {
+            fireTableRowsUpdated(primera, ultima);
+        }
+    }
+
+    // Resultado de cargar una página: su clave de inicio y sus artículos
+    private static final class PaginaCargada {
+        final int[] clave;
+        final List<Articulo> articulos;
+
+        PaginaCargada(int[] clave, List<Articulo> articulos) {
+            this.clave = clave;
+            this.articulos = articulos;
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package vista;
+
+import java.awt.Component;
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import javax.swing.JLabel;
+import javax.swing.JTable;
+import javax.swing.SwingConstants;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.DefaultTableCellRenderer;
+
+// Modelo de tabla reutilizable que guarda los datos por columnas, en arreglos primitivos.
+// DefaultTableModel guarda cada fila como un Vector de objetos: cada id y cada número es un
+// Integer/Double aparte y cada fila un Vector más. Aquí una columna de enteros es un int[] y una de
+// decimales un double[]; las columnas de texto con pocos valores distintos (tipo, riesgo, base de
+// datos...) guardan cada texto una sola vez y por fila solo un código (int).
+// - reemplazar(...) carga todas las filas y avisa a la tabla con UN solo evento.
+// - insertar / actualizar / eliminar cambian una fila y avisan solo esa fila.
+// - Los números se muestran con renderizadores (instalarRenderizadores): el modelo no guarda texto
+//   ya formateado como "12,50%".
+// Las filas se arman a partir de objetos T (por ejemplo EstrategiaInversion) con una función por
+// columna; los objetos no se guardan, solo sus valores.
+// Uso:
+//   modelo = new ModeloTablaColumnar<>(
+//       ModeloTablaColumnar.entera("ID", Busqueda::getId),
+//       ModeloTablaColumnar.texto("Base de Datos", Busqueda::getBaseDatos, true));
+class ModeloTablaColumnar<T> extends AbstractTableModel {
+
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    private final List<Columna<T>> columnas = new ArrayList<>();
+    private final int[] visibles;  // Índice de columna visible -> índice en `columnas`
+    private int filas = 0;
+    private int capacidad = 0;
+
+    @SafeVarargs
+    ModeloTablaColumnar(Columna<T>... columnas) {
+        int cantidad = 0;
+        int[] indices = new int[columnas.length];
+        for (int i = 0; i < columnas.length; i++) {
+            this.columnas.add(columnas[i]);
+            if (columnas[i].visible) {
+                indices[cantidad++] = i;
+            }
+        }
+        this.visibles = Arrays.copyOf(indices, cantidad);
+    }
+
+    // DEFINICIÓN DE COLUMNAS
+
+    static <T> Columna<T> entera(String nombre, ToIntFunction<T> valor) {
+        return new ColumnaEntera<>(nombre, valor);
+    }
+
+    // `patron` es un patrón de DecimalFormat, por ejemplo "0.00'%'" para mostrar 12,5 como "12.50%"
+    static <T> Columna<T> decimal(String nombre, ToDoubleFunction<T> valor, String patron) {
+        return new ColumnaDecimal<>(nombre, valor, patron);
+    }
+
+    // Con `deduplicar` cada texto distinto se guarda una sola vez (para columnas con valores repetidos)
+    static <T> Columna<T> texto(String nombre, Function<T, String> valor, boolean deduplicar) {
+        return deduplicar ? new ColumnaDiccionario<>(nombre, valor) : new ColumnaTexto<>(nombre, valor);
+    }
+
+    // Columna de enteros largos que no se muestra (datos auxiliares, por ejemplo una fecha en milisegundos)
+    static <T> Columna<T> oculta(String nombre, ToLongFunction<T> valor) {
+        return new ColumnaLarga<>(nombre, valor);
+    }
+
+    // CAMBIOS
+
+    // Reemplaza todas las filas con un solo evento para la tabla
+    void reemplazar(Collection<? extends T> datos) {
+        filas = 0;
+        capacidad = Math.max(datos.size(), CAPACIDAD_INICIAL);
+        for (Columna<T> columna : columnas) {
+            columna.reiniciar(capacidad);
+        }
+        for (T dato : datos) {
+            escribir(filas++, dato);
+        }
+        fireTableDataChanged();
+    }
+
+    // Cambia los valores de una fila
+    void actualizar(int fila, T dato) {
+        escribir(fila, dato);
+        fireTableRowsUpdated(fila, fila);
+    }
+
+    // Inserta una fila en la posición indicada (las siguientes bajan una posición)
+    void insertar(int fila, T dato) {
+        if (filas == capacidad) {
+            capacidad = Math.max(CAPACIDAD_INICIAL, capacidad + (capacidad >> 1));
+            for (Columna<T> columna : columnas) {
+                columna.crecer(capacidad);
+            }
+        }
+        for (Columna<T> columna : columnas) {
+            columna.mover(fila, fila + 1, filas - fila);
+        }
+        filas++;
+        escribir(fila, dato);
+        fireTableRowsInserted(fila, fila);
+    }
+
+    // Elimina una fila (las siguientes suben una posición)
+    void eliminar(int fila) {
+        for (Columna<T> columna : columnas) {
+            columna.mover(fila + 1, fila, filas - fila - 1);
+        }
+        filas--;
+        fireTableRowsDeleted(fila, fila);
+    }
+
+    private void escribir(int fila, T dato) {
+        for (Columna<T> columna : columnas) {
+            columna.escribir(fila, dato);
+        }
+    }
+
+    // LECTURA SIN CONVERTIR A OBJETOS
+    // `columna` es la posición en la definición (incluye las columnas ocultas)
+
+    int getEntero(int fila, int columna) {
+        return ((ColumnaEntera<T>) columnas.get(columna)).valores[fila];
+    }
+
+    long getLargo(int fila, int columna) {
+        return ((ColumnaLarga<T>) columnas.get(columna)).valores[fila];
+    }
+
+    // Asigna a la tabla un renderizador por columna (números alineados a la derecha y con su formato)
+    void instalarRenderizadores(JTable tabla) {
+        for (int i = 0; i < visibles.length; i++) {
+            DefaultTableCellRenderer renderizador = columnas.get(visibles[i]).renderizador();
+            if (renderizador != null) {
+                tabla.getColumnModel().getColumn(i).setCellRenderer(renderizador);
+            }
+        }
+    }
+
+    @Override
+    public int getRowCount() {
+        return filas;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return visibles.length;
+    }
+
+    @Override
+    public String getColumnName(int columna) {
+        return columnas.get(visibles[columna]).nombre;
+    }
+
+    @Override
+    public Class<?> getColumnClass(int columna) {
+        return columnas.get(visibles[columna]).clase();
+    }
+
+    @Override
+    public boolean isCellEditable(int fila, int columna) {
+        return false;
+    }
+
+    // Solo se convierte a objeto el valor de las celdas que la tabla está pintando
+    @Override
+    public Object getValueAt(int fila, int columna) {
+        return columnas.get(visibles[columna]).valor(fila);
+    }
+
+    // TIPOS DE COLUMNA
+
+    abstract static class Columna<T> {
+        final String nombre;
+        final boolean visible;
+
+        Columna(String nombre, boolean visible) {
+            this.nombre = nombre;
+            this.visible = visible;
+        }
+
+        abstract void reiniciar(int capacidad);        // Arreglos nuevos y vacíos
+        abstract void crecer(int capacidad);           // Copia a arreglos más grandes
+        abstract void mover(int desde, int hacia, int cantidad);
+        abstract void escribir(int fila, T dato);
+        abstract Object valor(int fila);
+        abstract Class<?> clase();
+
+        DefaultTableCellRenderer renderizador() {
+            return null;  // El de la tabla por defecto
+        }
+    }
+
+    private static final class ColumnaEntera<T> extends Columna<T> {
+        private final ToIntFunction<T> extractor;
+        int[] valores = new int[0];
+
+        ColumnaEntera(String nombre, ToIntFunction<T> extractor) {
+            super(nombre, true);
+            this.extractor = extractor;
+        }
+
+        void reiniciar(int capacidad) { valores = new int[capacidad]; }
+        void crecer(int capacidad) { valores = Arrays.copyOf(valores, capacidad); }
+        void mover(int desde, int hacia, int cantidad) { System.arraycopy(valores, desde, valores, hacia, cantidad); }
+        void escribir(int fila, T dato) { valores[fila] = extractor.applyAsInt(dato); }
+        Object valor(int fila) { return valores[fila]; }
+        Class<?> clase() { return Integer.class; }
+    }
+
+    private static final class ColumnaLarga<T> extends Columna<T> {
+        private final ToLongFunction<T> extractor;
+        long[] valores = new long[0];
+
+        ColumnaLarga(String nombre, ToLongFunction<T> extractor) {
+            super(nombre, false);
+            this.extractor = extractor;
+        }
+
+        void reiniciar(int capacidad) { valores = new long[capacidad]; }
+        void crecer(int capacidad) { valores = Arrays.copyOf(valores, capacidad); }
+        void mover(int desde, int hacia, int cantidad) { System.arraycopy(valores, desde, valores, hacia, cantidad); }
+        void escribir(int fila, T dato) { valores[fila] = extractor.applyAsLong(dato); }
+        Object valor(int fila) { return valores[fila]; }
+        Class<?> clase() { return Long.class; }
+    }
+
+    private static final class ColumnaDecimal<T> extends Columna<T> {
+        private final ToDoubleFunction<T> extractor;
+        private final String patron;
+        double[] valores = new double[0];
+
+        ColumnaDecimal(String nombre, ToDoubleFunction<T> extractor, String patron) {
+            super(nombre, true);
+            this.extractor = extractor;
+            this.patron = patron;
+        }
+
+        void reiniciar(int capacidad) { valores = new double[capacidad]; }
+        void crecer(int capacidad) { valores = Arrays.copyOf(valores, capacidad); }
+        void mover(int desde, int hacia, int cantidad) { System.arraycopy(valores, desde, valores, hacia, cantidad); }
+        void escribir(int fila, T dato) { valores[fila] = extractor.applyAsDouble(dato); }
+        Object valor(int fila) { return valores[fila]; }
+        Class<?> clase() { return Double.class; }
+
+        @Override
+        DefaultTableCellRenderer renderizador() {
+            DecimalFormat formato = new DecimalFormat(patron);
+            return new DefaultTableCellRenderer() {
+                @Override
+                public Component getTableCellRendererComponent(JTable tabla, Object valor, boolean seleccionada,
+                                                               boolean foco, int fila, int columna) {
+                    JLabel etiqueta = (JLabel) super.getTableCellRendererComponent(
+                        tabla, valor, seleccionada, foco, fila, columna);
+                    etiqueta.setHorizontalAlignment(SwingConstants.RIGHT);
+                    return etiqueta;
+                }
+
+                @Override
+                protected void setValue(Object valor) {
+                    setText(valor == null ? "" : formato.format(valor));
+                }
+            };
+        }
+    }
+
+    private static final class ColumnaTexto<T> extends Columna<T> {
+        private final Function<T, String> extractor;
+        String[] valores = new String[0];
+
+        ColumnaTexto(String nombre, Function<T, String> extractor) {
+            super(nombre, true);
+            this.extractor = extractor;
+        }
+
+        void reiniciar(int capacidad) { valores = new String[capacidad]; }
+        void crecer(int capacidad) { valores = Arrays.copyOf(valores, capacidad); }
+        void mover(int desde, int hacia, int cantidad) { System.arraycopy(valores, desde, valores, hacia, cantidad); }
+        void escribir(int fila, T dato) { valores[fila] = extractor.apply(dato); }
+        Object valor(int fila) { return valores[fila]; }
+        Class<?> clase() { return String.class; }
+    }
+
+    // Texto con diccionario: cada valor distinto se guarda una vez y cada fila tiene su código
+    private static final class ColumnaDiccionario<T> extends Columna<T> {
+        private final Function<T, String> extractor;
+        private final List<String> diccionario = new ArrayList<>();
+        private final Map<String, Integer> codigos = new HashMap<>();
+        int[] valores = new int[0];  // -1 = null
+
+        ColumnaDiccionario(String nombre, Function<T, String> extractor) {
+            super(nombre, true);
+            this.extractor = extractor;
+        }
+
+        void reiniciar(int capacidad) {
+            valores = new int[capacidad];
+            diccionario.clear();
+            codigos.clear();
+        }
+
+        void crecer(int capacidad) { valores = Arrays.copyOf(valores, capacidad); }
+        void mover(int desde, int hacia, int cantidad) { System.arraycopy(valores, desde, valores, hacia, cantidad); }
+
+        void escribir(int fila, T dato) {
+            String texto = extractor.apply(dato);
+            if (texto == null) {
+                valores[fila] = -1;
+                return;
+            }
+            Integer codigo = codigos.get(texto);
+            if (codigo == null) {
+                codigo = diccionario.size();
+                diccionario.add(texto);
+                codigos.put(texto, codigo);
+            }
+            valores[fila] = codigo;
+        }
+
+        Object valor(int fila) {
+            int codigo = valores[fila];
+            return codigo < 0 ? null : diccionario.get(codigo);
+        }
+
+        Class<?> clase() { return String.class; }
+    }
+}
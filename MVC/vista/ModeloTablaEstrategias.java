@@ -0,0 +1,145 @@
+package vista;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import modelo.CambiosEstrategias;
+import modelo.EstrategiaInversion;
+import modelo.EventoCambio;
+
+// Modelo de tabla para `PanelEstrategias` que se actualiza por partes.
+// Con una carga completa se reemplazan todas las filas; con un refresco incremental
+// (CambiosEstrategias) o con los eventos del bus (EventoCambio) solo se tocan las filas
+// afectadas y se avisa a la tabla con eventos de una sola fila (fireTableRowsUpdated /
+// Inserted / Deleted): la tabla repinta solo esas filas y conserva la selección y el
+// desplazamiento del usuario.
+// Los datos se guardan por columnas (ver ModeloTablaColumnar); la fecha de creación va en una
+// columna oculta para ubicar las estrategias nuevas.
+// Las filas se mantienen en el mismo orden que la consulta: fecha de creación, más recientes primero.
+class ModeloTablaEstrategias extends ModeloTablaColumnar<EstrategiaInversion> {
+
+    private static final int COLUMNA_ID = 0;
+    private static final int COLUMNA_CREADA = 5;
+    // Una estrategia recién creada en la aplicación todavía no tiene fecha: cuenta como la más nueva
+    private static final long SIN_FECHA = Long.MAX_VALUE;
+
+    private final Map<Integer, Integer> posiciones = new HashMap<>();  // id -> fila
+    private boolean posicionesAlDia = true;  // Se rehacen (una vez) después de insertar o eliminar filas
+
+    ModeloTablaEstrategias() {
+        super(entera("ID", EstrategiaInversion::getId),
+              texto("Nombre", EstrategiaInversion::getNombre, false),
+              texto("Tipo", EstrategiaInversion::getTipoEstrategia, true),
+              texto("Riesgo", EstrategiaInversion::getNivelRiesgo, true),
+              decimal("Retorno (%)", EstrategiaInversion::getRetornoEsperado, "0.00'%'"),
+              oculta("Creada", ModeloTablaEstrategias::creada));
+    }
+
+    // Reemplaza todas las filas (carga completa)
+    void mostrar(List<EstrategiaInversion> estrategias) {
+        reemplazar(estrategias);
+        posicionesAlDia = false;
+    }
+
+    // Aplica un refresco: actualiza, elimina e inserta solo las filas que cambiaron
+    void aplicar(CambiosEstrategias cambios) {
+        if (cambios.isCompleto()) {
+            mostrar(cambios.getModificadas());
+        } else {
+            aplicar(cambios.getModificadas(), cambios.getEliminadas());
+        }
+    }
+
+    // Aplica los eventos del bus que traen la estrategia completa
+    // Retorna true si alguno no la trae (por ejemplo, un cambio masivo de riesgo): hay que refrescar
+    boolean aplicarEventos(List<EventoCambio<EstrategiaInversion>> eventos) {
+        List<EstrategiaInversion> modificadas = new ArrayList<>();
+        List<Integer> eliminadas = new ArrayList<>();
+        boolean faltanDatos = false;
+        for (EventoCambio<EstrategiaInversion> evento : eventos) {
+            if (evento.getTipo() == EventoCambio.Tipo.ELIMINADO) {
+                eliminadas.add(evento.getId());
+            } else if (evento.getEntidad() != null) {
+                modificadas.add(evento.getEntidad());
+            } else {
+                faltanDatos = true;
+            }
+        }
+        aplicar(modificadas, eliminadas);
+        return faltanDatos;
+    }
+
+    private void aplicar(List<EstrategiaInversion> modificadas, List<Integer> eliminadas) {
+        // 1. Modificadas que ya están en la tabla: se reemplazan en su lugar
+        List<EstrategiaInversion> nuevas = new ArrayList<>();
+        for (EstrategiaInversion estrategia : modificadas) {
+            Integer fila = posicion(estrategia.getId());
+            if (fila == null) {
+                nuevas.add(estrategia);
+            } else {
+                // La estrategia editada en el formulario no trae la fecha de creación: se conserva la anterior
+                long creada = getLargo(fila, COLUMNA_CREADA);
+                if (estrategia.getFechaCreacion() == null && creada != SIN_FECHA) {
+                    estrategia.setFechaCreacion(new Timestamp(creada));
+                }
+                actualizar(fila, estrategia);
+            }
+        }
+
+        // 2. Eliminadas: de la última fila a la primera, así los índices pendientes no se corren
+        int[] filasEliminar = new int[eliminadas.size()];
+        int cantidad = 0;
+        for (int id : eliminadas) {
+            Integer fila = posicion(id);
+            if (fila != null) {
+                filasEliminar[cantidad++] = fila;
+            }
+        }
+        Arrays.sort(filasEliminar, 0, cantidad);
+        for (int i = cantidad - 1; i >= 0; i--) {
+            eliminar(filasEliminar[i]);
+        }
+        if (cantidad > 0) {
+            posicionesAlDia = false;
+        }
+
+        // 3. Nuevas: en su lugar según la fecha de creación (casi siempre, arriba de todo)
+        // Cada una va debajo de las creadas al mismo tiempo o después; sin fecha, arriba de todo
+        for (EstrategiaInversion estrategia : nuevas) {
+            long creada = creada(estrategia);
+            int fila = 0;
+            if (creada != SIN_FECHA) {
+                while (fila < getRowCount() && getLargo(fila, COLUMNA_CREADA) >= creada) {
+                    fila++;
+                }
+            }
+            insertar(fila, estrategia);
+            posicionesAlDia = false;
+        }
+    }
+
+    // Id de la estrategia mostrada en la fila
+    int getId(int fila) {
+        return getEntero(fila, COLUMNA_ID);
+    }
+
+    // Fila de la estrategia con ese id, o null si no está en la tabla
+    private Integer posicion(int id) {
+        if (!posicionesAlDia) {
+            posiciones.clear();
+            for (int i = 0; i < getRowCount(); i++) {
+                posiciones.put(getId(i), i);
+            }
+            posicionesAlDia = true;
+        }
+        return posiciones.get(id);
+    }
+
+    private static long creada(EstrategiaInversion estrategia) {
+        Timestamp fecha = estrategia.getFechaCreacion();
+        return fecha == null ? SIN_FECHA : fecha.getTime();
+    }
+}
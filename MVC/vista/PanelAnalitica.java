@@ -0,0 +1,154 @@
+package vista;
+
+import controlador.AnaliticaControlador;
+import controlador.BusEventos;
+import java.awt.*;
+import javax.swing.*;
+import javax.swing.event.AncestorEvent;
+import javax.swing.event.AncestorListener;
+import modelo.Articulo;
+import modelo.EstrategiaInversion;
+import modelo.ResumenAnalitico;
+import modelo.ResumenAnalitico.Grupo;
+
+// Panel de analítica: tablas con los artículos por año, por búsqueda y por fuente, las
+// estrategias por nivel de riesgo y el retorno esperado por tipo de estrategia.
+// Todo viene de `AnaliticaControlador.obtenerResumen` (una sola consulta agrupada).
+public class PanelAnalitica extends JPanel {
+
+    private AnaliticaControlador controlador;
+    private JLabel lblTotales;
+    private ModeloTablaColumnar<Grupo> modeloAnios;
+    private ModeloTablaColumnar<Grupo> modeloBusquedas;
+    private ModeloTablaColumnar<Grupo> modeloFuentes;
+    private ModeloTablaColumnar<Grupo> modeloRiesgos;
+    private ModeloTablaColumnar<Grupo> modeloTipos;
+    private boolean desactualizado = false;  // Llegaron cambios mientras el panel no estaba a la vista
+
+    // Constructor: crea el controlador, inicializa la UI y carga el resumen
+    public PanelAnalitica() {
+        controlador = new AnaliticaControlador();
+        inicializarComponentes();
+        cargarResumen();
+
+        // Con cada grupo de cambios se vuelve a pedir el resumen (el controlador ya descartó el
+        // anterior); si el panel está oculto, se espera a que se vuelva a mostrar
+        BusEventos.suscribir(Articulo.class,
+            tarea -> CargaAsincrona.enEDT("PanelAnalitica.articulos", tarea), eventos -> recargarSiVisible());
+        BusEventos.suscribir(EstrategiaInversion.class,
+            tarea -> CargaAsincrona.enEDT("PanelAnalitica.estrategias", tarea), eventos -> recargarSiVisible());
+        addAncestorListener(new AncestorListener() {
+            @Override
+            public void ancestorAdded(AncestorEvent event) {
+                if (desactualizado) {
+                    cargarResumen();
+                }
+            }
+
+            @Override
+            public void ancestorRemoved(AncestorEvent event) {
+            }
+
+            @Override
+            public void ancestorMoved(AncestorEvent event) {
+            }
+        });
+    }
+
+    // Crea las tablas del tablero y el botón para actualizar
+    private void inicializarComponentes() {
+        setLayout(new BorderLayout(10, 10));
+        setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+        JPanel panelSuperior = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        panelSuperior.setBackground(new Color(236, 240, 241));
+        panelSuperior.setBorder(BorderFactory.createTitledBorder("Totales"));
+        lblTotales = new JLabel("Cargando...");
+        lblTotales.setFont(new Font("Arial", Font.BOLD, 14));
+        panelSuperior.add(lblTotales);
+        add(panelSuperior, BorderLayout.NORTH);
+
+        modeloAnios = new ModeloTablaColumnar<>(
+            ModeloTablaColumnar.texto("Año", Grupo::getEtiqueta, false),
+            ModeloTablaColumnar.entera("Artículos", PanelAnalitica::cantidad));
+        modeloBusquedas = new ModeloTablaColumnar<>(
+            ModeloTablaColumnar.texto("Estudiante", Grupo::getEtiqueta, false),
+            ModeloTablaColumnar.entera("Artículos", PanelAnalitica::cantidad),
+            ModeloTablaColumnar.entera("Documentos Encontrados", g -> (int) g.getDocumentos()));
+        modeloFuentes = new ModeloTablaColumnar<>(
+            ModeloTablaColumnar.texto("Fuente", Grupo::getEtiqueta, false),
+            ModeloTablaColumnar.entera("Artículos", PanelAnalitica::cantidad));
+        modeloRiesgos = new ModeloTablaColumnar<>(
+            ModeloTablaColumnar.texto("Nivel de Riesgo", Grupo::getEtiqueta, false),
+            ModeloTablaColumnar.entera("Estrategias", PanelAnalitica::cantidad));
+        modeloTipos = new ModeloTablaColumnar<>(
+            ModeloTablaColumnar.texto("Tipo de Estrategia", Grupo::getEtiqueta, false),
+            ModeloTablaColumnar.entera("Estrategias", PanelAnalitica::cantidad),
+            ModeloTablaColumnar.decimal("Retorno Promedio", g -> valor(g.getPromedio()), "0.00'%'"),
+            ModeloTablaColumnar.decimal("Retorno Máximo", g -> valor(g.getMaximo()), "0.00'%'"));
+
+        JPanel panelTablas = new JPanel(new GridLayout(2, 3, 10, 10));
+        panelTablas.add(crearTabla("Artículos por Año", modeloAnios));
+        panelTablas.add(crearTabla("Artículos por Búsqueda", modeloBusquedas));
+        panelTablas.add(crearTabla("Fuentes con más Artículos", modeloFuentes));
+        panelTablas.add(crearTabla("Estrategias por Nivel de Riesgo", modeloRiesgos));
+        panelTablas.add(crearTabla("Retorno Esperado por Tipo", modeloTipos));
+        add(panelTablas, BorderLayout.CENTER);
+
+        JPanel panelInferior = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        JButton btnRefrescar = new JButton("Refrescar");
+        btnRefrescar.setFont(new Font("Arial", Font.BOLD, 12));
+        btnRefrescar.addActionListener(e -> {
+            AnaliticaControlador.invalidar();  // Por si hubo cambios fuera de la aplicación
+            cargarResumen();
+        });
+        panelInferior.add(btnRefrescar);
+        add(panelInferior, BorderLayout.SOUTH);
+    }
+
+    // Crea una tabla de solo lectura con su título
+    private JScrollPane crearTabla(String titulo, ModeloTablaColumnar<Grupo> modelo) {
+        JTable tabla = new JTable(modelo);
+        tabla.setFont(new Font("Arial", Font.PLAIN, 12));
+        tabla.setRowHeight(22);
+        tabla.getTableHeader().setFont(new Font("Arial", Font.BOLD, 12));
+        tabla.getTableHeader().setReorderingAllowed(false);
+        modelo.instalarRenderizadores(tabla);
+        JScrollPane scroll = new JScrollPane(tabla);
+        scroll.setBorder(BorderFactory.createTitledBorder(titulo));
+        return scroll;
+    }
+
+    // Pide el resumen en segundo plano y llena todas las tablas
+    private void cargarResumen() {
+        desactualizado = false;
+        CargaAsincrona.ejecutar(this, controlador.obtenerResumenAsync(), this::mostrarResumen);
+    }
+
+    private void recargarSiVisible() {
+        if (isShowing()) {
+            cargarResumen();
+        } else {
+            desactualizado = true;
+        }
+    }
+
+    private void mostrarResumen(ResumenAnalitico resumen) {
+        lblTotales.setText(String.format("Artículos: %,d  |  Búsquedas: %d  |  Estrategias: %,d",
+            resumen.getTotalArticulos(), resumen.getArticulosPorBusqueda().size(), resumen.getTotalEstrategias()));
+        modeloAnios.reemplazar(resumen.getArticulosPorAnio());
+        modeloBusquedas.reemplazar(resumen.getArticulosPorBusqueda());
+        modeloFuentes.reemplazar(resumen.getArticulosPorFuente());
+        modeloRiesgos.reemplazar(resumen.getEstrategiasPorRiesgo());
+        modeloTipos.reemplazar(resumen.getRetornoPorTipo());
+    }
+
+    private static int cantidad(Grupo grupo) {
+        return (int) grupo.getCantidad();
+    }
+
+    // Un grupo sin valor (por ejemplo, un tipo de estrategia sin retornos cargados) muestra 0
+    private static double valor(Double decimal) {
+        return decimal == null ? 0 : decimal;
+    }
+}
@@ -1,10 +1,15 @@
 package vista;
 
 import controlador.ArticuloControlador;
+import controlador.BusEventos;
 import java.awt.*;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import modelo.Articulo;
 
 
@@ -12,18 +17,40 @@ import modelo.Articulo;
 // Se comunica con `ArticuloControlador` para obtener y buscar registros
 public class PanelArticulos extends JPanel {
     
+    // Pausa al escribir antes de buscar: mientras el usuario sigue tecleando no se consulta
+    private static final int ESPERA_ESCRITURA_MS = 80;
+    // Filas de arriba y de abajo de la seleccionada cuyo detalle se precarga
+    private static final int FILAS_VECINAS = 10;
+    
     private ArticuloControlador controlador;
     private JTable tablaArticulos;
-    private DefaultTableModel modeloTabla;
+    private ModeloTablaArticulos modeloTabla;
     private JTextArea txtDetalles;
     private JTextField txtBuscar;
     private JLabel lblTotal;
+    private int consultaActual = 0;  // Número de la última carga/búsqueda pedida (descarta respuestas viejas)
+    private boolean mostrandoTodos = false;  // true si la tabla muestra todos los artículos (no una búsqueda)
+    private Timer temporizadorBusqueda;  // Se reinicia con cada tecla; al vencer, busca
+    private CompletableFuture<Integer> busquedaEnCurso = null;
+    private String terminoBuscado = null;  // Término de la última búsqueda pedida
+    private int resultadosRecibidos = 0;  // Resultados de la búsqueda actual ya mostrados
+    private CargadorDetalles<Articulo> cargadorDetalles;
     
     // Constructor: inicializa el controlador, la interfaz y carga los artículos
     public PanelArticulos() {
         controlador = new ArticuloControlador();
         inicializarComponentes();
         cargarArticulos();
+        
+        // Si se agregan artículos (importación, carga masiva) se actualiza el listado completo una vez
+        // por grupo de eventos: solo el total y la página visible, no toda la tabla.
+        // Los resultados de una búsqueda no se tocan.
+        BusEventos.suscribir(Articulo.class, tarea -> CargaAsincrona.enEDT("PanelArticulos.articulos", tarea), eventos -> {
+            cargadorDetalles.limpiar();  // Los detalles guardados pueden haber cambiado
+            if (mostrandoTodos) {
+                recargarListado();
+            }
+        });
     }
     
     // Crea y configura los componentes gráficos (buscador, tabla, detalles)
@@ -39,6 +66,28 @@ public class PanelArticulos extends JPanel {
         txtBuscar = new JTextField(30);
         panelBusqueda.add(txtBuscar);
         
+        // Búsqueda mientras se escribe: cada cambio reinicia el temporizador y se busca
+        // cuando el usuario hace una pausa (Enter o el botón buscan de inmediato)
+        temporizadorBusqueda = new Timer(ESPERA_ESCRITURA_MS, e -> buscarArticulos());
+        temporizadorBusqueda.setRepeats(false);
+        txtBuscar.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                temporizadorBusqueda.restart();
+            }
+            
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                temporizadorBusqueda.restart();
+            }
+            
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                // Cambios de estilo: no cambian el texto
+            }
+        });
+        txtBuscar.addActionListener(e -> buscarArticulos());
+        
         JButton btnBuscar = new JButton("Buscar");
         btnBuscar.setFont(new Font("Arial", Font.BOLD, 11));
         btnBuscar.addActionListener(e -> buscarArticulos());
@@ -57,13 +106,8 @@ public class PanelArticulos extends JPanel {
         
         add(panelSuperior, BorderLayout.NORTH);
         
-        String[] columnas = {"ID", "Título", "Autores", "Año"};
-        modeloTabla = new DefaultTableModel(columnas, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        // El modelo carga las filas por páginas a medida que se muestran
+        modeloTabla = new ModeloTablaArticulos(controlador);
         
         tablaArticulos = new JTable(modeloTabla);
         tablaArticulos.setFont(new Font("Arial", Font.PLAIN, 11));
@@ -78,6 +122,9 @@ public class PanelArticulos extends JPanel {
         tablaArticulos.getColumnModel().getColumn(2).setPreferredWidth(250);
         tablaArticulos.getColumnModel().getColumn(3).setPreferredWidth(60);
         
+        // El detalle se carga cuando la selección se queda quieta, junto con el de las filas vecinas
+        cargadorDetalles = new CargadorDetalles<>(this, controlador::obtenerArticulosPorIdsAsync,
+            Articulo::getId, PanelArticulos::formatearDetalles, this::mostrarDetalles);
         tablaArticulos.getSelectionModel().addListSelectionListener(e -> {
             if (!e.getValueIsAdjusting()) {
                 mostrarDetallesArticulo();
@@ -107,107 +154,177 @@ public class PanelArticulos extends JPanel {
         add(splitPane, BorderLayout.CENTER);
     }
     
-    // Carga los artículos desde el controlador y los muestra en la tabla
+    // Muestra todos los artículos en la tabla
+    // Solo se consulta el total; las filas se piden por páginas a medida que se desplaza la tabla
     private void cargarArticulos() {
-        modeloTabla.setRowCount(0);
-        List<Articulo> articulos = controlador.obtenerTodosLosArticulos();
-        
-        for (Articulo a : articulos) {
-            Object[] fila = {
-                a.getId(),
-                a.getTitulo(),
-                a.getAutores(),
-                a.getAnioPublicacion()
-            };
-            modeloTabla.addRow(fila);
-        }
-        
-        lblTotal.setText("Total de artículos: " + articulos.size());
         txtBuscar.setText("");
+        temporizadorBusqueda.stop();  // Vaciar el campo no es una búsqueda
+        recargarListado();
+    }
+    
+    // Vuelve a pedir el total y deja que la tabla traiga de nuevo las páginas visibles
+    private void recargarListado() {
+        cancelarBusqueda();
+        int consulta = ++consultaActual;
+        mostrandoTodos = true;
+        terminoBuscado = null;
+        lblTotal.setText("Cargando artículos...");
+        
+        CargaAsincrona.ejecutar(this, controlador.contarArticulosAsync(), total -> {
+            if (consulta != consultaActual) {
+                return;  // Llegó tarde: ya se pidió otra carga o búsqueda
+            }
+            modeloTabla.mostrarPaginado(total);
+            lblTotal.setText("Total de artículos: " + total);
+        });
     }
     
-    // Realiza una búsqueda por palabra clave y actualiza la tabla con los resultados
+    // Busca por palabra clave el texto del buscador y muestra los resultados a medida que llegan
+    // La búsqueda anterior, si sigue en curso, se cancela (también su consulta en la base de datos);
+    // con el campo vacío se vuelve al listado completo
     private void buscarArticulos() {
+        temporizadorBusqueda.stop();
         String termino = txtBuscar.getText().trim();
         
         if (termino.isEmpty()) {
-            JOptionPane.showMessageDialog(this,
-                "Por favor ingrese un término de búsqueda",
-                "Búsqueda",
-                JOptionPane.WARNING_MESSAGE);
+            if (!mostrandoTodos) {
+                recargarListado();
+            }
             return;
         }
-        
-        modeloTabla.setRowCount(0);
-        List<Articulo> articulos = controlador.buscarArticulos(termino);
-        
-        for (Articulo a : articulos) {
-            Object[] fila = {
-                a.getId(),
-                a.getTitulo(),
-                a.getAutores(),
-                a.getAnioPublicacion()
-            };
-            modeloTabla.addRow(fila);
+        if (termino.equals(terminoBuscado)) {
+            return;  // Solo cambiaron espacios: ya se buscó (o se está buscando) lo mismo
         }
         
-        lblTotal.setText("Resultados encontrados: " + articulos.size());
+        cancelarBusqueda();
+        int consulta = ++consultaActual;
+        mostrandoTodos = false;
+        terminoBuscado = termino;
+        resultadosRecibidos = 0;
+        lblTotal.setText("Buscando...");
         
-        if (articulos.isEmpty()) {
-            JOptionPane.showMessageDialog(this,
-                "No se encontraron artículos con el término: " + termino,
-                "Búsqueda",
-                JOptionPane.INFORMATION_MESSAGE);
+        // Los resultados anteriores se ven hasta que llega el primer bloque de los nuevos
+        busquedaEnCurso = controlador.buscarArticulosPorBloquesAsync(termino, bloque ->
+            CargaAsincrona.enEDT("PanelArticulos.resultados", () -> mostrarBloque(consulta, bloque)));
+        
+        CargaAsincrona.ejecutar(this, busquedaEnCurso, total -> {
+            if (consulta != consultaActual) {
+                return;  // Llegó tarde: ya se pidió otra carga o búsqueda
+            }
+            busquedaEnCurso = null;
+            if (resultadosRecibidos == 0) {
+                modeloTabla.mostrarLista(new ArrayList<>());
+                lblTotal.setText("Sin resultados para: " + termino);
+            } else {
+                lblTotal.setText("Resultados encontrados: " + total);
+            }
+        });
+    }
+    
+    // Agrega a la tabla un bloque de resultados (el primero reemplaza lo que se mostraba)
+    private void mostrarBloque(int consulta, List<Articulo> bloque) {
+        if (consulta != consultaActual) {
+            return;  // Bloque de una búsqueda vieja: no pisa los resultados nuevos
+        }
+        if (resultadosRecibidos == 0) {
+            modeloTabla.mostrarLista(new ArrayList<>(bloque));
+        } else {
+            modeloTabla.agregarALista(bloque);
+        }
+        resultadosRecibidos += bloque.size();
+        lblTotal.setText("Buscando... " + resultadosRecibidos + " resultados");
+    }
+    
+    // Cancela la búsqueda en curso, si la hay
+    private void cancelarBusqueda() {
+        if (busquedaEnCurso != null) {
+            busquedaEnCurso.cancel(true);
+            busquedaEnCurso = null;
         }
     }
     
     // Muestra la información bibliográfica completa del artículo seleccionado
+    // Si no está en memoria, se pide (con sus vecinas) cuando el usuario deja de moverse
     private void mostrarDetallesArticulo() {
         int filaSeleccionada = tablaArticulos.getSelectedRow();
         
         if (filaSeleccionada >= 0) {
-            int id = (int) modeloTabla.getValueAt(filaSeleccionada, 0);
-            Articulo articulo = controlador.obtenerArticuloPorId(id);
-            
-            if (articulo != null) {
-                StringBuilder detalles = new StringBuilder();
-                detalles.append("═══════════════════════════════════════════════════════════════\n");
-                detalles.append("  INFORMACIÓN BIBLIOGRÁFICA COMPLETA\n");
-                detalles.append("═══════════════════════════════════════════════════════════════\n\n");
-                
-                detalles.append("TÍTULO:\n");
-                detalles.append(articulo.getTitulo()).append("\n\n");
-                
-                detalles.append("AUTORES:\n");
-                detalles.append(articulo.getAutores()).append("\n\n");
-                
-                detalles.append("AÑO DE PUBLICACIÓN: ").append(articulo.getAnioPublicacion()).append("\n\n");
-                
-                detalles.append("FUENTE:\n");
-                detalles.append(articulo.getFuente()).append("\n\n");
-                
-                if (articulo.getDoi() != null && !articulo.getDoi().isEmpty()) {
-                    detalles.append("DOI: ").append(articulo.getDoi()).append("\n\n");
+            Integer id = modeloTabla.getIdEnFila(filaSeleccionada);
+            if (id == null) {
+                return;  // La página de esa fila todavía se está cargando
+            }
+            if (!cargadorDetalles.seleccionar(id, idsVecinos(filaSeleccionada))) {
+                txtDetalles.setText("Cargando información del artículo...");
+            }
+        }
+    }
+    
+    // Ids de las filas cercanas a la indicada, las más próximas primero (las de páginas sin cargar se saltan)
+    private int[] idsVecinos(int fila) {
+        int[] ids = new int[FILAS_VECINAS * 2];
+        int cantidad = 0;
+        for (int distancia = 1; distancia <= FILAS_VECINAS; distancia++) {
+            for (int vecina : new int[]{fila + distancia, fila - distancia}) {
+                Integer id = vecina >= 0 && vecina < modeloTabla.getRowCount() ? modeloTabla.getIdEnFila(vecina) : null;
+                if (id != null) {
+                    ids[cantidad++] = id;
                 }
-                
-                detalles.append("───────────────────────────────────────────────────────────────\n");
-                detalles.append("RESUMEN:\n");
-                detalles.append("───────────────────────────────────────────────────────────────\n\n");
-                detalles.append(articulo.getResumen()).append("\n\n");
-                
-                detalles.append("───────────────────────────────────────────────────────────────\n");
-                detalles.append("PALABRAS CLAVE:\n");
-                detalles.append("───────────────────────────────────────────────────────────────\n\n");
-                detalles.append(articulo.getPalabrasClave()).append("\n\n");
-                
-                detalles.append("───────────────────────────────────────────────────────────────\n");
-                detalles.append("CITA APA:\n");
-                detalles.append("───────────────────────────────────────────────────────────────\n\n");
-                detalles.append(articulo.getCitaAPA()).append("\n");
-                
-                txtDetalles.setText(detalles.toString());
-                txtDetalles.setCaretPosition(0);
             }
         }
+        return Arrays.copyOf(ids, cantidad);
+    }
+    
+    // Escribe en el área de detalles el texto del artículo recibido
+    // Se ignora si mientras tanto el usuario seleccionó otra fila
+    private void mostrarDetalles(int id, String texto) {
+        int filaSeleccionada = tablaArticulos.getSelectedRow();
+        if (filaSeleccionada < 0 || !Integer.valueOf(id).equals(modeloTabla.getIdEnFila(filaSeleccionada))) {
+            return;
+        }
+        
+        if (texto != null) {
+            txtDetalles.setText(texto);
+            txtDetalles.setCaretPosition(0);
+        }
+    }
+    
+    // Arma el texto con la información bibliográfica completa (se llama en segundo plano)
+    private static String formatearDetalles(Articulo articulo) {
+        StringBuilder detalles = new StringBuilder();
+        detalles.append("═══════════════════════════════════════════════════════════════\n");
+        detalles.append("  INFORMACIÓN BIBLIOGRÁFICA COMPLETA\n");
+        detalles.append("═══════════════════════════════════════════════════════════════\n\n");
+        
+        detalles.append("TÍTULO:\n");
+        detalles.append(articulo.getTitulo()).append("\n\n");
+        
+        detalles.append("AUTORES:\n");
+        detalles.append(articulo.getAutores()).append("\n\n");
+        
+        detalles.append("AÑO DE PUBLICACIÓN: ").append(articulo.getAnioPublicacion()).append("\n\n");
+        
+        detalles.append("FUENTE:\n");
+        detalles.append(articulo.getFuente()).append("\n\n");
+        
+        if (articulo.getDoi() != null && !articulo.getDoi().isEmpty()) {
+            detalles.append("DOI: ").append(articulo.getDoi()).append("\n\n");
+        }
+        
+        detalles.append("───────────────────────────────────────────────────────────────\n");
+        detalles.append("RESUMEN:\n");
+        detalles.append("───────────────────────────────────────────────────────────────\n\n");
+        detalles.append(articulo.getResumen()).append("\n\n");
+        
+        detalles.append("───────────────────────────────────────────────────────────────\n");
+        detalles.append("PALABRAS CLAVE:\n");
+        detalles.append("───────────────────────────────────────────────────────────────\n\n");
+        detalles.append(articulo.getPalabrasClave()).append("\n\n");
+        
+        detalles.append("───────────────────────────────────────────────────────────────\n");
+        detalles.append("CITA APA:\n");
+        detalles.append("───────────────────────────────────────────────────────────────\n\n");
+        detalles.append(articulo.getCitaAPA()).append("\n");
+        
+        return detalles.toString();
     }
-}
\ No newline at end of file
+}
@@ -2,9 +2,7 @@ package vista;
 
 import controlador.BusquedaControlador;
 import java.awt.*;
-import java.util.List;
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import modelo.Busqueda;
 
 // Panel que muestra las búsquedas realizadas y sus detalles
@@ -13,7 +11,7 @@ public class PanelBusquedas extends JPanel {
     
     private BusquedaControlador controlador;
     private JTable tablaBusquedas;
-    private DefaultTableModel modeloTabla;
+    private ModeloTablaColumnar<Busqueda> modeloTabla;
     private JTextArea txtDetalles;
     private JLabel lblEstadisticas;
     
@@ -41,13 +39,12 @@ public class PanelBusquedas extends JPanel {
         add(panelSuperior, BorderLayout.NORTH);
         
 
-        String[] columnas = {"ID", "Estudiante", "Base de Datos", "Documentos Encontrados"};
-        modeloTabla = new DefaultTableModel(columnas, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        // Modelo por columnas: ids y cantidades en arreglos de int, estudiante y base de datos sin repetir textos
+        modeloTabla = new ModeloTablaColumnar<>(
+            ModeloTablaColumnar.entera("ID", Busqueda::getId),
+            ModeloTablaColumnar.texto("Estudiante", Busqueda::getNombreEstudiante, true),
+            ModeloTablaColumnar.texto("Base de Datos", Busqueda::getBaseDatos, true),
+            ModeloTablaColumnar.entera("Documentos Encontrados", Busqueda::getCantidadDocumentos));
         
         tablaBusquedas = new JTable(modeloTabla);
         tablaBusquedas.setFont(new Font("Arial", Font.PLAIN, 12));
@@ -56,14 +53,8 @@ public class PanelBusquedas extends JPanel {
         tablaBusquedas.getTableHeader().setBackground(new Color(41, 128, 185));
         tablaBusquedas.getTableHeader().setForeground(Color.BLACK);
         tablaBusquedas.getTableHeader().setReorderingAllowed(false);
-
-// Listener para mostrar detalles
-        tablaBusquedas.getSelectionModel().addListSelectionListener(e -> {
-        if (!e.getValueIsAdjusting()) {
-        mostrarDetallesBusqueda();
-        }
-        });
-
+        
+        // Listener para mostrar detalles
         tablaBusquedas.getSelectionModel().addListSelectionListener(e -> {
             if (!e.getValueIsAdjusting()) {
                 mostrarDetallesBusqueda();
@@ -102,25 +93,18 @@ public class PanelBusquedas extends JPanel {
     }
     
     // Carga las búsquedas desde el controlador y las muestra en la tabla
+    // La lista y las estadísticas se piden en paralelo, en segundo plano
     private void cargarBusquedas() {
-        modeloTabla.setRowCount(0);
-        List<Busqueda> busquedas = controlador.obtenerTodasLasBusquedas();
-        
-        for (Busqueda b : busquedas) {
-            Object[] fila = {
-                b.getId(),
-                b.getNombreEstudiante(),
-                b.getBaseDatos(),
-                b.getCantidadDocumentos()
-            };
-            modeloTabla.addRow(fila);
-        }
+        lblEstadisticas.setText("Cargando...");
         
-        int[] stats = controlador.obtenerEstadisticas();
-        lblEstadisticas.setText(String.format(
-            "Total de búsquedas: %d  |  Total de documentos encontrados: %,d",
-            stats[0], stats[1]
-        ));
+        // Todas las filas se reemplazan de una vez (un solo evento para la tabla)
+        CargaAsincrona.ejecutar(this, controlador.obtenerTodasLasBusquedasAsync(), modeloTabla::reemplazar);
+        
+        CargaAsincrona.ejecutar(this, controlador.obtenerEstadisticasAsync(), stats ->
+            lblEstadisticas.setText(String.format(
+                "Total de búsquedas: %d  |  Total de documentos encontrados: %,d",
+                stats[0], stats[1]
+            )));
     }
 
     
@@ -130,28 +114,38 @@ public class PanelBusquedas extends JPanel {
         int filaSeleccionada = tablaBusquedas.getSelectedRow();
         
         if (filaSeleccionada >= 0) {
-            int id = (int) modeloTabla.getValueAt(filaSeleccionada, 0);
-            Busqueda busqueda = controlador.obtenerBusquedaPorId(id);
+            int id = modeloTabla.getEntero(filaSeleccionada, 0);
+            CargaAsincrona.ejecutar(this, controlador.obtenerBusquedaPorIdAsync(id),
+                busqueda -> mostrarDetalles(id, busqueda));
+        }
+    }
+    
+    // Escribe en el área de detalles la búsqueda recibida
+    // Se ignora si mientras tanto el usuario seleccionó otra fila
+    private void mostrarDetalles(int id, Busqueda busqueda) {
+        int filaSeleccionada = tablaBusquedas.getSelectedRow();
+        if (filaSeleccionada < 0 || modeloTabla.getEntero(filaSeleccionada, 0) != id) {
+            return;
+        }
+        
+        if (busqueda != null) {
+            StringBuilder detalles = new StringBuilder();
+            detalles.append("═══════════════════════════════════════════════════\n");
+            detalles.append("  INFORMACIÓN DE LA BÚSQUEDA\n");
+            detalles.append("═══════════════════════════════════════════════════\n\n");
+            detalles.append("ID: ").append(busqueda.getId()).append("\n\n");
+            detalles.append("Estudiante: ").append(busqueda.getNombreEstudiante()).append("\n\n");
+            detalles.append("Base de Datos: ").append(busqueda.getBaseDatos()).append("\n\n");
+            detalles.append("Documentos Encontrados: ").append(busqueda.getCantidadDocumentos()).append("\n\n");
+            detalles.append("Fecha de Búsqueda: ").append(busqueda.getFechaBusqueda()).append("\n\n");
+            detalles.append("───────────────────────────────────────────────────\n");
+            detalles.append("CADENA DE BÚSQUEDA:\n");
+            detalles.append("───────────────────────────────────────────────────\n\n");
+            detalles.append(busqueda.getCadenaBusqueda()).append("\n");
             
-            if (busqueda != null) {
-                StringBuilder detalles = new StringBuilder();
-                detalles.append("═══════════════════════════════════════════════════\n");
-                detalles.append("  INFORMACIÓN DE LA BÚSQUEDA\n");
-                detalles.append("═══════════════════════════════════════════════════\n\n");
-                detalles.append("ID: ").append(busqueda.getId()).append("\n\n");
-                detalles.append("Estudiante: ").append(busqueda.getNombreEstudiante()).append("\n\n");
-                detalles.append("Base de Datos: ").append(busqueda.getBaseDatos()).append("\n\n");
-                detalles.append("Documentos Encontrados: ").append(busqueda.getCantidadDocumentos()).append("\n\n");
-                detalles.append("Fecha de Búsqueda: ").append(busqueda.getFechaBusqueda()).append("\n\n");
-                detalles.append("───────────────────────────────────────────────────\n");
-                detalles.append("CADENA DE BÚSQUEDA:\n");
-                detalles.append("───────────────────────────────────────────────────\n\n");
-                detalles.append(busqueda.getCadenaBusqueda()).append("\n");
-                
-                txtDetalles.setText(detalles.toString());
-                txtDetalles.setCaretPosition(0);
-            }
+            txtDetalles.setText(detalles.toString());
+            txtDetalles.setCaretPosition(0);
         }
     }
 }
-   
\ No newline at end of file
+   
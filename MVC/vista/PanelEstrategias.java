@@ -1,12 +1,19 @@
 package vista;
 
 import controlador.ArticuloControlador;
+import controlador.BusEventos;
 import controlador.EstrategiaControlador;
 import java.awt.*;
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import modelo.Articulo;
+import modelo.CambiosEstrategias;
+import modelo.EventoCambio;
 import modelo.EstrategiaInversion;
 
 
@@ -14,10 +21,17 @@ import modelo.EstrategiaInversion;
 // Permite crear, ver, editar y eliminar estrategias usando `EstrategiaControlador`
 public class PanelEstrategias extends JPanel {
     
+    private static final int LIMITE_COMBO_ARTICULOS = 500;  // Artículos (los más recientes) que ofrece el combo
+    private static final String ARTICULOS_CARGADOS = "articulosCargados";  // Propiedad del formulario
+    
     private EstrategiaControlador controlador;
     private ArticuloControlador articuloControlador;
     private JTable tablaEstrategias;
-    private DefaultTableModel modeloTabla;
+    private ModeloTablaEstrategias modeloTabla;
+    private Timestamp marcaCambios = null;  // Marca del último refresco (null = hace falta una carga completa)
+    // Artículos para el combo del formulario (id -> título): se leen una vez y luego se mantienen
+    // al día con los eventos del bus. null = todavía no se cargaron
+    private Map<Integer, String> titulosArticulos = null;
     
     // Constructor: prepara controladores, componentes y carga las estrategias
     public PanelEstrategias() {
@@ -25,6 +39,12 @@ public class PanelEstrategias extends JPanel {
         articuloControlador = new ArticuloControlador();
         inicializarComponentes();
         cargarEstrategias();
+        
+        // Los cambios hechos con los controladores llegan por el bus, agrupados, y se aplican en el EDT
+        BusEventos.suscribir(EstrategiaInversion.class,
+            tarea -> CargaAsincrona.enEDT("PanelEstrategias.estrategias", tarea), this::aplicarEventos);
+        BusEventos.suscribir(Articulo.class,
+            tarea -> CargaAsincrona.enEDT("PanelEstrategias.articulos", tarea), this::aplicarEventosArticulos);
     }
     
     // Inicializa la tabla, botones y layout del panel de estrategias
@@ -39,13 +59,7 @@ public class PanelEstrategias extends JPanel {
         panelTitulo.add(lblTitulo);
         add(panelTitulo, BorderLayout.NORTH);
         
-        String[] columnas = {"ID", "Nombre", "Tipo", "Riesgo", "Retorno (%)"};
-        modeloTabla = new DefaultTableModel(columnas, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        modeloTabla = new ModeloTablaEstrategias();
         
         tablaEstrategias = new JTable(modeloTabla);
         tablaEstrategias.setFont(new Font("Arial", Font.PLAIN, 12));
@@ -54,6 +68,9 @@ public class PanelEstrategias extends JPanel {
         tablaEstrategias.getTableHeader().setBackground(new Color(231, 76, 60));
         tablaEstrategias.getTableHeader().setForeground(Color.BLACK);
         tablaEstrategias.getTableHeader().setReorderingAllowed(false);
+        // Se pueden seleccionar varias filas (Ctrl/Shift) para eliminarlas o cambiarles el riesgo juntas
+        tablaEstrategias.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
+        modeloTabla.instalarRenderizadores(tablaEstrategias);
         
         tablaEstrategias.getColumnModel().getColumn(0).setPreferredWidth(40);
         tablaEstrategias.getColumnModel().getColumn(1).setPreferredWidth(300);
@@ -97,7 +114,7 @@ private JButton crearBoton(String texto, Color color) {
     return boton;
 }
 
-// Panel de botones con los 5 botones pintados
+// Panel de botones con los 6 botones pintados
 private JPanel crearPanelBotones() {
     JPanel panelBotones = new JPanel(new FlowLayout(FlowLayout.CENTER, 15, 10));
     panelBotones.setBackground(new Color(236, 240, 241));
@@ -106,6 +123,7 @@ private JPanel crearPanelBotones() {
     JButton btnVer = crearBoton("VER", new Color(52, 152, 219));
     JButton btnEditar = crearBoton("EDITAR", new Color(243, 156, 18));
     JButton btnEliminar = crearBoton("ELIMINAR", new Color(231, 76, 60));
+    JButton btnRiesgo = crearBoton("CAMBIAR RIESGO", new Color(155, 89, 182));
     JButton btnRefrescar = crearBoton("REFRESCAR", new Color(149, 165, 166));
 
     // Acciones de ejemplo
@@ -113,32 +131,79 @@ private JPanel crearPanelBotones() {
     btnVer.addActionListener(e -> verDetallesEstrategia());
     btnEditar.addActionListener(e -> mostrarDialogoEditar());
     btnEliminar.addActionListener(e -> eliminarEstrategia());
-    btnRefrescar.addActionListener(e -> cargarEstrategias());
+    btnRiesgo.addActionListener(e -> cambiarRiesgoSeleccionadas());
+    btnRefrescar.addActionListener(e -> refrescarEstrategias());
 
     panelBotones.add(btnCrear);
     panelBotones.add(btnVer);
     panelBotones.add(btnEditar);
     panelBotones.add(btnEliminar);
+    panelBotones.add(btnRiesgo);
     panelBotones.add(btnRefrescar);
 
     return panelBotones;
 }
 
     
-    // Solicita al controlador la lista de estrategias y la muestra en la tabla
+    // Solicita al controlador la lista completa de estrategias y la muestra en la tabla
+    // La consulta corre en segundo plano; la tabla se llena cuando llegan los datos
     private void cargarEstrategias() {
-        modeloTabla.setRowCount(0);
-        List<EstrategiaInversion> estrategias = controlador.obtenerTodasLasEstrategias();
-        
-        for (EstrategiaInversion e : estrategias) {
-            Object[] fila = {
-                e.getId(),
-                e.getNombre(),
-                e.getTipoEstrategia(),
-                e.getNivelRiesgo(),
-                String.format("%.2f%%", e.getRetornoEsperado())
-            };
-            modeloTabla.addRow(fila);
+        CargaAsincrona.ejecutar(this, controlador.obtenerCambiosEstrategiasAsync(null), this::aplicarCambios);
+    }
+    
+    // Trae solo las estrategias creadas, modificadas o eliminadas desde el último refresco y
+    // actualiza únicamente esas filas de la tabla (botón REFRESCAR: también ve los cambios hechos
+    // fuera de la aplicación; los de la aplicación ya llegan por el bus)
+    private void refrescarEstrategias() {
+        if (marcaCambios == null) {
+            cargarEstrategias();
+            return;
+        }
+        CargaAsincrona.ejecutar(this, controlador.obtenerCambiosEstrategiasAsync(marcaCambios), this::aplicarCambios);
+    }
+    
+    private void aplicarCambios(CambiosEstrategias cambios) {
+        if (cambios == null) {
+            // El refresco incremental no está disponible (ver el error en consola): se recarga todo
+            if (marcaCambios != null) {
+                marcaCambios = null;
+                cargarEstrategias();
+            }
+            return;
+        }
+        modeloTabla.aplicar(cambios);
+        // Si llegan dos refrescos casi juntos, la marca solo avanza
+        if (marcaCambios == null || cambios.isCompleto() || cambios.getMarca().after(marcaCambios)) {
+            marcaCambios = cambios.getMarca();
+        }
+    }
+    
+    // Aplica a la tabla las estrategias creadas, editadas o eliminadas (las publica el controlador)
+    // Solo si algún evento no trae la estrategia (cambio masivo de riesgo) se consultan los cambios
+    private void aplicarEventos(List<EventoCambio<EstrategiaInversion>> eventos) {
+        if (modeloTabla.aplicarEventos(eventos)) {
+            refrescarEstrategias();
+        }
+    }
+    
+    // Mantiene al día la lista de artículos del combo, si ya se cargó
+    private void aplicarEventosArticulos(List<EventoCambio<Articulo>> eventos) {
+        if (titulosArticulos == null) {
+            return;
+        }
+        for (EventoCambio<Articulo> evento : eventos) {
+            switch (evento.getTipo()) {
+                case RECARGA:
+                    titulosArticulos = null;  // Se vuelve a leer la próxima vez que se abra el formulario
+                    return;
+                case ELIMINADO:
+                    titulosArticulos.remove(evento.getId());
+                    break;
+                default:
+                    if (evento.getEntidad() != null) {
+                        titulosArticulos.put(evento.getId(), evento.getEntidad().getTitulo());
+                    }
+            }
         }
     }
     
@@ -153,25 +218,29 @@ private JPanel crearPanelBotones() {
         
         JButton btnGuardar = new JButton("Guardar");
         btnGuardar.setFont(new Font("Arial", Font.BOLD, 12));
+        habilitarAlCargarArticulos(panel, btnGuardar);
         btnGuardar.setBackground(new Color(46, 204, 113));
         btnGuardar.setForeground(Color.WHITE);
         
         btnGuardar.addActionListener(e -> {
             EstrategiaInversion estrategia = obtenerDatosFormulario(panel);
             if (estrategia != null) {
-                if (controlador.crearEstrategia(estrategia)) {
-                    JOptionPane.showMessageDialog(dialogo,
-                        "Estrategia creada exitosamente",
-                        "Éxito",
-                        JOptionPane.INFORMATION_MESSAGE);
-                    dialogo.dispose();
-                    cargarEstrategias();
-                } else {
-                    JOptionPane.showMessageDialog(dialogo,
-                        "Error al crear la estrategia",
-                        "Error",
-                        JOptionPane.ERROR_MESSAGE);
-                }
+                btnGuardar.setEnabled(false);
+                CargaAsincrona.ejecutar(panel, controlador.crearEstrategiaAsync(estrategia), creada -> {
+                    btnGuardar.setEnabled(true);
+                    if (creada) {
+                        JOptionPane.showMessageDialog(dialogo,
+                            "Estrategia creada exitosamente",
+                            "Éxito",
+                            JOptionPane.INFORMATION_MESSAGE);
+                        dialogo.dispose();
+                    } else {
+                        JOptionPane.showMessageDialog(dialogo,
+                            "Error al crear la estrategia",
+                            "Error",
+                            JOptionPane.ERROR_MESSAGE);
+                    }
+                });
             }
         });
         
@@ -194,9 +263,24 @@ private JPanel crearPanelBotones() {
             return;
         }
         
-        int id = (int) modeloTabla.getValueAt(fila, 0);
-        EstrategiaInversion estrategia = controlador.obtenerEstrategiaPorId(id);
+        int id = modeloTabla.getId(fila);
+        
+        // Se pide la estrategia y, si tiene, su artículo relacionado; todo en segundo plano
+        CompletableFuture<Object[]> consulta = controlador.obtenerEstrategiaPorIdAsync(id)
+            .thenCompose(estrategia -> {
+                if (estrategia == null || estrategia.getArticuloRelacionadoId() == null) {
+                    return CompletableFuture.completedFuture(new Object[]{estrategia, null});
+                }
+                return articuloControlador.obtenerArticuloPorIdAsync(estrategia.getArticuloRelacionadoId())
+                    .thenApply(art -> new Object[]{estrategia, art});
+            });
         
+        CargaAsincrona.ejecutar(this, consulta,
+            resultado -> mostrarDetalles((EstrategiaInversion) resultado[0], (Articulo) resultado[1]));
+    }
+    
+    // Arma y muestra el diálogo con los detalles de la estrategia (y su artículo, si lo hay)
+    private void mostrarDetalles(EstrategiaInversion estrategia, Articulo art) {
         if (estrategia != null) {
             StringBuilder detalles = new StringBuilder();
             detalles.append("═══════════════════════════════════════════════\n");
@@ -215,14 +299,10 @@ private JPanel crearPanelBotones() {
             detalles.append("Tecnologías Utilizadas:\n\n");
             detalles.append(estrategia.getTecnologiasUtilizadas()).append("\n\n");
             
-            if (estrategia.getArticuloRelacionadoId() != null) {
-                Articulo art = articuloControlador.obtenerArticuloPorId(
-                    estrategia.getArticuloRelacionadoId());
-                if (art != null) {
-                    detalles.append("─────────────────────────────────────────────────\n");
-                    detalles.append("Artículo Relacionado:\n\n");
-                    detalles.append(art.getTitulo()).append("\n");
-                }
+            if (art != null) {
+                detalles.append("─────────────────────────────────────────────────\n");
+                detalles.append("Artículo Relacionado:\n\n");
+                detalles.append(art.getTitulo()).append("\n");
             }
             
             JTextArea txtDetalles = new JTextArea(detalles.toString());
@@ -251,9 +331,13 @@ private JPanel crearPanelBotones() {
             return;
         }
         
-        int id = (int) modeloTabla.getValueAt(fila, 0);
-        EstrategiaInversion estrategia = controlador.obtenerEstrategiaPorId(id);
-        
+        int id = modeloTabla.getId(fila);
+        CargaAsincrona.ejecutar(this, controlador.obtenerEstrategiaPorIdAsync(id),
+            estrategia -> mostrarDialogoEditar(id, estrategia));
+    }
+    
+    // Abre el diálogo de edición con los datos ya cargados de la estrategia
+    private void mostrarDialogoEditar(int id, EstrategiaInversion estrategia) {
         if (estrategia == null) return;
         
         JDialog dialogo = new JDialog((Frame) SwingUtilities.getWindowAncestor(this), 
@@ -265,6 +349,7 @@ private JPanel crearPanelBotones() {
         
         JButton btnGuardar = new JButton("Actualizar");
         btnGuardar.setFont(new Font("Arial", Font.BOLD, 12));
+        habilitarAlCargarArticulos(panel, btnGuardar);
         btnGuardar.setBackground(new Color(243, 156, 18));
         btnGuardar.setForeground(Color.WHITE);
         
@@ -272,19 +357,22 @@ private JPanel crearPanelBotones() {
             EstrategiaInversion estrategiaActualizada = obtenerDatosFormulario(panel);
             if (estrategiaActualizada != null) {
                 estrategiaActualizada.setId(id);
-                if (controlador.actualizarEstrategia(estrategiaActualizada)) {
-                    JOptionPane.showMessageDialog(dialogo,
-                        "Estrategia actualizada exitosamente",
-                        "Éxito",
-                        JOptionPane.INFORMATION_MESSAGE);
-                    dialogo.dispose();
-                    cargarEstrategias();
-                } else {
-                    JOptionPane.showMessageDialog(dialogo,
-                        "Error al actualizar la estrategia",
-                        "Error",
-                        JOptionPane.ERROR_MESSAGE);
-                }
+                btnGuardar.setEnabled(false);
+                CargaAsincrona.ejecutar(panel, controlador.actualizarEstrategiaAsync(estrategiaActualizada), actualizada -> {
+                    btnGuardar.setEnabled(true);
+                    if (actualizada) {
+                        JOptionPane.showMessageDialog(dialogo,
+                            "Estrategia actualizada exitosamente",
+                            "Éxito",
+                            JOptionPane.INFORMATION_MESSAGE);
+                        dialogo.dispose();
+                    } else {
+                        JOptionPane.showMessageDialog(dialogo,
+                            "Error al actualizar la estrategia",
+                            "Error",
+                            JOptionPane.ERROR_MESSAGE);
+                    }
+                });
             }
         });
         
@@ -296,10 +384,11 @@ private JPanel crearPanelBotones() {
         dialogo.setVisible(true);
     }
     
-    // Elimina la estrategia seleccionada después de pedir confirmación al usuario
+    // Elimina las estrategias seleccionadas (una o varias) después de pedir confirmación al usuario
+    // Todas se eliminan en un solo lote y una sola transacción
     private void eliminarEstrategia() {
-        int fila = tablaEstrategias.getSelectedRow();
-        if (fila < 0) {
+        int[] filas = tablaEstrategias.getSelectedRows();
+        if (filas.length == 0) {
             JOptionPane.showMessageDialog(this,
                 "Por favor seleccione una estrategia para eliminar",
                 "Aviso",
@@ -307,29 +396,88 @@ private JPanel crearPanelBotones() {
             return;
         }
         
-        int id = (int) modeloTabla.getValueAt(fila, 0);
-        String nombre = (String) modeloTabla.getValueAt(fila, 1);
+        int[] ids = idsSeleccionados(filas);
+        String mensaje = filas.length == 1
+            ? "¿Está seguro de eliminar la estrategia?\n\n" + modeloTabla.getValueAt(filas[0], 1)
+            : "¿Está seguro de eliminar las " + filas.length + " estrategias seleccionadas?";
         
         int confirmacion = JOptionPane.showConfirmDialog(this,
-            "¿Está seguro de eliminar la estrategia?\n\n" + nombre,
+            mensaje,
             "Confirmar Eliminación",
             JOptionPane.YES_NO_OPTION,
             JOptionPane.WARNING_MESSAGE);
         
         if (confirmacion == JOptionPane.YES_OPTION) {
-            if (controlador.eliminarEstrategia(id)) {
-                JOptionPane.showMessageDialog(this,
-                    "Estrategia eliminada exitosamente",
-                    "Éxito",
-                    JOptionPane.INFORMATION_MESSAGE);
-                cargarEstrategias();
-            } else {
+            CargaAsincrona.ejecutar(this, controlador.eliminarEstrategiasAsync(ids), eliminadas -> {
+                int cantidad = contarExitos(eliminadas);
+                if (cantidad == ids.length) {
+                    JOptionPane.showMessageDialog(this,
+                        cantidad == 1 ? "Estrategia eliminada exitosamente"
+                                      : cantidad + " estrategias eliminadas exitosamente",
+                        "Éxito",
+                        JOptionPane.INFORMATION_MESSAGE);
+                } else {
+                    JOptionPane.showMessageDialog(this,
+                        cantidad == 0 ? "Error al eliminar la estrategia"
+                                      : "Se eliminaron " + cantidad + " de " + ids.length + " estrategias",
+                        "Error",
+                        JOptionPane.ERROR_MESSAGE);
+                }
+            });
+        }
+    }
+    
+    // Cambia el nivel de riesgo de todas las estrategias seleccionadas con una sola sentencia
+    private void cambiarRiesgoSeleccionadas() {
+        int[] filas = tablaEstrategias.getSelectedRows();
+        if (filas.length == 0) {
+            JOptionPane.showMessageDialog(this,
+                "Por favor seleccione una o más estrategias",
+                "Aviso",
+                JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        
+        String nivel = (String) JOptionPane.showInputDialog(this,
+            "Nuevo nivel de riesgo para " + filas.length + " estrategia(s):",
+            "Cambiar Riesgo",
+            JOptionPane.QUESTION_MESSAGE,
+            null,
+            new String[]{"Bajo", "Medio", "Alto"},
+            modeloTabla.getValueAt(filas[0], 3));
+        if (nivel == null) {
+            return;  // Cancelado
+        }
+        
+        int[] ids = idsSeleccionados(filas);
+        CargaAsincrona.ejecutar(this, controlador.actualizarNivelRiesgoAsync(nivel, ids), actualizadas -> {
+            if (actualizadas < 0) {
                 JOptionPane.showMessageDialog(this,
-                    "Error al eliminar la estrategia",
+                    "Error al cambiar el nivel de riesgo",
                     "Error",
                     JOptionPane.ERROR_MESSAGE);
             }
+        });
+    }
+    
+    // Ids (columna 0) de las filas indicadas
+    private int[] idsSeleccionados(int[] filas) {
+        int[] ids = new int[filas.length];
+        for (int i = 0; i < filas.length; i++) {
+            ids[i] = modeloTabla.getId(filas[i]);
+        }
+        return ids;
+    }
+    
+    // Cantidad de filas con resultado exitoso en una operación por lotes
+    private static int contarExitos(boolean[] resultados) {
+        int exitos = 0;
+        for (boolean exito : resultados) {
+            if (exito) {
+                exitos++;
+            }
         }
+        return exitos;
     }
     
     // Crea el formulario (panel) usado para crear/editar una estrategia
@@ -357,10 +505,30 @@ private JPanel crearPanelBotones() {
         
         JComboBox<String> cmbArticulo = new JComboBox<>();
         cmbArticulo.addItem("Sin artículo relacionado");
-        List<Articulo> articulos = articuloControlador.obtenerTodosLosArticulos();
-        for (Articulo art : articulos) {
-            cmbArticulo.addItem(art.getId() + " - " + art.getTitulo());
-        }
+        
+        // Los títulos de los artículos más recientes se leen una sola vez (en segundo plano); después
+        // el bus los mantiene al día. El artículo ya relacionado con la estrategia puede no estar entre
+        // ellos: se pide aparte (pasa por la caché) para no perderlo al guardar
+        CompletableFuture<Map<Integer, String>> titulos = titulosArticulos != null
+            ? CompletableFuture.completedFuture(titulosArticulos)
+            : articuloControlador.obtenerTitulosArticulosAsync(LIMITE_COMBO_ARTICULOS);
+        Integer relacionadoId = estrategia == null ? null : estrategia.getArticuloRelacionadoId();
+        CompletableFuture<Articulo> relacionado = relacionadoId == null
+            ? CompletableFuture.completedFuture(null)
+            : articuloControlador.obtenerArticuloPorIdAsync(relacionadoId);
+        CargaAsincrona.ejecutar(panel, titulos.thenCombine(relacionado, (t, a) -> new Object[]{t, a}), resultado -> {
+            @SuppressWarnings("unchecked")
+            Map<Integer, String> leidos = (Map<Integer, String>) resultado[0];
+            if (leidos == null) {
+                // Error al leer (ya informado): no se guarda, se vuelve a intentar en el próximo
+                // formulario. Este queda solo con el artículo ya relacionado, que no se pierde al guardar
+                leidos = Collections.emptyMap();
+            } else if (titulosArticulos == null) {
+                titulosArticulos = new LinkedHashMap<>(leidos);
+            }
+            llenarComboArticulos(cmbArticulo, leidos, relacionadoId, (Articulo) resultado[1]);
+            panel.putClientProperty(ARTICULOS_CARGADOS, Boolean.TRUE);
+        });
         
         if (estrategia != null) {
             txtNombre.setText(estrategia.getNombre());
@@ -369,16 +537,6 @@ private JPanel crearPanelBotones() {
             cmbRiesgo.setSelectedItem(estrategia.getNivelRiesgo());
             txtTecnologias.setText(estrategia.getTecnologiasUtilizadas());
             txtRetorno.setText(String.valueOf(estrategia.getRetornoEsperado()));
-            
-            if (estrategia.getArticuloRelacionadoId() != null) {
-                for (int i = 0; i < cmbArticulo.getItemCount(); i++) {
-                    String item = cmbArticulo.getItemAt(i);
-                    if (item.startsWith(estrategia.getArticuloRelacionadoId() + " -")) {
-                        cmbArticulo.setSelectedIndex(i);
-                        break;
-                    }
-                }
-            }
         }
         
         int row = 0;
@@ -401,6 +559,35 @@ private JPanel crearPanelBotones() {
         return panel;
     }
     
+    // Agrega los artículos al combo y marca el relacionado con la estrategia (si lo hay)
+    // El relacionado se agrega aunque no esté entre los títulos leídos (o ya no exista)
+    private void llenarComboArticulos(JComboBox<String> cmbArticulo, Map<Integer, String> titulos,
+                                      Integer relacionadoId, Articulo relacionado) {
+        if (relacionadoId != null && !titulos.containsKey(relacionadoId)) {
+            String titulo = relacionado != null ? relacionado.getTitulo() : "(artículo no disponible)";
+            cmbArticulo.addItem(relacionadoId + " - " + titulo);
+        }
+        for (Map.Entry<Integer, String> articulo : titulos.entrySet()) {
+            cmbArticulo.addItem(articulo.getKey() + " - " + articulo.getValue());
+        }
+        if (relacionadoId != null) {
+            for (int i = 0; i < cmbArticulo.getItemCount(); i++) {
+                String item = cmbArticulo.getItemAt(i);
+                if (item.startsWith(relacionadoId + " -")) {
+                    cmbArticulo.setSelectedIndex(i);
+                    break;
+                }
+            }
+        }
+    }
+    
+    // Habilita `boton` recién cuando el combo de artículos del formulario está lleno: antes su única
+    // opción es "Sin artículo relacionado" y guardar quitaría el artículo de la estrategia
+    private static void habilitarAlCargarArticulos(JPanel panel, JButton boton) {
+        boton.setEnabled(Boolean.TRUE.equals(panel.getClientProperty(ARTICULOS_CARGADOS)));
+        panel.addPropertyChangeListener(ARTICULOS_CARGADOS, e -> boton.setEnabled(true));
+    }
+    
     // Método auxiliar para añadir una fila de etiqueta + campo al formulario
     private void agregarCampo(JPanel panel, GridBagConstraints gbc, int row, 
                              String label, JComponent campo) {
@@ -1,14 +1,31 @@
 package vista;
 
+import controlador.AnaliticaControlador;
+import controlador.BusEventos;
+import controlador.ContadoresResumen;
+import controlador.EjecutorConsultas;
 import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 import javax.swing.*;
+import javax.swing.event.AncestorEvent;
+import javax.swing.event.AncestorListener;
+import modelo.Articulo;
+import modelo.ConexionDB;
+import modelo.Metricas;
+import modelo.MigradorEsquema;
+import modelo.ResumenAnalitico;
 
 public class VentanaPrincipal extends JFrame{
 
     private JTabbedPane pestanas;
-    private PanelBusquedas panelBusquedas;
-    private PanelArticulos panelArticulos;
-    private PanelEstrategias panelEstrategias;
+    // Pestañas cuyo panel todavía no se creó (índice -> cómo crearlo)
+    private final Map<Integer, Supplier<JComponent>> pestanasPendientes = new HashMap<>();
+    private boolean cardsDesactualizadas = false;  // Llegaron artículos mientras Inicio no estaba a la vista
     
     // Constructor: configura la ventana y agrega los componentes visuales
     public VentanaPrincipal() {
@@ -59,14 +76,14 @@ public class VentanaPrincipal extends JFrame{
         pestanas = new JTabbedPane();
         pestanas.setFont(new Font("Arial", Font.PLAIN, 14));
         
-        panelBusquedas = new PanelBusquedas();
-        panelArticulos = new PanelArticulos();
-        panelEstrategias = new PanelEstrategias();
-        
+        // Cada panel (y sus consultas) se crea la primera vez que se muestra su pestaña:
+        // la ventana aparece sin esperar a la base de datos
         pestanas.addTab("Inicio", crearPanelInicio());
-        pestanas.addTab("Búsquedas", panelBusquedas);
-        pestanas.addTab("Artículos", panelArticulos);
-        pestanas.addTab("Estrategias (CRUD)", panelEstrategias);
+        agregarPestanaDiferida("Búsquedas", PanelBusquedas::new);
+        agregarPestanaDiferida("Artículos", PanelArticulos::new);
+        agregarPestanaDiferida("Estrategias (CRUD)", PanelEstrategias::new);
+        agregarPestanaDiferida("Analítica", PanelAnalitica::new);
+        pestanas.addChangeListener(e -> crearPestanaSiFalta(pestanas.getSelectedIndex()));
         
         add(pestanas, BorderLayout.CENTER);
 
@@ -82,6 +99,25 @@ public class VentanaPrincipal extends JFrame{
         add(panelInferior, BorderLayout.SOUTH);
     }
     
+    // Agrega una pestaña vacía; su panel se crea con `crear` cuando se muestre por primera vez
+    private void agregarPestanaDiferida(String titulo, Supplier<JComponent> crear) {
+        pestanas.addTab(titulo, new JPanel(new BorderLayout()));
+        pestanasPendientes.put(pestanas.getTabCount() - 1, crear);
+    }
+    
+    // Crea el panel de la pestaña si todavía no existe (el tiempo se mide en "VentanaPrincipal.crearPestana")
+    private void crearPestanaSiFalta(int indice) {
+        Supplier<JComponent> crear = pestanasPendientes.remove(indice);
+        if (crear == null) {
+            return;
+        }
+        Metricas.Medicion medicion = Metricas.iniciar("VentanaPrincipal.crearPestana");
+        JPanel contenedor = (JPanel) pestanas.getComponentAt(indice);
+        contenedor.add(crear.get(), BorderLayout.CENTER);
+        contenedor.revalidate();
+        medicion.terminar();
+    }
+    
     // Crea el panel de inicio con descripción y tarjetas de los estudiantes
     private JPanel crearPanelInicio() {
         JPanel panel = new JPanel(new BorderLayout(10, 10));
@@ -109,6 +145,8 @@ public class VentanaPrincipal extends JFrame{
             "  título, autores, año, fuente, DOI, resumen, palabras clave y cita APA.\n\n" +
             "• Estrategias (CRUD): Gestión completa de estrategias de inversión basadas\n" +
             "  en IA y tecnología financiera. Permite Crear, Leer, Actualizar y Eliminar.\n\n" +
+            "• Analítica: Resumen de artículos por año, búsqueda y fuente, y de estrategias\n" +
+            "  por nivel de riesgo y tipo (con su retorno esperado).\n\n" +
             "Desarrollado con Java, MySQL y patrón MVC."
         );
         txtDescripcion.setFont(new Font("Arial", Font.PLAIN, 13));
@@ -122,38 +160,65 @@ public class VentanaPrincipal extends JFrame{
         
         panel.add(panelBienvenida, BorderLayout.CENTER);
         
-        JPanel panelEstudiantes = new JPanel(new GridLayout(1, 3, 10, 10));
-        //nombres//
-        String[] estudiantes = {
-            "Julián David Cristancho Niño",
-            "Mariana Alejandra Gordillo Meneses",
-            "Ana Sofía Fajardo Leal"
-        };
-        
-        String[] busquedas = {
-            "financial + simulation + python",
-            "financial simulation + AI + deep learning",
-            "fintech + machine learning + fraud detection"
-        };
-        
-        int[] cantidades = {121, 867, 1956};
-        
-        for (int i = 0; i < 3; i++) {
-            JPanel cardEstudiante = crearCardEstudiante(
-                estudiantes[i], 
-                busquedas[i], 
-                cantidades[i]
-            );
-            panelEstudiantes.add(cardEstudiante);
-        }
+        // Las tarjetas (una por búsqueda, con sus cantidades) salen del resumen de analítica, que se
+        // pide en segundo plano: la ventana no espera a la base de datos para mostrarse
+        JPanel panelEstudiantes = new JPanel(new GridLayout(1, 0, 10, 10));
+        panelEstudiantes.add(new JLabel("Cargando búsquedas...", SwingConstants.CENTER));
+        cargarCardsEstudiantes(panelEstudiantes);
+        // Si se importan artículos, se actualiza la cantidad de artículos cargados de cada tarjeta.
+        // Mientras se importa en otra pestaña llegan muchos grupos de cambios: las tarjetas no se
+        // ven, así que solo se marcan y se recargan una vez, al volver a Inicio
+        BusEventos.suscribir(Articulo.class,
+            tarea -> CargaAsincrona.enEDT("VentanaPrincipal.articulos", tarea), eventos -> {
+                if (panelEstudiantes.isShowing()) {
+                    cargarCardsEstudiantes(panelEstudiantes);
+                } else {
+                    cardsDesactualizadas = true;
+                }
+            });
+        panelEstudiantes.addAncestorListener(new AncestorListener() {
+            @Override
+            public void ancestorAdded(AncestorEvent event) {
+                if (cardsDesactualizadas) {
+                    cargarCardsEstudiantes(panelEstudiantes);
+                }
+            }
+
+            @Override
+            public void ancestorRemoved(AncestorEvent event) {
+            }
+
+            @Override
+            public void ancestorMoved(AncestorEvent event) {
+            }
+        });
         
         panel.add(panelEstudiantes, BorderLayout.SOUTH);
         
         return panel;
     }
     
+    // Reemplaza las tarjetas de `panelEstudiantes` por las de las búsquedas de la base de datos
+    private void cargarCardsEstudiantes(JPanel panelEstudiantes) {
+        cardsDesactualizadas = false;
+        CargaAsincrona.ejecutar(panelEstudiantes, new AnaliticaControlador().obtenerResumenAsync(), resumen -> {
+            if (resumen.getArticulosPorBusqueda().isEmpty()) {
+                return;  // Sin conexión o sin búsquedas: queda lo que se estaba mostrando
+            }
+            panelEstudiantes.removeAll();
+            for (ResumenAnalitico.Grupo busqueda : resumen.getArticulosPorBusqueda()) {
+                panelEstudiantes.add(crearCardEstudiante(
+                    busqueda.getEtiqueta(),
+                    busqueda.getCantidad() + " artículos cargados",
+                    (int) busqueda.getDocumentos()));
+            }
+            panelEstudiantes.revalidate();
+            panelEstudiantes.repaint();
+        });
+    }
+    
     // Crea una tarjeta (card) con los datos de un estudiante y su búsqueda
-    // Parámetros: nombre, cadena de búsqueda y cantidad de documentos
+    // Parámetros: nombre, detalle de la búsqueda y cantidad de documentos
     private JPanel crearCardEstudiante(String nombre, String busqueda, int cantidad) {
         JPanel card = new JPanel();
         card.setLayout(new BoxLayout(card, BoxLayout.Y_AXIS));
@@ -186,8 +251,35 @@ public class VentanaPrincipal extends JFrame{
     }
     
     public static void main(String[] args) {
+        long inicio = System.nanoTime();
+        // Resumen de métricas (latencias por operación) en un archivo cada minuto; también por JMX
+        Metricas.iniciarVolcado();
+        // Mientras se pinta la ventana, en segundo plano: carga del driver y primeras conexiones del
+        // pool (en paralelo con las migraciones), así la primera pestaña que se abra ya encuentra conexión
+        CompletableFuture.runAsync(() -> {
+            if (ConexionDB.precalentar()) {
+                Metricas.operacion("Inicio.conexionesListas").registrar(inicio, 0, false);
+            }
+        }, EjecutorConsultas.getEjecutor());
+        // Migraciones del esquema (índices...) en un hilo aparte: la ventana no espera por ellas y,
+        // como los índices se crean en línea, las consultas siguen funcionando mientras tanto
+        // Al terminar se reconcilian los contadores de resumen (y luego cada hora)
+        Thread migraciones = new Thread(() -> {
+            new MigradorEsquema(ConexionDB.CARPETA_MIGRACIONES).migrar();
+            ContadoresResumen.iniciarReconciliacion();
+        }, "migraciones");
+        migraciones.setDaemon(true);
+        migraciones.start();
         SwingUtilities.invokeLater(() -> {
             VentanaPrincipal ventana = new VentanaPrincipal();
+            // Tiempo hasta que se ve la ventana, desde que arrancó main ("Inicio.primeraVentana")
+            ventana.addWindowListener(new WindowAdapter() {
+                @Override
+                public void windowOpened(WindowEvent e) {
+                    Metricas.operacion("Inicio.primeraVentana").registrar(inicio, 0, false);
+                    System.out.println("✓ Ventana lista en " + (System.nanoTime() - inicio) / 1_000_000 + " ms");
+                }
+            });
             ventana.setVisible(true);
         });
     }
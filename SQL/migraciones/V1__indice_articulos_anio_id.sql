@@ -0,0 +1,6 @@
+-- Índice para el listado y la paginación de artículos (ArticuloControlador):
+--   ORDER BY anio_publicacion DESC, id DESC  y  WHERE (anio_publicacion, id) < (?, ?)
+-- Con él MySQL recorre el índice en orden y se detiene en el LIMIT, sin ordenar en archivo (filesort)
+ALTER TABLE articulos
+    ADD INDEX idx_articulos_anio_id (anio_publicacion, id),
+    ALGORITHM=INPLACE, LOCK=NONE;
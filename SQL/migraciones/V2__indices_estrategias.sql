@@ -0,0 +1,10 @@
+-- Estrategias por nivel de riesgo (EstrategiaControlador):
+--   WHERE nivel_riesgo = ? ORDER BY retorno_esperado DESC
+ALTER TABLE estrategias_inversion
+    ADD INDEX idx_estrategias_riesgo_retorno (nivel_riesgo, retorno_esperado),
+    ALGORITHM=INPLACE, LOCK=NONE;
+
+-- Listado de estrategias: ORDER BY fecha_creacion DESC
+ALTER TABLE estrategias_inversion
+    ADD INDEX idx_estrategias_fecha_creacion (fecha_creacion),
+    ALGORITHM=INPLACE, LOCK=NONE;
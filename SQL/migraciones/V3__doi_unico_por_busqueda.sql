@@ -0,0 +1,15 @@
+-- Un mismo DOI no puede repetirse dentro de una búsqueda (sí en búsquedas distintas: dos
+-- estudiantes pueden haber encontrado el mismo artículo). Los artículos sin DOI (NULL) no chocan.
+
+-- Un DOI vacío es lo mismo que no tener DOI
+UPDATE articulos SET doi = NULL WHERE doi = '';
+
+-- Si un DOI ya está repetido en la búsqueda, se conserva en el artículo más antiguo (menor id)
+-- y se quita de los demás, para que el índice único se pueda crear
+UPDATE articulos a
+    JOIN articulos b ON a.busqueda_id = b.busqueda_id AND a.doi = b.doi AND a.id > b.id
+    SET a.doi = NULL;
+
+ALTER TABLE articulos
+    ADD UNIQUE INDEX uk_articulos_busqueda_doi (busqueda_id, doi),
+    ALGORITHM=INPLACE, LOCK=NONE;
@@ -0,0 +1,19 @@
+-- Refresco incremental de estrategias (EstrategiaControlador.obtenerCambiosEstrategias):
+-- se piden solo las filas con fecha_actualizacion posterior a la última marca de tiempo
+ALTER TABLE estrategias_inversion
+    ADD INDEX idx_estrategias_fecha_actualizacion (fecha_actualizacion),
+    ALGORITHM=INPLACE, LOCK=NONE;
+
+-- Las filas eliminadas ya no están para consultarlas: cada eliminación deja aquí una "lápida"
+-- con el id y la hora, así quien refresca sabe qué filas quitar
+CREATE TABLE IF NOT EXISTS estrategias_eliminadas (
+    id INT PRIMARY KEY,
+    eliminada_en TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_eliminadas_fecha (eliminada_en)
+);
+
+-- El disparador registra las eliminaciones hechas desde cualquier lugar (la aplicación, otro
+-- cliente o la consola de MySQL). REPLACE por si el id ya tenía una lápida anterior
+DROP TRIGGER IF EXISTS trg_estrategias_eliminadas;
+CREATE TRIGGER trg_estrategias_eliminadas AFTER DELETE ON estrategias_inversion
+    FOR EACH ROW REPLACE INTO estrategias_eliminadas (id) VALUES (OLD.id);
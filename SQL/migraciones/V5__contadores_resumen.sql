@@ -0,0 +1,111 @@
+-- Contadores de resumen: cuántos artículos hay por búsqueda, cuántas búsquedas y documentos
+-- encontrados, y cuántas estrategias hay por nivel de riesgo.
+-- Leer un contador es buscar una fila por su clave primaria, en vez de un COUNT(*) o SUM que
+-- recorre toda la tabla. Los mantienen al día los disparadores de abajo, dentro de la misma
+-- transacción que inserta o elimina la fila; los totales usan clave = ''.
+-- No hay total de artículos ni de estrategias: sería una sola fila que toda inserción actualiza
+-- (y bloquea hasta confirmar). Se suman las filas por búsqueda o por nivel de riesgo, que son pocas.
+CREATE TABLE IF NOT EXISTS resumen_contadores (
+    contador VARCHAR(40) NOT NULL,
+    clave VARCHAR(100) NOT NULL DEFAULT '',
+    valor BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (contador, clave)
+);
+
+-- Cada disparador suma (o resta) en los contadores que ya existen y crea los que falten con
+-- INSERT ... ON DUPLICATE KEY UPDATE. Los de actualización solo escriben si cambió la columna
+-- contada: así una edición del título o de la descripción no toca los contadores
+
+-- Artículos
+DROP TRIGGER IF EXISTS trg_contadores_articulos_insertar;
+CREATE TRIGGER trg_contadores_articulos_insertar AFTER INSERT ON articulos
+    FOR EACH ROW INSERT INTO resumen_contadores (contador, clave, valor)
+    VALUES ('articulos_por_busqueda', NEW.busqueda_id, 1)
+    ON DUPLICATE KEY UPDATE valor = valor + VALUES(valor);
+
+DROP TRIGGER IF EXISTS trg_contadores_articulos_eliminar;
+CREATE TRIGGER trg_contadores_articulos_eliminar AFTER DELETE ON articulos
+    FOR EACH ROW INSERT INTO resumen_contadores (contador, clave, valor)
+    VALUES ('articulos_por_busqueda', OLD.busqueda_id, -1)
+    ON DUPLICATE KEY UPDATE valor = valor + VALUES(valor);
+
+DELIMITER $$
+-- Si el artículo pasa a otra búsqueda
+DROP TRIGGER IF EXISTS trg_contadores_articulos_actualizar$$
+CREATE TRIGGER trg_contadores_articulos_actualizar AFTER UPDATE ON articulos
+FOR EACH ROW BEGIN
+    IF OLD.busqueda_id <> NEW.busqueda_id THEN
+        INSERT INTO resumen_contadores (contador, clave, valor)
+        VALUES ('articulos_por_busqueda', OLD.busqueda_id, -1), ('articulos_por_busqueda', NEW.busqueda_id, 1)
+        ON DUPLICATE KEY UPDATE valor = valor + VALUES(valor);
+    END IF;
+END$$
+DELIMITER ;
+
+-- Búsquedas
+DROP TRIGGER IF EXISTS trg_contadores_busquedas_insertar;
+CREATE TRIGGER trg_contadores_busquedas_insertar AFTER INSERT ON busquedas
+    FOR EACH ROW INSERT INTO resumen_contadores (contador, clave, valor)
+    VALUES ('busquedas', '', 1), ('documentos', '', NEW.cantidad_documentos)
+    ON DUPLICATE KEY UPDATE valor = valor + VALUES(valor);
+
+DELIMITER $$
+-- Al eliminar una búsqueda se eliminan sus artículos (ON DELETE CASCADE), pero MySQL no ejecuta
+-- los disparadores de las filas borradas en cascada: aquí se quita su contador de artículos
+DROP TRIGGER IF EXISTS trg_contadores_busquedas_eliminar$$
+CREATE TRIGGER trg_contadores_busquedas_eliminar BEFORE DELETE ON busquedas
+FOR EACH ROW BEGIN
+    INSERT INTO resumen_contadores (contador, clave, valor)
+    VALUES ('busquedas', '', -1), ('documentos', '', -OLD.cantidad_documentos)
+    ON DUPLICATE KEY UPDATE valor = valor + VALUES(valor);
+    DELETE FROM resumen_contadores WHERE contador = 'articulos_por_busqueda' AND clave = CAST(OLD.id AS CHAR);
+END$$
+
+DROP TRIGGER IF EXISTS trg_contadores_busquedas_actualizar$$
+CREATE TRIGGER trg_contadores_busquedas_actualizar AFTER UPDATE ON busquedas
+FOR EACH ROW BEGIN
+    IF OLD.cantidad_documentos <> NEW.cantidad_documentos THEN
+        INSERT INTO resumen_contadores (contador, clave, valor)
+        VALUES ('documentos', '', NEW.cantidad_documentos - OLD.cantidad_documentos)
+        ON DUPLICATE KEY UPDATE valor = valor + VALUES(valor);
+    END IF;
+END$$
+DELIMITER ;
+
+-- Estrategias
+DROP TRIGGER IF EXISTS trg_contadores_estrategias_insertar;
+CREATE TRIGGER trg_contadores_estrategias_insertar AFTER INSERT ON estrategias_inversion
+    FOR EACH ROW INSERT INTO resumen_contadores (contador, clave, valor)
+    VALUES ('estrategias_por_riesgo', NEW.nivel_riesgo, 1)
+    ON DUPLICATE KEY UPDATE valor = valor + VALUES(valor);
+
+DROP TRIGGER IF EXISTS trg_contadores_estrategias_eliminar;
+CREATE TRIGGER trg_contadores_estrategias_eliminar AFTER DELETE ON estrategias_inversion
+    FOR EACH ROW INSERT INTO resumen_contadores (contador, clave, valor)
+    VALUES ('estrategias_por_riesgo', OLD.nivel_riesgo, -1)
+    ON DUPLICATE KEY UPDATE valor = valor + VALUES(valor);
+
+DELIMITER $$
+-- Cambio de nivel de riesgo (EstrategiaControlador.actualizarNivelRiesgo, el formulario...)
+DROP TRIGGER IF EXISTS trg_contadores_estrategias_actualizar$$
+CREATE TRIGGER trg_contadores_estrategias_actualizar AFTER UPDATE ON estrategias_inversion
+FOR EACH ROW BEGIN
+    IF OLD.nivel_riesgo <> NEW.nivel_riesgo THEN
+        INSERT INTO resumen_contadores (contador, clave, valor)
+        VALUES ('estrategias_por_riesgo', OLD.nivel_riesgo, -1), ('estrategias_por_riesgo', NEW.nivel_riesgo, 1)
+        ON DUPLICATE KEY UPDATE valor = valor + VALUES(valor);
+    END IF;
+END$$
+DELIMITER ;
+
+-- Valores iniciales, contados una vez. Lo que se inserte o elimine mientras corre esta migración
+-- puede quedar mal contado: lo corrige la reconciliación (ContadoresResumen), que la aplicación
+-- ejecuta apenas termina de migrar
+INSERT INTO resumen_contadores (contador, clave, valor)
+SELECT * FROM (
+    SELECT 'articulos_por_busqueda' AS contador, CONCAT('', busqueda_id) AS clave, COUNT(*) AS valor FROM articulos GROUP BY busqueda_id
+    UNION ALL SELECT 'busquedas', '', COUNT(*) FROM busquedas
+    UNION ALL SELECT 'documentos', '', COALESCE(SUM(cantidad_documentos), 0) FROM busquedas
+    UNION ALL SELECT 'estrategias_por_riesgo', CONCAT('', nivel_riesgo), COUNT(*) FROM estrategias_inversion GROUP BY nivel_riesgo
+) AS conteos
+ON DUPLICATE KEY UPDATE valor = VALUES(valor);
@@ -0,0 +1,8 @@
+-- Sincronización incremental del índice de búsqueda en memoria (ArticuloControlador.cargarEnIndice):
+-- se traen solo los artículos con fecha_actualizacion posterior a la última marca, también los
+-- insertados o modificados desde otro cliente o desde la consola de MySQL.
+-- Las filas que ya existen toman la hora de la migración (el índice se construye completo al
+-- iniciar, así que no importa). Los borrados se detectan comparando los ids.
+ALTER TABLE articulos
+    ADD COLUMN fecha_actualizacion TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    ADD INDEX idx_articulos_fecha_actualizacion (fecha_actualizacion);
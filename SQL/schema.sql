@@ -5,6 +5,9 @@
 CREATE DATABASE IF NOT EXISTS articulos_fintech;
 USE articulos_fintech;
 
+-- Los índices secundarios (listados, paginación, DOI único por búsqueda) no están aquí:
+-- los agregan las migraciones de SQL/migraciones, que la aplicación aplica al iniciar
+
 -- =====================================================
 -- TABLA: busquedas
 -- Almacena información de las búsquedas realizadas
@@ -33,7 +36,9 @@ CREATE TABLE articulos (
     resumen TEXT,
     palabras_clave TEXT,
     cita_apa TEXT,
-    FOREIGN KEY (busqueda_id) REFERENCES busquedas(id) ON DELETE CASCADE
+    FOREIGN KEY (busqueda_id) REFERENCES busquedas(id) ON DELETE CASCADE,
+    -- Índice de texto completo para búsquedas con MATCH ... AGAINST
+    FULLTEXT INDEX ft_articulos_texto (titulo, autores, palabras_clave, resumen)
 );
 
 -- =====================================================
@@ -51,7 +56,9 @@ CREATE TABLE estrategias_inversion (
     articulo_relacionado_id INT,
     fecha_creacion TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     fecha_actualizacion TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
-    FOREIGN KEY (articulo_relacionado_id) REFERENCES articulos(id) ON DELETE SET NULL
+    FOREIGN KEY (articulo_relacionado_id) REFERENCES articulos(id) ON DELETE SET NULL,
+    -- Índice de texto completo para búsquedas con MATCH ... AGAINST
+    FULLTEXT INDEX ft_estrategias_texto (nombre, tipo_estrategia, descripcion)
 );
 
 -- =====================================================
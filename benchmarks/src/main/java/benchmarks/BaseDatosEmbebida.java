@@ -0,0 +1,136 @@
+package benchmarks;
+
+import controlador.ArticuloControlador;
+import controlador.EstrategiaControlador;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import modelo.ConexionDB;
+
+// Base de datos H2 en memoria (modo MySQL) que reemplaza a MySQL durante los benchmarks
+// Crea el esquema, la llena con datos sintéticos y hace que ConexionDB se conecte a ella.
+final class BaseDatosEmbebida {
+
+    private static final String URL =
+        "jdbc:h2:mem:benchmarks;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+
+    // Palabras de los títulos con frecuencia conocida, para medir búsquedas de distinta selectividad
+    static final String TERMINO_RARO = "cuantica";      // 1 de cada 1.000 artículos
+    static final String TERMINO_MEDIO = "portafolio";   // 1 de cada 10
+    static final String TERMINO_COMUN = "finanzas";     // 1 de cada 2
+
+    private static final String[] RELLENO = {
+        "riesgo", "mercado", "credito", "prediccion", "aprendizaje", "automatico", "simulacion",
+        "bancaria", "fraude", "inversion", "algoritmos", "datos", "redes", "neuronales", "python"
+    };
+    private static final String[] RIESGOS = {"Bajo", "Medio", "Alto"};
+    private static final int FILAS_POR_TRANSACCION = 10_000;
+
+    // Constructor privado - solo tiene métodos estáticos
+    private BaseDatosEmbebida() {}
+
+    // Apunta ConexionDB a H2 y crea `filas` artículos y `filas` estrategias (más 3 búsquedas)
+    static void preparar(int filas) throws SQLException {
+        System.setProperty("db.driver", "org.h2.Driver");
+        System.setProperty("db.url", URL);
+        System.setProperty("db.usuario", "sa");
+        System.setProperty("db.password", "");
+
+        // Lo que quedó de una ejecución anterior (con otra cantidad de filas) ya no sirve
+        ConexionDB.cerrar();
+        ArticuloControlador.invalidarCacheArticulos();
+        ArticuloControlador.descartarIndice();
+        EstrategiaControlador.invalidarCacheEstrategias();
+
+        try (Connection conn = ConexionDB.getConexion()) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("RUNSCRIPT FROM 'classpath:/esquema-h2.sql'");
+            }
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                    "INSERT INTO busquedas (nombre_estudiante, base_datos, cadena_busqueda, cantidad_documentos) " +
+                    "VALUES (?, 'Scopus', ?, ?)")) {
+                for (int i = 1; i <= 3; i++) {
+                    pstmt.setString(1, "Estudiante " + i);
+                    pstmt.setString(2, "TITLE-ABS-KEY ( \"financial\" AND \"python\" ) " + i);
+                    pstmt.setInt(3, filas / 3);
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+            }
+
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                    "INSERT INTO articulos (busqueda_id, titulo, autores, anio_publicacion, fuente, doi, " +
+                    "resumen, palabras_clave, cita_apa) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+                for (int id = 1; id <= filas; id++) {
+                    String titulo = titulo(id);
+                    pstmt.setInt(1, 1 + id % 3);
+                    pstmt.setString(2, titulo);
+                    pstmt.setString(3, "Autor" + (id % 97) + " A., Autor" + (id % 89) + " B.");
+                    pstmt.setInt(4, 2000 + id % 27);
+                    pstmt.setString(5, "Journal of Computational Finance (Vol. " + (id % 40) + ")");
+                    pstmt.setString(6, "https://doi.org/10.1000/bench." + id);
+                    pstmt.setString(7, "Resumen sintético del artículo " + id + ": " + titulo + ". "
+                        + "Se estudian modelos de " + RELLENO[id % RELLENO.length] + " y "
+                        + RELLENO[(id / 7) % RELLENO.length] + " aplicados a datos financieros reales.");
+                    pstmt.setString(8, RELLENO[id % RELLENO.length] + "; " + RELLENO[(id / 3) % RELLENO.length]);
+                    pstmt.setString(9, "Autor" + (id % 97) + ", A. (" + (2000 + id % 27) + "). " + titulo + ".");
+                    pstmt.addBatch();
+                    if (id % FILAS_POR_TRANSACCION == 0) {
+                        pstmt.executeBatch();
+                        conn.commit();
+                    }
+                }
+                pstmt.executeBatch();
+            }
+
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                    "INSERT INTO estrategias_inversion (nombre, descripcion, tipo_estrategia, nivel_riesgo, " +
+                    "tecnologias_utilizadas, retorno_esperado, articulo_relacionado_id) VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+                for (int id = 1; id <= filas; id++) {
+                    pstmt.setString(1, "Estrategia " + id);
+                    pstmt.setString(2, "Estrategia sintética basada en " + RELLENO[id % RELLENO.length]);
+                    pstmt.setString(3, "Tipo " + (id % 5));
+                    pstmt.setString(4, RIESGOS[id % RIESGOS.length]);
+                    pstmt.setString(5, "Python, " + RELLENO[(id / 5) % RELLENO.length]);
+                    pstmt.setDouble(6, (id % 300) / 10.0);
+                    pstmt.setInt(7, id);
+                    pstmt.addBatch();
+                    if (id % FILAS_POR_TRANSACCION == 0) {
+                        pstmt.executeBatch();
+                        conn.commit();
+                    }
+                }
+                pstmt.executeBatch();
+            }
+            conn.commit();
+        }
+    }
+
+    // Los controladores escriben mensajes ("✓ Estrategia creada...") en cada operación:
+    // en el proceso del benchmark se descartan para no medir la consola
+    static void silenciarSalida() {
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    // Título sintético con las palabras de selectividad conocida según el id
+    private static String titulo(int id) {
+        StringBuilder titulo = new StringBuilder("Estudio ").append(id);
+        if (id % 1000 == 0) {
+            titulo.append(' ').append(TERMINO_RARO);
+        }
+        if (id % 10 == 0) {
+            titulo.append(' ').append(TERMINO_MEDIO);
+        }
+        if (id % 2 == 0) {
+            titulo.append(' ').append(TERMINO_COMUN);
+        }
+        titulo.append(' ').append(RELLENO[id % RELLENO.length])
+              .append(' ').append(RELLENO[(id / RELLENO.length) % RELLENO.length]);
+        return titulo.toString();
+    }
+}
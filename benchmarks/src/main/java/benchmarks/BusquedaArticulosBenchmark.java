@@ -0,0 +1,58 @@
+package benchmarks;
+
+import controlador.ArticuloControlador;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import modelo.Articulo;
+import modelo.ConexionDB;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Benchmark de buscarArticulos con términos de distinta selectividad:
+// "cuantica" (0,1 % de los artículos), "portafolio" (10 %) y "finanzas" (50 %)
+// El índice de búsqueda se construye en la preparación, así se mide solo la búsqueda.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class BusquedaArticulosBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    public int filas;
+
+    @Param({BaseDatosEmbebida.TERMINO_RARO, BaseDatosEmbebida.TERMINO_MEDIO, BaseDatosEmbebida.TERMINO_COMUN})
+    public String termino;
+
+    private ArticuloControlador articulos;
+
+    @Setup(Level.Trial)
+    public void preparar() throws Exception {
+        BaseDatosEmbebida.silenciarSalida();
+        BaseDatosEmbebida.preparar(filas);
+        articulos = new ArticuloControlador();
+        ArticuloControlador.construirIndice();  // La búsqueda no lo espera: se construye aquí
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        ConexionDB.cerrar();
+    }
+
+    @Benchmark
+    public List<Articulo> buscarArticulos() {
+        return articulos.buscarArticulos(termino);
+    }
+}
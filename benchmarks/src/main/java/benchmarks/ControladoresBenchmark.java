@@ -0,0 +1,131 @@
+package benchmarks;
+
+import controlador.ArticuloControlador;
+import controlador.BusquedaControlador;
+import controlador.EstrategiaControlador;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import modelo.Articulo;
+import modelo.Busqueda;
+import modelo.ConexionDB;
+import modelo.EstrategiaInversion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Benchmarks de los controladores contra la base de datos embebida (BaseDatosEmbebida)
+// Throughput da operaciones por microsegundo; SampleTime da la latencia con percentiles (p50, p90, p99...)
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class ControladoresBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    public int filas;
+
+    private ArticuloControlador articulos;
+    private EstrategiaControlador estrategias;
+    private BusquedaControlador busquedas;
+
+    @Setup(Level.Trial)
+    public void preparar() throws Exception {
+        BaseDatosEmbebida.silenciarSalida();
+        BaseDatosEmbebida.preparar(filas);
+        articulos = new ArticuloControlador();
+        estrategias = new EstrategiaControlador();
+        busquedas = new BusquedaControlador();
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        ConexionDB.cerrar();
+    }
+
+    private int idAleatorio() {
+        return ThreadLocalRandom.current().nextInt(filas) + 1;
+    }
+
+    // ---- Búsqueda por id ----
+
+    @Benchmark
+    public Articulo articuloPorId() {
+        return articulos.obtenerArticuloPorId(idAleatorio());
+    }
+
+    @Benchmark
+    public Articulo articuloPorIdSinCache() {
+        int id = idAleatorio();
+        ArticuloControlador.invalidarCacheArticulo(id);
+        return articulos.obtenerArticuloPorId(id);
+    }
+
+    @Benchmark
+    public EstrategiaInversion estrategiaPorId() {
+        return estrategias.obtenerEstrategiaPorId(idAleatorio());
+    }
+
+    // ---- Listados ----
+
+    @Benchmark
+    public List<Articulo> listadoArticulos() {
+        return articulos.obtenerTodosLosArticulos();
+    }
+
+    @Benchmark
+    public List<Articulo> primeraPaginaArticulos() {
+        return articulos.obtenerPaginaArticulos(null, null, 100);
+    }
+
+    @Benchmark
+    public List<EstrategiaInversion> listadoEstrategias() {
+        return estrategias.obtenerTodasLasEstrategias();
+    }
+
+    @Benchmark
+    public List<EstrategiaInversion> estrategiasPorRiesgo() {
+        return estrategias.obtenerEstrategiasPorRiesgo("Alto");
+    }
+
+    @Benchmark
+    public List<Busqueda> listadoBusquedas() {
+        return busquedas.obtenerTodasLasBusquedas();
+    }
+
+    // ---- CRUD completo: crear, leer, actualizar y eliminar una estrategia ----
+
+    @Benchmark
+    public boolean crudEstrategia() {
+        EstrategiaInversion estrategia = new EstrategiaInversion();
+        estrategia.setNombre("Estrategia de benchmark");
+        estrategia.setDescripcion("Creada y eliminada en cada operación");
+        estrategia.setTipoEstrategia("Benchmark");
+        estrategia.setNivelRiesgo("Medio");
+        estrategia.setTecnologiasUtilizadas("JMH");
+        estrategia.setRetornoEsperado(5.5);
+        if (!estrategias.crearEstrategia(estrategia)) {
+            return false;
+        }
+
+        // La leída es la instancia de la caché compartida: no se modifica, se actualiza la propia
+        EstrategiaInversion leida = estrategias.obtenerEstrategiaPorId(estrategia.getId());
+        if (leida == null) {
+            return false;
+        }
+        estrategia.setRetornoEsperado(6.5);
+        return estrategias.actualizarEstrategia(estrategia) && estrategias.eliminarEstrategia(estrategia.getId());
+    }
+}
@@ -0,0 +1,26 @@
+package benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Punto de entrada del jar de benchmarks. Acepta las mismas opciones que JMH, por ejemplo:
+//   java -jar benchmarks.jar ControladoresBenchmark.articuloPorId -p filas=1000
+// Siempre agrega el perfilador de GC (tasa de asignación de memoria: gc.alloc.rate y
+// gc.alloc.rate.norm) y guarda los resultados en resultados-jmh.json.
+public class EjecutarBenchmarks {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions lineaDeComandos = new CommandLineOptions(args);
+        Options opciones = new OptionsBuilder()
+            .parent(lineaDeComandos)
+            .addProfiler(GCProfiler.class)
+            .resultFormat(ResultFormatType.JSON)
+            .result("resultados-jmh.json")
+            .build();
+        new Runner(opciones).run();
+    }
+}
@@ -0,0 +1,101 @@
+package controlador;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.concurrent.TimeUnit;
+import modelo.Articulo;
+import modelo.EstrategiaInversion;
+import org.h2.tools.SimpleResultSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// Costo de convertir filas en objetos (mapearArticulo / mapearEstrategia), sin base de datos:
+// las filas vienen de un ResultSet en memoria, así solo se mide el mapeo.
+// Está en el paquete `controlador` porque los métodos de mapeo no son públicos.
+// Los resultados son por fila (OperationsPerInvocation).
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapeoBenchmark {
+
+    private static final int FILAS = 1000;
+
+    private final ArticuloControlador articulos = new ArticuloControlador();
+    private final EstrategiaControlador estrategias = new EstrategiaControlador();
+    private SimpleResultSet filasArticulos;
+    private SimpleResultSet filasEstrategias;
+
+    @Setup
+    public void preparar() {
+        filasArticulos = new SimpleResultSet();
+        filasArticulos.setAutoClose(false);  // Permite volver al inicio (beforeFirst) en cada operación
+        filasArticulos.addColumn("id", Types.INTEGER, 10, 0);
+        filasArticulos.addColumn("busqueda_id", Types.INTEGER, 10, 0);
+        filasArticulos.addColumn("titulo", Types.VARCHAR, 0, 0);
+        filasArticulos.addColumn("autores", Types.VARCHAR, 0, 0);
+        filasArticulos.addColumn("anio_publicacion", Types.INTEGER, 10, 0);
+        filasArticulos.addColumn("fuente", Types.VARCHAR, 0, 0);
+        filasArticulos.addColumn("doi", Types.VARCHAR, 0, 0);
+        filasArticulos.addColumn("resumen", Types.VARCHAR, 0, 0);
+        filasArticulos.addColumn("palabras_clave", Types.VARCHAR, 0, 0);
+        filasArticulos.addColumn("cita_apa", Types.VARCHAR, 0, 0);
+        for (int id = 1; id <= FILAS; id++) {
+            filasArticulos.addRow(id, 1 + id % 3, "Estudio " + id + " de finanzas computacionales",
+                "Autor A., Autor B.", 2000 + id % 27, "Journal of Computational Finance",
+                "https://doi.org/10.1000/bench." + id, "Resumen sintético del artículo " + id,
+                "finanzas; python", "Autor, A. (2024). Estudio " + id + ".");
+        }
+
+        Timestamp ahora = new Timestamp(System.currentTimeMillis());
+        filasEstrategias = new SimpleResultSet();
+        filasEstrategias.setAutoClose(false);
+        filasEstrategias.addColumn("id", Types.INTEGER, 10, 0);
+        filasEstrategias.addColumn("nombre", Types.VARCHAR, 0, 0);
+        filasEstrategias.addColumn("descripcion", Types.VARCHAR, 0, 0);
+        filasEstrategias.addColumn("tipo_estrategia", Types.VARCHAR, 0, 0);
+        filasEstrategias.addColumn("nivel_riesgo", Types.VARCHAR, 0, 0);
+        filasEstrategias.addColumn("tecnologias_utilizadas", Types.VARCHAR, 0, 0);
+        filasEstrategias.addColumn("retorno_esperado", Types.DOUBLE, 5, 2);
+        filasEstrategias.addColumn("articulo_relacionado_id", Types.INTEGER, 10, 0);
+        filasEstrategias.addColumn("fecha_creacion", Types.TIMESTAMP, 0, 0);
+        filasEstrategias.addColumn("fecha_actualizacion", Types.TIMESTAMP, 0, 0);
+        for (int id = 1; id <= FILAS; id++) {
+            filasEstrategias.addRow(id, "Estrategia " + id, "Descripción de la estrategia " + id, "Tipo " + id % 5,
+                "Medio", "Python, Pandas", (id % 300) / 10.0, id % 4 == 0 ? null : id, ahora, ahora);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FILAS)
+    public void mapearArticulo(Blackhole bh) throws SQLException {
+        filasArticulos.beforeFirst();
+        while (filasArticulos.next()) {
+            Articulo articulo = articulos.mapearArticulo(filasArticulos);
+            bh.consume(articulo);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FILAS)
+    public void mapearEstrategia(Blackhole bh) throws SQLException {
+        filasEstrategias.beforeFirst();
+        while (filasEstrategias.next()) {
+            EstrategiaInversion estrategia = estrategias.mapearEstrategia(filasEstrategias);
+            bh.consume(estrategia);
+        }
+    }
+}
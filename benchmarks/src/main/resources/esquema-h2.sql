@@ -0,0 +1,57 @@
+-- Esquema de SQL/schema.sql adaptado a H2 (modo MySQL) para los benchmarks
+-- Sin índices FULLTEXT (H2 no los tiene) ni datos de ejemplo: los datos los genera BaseDatosEmbebida
+
+DROP ALL OBJECTS;
+
+CREATE TABLE busquedas (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    nombre_estudiante VARCHAR(200) NOT NULL,
+    base_datos VARCHAR(100) NOT NULL,
+    cadena_busqueda TEXT NOT NULL,
+    cantidad_documentos INT NOT NULL,
+    fecha_busqueda TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE articulos (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    busqueda_id INT NOT NULL,
+    titulo TEXT NOT NULL,
+    autores TEXT NOT NULL,
+    anio_publicacion INT NOT NULL,
+    fuente TEXT NOT NULL,
+    doi VARCHAR(200),
+    resumen TEXT,
+    palabras_clave TEXT,
+    cita_apa TEXT,
+    fecha_actualizacion TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (busqueda_id) REFERENCES busquedas(id) ON DELETE CASCADE
+);
+
+CREATE TABLE estrategias_inversion (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    nombre VARCHAR(200) NOT NULL,
+    descripcion TEXT NOT NULL,
+    tipo_estrategia VARCHAR(100) NOT NULL,
+    nivel_riesgo ENUM('Bajo', 'Medio', 'Alto') NOT NULL,
+    tecnologias_utilizadas TEXT,
+    retorno_esperado DECIMAL(5,2),
+    articulo_relacionado_id INT,
+    fecha_creacion TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    fecha_actualizacion TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (articulo_relacionado_id) REFERENCES articulos(id) ON DELETE SET NULL
+);
+
+-- Índices que en MySQL agregan las migraciones de SQL/migraciones (MigradorEsquema)
+CREATE INDEX idx_articulos_anio_id ON articulos (anio_publicacion, id);
+CREATE INDEX idx_estrategias_riesgo_retorno ON estrategias_inversion (nivel_riesgo, retorno_esperado);
+CREATE INDEX idx_estrategias_fecha_creacion ON estrategias_inversion (fecha_creacion);
+CREATE UNIQUE INDEX uk_articulos_busqueda_doi ON articulos (busqueda_id, doi);
+CREATE INDEX idx_estrategias_fecha_actualizacion ON estrategias_inversion (fecha_actualizacion);
+CREATE INDEX idx_articulos_fecha_actualizacion ON articulos (fecha_actualizacion);
+
+-- Lápidas de estrategias eliminadas (en MySQL las llena un disparador; aquí no hay disparador)
+CREATE TABLE estrategias_eliminadas (
+    id INT PRIMARY KEY,
+    eliminada_en TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+CREATE INDEX idx_eliminadas_fecha ON estrategias_eliminadas (eliminada_en);